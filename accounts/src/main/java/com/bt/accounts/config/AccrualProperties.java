@@ -0,0 +1,90 @@
+package com.bt.accounts.config;
+
+import com.bt.accounts.scheduler.AccrualCoordinator;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "accounts.accrual")
+public class AccrualProperties {
+
+    /**
+     * Number of due accounts loaded per keyset page.
+     */
+    private int chunkSize = 200;
+
+    /**
+     * Upper bound on accounts processed in a single scheduler tick. Accounts left
+     * over stay due and are picked up by the next tick.
+     */
+    private int maxAccountsPerRun = 5000;
+
+    /**
+     * Number of worker lanes. Accounts are hash-partitioned across lanes by
+     * account number, so one account is only ever processed by one lane.
+     */
+    private int workerThreads = 4;
+
+    /**
+     * How ticks are coordinated across instances: NONE, LEADER (one instance runs
+     * each tick) or SHARDED (instances split the accounts between them).
+     */
+    private AccrualCoordinator.Mode coordination = AccrualCoordinator.Mode.LEADER;
+
+    /**
+     * Lifetime of the leader and shard leases. Leases are renewed while a tick is
+     * running, so this only bounds how long a crashed instance blocks its share.
+     */
+    private long leaseSeconds = 120;
+
+    /**
+     * Number of fixed account slots distributed across instances in SHARDED mode.
+     */
+    private int shardSlots = 64;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getMaxAccountsPerRun() {
+        return maxAccountsPerRun;
+    }
+
+    public void setMaxAccountsPerRun(int maxAccountsPerRun) {
+        this.maxAccountsPerRun = maxAccountsPerRun;
+    }
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads(int workerThreads) {
+        this.workerThreads = workerThreads;
+    }
+
+    public AccrualCoordinator.Mode getCoordination() {
+        return coordination;
+    }
+
+    public void setCoordination(AccrualCoordinator.Mode coordination) {
+        this.coordination = coordination;
+    }
+
+    public long getLeaseSeconds() {
+        return leaseSeconds;
+    }
+
+    public void setLeaseSeconds(long leaseSeconds) {
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    public int getShardSlots() {
+        return shardSlots;
+    }
+
+    public void setShardSlots(int shardSlots) {
+        this.shardSlots = shardSlots;
+    }
+}
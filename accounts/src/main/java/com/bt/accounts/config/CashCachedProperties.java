@@ -15,6 +15,11 @@ public class CashCachedProperties {
     private String baseCurrency = "INR";
     private List<String> supportedCurrencies = new ArrayList<>(List.of("USD", "INR", "GBP", "EUR", "KWD", "AED", "CAD", "JPY", "CNY", "MXN", "ZAR"));
     private String exchangeRateUrl = "https://api.exchangerate.host/latest";
+    private int walletLockStripes = 256;
+    private long walletLockTimeoutMs = 5000;
+    private List<String> hotWallets = new ArrayList<>();
+    private int walletShards = 16;
+    private long shardConsolidationDelayMs = 30000;
 
     public String getRpcUrl() {
         return rpcUrl;
@@ -71,4 +76,47 @@ public class CashCachedProperties {
     public void setExchangeRateUrl(String exchangeRateUrl) {
         this.exchangeRateUrl = exchangeRateUrl;
     }
+
+    public int getWalletLockStripes() {
+        return walletLockStripes;
+    }
+
+    public void setWalletLockStripes(int walletLockStripes) {
+        this.walletLockStripes = walletLockStripes;
+    }
+
+    public long getWalletLockTimeoutMs() {
+        return walletLockTimeoutMs;
+    }
+
+    public void setWalletLockTimeoutMs(long walletLockTimeoutMs) {
+        this.walletLockTimeoutMs = walletLockTimeoutMs;
+    }
+
+    /**
+     * Wallets besides the treasury whose credits are spread over shards.
+     */
+    public List<String> getHotWallets() {
+        return hotWallets;
+    }
+
+    public void setHotWallets(List<String> hotWallets) {
+        this.hotWallets = hotWallets;
+    }
+
+    public int getWalletShards() {
+        return walletShards;
+    }
+
+    public void setWalletShards(int walletShards) {
+        this.walletShards = walletShards;
+    }
+
+    public long getShardConsolidationDelayMs() {
+        return shardConsolidationDelayMs;
+    }
+
+    public void setShardConsolidationDelayMs(long shardConsolidationDelayMs) {
+        this.shardConsolidationDelayMs = shardConsolidationDelayMs;
+    }
 }
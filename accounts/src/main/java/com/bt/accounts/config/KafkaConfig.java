@@ -190,6 +190,33 @@ public class KafkaConfig {
         return factory;
     }
 
+    // Consumer configuration for the compacted product snapshot topic. Each instance
+    // reads it from the beginning to rebuild its local product map.
+    @Bean
+    public ConsumerFactory<String, ProductSnapshotEvent> productSnapshotConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG,
+                StringDeserializer.class);
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG,
+                ErrorHandlingDeserializer.class);
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS,
+                JsonDeserializer.class.getName());
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, ProductSnapshotEvent.class.getName());
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    @Bean
+    public KafkaListenerContainerFactory<ConcurrentMessageListenerContainer<String, ProductSnapshotEvent>> productSnapshotKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, ProductSnapshotEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(productSnapshotConsumerFactory());
+        return factory;
+    }
+
     // Consumer configuration for FD calculation responses
     @Bean
     public ConsumerFactory<String, FdCalculationResponseEvent> fdCalculationConsumerFactory() {
@@ -215,6 +242,32 @@ public class KafkaConfig {
         return factory;
     }
 
+    // Consumer configuration for pricing rule change events. Every instance keeps
+    // its own rule cache, so each one reads the topic from the latest offset.
+    @Bean
+    public ConsumerFactory<String, PricingRuleChangedEvent> pricingRuleChangedConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG,
+                StringDeserializer.class);
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG,
+                ErrorHandlingDeserializer.class);
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS,
+                JsonDeserializer.class.getName());
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, PricingRuleChangedEvent.class.getName());
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    @Bean
+    public KafkaListenerContainerFactory<ConcurrentMessageListenerContainer<String, PricingRuleChangedEvent>> pricingRuleChangedKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, PricingRuleChangedEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(pricingRuleChangedConsumerFactory());
+        return factory;
+    }
+
     // Generic consumer factory (for backward compatibility)
     @Bean
     public ConsumerFactory<String, Object> consumerFactory() {
@@ -15,6 +15,18 @@ public class PricingServiceProperties {
      */
     private String token;
 
+    /**
+     * Age after which cached pricing rules are served while being reloaded in the
+     * background.
+     */
+    private long ruleCacheRefreshSeconds = 60;
+
+    /**
+     * Hard expiry for cached pricing rules. Change events normally evict entries
+     * long before this; it only bounds staleness if an event is missed.
+     */
+    private long ruleCacheTtlSeconds = 600;
+
     public String getUrl() {
         return url;
     }
@@ -31,4 +43,20 @@ public class PricingServiceProperties {
         this.token = token;
     }
 
+    public long getRuleCacheRefreshSeconds() {
+        return ruleCacheRefreshSeconds;
+    }
+
+    public void setRuleCacheRefreshSeconds(long ruleCacheRefreshSeconds) {
+        this.ruleCacheRefreshSeconds = ruleCacheRefreshSeconds;
+    }
+
+    public long getRuleCacheTtlSeconds() {
+        return ruleCacheTtlSeconds;
+    }
+
+    public void setRuleCacheTtlSeconds(long ruleCacheTtlSeconds) {
+        this.ruleCacheTtlSeconds = ruleCacheTtlSeconds;
+    }
+
 }
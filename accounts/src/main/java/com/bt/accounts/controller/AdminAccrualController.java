@@ -0,0 +1,34 @@
+package com.bt.accounts.controller;
+
+import com.bt.accounts.dto.ApiResponse;
+import com.bt.accounts.scheduler.AccrualMetrics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping({"/api/accounts/admin/accrual", "/api/admin/accrual"})
+@RequiredArgsConstructor
+@Tag(name = "Admin Accrual", description = "Admin visibility into the interest accrual engine")
+@SecurityRequirement(name = "Bearer Authentication")
+public class AdminAccrualController {
+
+    private final AccrualMetrics accrualMetrics;
+
+    @GetMapping("/metrics")
+    @PreAuthorize("hasAnyRole('ADMIN','BANKOFFICER')")
+    @Operation(summary = "Get accrual throughput and lag metrics")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getMetrics() {
+        return ResponseEntity.ok(ApiResponse.<Map<String, Object>>builder()
+                .success(true)
+                .message("OK")
+                .data(accrualMetrics.snapshot())
+                .build());
+    }
+}
@@ -1,11 +1,11 @@
 package com.bt.accounts.controller;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
@@ -17,16 +17,20 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.bt.accounts.dto.ApiResponse;
 import com.bt.accounts.dto.CashCachedBalanceResponse;
 import com.bt.accounts.dto.CashCachedIssueRequest;
 import com.bt.accounts.dto.CashCachedLedgerEntryResponse;
+import com.bt.accounts.dto.CashCachedLedgerPage;
 import com.bt.accounts.dto.CashCachedRedeemRequest;
 import com.bt.accounts.dto.CashCachedSummaryResponse;
 import com.bt.accounts.dto.CashCachedTransferRequest;
 import com.bt.accounts.entity.CashCachedLedgerEntry;
 import com.bt.accounts.service.CashCachedService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -43,6 +47,7 @@ import lombok.RequiredArgsConstructor;
 public class CashCachedController {
 
         private final CashCachedService cashCachedService;
+        private final ObjectMapper objectMapper;
 
         @PostMapping("/issue")
         @PreAuthorize("hasAnyRole('ADMIN','BANKOFFICER')")
@@ -127,34 +132,43 @@ public class CashCachedController {
         }
 
         @GetMapping("/history/{customerId}")
-        @Operation(summary = "Get customer transaction history", description = "Retrieves wallet transaction history for a specific customer")
-        public ResponseEntity<ApiResponse<List<CashCachedLedgerEntryResponse>>> history(
-                        @PathVariable String customerId) {
-                List<CashCachedLedgerEntry> history = cashCachedService.history(customerId);
-                List<CashCachedLedgerEntryResponse> payload = history.stream()
-                                .map(CashCachedLedgerEntryResponse::fromEntity)
-                                .toList();
-                return ResponseEntity.ok(ApiResponse.<List<CashCachedLedgerEntryResponse>>builder()
+        @Operation(summary = "Get customer transaction history", description = "Retrieves a page of wallet transaction history for a specific customer, newest first; pass nextCursor back as cursor for the following page")
+        public ResponseEntity<ApiResponse<CashCachedLedgerPage>> history(
+                        @PathVariable String customerId,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "50") int limit) {
+                CashCachedLedgerPage payload = cashCachedService.history(customerId, cursor, limit);
+                return ResponseEntity.ok(ApiResponse.<CashCachedLedgerPage>builder()
                                 .success(true)
                                 .message("History retrieved")
                                 .data(payload)
                                 .build());
         }
 
+        @GetMapping(value = "/history/{customerId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+        @Operation(summary = "Export customer transaction history", description = "Streams a customer's full wallet transaction history, newest first, as newline-delimited JSON")
+        public ResponseEntity<StreamingResponseBody> exportHistory(@PathVariable String customerId) {
+                Stream<CashCachedLedgerEntryResponse> entries = cashCachedService.exportHistory(customerId);
+                StreamingResponseBody body = out -> {
+                        try (entries; JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                                generator.setRootValueSeparator(null);
+                                for (Iterator<CashCachedLedgerEntryResponse> rows = entries.iterator(); rows.hasNext();) {
+                                        generator.writeObject(rows.next());
+                                        generator.writeRaw('\n');
+                                }
+                        }
+                };
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+        }
+
         @GetMapping("/history/all")
         @PreAuthorize("hasAnyRole('ADMIN','BANKOFFICER')")
-        @Operation(summary = "Get all transaction history", description = "Retrieves paginated wallet transaction history for all customers")
-        public ResponseEntity<ApiResponse<Page<CashCachedLedgerEntryResponse>>> historyAll(
-                        @RequestParam(defaultValue = "0") int page,
-                        @RequestParam(defaultValue = "25") int size) {
-
-                int safePage = Math.max(page, 0);
-                int boundedSize = Math.max(1, Math.min(size, 100));
-                Pageable pageable = PageRequest.of(safePage, boundedSize);
-                Page<CashCachedLedgerEntryResponse> payload = cashCachedService.historyAll(pageable)
-                                .map(CashCachedLedgerEntryResponse::fromEntity);
-
-                return ResponseEntity.ok(ApiResponse.<Page<CashCachedLedgerEntryResponse>>builder()
+        @Operation(summary = "Get all transaction history", description = "Retrieves a page of wallet transaction history for all customers, newest first; pass nextCursor back as cursor for the following page")
+        public ResponseEntity<ApiResponse<CashCachedLedgerPage>> historyAll(
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "50") int limit) {
+                CashCachedLedgerPage payload = cashCachedService.historyAll(cursor, limit);
+                return ResponseEntity.ok(ApiResponse.<CashCachedLedgerPage>builder()
                                 .success(true)
                                 .message("History retrieved")
                                 .data(payload)
@@ -221,15 +235,14 @@ public class CashCachedController {
         }
 
         @GetMapping("/transactions/{customerId}")
-        @Operation(summary = "Get wallet transactions", description = "Retrieves wallet transaction history for a customer")
-        public ResponseEntity<ApiResponse<List<CashCachedLedgerEntryResponse>>> getTransactions(
+        @Operation(summary = "Get wallet transactions", description = "Retrieves a page of wallet transactions for a customer, newest first; pass nextCursor back as cursor for the following page")
+        public ResponseEntity<ApiResponse<CashCachedLedgerPage>> getTransactions(
                         @PathVariable String customerId,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "50") int limit,
                         @RequestHeader(value = "Authorization", required = false) String authHeader) {
-                List<CashCachedLedgerEntry> history = cashCachedService.history(customerId);
-                List<CashCachedLedgerEntryResponse> payload = history.stream()
-                                .map(CashCachedLedgerEntryResponse::fromEntity)
-                                .toList();
-                return ResponseEntity.ok(ApiResponse.<List<CashCachedLedgerEntryResponse>>builder()
+                CashCachedLedgerPage payload = cashCachedService.history(customerId, cursor, limit);
+                return ResponseEntity.ok(ApiResponse.<CashCachedLedgerPage>builder()
                                 .success(true)
                                 .message("Transactions retrieved")
                                 .data(payload)
@@ -6,11 +6,15 @@ import java.time.LocalDateTime;
 import com.bt.accounts.entity.CashCachedLedgerEntry;
 import com.bt.accounts.entity.CashCachedLedgerEntry.Operation;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
+@NoArgsConstructor
+@AllArgsConstructor
 public class CashCachedLedgerEntryResponse {
 
     private Long id;
@@ -0,0 +1,20 @@
+package com.bt.accounts.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CashCachedLedgerPage {
+
+    private List<CashCachedLedgerEntryResponse> entries;
+    private String nextCursor;
+}
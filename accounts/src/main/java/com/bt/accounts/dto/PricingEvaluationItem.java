@@ -0,0 +1,21 @@
+package com.bt.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PricingEvaluationItem {
+
+    private String key;
+    private Long productId;
+    private BigDecimal balance;
+    private BigDecimal baseRate;
+}
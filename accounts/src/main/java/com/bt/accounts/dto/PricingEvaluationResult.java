@@ -0,0 +1,22 @@
+package com.bt.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PricingEvaluationResult {
+
+    private String key;
+    private Long productId;
+    private PricingRuleDto rule;
+    private BigDecimal appliedRate;
+    private BigDecimal fee;
+}
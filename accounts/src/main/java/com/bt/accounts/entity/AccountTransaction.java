@@ -12,7 +12,8 @@ import com.bt.accounts.time.TimeProvider;
 @Table(name = "account_transactions", indexes = {
         @Index(name = "idx_account_no", columnList = "account_no"),
         @Index(name = "idx_transaction_date", columnList = "transaction_date"),
-        @Index(name = "idx_transaction_type", columnList = "transaction_type")
+        @Index(name = "idx_transaction_type", columnList = "transaction_type"),
+        @Index(name = "idx_account_no_transaction_date", columnList = "account_no, transaction_date")
 })
 @Getter
 @Setter
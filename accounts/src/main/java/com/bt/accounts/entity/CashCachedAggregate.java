@@ -0,0 +1,70 @@
+package com.bt.accounts.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import com.bt.accounts.time.TimeProvider;
+
+/**
+ * One shard of a maintained running total. The value of a metric is the sum
+ * of its shards; writers add their delta to a random shard in the same
+ * transaction as the change it describes.
+ */
+@Entity
+@Table(name = "cashcached_aggregate", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_aggregate_shard", columnNames = { "metric", "shard_no" })
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CashCachedAggregate {
+
+    public enum Metric {
+        LEDGER_TOTAL,
+        TOTAL_SUPPLY
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "metric", nullable = false, length = 32)
+    private Metric metric;
+
+    @Column(name = "shard_no", nullable = false)
+    private Integer shardNo;
+
+    @Column(name = "amount", nullable = false, precision = 38, scale = 18)
+    private BigDecimal amount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    void onCreate() {
+        updatedAt = TimeProvider.currentDateTime();
+        if (amount == null) {
+            amount = BigDecimal.ZERO;
+        }
+    }
+}
@@ -1 +1,57 @@
+package com.bt.accounts.entity;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import com.bt.accounts.time.TimeProvider;
+
+/**
+ * Units of {@code currency} per US dollar. Rows override the built-in rate
+ * table; currencies without a row keep their built-in rate.
+ */
+@Entity
+@Table(name = "cashcached_exchange_rate", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_exchange_rate_currency", columnNames = "currency")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CashCachedExchangeRate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "rate_per_usd", nullable = false, precision = 19, scale = 6)
+    private BigDecimal ratePerUsd;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = TimeProvider.currentDateTime();
+    }
+}
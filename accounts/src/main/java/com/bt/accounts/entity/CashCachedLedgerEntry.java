@@ -24,8 +24,8 @@ import com.bt.accounts.time.TimeProvider;
 
 @Entity
 @Table(name = "cashcached_ledger", indexes = {
-        @Index(name = "idx_cashcached_customer", columnList = "customer_id"),
-        @Index(name = "idx_cashcached_created", columnList = "created_at")
+        @Index(name = "idx_cashcached_customer_created", columnList = "customer_id, created_at, id"),
+        @Index(name = "idx_cashcached_created_id", columnList = "created_at, id")
 })
 @Getter
 @Setter
@@ -0,0 +1,63 @@
+package com.bt.accounts.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import com.bt.accounts.time.TimeProvider;
+
+/**
+ * One sub-balance of a hot wallet. Credits to the wallet land on a random
+ * shard so concurrent writers rarely touch the same row; the wallet's balance
+ * is its {@link CashCachedWallet} row plus all of its shards, and shards are
+ * periodically folded back into that row.
+ */
+@Entity
+@Table(name = "cashcached_wallet_shard", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_wallet_shard", columnNames = { "customer_id", "shard_no" })
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CashCachedWalletShard {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "customer_id", nullable = false, length = 64)
+    private String customerId;
+
+    @Column(name = "shard_no", nullable = false)
+    private Integer shardNo;
+
+    @Column(name = "balance", nullable = false, precision = 38, scale = 18)
+    private BigDecimal balance;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    void onCreate() {
+        updatedAt = TimeProvider.currentDateTime();
+        if (balance == null) {
+            balance = BigDecimal.ZERO;
+        }
+    }
+}
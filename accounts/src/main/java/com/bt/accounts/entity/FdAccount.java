@@ -2,9 +2,11 @@ package com.bt.accounts.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 import com.bt.accounts.time.TimeProvider;
 
@@ -12,13 +14,17 @@ import com.bt.accounts.time.TimeProvider;
 @Table(name = "fd_accounts", indexes = {
         @Index(name = "idx_account_no", columnList = "account_no", unique = true),
         @Index(name = "idx_customer_id", columnList = "customer_id"),
-        @Index(name = "idx_status", columnList = "status")
+        @Index(name = "idx_status", columnList = "status"),
+        @Index(name = "idx_status_next_due", columnList = "status, next_due_at, id")
 })
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+// Updates only write the columns that changed, so a balance snapshot update does
+// not overwrite accrual fields written concurrently by the accrual scheduler.
+@DynamicUpdate
 public class FdAccount {
 
     @Id
@@ -98,6 +104,13 @@ public class FdAccount {
     @Column(name = "next_interest_accrual_at")
     private LocalDateTime nextInterestAccrualAt;
 
+    /**
+     * Earlier of {@link #nextInterestAccrualAt} and {@link #nextPayoutAt}, kept in
+     * step on every insert and update so the accrual scan needs one indexed column.
+     */
+    @Column(name = "next_due_at")
+    private LocalDateTime nextDueAt;
+
     @Column(name = "total_interest_accrued", precision = 38, scale = 18)
     private BigDecimal totalInterestAccrued;
 
@@ -116,6 +129,12 @@ public class FdAccount {
     @Column(name = "pricing_rule_applied_at")
     private LocalDateTime pricingRuleAppliedAt;
 
+    @Column(name = "current_balance", precision = 38, scale = 18)
+    private BigDecimal currentBalance;
+
+    @Column(name = "last_transaction_at")
+    private LocalDateTime lastTransactionAt;
+
     @PrePersist
     protected void onCreate() {
         LocalDateTime now = TimeProvider.currentDateTime();
@@ -148,11 +167,37 @@ public class FdAccount {
                 nextPayoutAt = maturityDate;
             }
         }
+        refreshNextDueAt();
+    }
+
+    /**
+     * Recomputes {@link #nextDueAt}; returns whether it changed.
+     */
+    public boolean refreshNextDueAt() {
+        LocalDateTime due = nextInterestAccrualAt;
+        if (due == null || (nextPayoutAt != null && nextPayoutAt.isBefore(due))) {
+            due = nextPayoutAt;
+        }
+        boolean changed = !Objects.equals(nextDueAt, due);
+        nextDueAt = due;
+        return changed;
+    }
+
+    /**
+     * Moves the materialized balance snapshot forward to reflect a newly recorded
+     * ledger entry.
+     */
+    public void applyLedgerEntry(BigDecimal balanceAfter, LocalDateTime transactionDate) {
+        currentBalance = balanceAfter;
+        if (transactionDate != null && (lastTransactionAt == null || transactionDate.isAfter(lastTransactionAt))) {
+            lastTransactionAt = transactionDate;
+        }
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = TimeProvider.currentDateTime();
+        refreshNextDueAt();
     }
 
     public enum AccountStatus {
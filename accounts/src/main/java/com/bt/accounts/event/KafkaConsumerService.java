@@ -1,8 +1,13 @@
 package com.bt.accounts.event;
 
+import com.bt.accounts.service.PricingRuleClient;
+import com.bt.accounts.service.ProductSnapshotCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.PartitionOffset;
+import org.springframework.kafka.annotation.TopicPartition;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -11,6 +16,8 @@ import org.springframework.stereotype.Service;
 public class KafkaConsumerService {
 
     private final RedisRequestResponseStore requestResponseStore;
+    private final ProductSnapshotCache productSnapshotCache;
+    private final PricingRuleClient pricingRuleClient;
 
     @KafkaListener(topics = "customer.validation.response", groupId = "accounts-customer-validator", containerFactory = "customerValidationKafkaListenerContainerFactory")
     public void handleCustomerValidationResponse(CustomerValidationResponse response) {
@@ -23,7 +30,7 @@ public class KafkaConsumerService {
 
         if (response != null && response.getRequestId() != null) {
             requestResponseStore.putResponse(response.getRequestId(), response);
-            log.info("Response stored in Redis for requestId: {}", response.getRequestId());
+            log.info("Response delivered to pending request: {}", response.getRequestId());
         } else {
             log.error("Invalid response - null or missing requestId!");
         }
@@ -36,7 +43,7 @@ public class KafkaConsumerService {
 
         if (response != null && response.getRequestId() != null) {
             requestResponseStore.putResponse(response.getRequestId(), response);
-            log.info("Response stored for requestId: {}", response.getRequestId());
+            log.info("Response delivered to pending request: {}", response.getRequestId());
         }
     }
 
@@ -47,7 +54,36 @@ public class KafkaConsumerService {
 
         if (response != null && response.getRequestId() != null) {
             requestResponseStore.putResponse(response.getRequestId(), response);
-            log.info("Response stored for requestId: {}", response.getRequestId());
+            log.info("Response delivered to pending request: {}", response.getRequestId());
         }
     }
+
+    // Every instance needs every change, so the partitions are assigned directly
+    // instead of joining a consumer group; with no committed offsets it starts
+    // from the latest offset.
+    @KafkaListener(topicPartitions = @TopicPartition(topic = KafkaTopics.PRICING_RULE_CHANGED,
+            partitions = KafkaTopics.PRICING_RULE_CHANGED_PARTITIONS),
+            containerFactory = "pricingRuleChangedKafkaListenerContainerFactory")
+    public void handlePricingRuleChanged(PricingRuleChangedEvent event) {
+        if (event == null) {
+            return;
+        }
+        log.info("Pricing rule {} {} for product {}, invalidating cached rules", event.getRuleId(),
+                event.getChangeType(), event.getProductId());
+        if (event.getProductId() != null) {
+            pricingRuleClient.invalidate(event.getProductId());
+        } else {
+            pricingRuleClient.invalidateAll();
+        }
+    }
+
+    // Assigned every partition directly and read from offset 0 on each start, so the
+    // cache is rebuilt from the compacted topic without leaving a consumer group behind.
+    @KafkaListener(topicPartitions = @TopicPartition(topic = KafkaTopics.PRODUCT_SNAPSHOT,
+            partitions = KafkaTopics.PRODUCT_SNAPSHOT_PARTITIONS,
+            partitionOffsets = @PartitionOffset(partition = "*", initialOffset = "0")),
+            containerFactory = "productSnapshotKafkaListenerContainerFactory")
+    public void handleProductSnapshot(ConsumerRecord<String, ProductSnapshotEvent> record) {
+        productSnapshotCache.apply(record.key(), record.value());
+    }
 }
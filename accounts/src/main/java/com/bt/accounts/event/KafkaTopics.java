@@ -15,6 +15,14 @@ public class KafkaTopics {
     public static final String PRODUCT_UPDATED = "product.updated";
     public static final String PRODUCT_DETAILS_REQUEST = "product.details.request";
     public static final String PRODUCT_DETAILS_RESPONSE = "product.details.response";
+    public static final String PRODUCT_SNAPSHOT = "product.snapshot";
+    public static final String PRICING_RULE_CHANGED = "pricing.rule.changed";
+
+    // Partitions of the topics that every instance reads in full through manual
+    // assignment rather than a consumer group. They must match the partition
+    // counts product-pricing creates the topics with.
+    public static final String PRODUCT_SNAPSHOT_PARTITIONS = "0-2";
+    public static final String PRICING_RULE_CHANGED_PARTITIONS = "0-2";
 
     // FD Calculator Service Topics
     public static final String FD_CALCULATION_REQUEST = "fd.calculation.request";
@@ -0,0 +1,31 @@
+package com.bt.accounts.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Published whenever a pricing rule is created, updated or deleted so that
+ * consumers holding cached rules for the product can drop them.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PricingRuleChangedEvent implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long productId;
+    private Long ruleId;
+    private ChangeType changeType;
+    private LocalDateTime occurredAt;
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
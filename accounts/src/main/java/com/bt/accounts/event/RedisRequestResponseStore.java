@@ -1,83 +1,240 @@
 package com.bt.accounts.event;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Correlates Kafka request/reply pairs by requestId.
+ *
+ * Each pending request is a {@link CompletableFuture} held in-process and
+ * completed directly by the Kafka listener that receives the reply, so the
+ * waiting thread wakes up as soon as the reply lands. When the reply is
+ * consumed by a different instance it is relayed over Redis pub/sub, and a
+ * short-lived response key is written as a last-chance fallback that is
+ * checked once on timeout.
+ */
 @Service
 @Slf4j
 public class RedisRequestResponseStore {
 
     private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
     private final ObjectMapper objectMapper;
+    private final Map<String, CompletableFuture<Object>> pending = new ConcurrentHashMap<>();
+    private final MessageListener relayListener = this::onRelayedReply;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final AtomicLong lastSubscribeAttempt = new AtomicLong();
+    private final ThreadPoolExecutor replyExecutor;
 
-    private static final String REQUEST_PREFIX = "kafka:request:";
     private static final String RESPONSE_PREFIX = "kafka:response:";
-    private static final String PENDING_MARKER = "PENDING";
+    private static final String REPLY_CHANNEL = "kafka:reply";
     private static final long DEFAULT_TTL_SECONDS = 60;
+    private static final long SUBSCRIBE_RETRY_MILLIS = 5000;
+    private static final int REPLY_THREADS = 4;
+    private static final int REPLY_QUEUE_CAPACITY = 1024;
 
-    public RedisRequestResponseStore(StringRedisTemplate stringRedisTemplate) {
+    public RedisRequestResponseStore(StringRedisTemplate stringRedisTemplate,
+            RedisMessageListenerContainer listenerContainer) {
         this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
+        AtomicInteger threadCount = new AtomicInteger();
+        this.replyExecutor = new ThreadPoolExecutor(REPLY_THREADS, REPLY_THREADS, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(REPLY_QUEUE_CAPACITY), r -> {
+                    Thread thread = new Thread(r, "kafka-reply-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.replyExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        replyExecutor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void subscribe() {
+        ensureSubscribed();
     }
 
     public void putRequest(String requestId, Object request) {
-        String key = REQUEST_PREFIX + requestId;
-        stringRedisTemplate.opsForValue().set(key, PENDING_MARKER, DEFAULT_TTL_SECONDS, TimeUnit.SECONDS);
-        log.debug("Stored pending request: {}", requestId);
+        ensureSubscribed();
+        pending.put(requestId, new CompletableFuture<>());
+        log.debug("Registered pending request: {}", requestId);
     }
 
     public <T> T getResponse(String requestId, Class<T> responseType, long timeout, TimeUnit unit)
             throws InterruptedException {
-        String responseKey = RESPONSE_PREFIX + requestId;
-        long endTime = System.currentTimeMillis() + unit.toMillis(timeout);
+        try {
+            return getResponseAsync(requestId, responseType, timeout, unit).get();
+        } catch (ExecutionException e) {
+            log.error("Pending request {} completed exceptionally", requestId, e.getCause());
+            return null;
+        }
+    }
 
-        while (System.currentTimeMillis() < endTime) {
-            String responseJson = stringRedisTemplate.opsForValue().get(responseKey);
-            if (responseJson != null) {
-                stringRedisTemplate.delete(responseKey);
-                stringRedisTemplate.delete(REQUEST_PREFIX + requestId);
+    /**
+     * Non-blocking variant of {@link #getResponse}. The returned future completes
+     * with the reply as soon as it arrives, or with {@code null} once the timeout
+     * elapses without one, so several lookups can be in flight at once.
+     *
+     * Completion handling runs on a small bounded pool: the timeout fires on the
+     * JDK's single shared delayer thread, and the Redis fallback read must not
+     * hold that thread up for every other timeout in the JVM. If the pool is
+     * saturated the lookup completes with {@code null} like any other miss.
+     */
+    public <T> CompletableFuture<T> getResponseAsync(String requestId, Class<T> responseType, long timeout,
+            TimeUnit unit) {
+        CompletableFuture<Object> future = pending.computeIfAbsent(requestId, id -> new CompletableFuture<>());
+        return future.orTimeout(timeout, unit).handleAsync((reply, error) -> {
+            pending.remove(requestId);
+            if (error == null) {
                 log.debug("Retrieved response for request: {}", requestId);
-                try {
-                    return objectMapper.readValue(responseJson, responseType);
-                } catch (Exception e) {
-                    log.error("Failed to deserialize response", e);
-                    return null;
+                return convert(reply, responseType);
+            }
+            if (error instanceof TimeoutException) {
+                String responseJson = readRelayedResponse(requestId);
+                if (responseJson != null) {
+                    log.debug("Recovered response for request {} from Redis fallback", requestId);
+                    return convert(responseJson, responseType);
                 }
+                log.warn("Request timed out: {}", requestId);
+                return null;
             }
-            Thread.sleep(100);
-        }
-
-        stringRedisTemplate.delete(REQUEST_PREFIX + requestId);
-        log.warn("Request timed out: {}", requestId);
-        return null;
+            log.error("Pending request {} completed exceptionally", requestId, error);
+            return null;
+        }, replyExecutor).exceptionally(error -> {
+            pending.remove(requestId);
+            log.warn("Could not complete lookup for request {}: {}", requestId, error.getMessage());
+            return null;
+        });
     }
 
     public void putResponse(String requestId, Object response) {
-        String key = RESPONSE_PREFIX + requestId;
+        CompletableFuture<Object> future = pending.get(requestId);
+        if (future != null) {
+            future.complete(response);
+            log.debug("Completed local pending request: {}", requestId);
+            return;
+        }
+
         try {
             String json = objectMapper.writeValueAsString(response);
-            stringRedisTemplate.opsForValue().set(key, json, DEFAULT_TTL_SECONDS, TimeUnit.SECONDS);
-            log.debug("Stored response for request: {}", requestId);
+            stringRedisTemplate.opsForValue().set(RESPONSE_PREFIX + requestId, json, DEFAULT_TTL_SECONDS,
+                    TimeUnit.SECONDS);
+
+            ObjectNode envelope = objectMapper.createObjectNode();
+            envelope.put("requestId", requestId);
+            envelope.put("payload", json);
+            stringRedisTemplate.convertAndSend(REPLY_CHANNEL, objectMapper.writeValueAsString(envelope));
+            log.debug("Relayed response for request {} to peer instances", requestId);
         } catch (Exception e) {
-            log.error("Failed to serialize response", e);
+            log.error("Failed to relay response for request: {}", requestId, e);
         }
     }
 
     public void removeRequest(String requestId) {
-        stringRedisTemplate.delete(REQUEST_PREFIX + requestId);
+        pending.remove(requestId);
         stringRedisTemplate.delete(RESPONSE_PREFIX + requestId);
         log.debug("Removed request: {}", requestId);
     }
 
     public boolean hasRequest(String requestId) {
-        String key = REQUEST_PREFIX + requestId;
-        Boolean exists = stringRedisTemplate.hasKey(key);
-        return Boolean.TRUE.equals(exists);
+        return pending.containsKey(requestId);
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Subscribes to the reply relay channel off the startup path, retrying at
+     * most every few seconds while Redis is unreachable.
+     */
+    private void ensureSubscribed() {
+        if (subscribed.get()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long last = lastSubscribeAttempt.get();
+        if (now - last < SUBSCRIBE_RETRY_MILLIS || !lastSubscribeAttempt.compareAndSet(last, now)) {
+            return;
+        }
+        try {
+            listenerContainer.addMessageListener(relayListener, new ChannelTopic(REPLY_CHANNEL));
+            subscribed.set(true);
+            log.info("Subscribed to reply relay channel {}", REPLY_CHANNEL);
+        } catch (Exception e) {
+            log.warn("Reply relay subscription unavailable, relying on local delivery: {}", e.getMessage());
+        }
+    }
+
+    private String readRelayedResponse(String requestId) {
+        try {
+            String responseJson = stringRedisTemplate.opsForValue().get(RESPONSE_PREFIX + requestId);
+            if (responseJson != null) {
+                stringRedisTemplate.delete(RESPONSE_PREFIX + requestId);
+            }
+            return responseJson;
+        } catch (Exception e) {
+            log.warn("Redis fallback lookup failed for request {}: {}", requestId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void onRelayedReply(Message message, byte[] pattern) {
+        try {
+            JsonNode envelope = objectMapper.readTree(new String(message.getBody(), StandardCharsets.UTF_8));
+            String requestId = envelope.path("requestId").asText(null);
+            CompletableFuture<Object> future = requestId != null ? pending.get(requestId) : null;
+            if (future != null && future.complete(envelope.path("payload").asText())) {
+                stringRedisTemplate.delete(RESPONSE_PREFIX + requestId);
+                log.debug("Completed pending request {} from relayed reply", requestId);
+            }
+        } catch (Exception e) {
+            log.error("Failed to handle relayed reply", e);
+        }
+    }
+
+    private <T> T convert(Object reply, Class<T> responseType) {
+        if (reply == null || responseType.isInstance(reply)) {
+            return responseType.cast(reply);
+        }
+        try {
+            if (reply instanceof String json) {
+                return objectMapper.readValue(json, responseType);
+            }
+            return objectMapper.convertValue(reply, responseType);
+        } catch (Exception e) {
+            log.error("Failed to deserialize response", e);
+            return null;
+        }
     }
 }
@@ -16,6 +16,11 @@ public interface AccountTransactionRepository extends JpaRepository<AccountTrans
 
     List<AccountTransaction> findByAccountNoOrderByTransactionDateDesc(String accountNo);
 
+    Optional<AccountTransaction> findTopByAccountNoOrderByTransactionDateDescIdDesc(String accountNo);
+
+    Optional<AccountTransaction> findTopByAccountNoAndTransactionDateLessThanEqualOrderByTransactionDateDescIdDesc(
+            String accountNo, LocalDateTime asOf);
+
     Optional<AccountTransaction> findTopByAccountNoAndTransactionTypeOrderByTransactionDateDesc(
             String accountNo, AccountTransaction.TransactionType transactionType);
 
@@ -0,0 +1,37 @@
+package com.bt.accounts.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import jakarta.persistence.LockModeType;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.bt.accounts.entity.CashCachedAggregate;
+import com.bt.accounts.entity.CashCachedAggregate.Metric;
+
+public interface CashCachedAggregateRepository extends JpaRepository<CashCachedAggregate, Long> {
+
+    boolean existsByMetricAndShardNo(Metric metric, Integer shardNo);
+
+    /**
+     * Loads one shard row under a row lock held until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM CashCachedAggregate a WHERE a.metric = :metric AND a.shardNo = :shardNo")
+    Optional<CashCachedAggregate> findForUpdate(@Param("metric") Metric metric, @Param("shardNo") Integer shardNo);
+
+    @Query("SELECT COALESCE(SUM(a.amount), 0) FROM CashCachedAggregate a WHERE a.metric = :metric")
+    BigDecimal sumByMetric(@Param("metric") Metric metric);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CashCachedAggregate a SET a.amount = a.amount + :delta, a.updatedAt = :now "
+            + "WHERE a.metric = :metric AND a.shardNo = :shardNo")
+    int add(@Param("metric") Metric metric, @Param("shardNo") Integer shardNo, @Param("delta") BigDecimal delta,
+            @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,8 @@
+package com.bt.accounts.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.bt.accounts.entity.CashCachedExchangeRate;
+
+public interface CashCachedExchangeRateRepository extends JpaRepository<CashCachedExchangeRate, Long> {
+}
@@ -1,18 +1,55 @@
 package com.bt.accounts.repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.bt.accounts.dto.CashCachedLedgerEntryResponse;
 import com.bt.accounts.entity.CashCachedLedgerEntry;
 
 public interface CashCachedLedgerRepository extends JpaRepository<CashCachedLedgerEntry, Long> {
 
-    List<CashCachedLedgerEntry> findByCustomerIdOrderByCreatedAtDesc(String customerId);
+    @Query("SELECT new com.bt.accounts.dto.CashCachedLedgerEntryResponse(e.id, e.customerId, e.changeAmount, "
+            + "e.balanceAfter, e.operation, e.transactionHash, e.reference, e.createdAt) "
+            + "FROM CashCachedLedgerEntry e WHERE e.customerId = :customerId "
+            + "ORDER BY e.createdAt DESC, e.id DESC")
+    List<CashCachedLedgerEntryResponse> findHistoryPage(@Param("customerId") String customerId, Limit limit);
 
-    List<CashCachedLedgerEntry> findAllByOrderByCreatedAtDesc();
+    @Query("SELECT new com.bt.accounts.dto.CashCachedLedgerEntryResponse(e.id, e.customerId, e.changeAmount, "
+            + "e.balanceAfter, e.operation, e.transactionHash, e.reference, e.createdAt) "
+            + "FROM CashCachedLedgerEntry e WHERE e.customerId = :customerId "
+            + "AND (e.createdAt < :afterCreatedAt OR (e.createdAt = :afterCreatedAt AND e.id < :afterId)) "
+            + "ORDER BY e.createdAt DESC, e.id DESC")
+    List<CashCachedLedgerEntryResponse> findHistoryPageAfter(@Param("customerId") String customerId,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") Long afterId,
+            Limit limit);
 
-    Page<CashCachedLedgerEntry> findAllByOrderByCreatedAtDesc(Pageable pageable);
+    @Query("SELECT new com.bt.accounts.dto.CashCachedLedgerEntryResponse(e.id, e.customerId, e.changeAmount, "
+            + "e.balanceAfter, e.operation, e.transactionHash, e.reference, e.createdAt) "
+            + "FROM CashCachedLedgerEntry e "
+            + "ORDER BY e.createdAt DESC, e.id DESC")
+    List<CashCachedLedgerEntryResponse> findAllHistoryPage(Limit limit);
+
+    @Query("SELECT new com.bt.accounts.dto.CashCachedLedgerEntryResponse(e.id, e.customerId, e.changeAmount, "
+            + "e.balanceAfter, e.operation, e.transactionHash, e.reference, e.createdAt) "
+            + "FROM CashCachedLedgerEntry e "
+            + "WHERE e.createdAt < :afterCreatedAt OR (e.createdAt = :afterCreatedAt AND e.id < :afterId) "
+            + "ORDER BY e.createdAt DESC, e.id DESC")
+    List<CashCachedLedgerEntryResponse> findAllHistoryPageAfter(
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") Long afterId,
+            Limit limit);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM CashCachedLedgerEntry e")
+    Long findMaxId();
+
+    @Query("SELECT COALESCE(SUM(e.changeAmount), 0) FROM CashCachedLedgerEntry e "
+            + "WHERE e.id > :afterId AND e.id <= :upToId")
+    BigDecimal sumChangeAmountBetween(@Param("afterId") Long afterId, @Param("upToId") Long upToId);
 }
@@ -1,14 +1,72 @@
 package com.bt.accounts.repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.bt.accounts.entity.CashCachedWallet;
 
+/**
+ * Balance changes go through the conditional updates below rather than
+ * load-and-save, so concurrent writers never race on the {@code version}
+ * column. Each update still bumps the version, so code that saves a wallet
+ * entity it loaded earlier fails with an optimistic lock error and does not
+ * silently overwrite the balance.
+ */
 public interface CashCachedWalletRepository extends JpaRepository<CashCachedWallet, Long> {
 
     Optional<CashCachedWallet> findByCustomerId(String customerId);
 
     boolean existsByCustomerId(String customerId);
+
+    @Query("SELECT COALESCE(MAX(w.id), 0) FROM CashCachedWallet w")
+    Long findMaxId();
+
+    @Query("SELECT COALESCE(SUM(w.balance), 0) FROM CashCachedWallet w WHERE w.id > :afterId AND w.id <= :upToId")
+    BigDecimal sumBalanceBetween(@Param("afterId") Long afterId, @Param("upToId") Long upToId);
+
+    @Query("SELECT w.balance FROM CashCachedWallet w WHERE w.customerId = :customerId")
+    Optional<BigDecimal> findBalanceByCustomerId(@Param("customerId") String customerId);
+
+    /**
+     * Reads the balance with a row lock held until the transaction ends, for
+     * changes that cannot be expressed as a single relative update.
+     */
+    @Query(value = "SELECT balance FROM cashcached_wallet WHERE customer_id = :customerId FOR UPDATE",
+            nativeQuery = true)
+    Optional<BigDecimal> findBalanceForUpdate(@Param("customerId") String customerId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CashCachedWallet w SET w.balance = w.balance + :amount, w.updatedAt = :now, "
+            + "w.version = w.version + 1 WHERE w.customerId = :customerId")
+    int credit(@Param("customerId") String customerId, @Param("amount") BigDecimal amount,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Debits the wallet only if it holds at least {@code amount}; returns 0 when
+     * the balance is insufficient or the wallet does not exist.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CashCachedWallet w SET w.balance = w.balance - :amount, w.updatedAt = :now, "
+            + "w.version = w.version + 1 WHERE w.customerId = :customerId AND w.balance >= :amount")
+    int debit(@Param("customerId") String customerId, @Param("amount") BigDecimal amount,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Moves the wallet to another base currency with an already converted
+     * balance, provided it is still in {@code fromCurrency}. Wallets created
+     * without a currency count as INR, as everywhere else.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CashCachedWallet w SET w.balance = :balance, w.baseCurrency = :toCurrency, "
+            + "w.updatedAt = :now, w.version = w.version + 1 "
+            + "WHERE w.customerId = :customerId AND COALESCE(w.baseCurrency, 'INR') = :fromCurrency")
+    int rebase(@Param("customerId") String customerId, @Param("fromCurrency") String fromCurrency,
+            @Param("toCurrency") String toCurrency, @Param("balance") BigDecimal balance,
+            @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,52 @@
+package com.bt.accounts.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.bt.accounts.entity.CashCachedWalletShard;
+
+public interface CashCachedWalletShardRepository extends JpaRepository<CashCachedWalletShard, Long> {
+
+    List<CashCachedWalletShard> findByCustomerId(String customerId);
+
+    boolean existsByCustomerIdAndShardNo(String customerId, Integer shardNo);
+
+    @Query("SELECT DISTINCT s.customerId FROM CashCachedWalletShard s")
+    List<String> findShardOwners();
+
+    @Query("SELECT COALESCE(SUM(s.balance), 0) FROM CashCachedWalletShard s WHERE s.customerId = :customerId")
+    BigDecimal sumBalanceByCustomerId(@Param("customerId") String customerId);
+
+    @Query("SELECT COALESCE(SUM(s.balance), 0) FROM CashCachedWalletShard s")
+    BigDecimal sumBalance();
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CashCachedWalletShard s SET s.balance = s.balance + :amount, s.updatedAt = :now "
+            + "WHERE s.customerId = :customerId AND s.shardNo = :shardNo")
+    int credit(@Param("customerId") String customerId, @Param("shardNo") Integer shardNo,
+            @Param("amount") BigDecimal amount, @Param("now") LocalDateTime now);
+
+    /**
+     * Takes {@code amount} out of a shard for consolidation, only if the shard
+     * still holds it; another instance consolidating at the same time makes
+     * this return 0 instead of driving the shard negative.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CashCachedWalletShard s SET s.balance = s.balance - :amount, s.updatedAt = :now "
+            + "WHERE s.id = :id AND s.balance >= :amount")
+    int drain(@Param("id") Long id, @Param("amount") BigDecimal amount, @Param("now") LocalDateTime now);
+
+    /**
+     * Removes a shard that is no longer part of the configuration, only once it
+     * is empty; a credit that still lands on it keeps it for the next run.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM CashCachedWalletShard s WHERE s.id = :id AND s.balance = 0")
+    int deleteIfEmpty(@Param("id") Long id);
+}
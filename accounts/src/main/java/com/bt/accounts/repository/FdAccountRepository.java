@@ -1,12 +1,15 @@
 package com.bt.accounts.repository;
 
 import com.bt.accounts.entity.FdAccount;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +18,14 @@ public interface FdAccountRepository extends JpaRepository<FdAccount, Long> {
 
     Optional<FdAccount> findByAccountNo(String accountNo);
 
+    /**
+     * Loads the account holding a row lock until the surrounding transaction ends,
+     * so balance read-modify-write cycles on the same account are serialized.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM FdAccount a WHERE a.accountNo = :accountNo")
+    Optional<FdAccount> findByAccountNoForUpdate(@Param("accountNo") String accountNo);
+
     List<FdAccount> findByCustomerId(String customerId);
 
     List<FdAccount> findByCustomerIdAndStatus(String customerId, FdAccount.AccountStatus status);
@@ -45,4 +56,21 @@ public interface FdAccountRepository extends JpaRepository<FdAccount, Long> {
             Pageable pageable);
 
     boolean existsByAccountNo(String accountNo);
+
+    @Query("SELECT a FROM FdAccount a WHERE a.status = :status AND a.nextDueAt <= :now " +
+            "ORDER BY a.nextDueAt ASC, a.id ASC")
+    List<FdAccount> findDueForAccrual(
+            @Param("status") FdAccount.AccountStatus status,
+            @Param("now") LocalDateTime now,
+            Pageable pageable);
+
+    @Query("SELECT a FROM FdAccount a WHERE a.status = :status AND a.nextDueAt <= :now AND " +
+            "(a.nextDueAt > :afterDueAt OR (a.nextDueAt = :afterDueAt AND a.id > :afterId)) " +
+            "ORDER BY a.nextDueAt ASC, a.id ASC")
+    List<FdAccount> findDueForAccrualAfter(
+            @Param("status") FdAccount.AccountStatus status,
+            @Param("now") LocalDateTime now,
+            @Param("afterDueAt") LocalDateTime afterDueAt,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
 }
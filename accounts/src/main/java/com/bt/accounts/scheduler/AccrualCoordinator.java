@@ -0,0 +1,266 @@
+package com.bt.accounts.scheduler;
+
+import com.bt.accounts.config.AccrualProperties;
+import com.bt.accounts.entity.FdAccount;
+import com.bt.accounts.service.RedisDistributedLockService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coordinates accrual ticks across accounts instances so that the same account
+ * is never accrued by two nodes at once.
+ *
+ * <ul>
+ * <li>{@code LEADER}: a renewable Redis lease elects one instance per tick; the
+ * others skip the tick.</li>
+ * <li>{@code SHARDED}: accounts map to a fixed number of slots, slots are spread
+ * over the live instances with a consistent-hash ring, and each slot is claimed
+ * with its own lease before it is processed. Adding instances adds throughput.</li>
+ * <li>{@code NONE}: single-instance deployments; every tick runs everything.</li>
+ * </ul>
+ *
+ * Leases are renewed in the background while a tick is running. If Redis is
+ * unreachable the tick is skipped rather than risking a double interest credit.
+ */
+@Component
+@Slf4j
+public class AccrualCoordinator {
+
+    public enum Mode {
+        NONE,
+        LEADER,
+        SHARDED
+    }
+
+    private static final String LEADER_LOCK = "accrual:leader";
+    private static final String SLOT_LOCK_PREFIX = "accrual:slot:";
+    private static final String MEMBERS_KEY = "accrual:members";
+    private static final int VIRTUAL_NODES = 64;
+
+    private final RedisDistributedLockService lockService;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final AccrualProperties properties;
+    private final String instanceId;
+    private final ScheduledExecutorService renewer;
+
+    private volatile String leaderLockValue;
+
+    public AccrualCoordinator(RedisDistributedLockService lockService, StringRedisTemplate stringRedisTemplate,
+            AccrualProperties properties, @Value("${spring.application.name:accounts-service}") String appName) {
+        this.lockService = lockService;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.properties = properties;
+        this.instanceId = appName + "@" + resolveHostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+        this.renewer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "accrual-lease-renewer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Claims this instance's share of the accrual work for one tick. The returned
+     * assignment must be closed when the tick ends.
+     */
+    public Assignment acquire() {
+        Mode mode = properties.getCoordination();
+        try {
+            return switch (mode) {
+                case NONE -> new Assignment(null, Map.of(), true);
+                case LEADER -> acquireLeadership();
+                case SHARDED -> acquireSlots();
+            };
+        } catch (Exception ex) {
+            log.warn("Accrual coordination unavailable ({}), skipping tick: {}", mode, ex.getMessage());
+            return inactive();
+        }
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    private Assignment acquireLeadership() {
+        long lease = properties.getLeaseSeconds();
+        String held = leaderLockValue;
+        if (held == null || !lockService.extendLock(LEADER_LOCK, held, lease)) {
+            held = lockService.acquireLock(LEADER_LOCK, lease);
+            if (held != null && !held.equals(leaderLockValue)) {
+                log.info("Instance {} acquired accrual leadership", instanceId);
+            }
+            leaderLockValue = held;
+        }
+        if (held == null) {
+            log.debug("Instance {} is not the accrual leader, skipping tick", instanceId);
+            return inactive();
+        }
+        return new Assignment(null, Map.of(LEADER_LOCK, held), true);
+    }
+
+    private Assignment acquireSlots() {
+        long lease = properties.getLeaseSeconds();
+        long nowMillis = System.currentTimeMillis();
+        stringRedisTemplate.opsForZSet().add(MEMBERS_KEY, instanceId, nowMillis + TimeUnit.SECONDS.toMillis(lease));
+        stringRedisTemplate.opsForZSet().removeRangeByScore(MEMBERS_KEY, 0, nowMillis);
+        Set<String> members = stringRedisTemplate.opsForZSet().range(MEMBERS_KEY, 0, -1);
+        if (members == null || members.isEmpty()) {
+            members = Set.of(instanceId);
+        }
+
+        NavigableMap<Long, String> ring = new TreeMap<>();
+        for (String member : members) {
+            for (int i = 0; i < VIRTUAL_NODES; i++) {
+                ring.put(hash(member + "#" + i), member);
+            }
+        }
+
+        int slotCount = Math.max(1, properties.getShardSlots());
+        boolean[] owned = new boolean[slotCount];
+        Map<String, String> locks = new ConcurrentHashMap<>();
+        for (int slot = 0; slot < slotCount; slot++) {
+            Map.Entry<Long, String> owner = ring.ceilingEntry(hash("slot-" + slot));
+            String ownerId = owner != null ? owner.getValue() : ring.firstEntry().getValue();
+            if (!instanceId.equals(ownerId)) {
+                continue;
+            }
+            String lockKey = SLOT_LOCK_PREFIX + slot;
+            String value = lockService.acquireLock(lockKey, lease);
+            if (value != null) {
+                owned[slot] = true;
+                locks.put(lockKey, value);
+            }
+        }
+        log.debug("Instance {} claimed {} of {} accrual slots across {} member(s)", instanceId, locks.size(),
+                slotCount, members.size());
+        return new Assignment(owned, locks, !locks.isEmpty());
+    }
+
+    private Assignment inactive() {
+        return new Assignment(null, Map.of(), false);
+    }
+
+    private static int slotFor(String accountNo, int slotCount) {
+        return Math.floorMod(accountNo != null ? accountNo.hashCode() : 0, slotCount);
+    }
+
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long h = 0;
+            for (int i = 0; i < 8; i++) {
+                h = (h << 8) | (digest[i] & 0xFF);
+            }
+            return h;
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("MD5 not available", ex);
+        }
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception ex) {
+            return "unknown-host";
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        renewer.shutdownNow();
+        String held = leaderLockValue;
+        try {
+            if (held != null) {
+                lockService.releaseLock(LEADER_LOCK, held);
+            }
+            if (properties.getCoordination() == Mode.SHARDED) {
+                stringRedisTemplate.opsForZSet().remove(MEMBERS_KEY, instanceId);
+            }
+        } catch (Exception ex) {
+            log.debug("Failed to release accrual coordination state on shutdown: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * The accounts this instance may accrue during one tick, plus the leases that
+     * back that claim. Leases are renewed until the assignment is closed; if a
+     * renewal fails the assignment reports itself as no longer held.
+     */
+    public final class Assignment implements AutoCloseable {
+
+        private final boolean[] ownedSlots;
+        private final Map<String, String> locks;
+        private final boolean active;
+        private final ScheduledFuture<?> renewal;
+        private volatile boolean held = true;
+
+        private Assignment(boolean[] ownedSlots, Map<String, String> locks, boolean active) {
+            this.ownedSlots = ownedSlots;
+            this.locks = locks;
+            this.active = active;
+            long period = Math.max(1, properties.getLeaseSeconds() / 3);
+            this.renewal = active && !locks.isEmpty()
+                    ? renewer.scheduleAtFixedRate(this::renew, period, period, TimeUnit.SECONDS)
+                    : null;
+        }
+
+        public boolean isActive() {
+            return active && held;
+        }
+
+        public boolean owns(FdAccount account) {
+            if (!isActive()) {
+                return false;
+            }
+            return ownedSlots == null || ownedSlots[slotFor(account.getAccountNo(), ownedSlots.length)];
+        }
+
+        private void renew() {
+            for (Map.Entry<String, String> lock : locks.entrySet()) {
+                try {
+                    if (!lockService.extendLock(lock.getKey(), lock.getValue(), properties.getLeaseSeconds())) {
+                        log.warn("Lost accrual lease {}; stopping tick", lock.getKey());
+                        held = false;
+                    }
+                } catch (Exception ex) {
+                    log.warn("Failed to renew accrual lease {}: {}", lock.getKey(), ex.getMessage());
+                    held = false;
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            if (renewal != null) {
+                renewal.cancel(false);
+            }
+            locks.forEach((key, value) -> {
+                if (LEADER_LOCK.equals(key)) {
+                    return;
+                }
+                try {
+                    lockService.releaseLock(key, value);
+                } catch (Exception ex) {
+                    log.debug("Failed to release accrual lease {}: {}", key, ex.getMessage());
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.bt.accounts.scheduler;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throughput and lag counters for the accrual engine, exposed through the
+ * admin accrual endpoint.
+ */
+@Component
+public class AccrualMetrics {
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong accountsProcessed = new AtomicLong();
+    private final AtomicLong accountsFailed = new AtomicLong();
+    private final AtomicLong batchesCommitted = new AtomicLong();
+    private final AtomicLong batchesIsolated = new AtomicLong();
+    private final AtomicLong inFlightBatches = new AtomicLong();
+    private final AtomicLong runMaxLagSeconds = new AtomicLong();
+
+    private volatile LocalDateTime lastRunStartedAt;
+    private volatile long lastRunDurationMillis;
+    private volatile long lastRunProcessed;
+    private volatile long lastRunMaxLagSeconds;
+
+    public void runStarted(LocalDateTime startedAt) {
+        lastRunStartedAt = startedAt;
+        runMaxLagSeconds.set(0);
+    }
+
+    public void runFinished(long processed, long durationMillis) {
+        runs.incrementAndGet();
+        lastRunProcessed = processed;
+        lastRunDurationMillis = durationMillis;
+        lastRunMaxLagSeconds = runMaxLagSeconds.get();
+    }
+
+    public void recordLag(LocalDateTime dueAt, LocalDateTime now) {
+        if (dueAt == null || now == null) {
+            return;
+        }
+        long lag = Math.max(0, Duration.between(dueAt, now).getSeconds());
+        runMaxLagSeconds.accumulateAndGet(lag, Math::max);
+    }
+
+    public void batchStarted() {
+        inFlightBatches.incrementAndGet();
+    }
+
+    public void batchFinished(boolean committed) {
+        inFlightBatches.decrementAndGet();
+        if (committed) {
+            batchesCommitted.incrementAndGet();
+        } else {
+            batchesIsolated.incrementAndGet();
+        }
+    }
+
+    public void accountProcessed() {
+        accountsProcessed.incrementAndGet();
+    }
+
+    public void accountFailed() {
+        accountsFailed.incrementAndGet();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("runs", runs.get());
+        data.put("accountsProcessed", accountsProcessed.get());
+        data.put("accountsFailed", accountsFailed.get());
+        data.put("batchesCommitted", batchesCommitted.get());
+        data.put("batchesIsolated", batchesIsolated.get());
+        data.put("inFlightBatches", inFlightBatches.get());
+        data.put("lastRunStartedAt", lastRunStartedAt != null ? lastRunStartedAt.toString() : null);
+        data.put("lastRunProcessed", lastRunProcessed);
+        data.put("lastRunDurationMillis", lastRunDurationMillis);
+        data.put("lastRunThroughputPerSecond",
+                lastRunDurationMillis > 0 ? lastRunProcessed * 1000.0 / lastRunDurationMillis : 0.0);
+        data.put("lastRunMaxLagSeconds", lastRunMaxLagSeconds);
+        return data;
+    }
+}
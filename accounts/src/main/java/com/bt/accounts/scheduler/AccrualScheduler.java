@@ -1,27 +1,30 @@
 package com.bt.accounts.scheduler;
 
+import com.bt.accounts.config.AccrualProperties;
 import com.bt.accounts.dto.TransactionRequest;
 import com.bt.accounts.dto.TransactionResponse;
 import com.bt.accounts.entity.AccountTransaction;
 import com.bt.accounts.entity.FdAccount;
+import com.bt.accounts.service.AccountBalanceService;
 import com.bt.accounts.service.TransactionService;
 import com.bt.accounts.service.CashCachedService;
 import com.bt.accounts.service.PricingRuleEvaluator;
 import com.bt.accounts.service.ServiceTokenProvider;
 import com.bt.accounts.exception.ServiceIntegrationException;
-import com.bt.accounts.exception.AccountNotFoundException;
-import com.bt.accounts.repository.AccountTransactionRepository;
 import com.bt.accounts.repository.FdAccountRepository;
 import com.bt.accounts.time.TimeProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.*;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import java.math.RoundingMode;
@@ -33,34 +36,119 @@ import java.math.RoundingMode;
 public class AccrualScheduler {
 
     private final FdAccountRepository accountRepository;
-    private final AccountTransactionRepository txnRepository;
     private final TransactionService transactionService;
     private final CashCachedService cashCachedService;
     private final PricingRuleEvaluator pricingRuleEvaluator;
     private final ServiceTokenProvider serviceTokenProvider;
     private final TimeProvider timeProvider;
+    private final AccrualProperties accrualProperties;
+    private final AccrualWorkerPool accrualWorkerPool;
+    private final AccrualMetrics accrualMetrics;
+    private final AccrualCoordinator accrualCoordinator;
+    private final AccountBalanceService accountBalanceService;
 
-    @Scheduled(fixedDelay = 60_000)
+    /**
+     * Where the previous tick stopped when it ran out of budget. The next tick
+     * resumes there, so accounts that stay due because they keep failing cannot
+     * take every tick's budget ahead of the rest; it is cleared once a pass
+     * reaches the end of the due accounts.
+     */
+    private DueCursor resumeAfter;
+
+    /**
+     * Processes only accounts whose next_due_at (the earlier of the accrual and
+     * payout dates) is at or before now, walking them in (next_due_at, id) keyset
+     * pages so each query is a range scan of the (status, next_due_at, id) index.
+     * Each page is fanned out across the worker pool's partitioned lanes.
+     * A tick with nothing due costs a single empty query. Only the accounts this
+     * instance currently holds a lease for are processed; see {@link AccrualCoordinator}.
+     * Pricing for each chunk is resolved up front with one bulk evaluation.
+     */
+    @Scheduled(fixedDelayString = "${accounts.accrual.fixed-delay-ms:60000}")
     public void runAccruals() {
+        try (AccrualCoordinator.Assignment assignment = accrualCoordinator.acquire()) {
+            if (assignment.isActive()) {
+                runAccruals(assignment);
+            }
+        }
+    }
+
+    private void runAccruals(AccrualCoordinator.Assignment assignment) {
         Instant nowInstant = timeProvider.now();
         ZoneId zone = ZoneId.systemDefault();
         LocalDateTime now = LocalDateTime.ofInstant(nowInstant, zone);
-        List<FdAccount> accounts = accountRepository.findAll()
-                .stream()
-                .filter(a -> a.getStatus() == FdAccount.AccountStatus.ACTIVE)
-                .collect(Collectors.toList());
-
-        for (FdAccount a : accounts) {
-            try {
-                processAccountAccrual(a, now);
-            } catch (Exception ex) {
-                log.warn("Accrual failed for account {}: {}", a.getAccountNo(), ex.getMessage());
+        int chunkSize = Math.max(1, accrualProperties.getChunkSize());
+        int budget = Math.max(chunkSize, accrualProperties.getMaxAccountsPerRun());
+        long startedAt = System.currentTimeMillis();
+        accrualMetrics.runStarted(now);
+
+        DueCursor cursor = resumeAfter;
+        int processed = 0;
+        int succeeded = 0;
+        while (processed < budget) {
+            if (!assignment.isActive()) {
+                log.warn("Accrual lease lost mid-run; remaining due accounts roll over");
+                break;
             }
+            PageRequest pageRequest = PageRequest.of(0, Math.min(chunkSize, budget - processed));
+            List<FdAccount> page = cursor == null
+                    ? accountRepository.findDueForAccrual(FdAccount.AccountStatus.ACTIVE, now, pageRequest)
+                    : accountRepository.findDueForAccrualAfter(FdAccount.AccountStatus.ACTIVE, now,
+                            cursor.dueAt(), cursor.id(), pageRequest);
+            if (page.isEmpty()) {
+                cursor = null;
+                break;
+            }
+            // Taken before processing, which moves each account's due date forward.
+            FdAccount last = page.get(page.size() - 1);
+            cursor = new DueCursor(last.getNextDueAt(), last.getId());
+            List<FdAccount> chunk = page.stream().filter(assignment::owns).collect(Collectors.toList());
+            if (chunk.isEmpty()) {
+                continue;
+            }
+            for (FdAccount account : chunk) {
+                account.refreshNextDueAt();
+                accrualMetrics.recordLag(account.getNextDueAt(), now);
+            }
+            Map<String, PricedBalance> prepriced = prefetchPricing(chunk, now);
+            succeeded += accrualWorkerPool.dispatch(chunk,
+                    a -> processAccountAccrual(a, now, prepriced.get(a.getAccountNo())));
+            processed += chunk.size();
+        }
+
+        resumeAfter = cursor;
+        accrualMetrics.runFinished(succeeded, System.currentTimeMillis() - startedAt);
+        if (processed > 0) {
+            log.info("Accrual run processed {} due account(s), {} succeeded", processed, succeeded);
+        }
+        if (processed >= budget) {
+            log.info("Accrual run reached its budget of {} accounts; remaining due accounts roll over", budget);
+        }
+    }
 
+    private Map<String, PricedBalance> prefetchPricing(List<FdAccount> chunk, LocalDateTime now) {
+        Map<String, BigDecimal> balances = new HashMap<>();
+        for (FdAccount account : chunk) {
+            balances.put(account.getAccountNo(), accountBalanceService.balanceAsOf(account, now));
         }
+        Map<String, PricingRuleEvaluator.EvaluationResult> pricing;
+        try {
+            pricing = pricingRuleEvaluator.evaluateAll(chunk, balances, serviceTokenProvider.getBearerToken());
+        } catch (ServiceIntegrationException ex) {
+            log.warn("Bulk pricing evaluation unavailable for chunk of {}: {}", chunk.size(), ex.getMessage());
+            return Map.of();
+        }
+        Map<String, PricedBalance> prepriced = new HashMap<>();
+        pricing.forEach((accountNo, result) -> prepriced.put(accountNo,
+                new PricedBalance(balances.get(accountNo), result)));
+        return prepriced;
     }
 
-    private PricingRuleEvaluator.EvaluationResult evaluatePricing(FdAccount account, BigDecimal balance) {
+    private PricingRuleEvaluator.EvaluationResult evaluatePricing(FdAccount account, BigDecimal balance,
+            PricedBalance prepriced) {
+        if (prepriced != null && prepriced.balance().compareTo(balance) == 0) {
+            return prepriced.pricing();
+        }
         try {
             String token = serviceTokenProvider.getBearerToken();
             return pricingRuleEvaluator.evaluate(account, balance, token);
@@ -91,7 +179,7 @@ public class AccrualScheduler {
         return rateChanged || idChanged || nameChanged || appliedAtChanged;
     }
 
-    private void processAccountAccrual(FdAccount account, LocalDateTime now) {
+    private void processAccountAccrual(FdAccount account, LocalDateTime now, PricedBalance prepriced) {
         if (account.getStatus() != FdAccount.AccountStatus.ACTIVE) {
             return;
         }
@@ -106,8 +194,8 @@ public class AccrualScheduler {
 
         while (nextAccrual != null && !nextAccrual.isAfter(now)
                 && account.getStatus() == FdAccount.AccountStatus.ACTIVE) {
-            BigDecimal currentBalance = calculateCurrentBalance(accountNo);
-            PricingRuleEvaluator.EvaluationResult pricing = evaluatePricing(account, currentBalance);
+            BigDecimal currentBalance = accountBalanceService.balanceAsOf(account, now);
+            PricingRuleEvaluator.EvaluationResult pricing = evaluatePricing(account, currentBalance, prepriced);
             BigDecimal appliedRate = resolveAppliedRate(account, pricing);
             if (shouldUpdatePricingMetadata(account, pricing, appliedRate)) {
                 account.setInterestRate(appliedRate);
@@ -148,7 +236,7 @@ public class AccrualScheduler {
         }
 
         if (shouldFinalizeMaturity(account, createdAt, now)) {
-            BigDecimal currentBalance = calculateCurrentBalance(accountNo);
+            BigDecimal currentBalance = accountBalanceService.balanceAsOf(account, now);
             finalizeMaturity(account, currentBalance, now);
         }
     }
@@ -174,22 +262,6 @@ public class AccrualScheduler {
         return next;
     }
 
-    private BigDecimal calculateCurrentBalance(String accountNo) {
-        LocalDateTime now = LocalDateTime.ofInstant(timeProvider.now(), ZoneId.systemDefault());
-        List<AccountTransaction> txns = txnRepository.findByAccountNoOrderByTransactionDateDesc(accountNo);
-        
-        List<AccountTransaction> validTxns = txns.stream()
-                .filter(t -> t.getTransactionDate() != null && !t.getTransactionDate().isAfter(now))
-                .collect(Collectors.toList());
-        
-        if (validTxns.isEmpty()) {
-            FdAccount account = accountRepository.findByAccountNo(accountNo)
-                    .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNo));
-            return account.getPrincipalAmount();
-        }
-        return validTxns.get(0).getBalanceAfter();
-    }
-
     private TransactionResponse creditInterest(FdAccount account, BigDecimal amount, LocalDateTime when) {
         return transactionService.recordTransaction(account.getAccountNo(), TransactionRequest.builder()
                 .transactionType(AccountTransaction.TransactionType.INTEREST_CREDIT.name())
@@ -252,4 +324,10 @@ public class AccrualScheduler {
         }
         return payoutAt != null && !nextAccrual.isBefore(payoutAt);
     }
+
+    private record DueCursor(LocalDateTime dueAt, Long id) {
+    }
+
+    private record PricedBalance(BigDecimal balance, PricingRuleEvaluator.EvaluationResult pricing) {
+    }
 }
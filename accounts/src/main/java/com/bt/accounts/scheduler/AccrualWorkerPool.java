@@ -0,0 +1,126 @@
+package com.bt.accounts.scheduler;
+
+import com.bt.accounts.config.AccrualProperties;
+import com.bt.accounts.entity.FdAccount;
+import com.bt.accounts.repository.FdAccountRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs accrual work on a fixed set of single-threaded lanes. Accounts are
+ * hash-partitioned by account number, so a given account always lands on the
+ * same lane and is never accrued by two threads at once, while different
+ * accounts proceed in parallel.
+ *
+ * Each lane batch runs in its own transaction. If the batch fails it is rolled
+ * back and replayed one account per transaction, so a single bad account does
+ * not block the rest of its batch.
+ */
+@Component
+@Slf4j
+public class AccrualWorkerPool {
+
+    private final FdAccountRepository accountRepository;
+    private final AccrualMetrics metrics;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService[] lanes;
+
+    public AccrualWorkerPool(FdAccountRepository accountRepository, AccrualMetrics metrics,
+            PlatformTransactionManager transactionManager, AccrualProperties properties) {
+        this.accountRepository = accountRepository;
+        this.metrics = metrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        int laneCount = Math.max(1, properties.getWorkerThreads());
+        this.lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String name = "accrual-lane-" + i;
+            lanes[i] = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Dispatches the accounts across lanes and waits for every lane batch to
+     * finish. Accounts are reloaded inside each batch transaction, so the
+     * processor always works on managed, current state.
+     *
+     * @return the number of accounts processed successfully
+     */
+    public int dispatch(List<FdAccount> accounts, Consumer<FdAccount> processor) {
+        List<List<Long>> partitions = new ArrayList<>(lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (FdAccount account : accounts) {
+            partitions.get(laneFor(account.getAccountNo())).add(account.getId());
+        }
+
+        AtomicInteger succeeded = new AtomicInteger();
+        List<CompletableFuture<Void>> batches = new ArrayList<>(lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            List<Long> ids = partitions.get(i);
+            if (!ids.isEmpty()) {
+                batches.add(CompletableFuture.runAsync(() -> succeeded.addAndGet(runBatch(ids, processor)),
+                        lanes[i]));
+            }
+        }
+        CompletableFuture.allOf(batches.toArray(new CompletableFuture[0])).join();
+        return succeeded.get();
+    }
+
+    int laneFor(String accountNo) {
+        return Math.floorMod(accountNo != null ? accountNo.hashCode() : 0, lanes.length);
+    }
+
+    private int runBatch(List<Long> ids, Consumer<FdAccount> processor) {
+        metrics.batchStarted();
+        try {
+            transactionTemplate.executeWithoutResult(status -> accountRepository.findAllById(ids).forEach(processor));
+            ids.forEach(id -> metrics.accountProcessed());
+            metrics.batchFinished(true);
+            return ids.size();
+        } catch (Exception batchFailure) {
+            log.warn("Accrual batch of {} account(s) rolled back ({}); retrying individually", ids.size(),
+                    batchFailure.getMessage());
+        }
+
+        int succeeded = 0;
+        for (Long id : ids) {
+            try {
+                transactionTemplate.executeWithoutResult(
+                        status -> accountRepository.findById(id).ifPresent(processor));
+                metrics.accountProcessed();
+                succeeded++;
+            } catch (Exception ex) {
+                metrics.accountFailed();
+                log.warn("Accrual failed for account id {}: {}", id, ex.getMessage());
+            }
+        }
+        metrics.batchFinished(false);
+        return succeeded;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+    }
+}
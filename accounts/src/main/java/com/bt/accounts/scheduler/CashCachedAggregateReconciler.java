@@ -0,0 +1,42 @@
+package com.bt.accounts.scheduler;
+
+import com.bt.accounts.service.CashCachedAggregates;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the wallet summary aggregates at startup and periodically checks
+ * them against the ledger and wallet tables; see {@link CashCachedAggregates#reconcile}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CashCachedAggregateReconciler {
+
+    private final CashCachedAggregates aggregates;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialise() {
+        try {
+            aggregates.initialise();
+        } catch (Exception ex) {
+            // Usually another instance creating the same rows at the same time.
+            log.warn("Could not initialise wallet aggregates: {}", ex.getMessage());
+        }
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${cashcached.aggregate-reconcile-delay-ms:600000}",
+            initialDelayString = "${cashcached.aggregate-reconcile-delay-ms:600000}")
+    public void reconcile() {
+        try {
+            aggregates.reconcile();
+        } catch (Exception ex) {
+            log.warn("Wallet aggregate reconcile failed: {}", ex.getMessage());
+        }
+    }
+}
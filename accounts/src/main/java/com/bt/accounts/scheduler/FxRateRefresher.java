@@ -0,0 +1,38 @@
+package com.bt.accounts.scheduler;
+
+import com.bt.accounts.service.CashCachedFxRates;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads the stored exchange rates at startup and re-checks them periodically;
+ * a new FX snapshot is only built when a rate changed. Until the first load
+ * succeeds conversions use the built-in rates.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FxRateRefresher {
+
+    private final CashCachedFxRates fxRates;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialise() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${cashcached.fx-refresh-delay-ms:60000}",
+            initialDelayString = "${cashcached.fx-refresh-delay-ms:60000}")
+    public void refresh() {
+        try {
+            fxRates.refresh();
+        } catch (Exception ex) {
+            log.warn("FX rate refresh failed, keeping snapshot {}: {}", fxRates.snapshot().version(),
+                    ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.bt.accounts.scheduler;
+
+import com.bt.accounts.service.CashCachedService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Creates the shard rows of the sharded wallets at startup and periodically
+ * folds their shards back into the wallet row, so shard balances stay small
+ * and debits of those wallets rarely have much to consolidate. Wallets that
+ * kept shards from an earlier configuration are consolidated too, which
+ * retires those shards. Safe to run on every instance; see
+ * {@link CashCachedService#consolidateShards}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WalletShardConsolidator {
+
+    private final CashCachedService cashCachedService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialiseShards() {
+        for (String customerId : cashCachedService.hotWallets()) {
+            try {
+                cashCachedService.initialiseShards(customerId);
+            } catch (Exception ex) {
+                // Usually another instance creating the same rows; the next start retries.
+                log.warn("Could not initialise shards for wallet {}: {}", customerId, ex.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cashcached.shard-consolidation-delay-ms:30000}")
+    public void consolidate() {
+        for (String customerId : cashCachedService.walletsWithShards()) {
+            try {
+                BigDecimal moved = cashCachedService.consolidateShards(customerId);
+                if (moved.signum() > 0) {
+                    log.debug("Consolidated {} from shards of wallet {}", moved, customerId);
+                }
+            } catch (Exception ex) {
+                log.warn("Shard consolidation failed for wallet {}: {}", customerId, ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.bt.accounts.service;
+
+import com.bt.accounts.entity.AccountTransaction;
+import com.bt.accounts.entity.FdAccount;
+import com.bt.accounts.repository.AccountTransactionRepository;
+import com.bt.accounts.time.TimeProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Reads account balances from the snapshot materialized on {@link FdAccount}.
+ *
+ * The snapshot answers in O(1) whenever the last ledger entry is not after the
+ * requested instant. Otherwise (time-travel reads, or accounts written before the
+ * snapshot existed) the newest entry at or before that instant is fetched with a
+ * single bounded top-1 query on (account_no, transaction_date).
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountBalanceService {
+
+    private final AccountTransactionRepository transactionRepository;
+
+    public BigDecimal currentBalance(FdAccount account) {
+        return balanceAsOf(account, TimeProvider.currentDateTime());
+    }
+
+    /**
+     * Balance after the most recently recorded entry, regardless of its date.
+     */
+    public BigDecimal latestBalance(FdAccount account) {
+        if (account.getCurrentBalance() != null) {
+            return account.getCurrentBalance();
+        }
+        return transactionRepository.findTopByAccountNoOrderByTransactionDateDescIdDesc(account.getAccountNo())
+                .map(AccountTransaction::getBalanceAfter)
+                .orElseGet(() -> principalOf(account));
+    }
+
+    public BigDecimal balanceAsOf(FdAccount account, LocalDateTime asOf) {
+        BigDecimal snapshot = account.getCurrentBalance();
+        LocalDateTime lastTransactionAt = account.getLastTransactionAt();
+        if (snapshot != null && lastTransactionAt != null && !lastTransactionAt.isAfter(asOf)) {
+            return snapshot;
+        }
+        return transactionRepository
+                .findTopByAccountNoAndTransactionDateLessThanEqualOrderByTransactionDateDescIdDesc(
+                        account.getAccountNo(), asOf)
+                .map(AccountTransaction::getBalanceAfter)
+                .orElseGet(() -> principalOf(account));
+    }
+
+    /**
+     * Updates the account's snapshot for a ledger entry that has just been saved.
+     * Callers persist the account within the same transaction as the entry.
+     */
+    public void applyEntry(FdAccount account, AccountTransaction transaction) {
+        account.applyLedgerEntry(transaction.getBalanceAfter(), transaction.getTransactionDate());
+    }
+
+    private BigDecimal principalOf(FdAccount account) {
+        BigDecimal principal = account.getPrincipalAmount();
+        return principal != null ? principal : BigDecimal.ZERO;
+    }
+}
@@ -34,7 +34,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.math.RoundingMode;
@@ -59,6 +62,9 @@ public class AccountService {
     private final PricingServiceProperties pricingServiceProperties;
     private final ServiceTokenProvider serviceTokenProvider;
     private final AccountNotificationService accountNotificationService;
+    private final AccountBalanceService accountBalanceService;
+    private final ProductSnapshotCache productSnapshotCache;
+    private final MaturityEngine maturityEngine;
 
     @Value("${accounts.sequence.prefix:FD}")
     private String accountPrefix;
@@ -66,12 +72,15 @@ public class AccountService {
     @Value("${app.kafka.request-timeout-seconds:30}")
     private int requestTimeoutSeconds;
 
+    @Value("${app.kafka.parallel-lookups:true}")
+    private boolean parallelLookups;
+
     @Transactional
     @CacheEvict(value = { "accounts", "customerAccounts" }, allEntries = true)
     public AccountResponse createAccount(AccountCreationRequest request, String authToken) {
         validateUserRole();
 
-        validateCustomer(request.getCustomerId(), authToken);
+        CompletableFuture<CustomerDto> customerLookup = startCustomerValidation(request.getCustomerId());
         ProductDto product = fetchProduct(request.getProductCode(), authToken);
 
         String currency = request.getCurrency() != null ? request.getCurrency() : "INR";
@@ -99,6 +108,7 @@ public class AccountService {
         validateProductRules(convertedRequest, product);
         
         FdCalculationDto calculation = calculateMaturity(convertedRequest, authToken);
+        awaitLookup(customerLookup);
 
         String accountNo = accountNumberGenerator.generateAccountNumber(request.getBranchCode());
 
@@ -357,7 +367,21 @@ public class AccountService {
         }
     }
 
-    private CustomerDto validateCustomer(String customerId, String authToken) {
+    /**
+     * Sends the customer validation request without waiting for the reply, so the
+     * product lookup and maturity calculation can proceed while it is in flight.
+     * With {@code app.kafka.parallel-lookups=false} the reply is awaited here and
+     * the lookups run one after another as before.
+     */
+    private CompletableFuture<CustomerDto> startCustomerValidation(String customerId) {
+        CompletableFuture<CustomerDto> lookup = requestCustomerValidation(customerId);
+        if (!parallelLookups) {
+            awaitLookup(lookup);
+        }
+        return lookup;
+    }
+
+    private CompletableFuture<CustomerDto> requestCustomerValidation(String customerId) {
         String requestId = UUID.randomUUID().toString();
         log.info("========== VALIDATING CUSTOMER {} ==========", customerId);
         log.info("Generated requestId: {}", requestId);
@@ -380,28 +404,34 @@ public class AccountService {
 
         log.info("Sending customer validation request to Kafka...");
         kafkaProducerService.sendCustomerValidationRequest(request);
-        log.info("Request sent. Now waiting for response (timeout: {} seconds)...", requestTimeoutSeconds);
+        log.info("Request sent. Awaiting response (timeout: {} seconds)...", requestTimeoutSeconds);
+
+        return requestResponseStore
+                .getResponseAsync(requestId, CustomerValidationResponse.class, requestTimeoutSeconds, TimeUnit.SECONDS)
+                .thenApply(response -> {
+                    if (response == null || !Boolean.TRUE.equals(response.getValid())) {
+                        log.error("Customer validation FAILED - response null or invalid");
+                        throw new CustomerNotFoundException("Customer not found or invalid: " + customerId);
+                    }
+
+                    log.info("Customer validation SUCCESSFUL");
+                    CustomerDto dto = new CustomerDto();
+                    dto.setId(response.getCustomerId());
+                    return dto;
+                });
+    }
 
+    private <T> T awaitLookup(CompletableFuture<T> lookup) {
         try {
-            CustomerValidationResponse response = requestResponseStore
-                    .getResponse(requestId, CustomerValidationResponse.class, requestTimeoutSeconds, TimeUnit.SECONDS);
-
-            log.info("========== RESPONSE RECEIVED ==========");
-            log.info("Response: {}", response != null ? "NOT NULL" : "NULL");
-
-            if (response == null || !Boolean.TRUE.equals(response.getValid())) {
-                log.error("Customer validation FAILED - response null or invalid");
-                throw new CustomerNotFoundException("Customer not found or invalid: " + customerId);
-            }
-
-            log.info("Customer validation SUCCESSFUL");
-            CustomerDto dto = new CustomerDto();
-            dto.setId(response.getCustomerId());
-            return dto;
+            return lookup.get();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            log.error("Customer validation INTERRUPTED");
-            throw new ServiceIntegrationException("Customer validation request timeout", e);
+            throw new ServiceIntegrationException("Interrupted while awaiting service response", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ServiceIntegrationException("Service lookup failed", e.getCause());
         }
     }
 
@@ -502,6 +532,11 @@ public class AccountService {
     }
 
     private ProductDto validateProduct(String productCode, String authToken) {
+        Optional<ProductDetailsResponse> snapshot = productSnapshotCache.find(productCode);
+        if (snapshot.isPresent()) {
+            return toProductDto(snapshot.get());
+        }
+
         String requestId = UUID.randomUUID().toString();
         ProductDetailsRequest request = ProductDetailsRequest.builder()
                 .productCode(productCode)
@@ -524,29 +559,32 @@ public class AccountService {
                         "Product service returned error for code " + productCode + ": " + response.getError());
             }
 
-            ProductDto dto = ProductDto.builder()
-                    .id(response.getProductId())
-                    .productCode(response.getProductCode())
-                    .productName(response.getProductName())
-                    .productType(response.getProductType())
-                    .minAmount(response.getMinAmount())
-                    .maxAmount(response.getMaxAmount())
-                    .minTermMonths(response.getMinTermMonths())
-                    .maxTermMonths(response.getMaxTermMonths())
-                    .minInterestRate(response.getMinInterestRate())
-                    .maxInterestRate(response.getMaxInterestRate())
-                    .currency(response.getCurrency())
-                    .status(response.getStatus())
-                    .prematurePenaltyRate(response.getPrematurePenaltyRate())
-                    .prematurePenaltyGraceDays(response.getPrematurePenaltyGraceDays())
-                    .build();
-            return dto;
+            return toProductDto(response);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new ServiceIntegrationException("Product details request timeout", e);
         }
     }
 
+    private ProductDto toProductDto(ProductDetailsResponse response) {
+        return ProductDto.builder()
+                .id(response.getProductId())
+                .productCode(response.getProductCode())
+                .productName(response.getProductName())
+                .productType(response.getProductType())
+                .minAmount(response.getMinAmount())
+                .maxAmount(response.getMaxAmount())
+                .minTermMonths(response.getMinTermMonths())
+                .maxTermMonths(response.getMaxTermMonths())
+                .minInterestRate(response.getMinInterestRate())
+                .maxInterestRate(response.getMaxInterestRate())
+                .currency(response.getCurrency())
+                .status(response.getStatus())
+                .prematurePenaltyRate(response.getPrematurePenaltyRate())
+                .prematurePenaltyGraceDays(response.getPrematurePenaltyGraceDays())
+                .build();
+    }
+
     private void validateProductRules(AccountCreationRequest request, ProductDto product) {
         BigDecimal principalAmount = request.getPrincipalAmount();
         if (principalAmount == null) {
@@ -644,12 +682,8 @@ public class AccountService {
             principal = BigDecimal.ZERO;
         }
         BigDecimal annualRate = request.getInterestRate() != null ? request.getInterestRate() : BigDecimal.ZERO;
-        BigDecimal r = annualRate.divide(new BigDecimal("100"), 10, RoundingMode.HALF_UP);
-        BigDecimal tYears = new BigDecimal(request.getTenureMonths() != null ? request.getTenureMonths() : 0)
-                .divide(new BigDecimal("12"), 10, RoundingMode.HALF_UP);
-
-        double maturity = principal.doubleValue() * Math.pow(1 + r.doubleValue(), tYears.doubleValue());
-        BigDecimal maturityAmount = new BigDecimal(maturity).setScale(2, RoundingMode.HALF_UP);
+        int tenureMonths = request.getTenureMonths() != null ? request.getTenureMonths() : 0;
+        BigDecimal maturityAmount = maturityEngine.maturityAmount(principal, annualRate, tenureMonths, 1, 2);
 
         FdCalculationDto dto = new FdCalculationDto();
         dto.setMaturityAmount(maturityAmount);
@@ -680,29 +714,12 @@ public class AccountService {
         }
     }
 
-    private BigDecimal computeCurrentBalance(String accountNo) {
-        LocalDateTime now = TimeProvider.currentDateTime();
-        List<com.bt.accounts.entity.AccountTransaction> txns = transactionRepository
-                .findByAccountNoOrderByTransactionDateDesc(accountNo);
-        
-        List<com.bt.accounts.entity.AccountTransaction> validTxns = txns.stream()
-                .filter(t -> t.getTransactionDate() != null && !t.getTransactionDate().isAfter(now))
-                .collect(Collectors.toList());
-        
-        if (validTxns.isEmpty()) {
-            FdAccount account = accountRepository.findByAccountNo(accountNo).orElseThrow();
-            BigDecimal pa = account.getPrincipalAmount();
-            return pa != null ? pa : BigDecimal.ZERO;
-        }
-        return validTxns.get(0).getBalanceAfter();
-    }
-
     private AccountResponse mapAccountResponse(FdAccount account) {
         AccountResponse response = AccountResponse.fromEntity(account);
         BigDecimal principal = account.getPrincipalAmount() != null ? account.getPrincipalAmount() : BigDecimal.ZERO;
         BigDecimal currentBalance = principal;
         try {
-            BigDecimal latestBalance = computeCurrentBalance(account.getAccountNo());
+            BigDecimal latestBalance = accountBalanceService.currentBalance(account);
             currentBalance = latestBalance;
         } catch (Exception ex) {
             log.warn("Unable to compute current balance for account {}: {}", account.getAccountNo(), ex.getMessage());
@@ -874,7 +891,7 @@ public class AccountService {
     public AccountResponse createAccountV1(AccountCreationV1Request request, String authToken) {
         validateUserRole();
 
-        validateCustomer(request.getCustomerId(), authToken);
+        CompletableFuture<CustomerDto> customerLookup = startCustomerValidation(request.getCustomerId());
 
         ProductDto product = fetchProduct(request.getProductCode(), authToken);
 
@@ -900,6 +917,7 @@ public class AccountService {
         validateProductRules(fullRequest, product);
 
         FdCalculationDto calculation = calculateMaturity(fullRequest, authToken);
+        awaitLookup(customerLookup);
 
         String accountNo = accountNumberGenerator.generateAccountNumber(request.getBranchCode());
 
@@ -956,7 +974,7 @@ public class AccountService {
     public AccountResponse createAccountV2(AccountCreationV2Request request, String authToken) {
         validateUserRole();
 
-        validateCustomer(request.getCustomerId(), authToken);
+        CompletableFuture<CustomerDto> customerLookup = startCustomerValidation(request.getCustomerId());
         ProductDto product = fetchProduct(request.getProductCode(), authToken);
 
         BigDecimal principalAmount = request.getPrincipalAmount() != null ? request.getPrincipalAmount() : BigDecimal.ZERO;
@@ -999,6 +1017,7 @@ public class AccountService {
         validateProductRules(fullRequest, product);
 
         FdCalculationDto calculation = calculateMaturity(fullRequest, authToken);
+        awaitLookup(customerLookup);
 
         String accountNo = accountNumberGenerator.generateAccountNumber(request.getBranchCode());
 
@@ -1066,7 +1085,9 @@ public class AccountService {
                     .processedBy(getCurrentUsername())
                     .transactionDate(TimeProvider.currentDateTime())
                     .build();
-            transactionRepository.save(transaction);
+            AccountTransaction saved = transactionRepository.save(transaction);
+            accountBalanceService.applyEntry(account, saved);
+            accountRepository.save(account);
             log.info("Recorded initial deposit transaction: {} for account: {}", transactionId, account.getAccountNo());
         } catch (Exception e) {
             log.error("Failed to record initial deposit transaction for account: {}", account.getAccountNo(), e);
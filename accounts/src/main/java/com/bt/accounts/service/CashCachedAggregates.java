@@ -0,0 +1,197 @@
+package com.bt.accounts.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bt.accounts.config.CashCachedProperties;
+import com.bt.accounts.entity.CashCachedAggregate;
+import com.bt.accounts.entity.CashCachedAggregate.Metric;
+import com.bt.accounts.repository.CashCachedAggregateRepository;
+import com.bt.accounts.repository.CashCachedLedgerRepository;
+import com.bt.accounts.repository.CashCachedWalletRepository;
+import com.bt.accounts.repository.CashCachedWalletShardRepository;
+import com.bt.accounts.time.TimeProvider;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Running totals behind the wallet summary: the ledger total and the supply
+ * held in wallets. Each ledger append or balance change adds its delta to the
+ * surrounding transaction, which writes the net amounts once before commit.
+ * Writes are spread over {@code cashcached.wallet-shards} rows per metric so
+ * the totals do not become a hot row themselves. Reading a total sums those
+ * few rows, however large the ledger grows.
+ *
+ * {@link #reconcile} recomputes both totals with chunked SQL sums and corrects
+ * any drift; it is also what fills the totals in the first time.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CashCachedAggregates {
+
+    static final long RECONCILE_CHUNK = 50_000;
+
+    private final CashCachedProperties properties;
+    private final CashCachedAggregateRepository aggregateRepository;
+    private final CashCachedLedgerRepository ledgerRepository;
+    private final CashCachedWalletRepository walletRepository;
+    private final CashCachedWalletShardRepository shardRepository;
+
+    /**
+     * Adds {@code delta} to a metric; must run in the transaction of the change
+     * it describes. Deltas are netted per transaction and written just before
+     * commit to one shard row picked for the whole transaction, metrics in
+     * declaration order, so two transactions never take aggregate rows in
+     * opposite orders. A metric whose deltas cancel out is not written at all.
+     * A delta for a shard row that does not exist yet is dropped and picked up
+     * by the next reconcile.
+     */
+    public void add(Metric metric, BigDecimal delta) {
+        if (delta.signum() == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Aggregate deltas can only be recorded inside a transaction");
+        }
+        PendingDeltas pending = (PendingDeltas) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingDeltas();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.deltas.merge(metric, delta, BigDecimal::add);
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal ledgerTotal() {
+        return aggregateRepository.sumByMetric(Metric.LEDGER_TOTAL);
+    }
+
+    @Transactional(readOnly = true)
+    public BigDecimal totalSupply() {
+        return aggregateRepository.sumByMetric(Metric.TOTAL_SUPPLY);
+    }
+
+    /**
+     * Creates any missing shard rows with a zero amount.
+     */
+    @Transactional
+    public void initialise() {
+        for (Metric metric : Metric.values()) {
+            for (int shardNo = 0; shardNo < shardCount(); shardNo++) {
+                if (!aggregateRepository.existsByMetricAndShardNo(metric, shardNo)) {
+                    aggregateRepository.save(CashCachedAggregate.builder()
+                            .metric(metric)
+                            .shardNo(shardNo)
+                            .amount(BigDecimal.ZERO)
+                            .build());
+                }
+            }
+        }
+    }
+
+    /**
+     * Recomputes both totals from the ledger and wallet tables and adds the
+     * difference to shard 0. A metric whose maintained value moved while its
+     * source was being summed is left for the next run rather than corrected
+     * against a mixed view. Returns the correction applied per metric.
+     *
+     * Runs are serialised across instances by locking the shard 0 rows before
+     * anything is read: the snapshot is only taken at the first plain read, so
+     * a run that waited for the locks sees the correction of the run before it
+     * instead of applying the same drift again.
+     */
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public Map<Metric, BigDecimal> reconcile() {
+        Map<Metric, BigDecimal> corrections = new EnumMap<>(Metric.class);
+        for (Metric metric : Metric.values()) {
+            if (aggregateRepository.findForUpdate(metric, 0).isEmpty()) {
+                log.warn("Cannot reconcile {}: aggregate rows are not initialised", metric);
+                return corrections;
+            }
+        }
+        reconcile(Metric.LEDGER_TOTAL, () -> chunkedSum(ledgerRepository.findMaxId(),
+                ledgerRepository::sumChangeAmountBetween), corrections);
+        reconcile(Metric.TOTAL_SUPPLY, () -> chunkedSum(walletRepository.findMaxId(),
+                walletRepository::sumBalanceBetween).add(shardRepository.sumBalance()), corrections);
+        return corrections;
+    }
+
+    private void reconcile(Metric metric, Supplier<BigDecimal> actualSum,
+            Map<Metric, BigDecimal> corrections) {
+        BigDecimal before = aggregateRepository.sumByMetric(metric);
+        BigDecimal actual = actualSum.get();
+        BigDecimal after = aggregateRepository.sumByMetric(metric);
+        if (before.compareTo(after) != 0) {
+            log.debug("Skipping {} reconcile, it changed during the scan", metric);
+            return;
+        }
+        BigDecimal drift = actual.subtract(after);
+        if (drift.signum() != 0) {
+            aggregateRepository.add(metric, 0, drift, TimeProvider.currentDateTime());
+            log.warn("Corrected {} by {} (maintained {}, actual {})", metric, drift, after, actual);
+        }
+        corrections.put(metric, drift);
+    }
+
+    private BigDecimal chunkedSum(Long maxId, BiFunction<Long, Long, BigDecimal> sumBetween) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (long afterId = 0; afterId < maxId; afterId += RECONCILE_CHUNK) {
+            total = total.add(sumBetween.apply(afterId, Math.min(afterId + RECONCILE_CHUNK, maxId)));
+        }
+        return total;
+    }
+
+    private int shardCount() {
+        return Math.max(1, properties.getWalletShards());
+    }
+
+    /**
+     * The net deltas of one transaction. Bound as a transaction resource, and
+     * unbound while the transaction is suspended, so a nested REQUIRES_NEW
+     * transaction collects and commits its own.
+     */
+    private final class PendingDeltas implements TransactionSynchronization {
+
+        private final Map<Metric, BigDecimal> deltas = new EnumMap<>(Metric.class);
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(CashCachedAggregates.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(CashCachedAggregates.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            int shardNo = ThreadLocalRandom.current().nextInt(shardCount());
+            LocalDateTime now = TimeProvider.currentDateTime();
+            deltas.forEach((metric, delta) -> {
+                if (delta.signum() != 0) {
+                    aggregateRepository.add(metric, shardNo, delta, now);
+                }
+            });
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CashCachedAggregates.this);
+        }
+    }
+}
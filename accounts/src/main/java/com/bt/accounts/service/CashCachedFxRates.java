@@ -0,0 +1,90 @@
+package com.bt.accounts.service;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import com.bt.accounts.config.CashCachedProperties;
+import com.bt.accounts.entity.CashCachedExchangeRate;
+import com.bt.accounts.repository.CashCachedExchangeRateRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Holds the current {@link FxSnapshot}. It starts from the built-in rate table
+ * and the configured currencies; {@link #refresh} overlays the rows of
+ * {@code cashcached_exchange_rate} and swaps in a new snapshot only when a
+ * rate actually changed. Readers take the snapshot once per operation, so a
+ * single conversion never mixes two sets of rates.
+ */
+@Service
+@Slf4j
+public class CashCachedFxRates {
+
+    private static final Map<String, BigDecimal> STATIC_RATE_TABLE = Map.ofEntries(
+            Map.entry("USD", new BigDecimal("1.00")),
+            Map.entry("KWD", new BigDecimal("0.31")),
+            Map.entry("INR", new BigDecimal("83.20")),
+            Map.entry("GBP", new BigDecimal("0.78")),
+            Map.entry("EUR", new BigDecimal("0.92")),
+            Map.entry("AED", new BigDecimal("3.67")),
+            Map.entry("CAD", new BigDecimal("1.36")),
+            Map.entry("JPY", new BigDecimal("149.50")),
+            Map.entry("CNY", new BigDecimal("7.24")),
+            Map.entry("MXN", new BigDecimal("18.40")),
+            Map.entry("ZAR", new BigDecimal("18.20")));
+
+    private final CashCachedProperties properties;
+    private final CashCachedExchangeRateRepository exchangeRateRepository;
+    private volatile FxSnapshot snapshot;
+
+    public CashCachedFxRates(CashCachedProperties properties,
+            CashCachedExchangeRateRepository exchangeRateRepository) {
+        this.properties = properties;
+        this.exchangeRateRepository = exchangeRateRepository;
+        this.snapshot = new FxSnapshot(1, builtInRates());
+    }
+
+    public FxSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Re-reads the stored rates. Returns whether a new snapshot was published.
+     */
+    @Transactional(readOnly = true)
+    public synchronized boolean refresh() {
+        Map<String, BigDecimal> rates = builtInRates();
+        for (CashCachedExchangeRate row : exchangeRateRepository.findAll()) {
+            if (!StringUtils.hasText(row.getCurrency()) || row.getRatePerUsd() == null
+                    || row.getRatePerUsd().signum() <= 0) {
+                log.warn("Ignoring invalid exchange rate row {}", row.getId());
+                continue;
+            }
+            rates.put(row.getCurrency().trim().toUpperCase(), row.getRatePerUsd());
+        }
+
+        FxSnapshot current = snapshot;
+        Map<String, BigDecimal> scaled = FxSnapshot.scaled(rates);
+        if (scaled.equals(current.rates())) {
+            return false;
+        }
+        snapshot = new FxSnapshot(current.version() + 1, scaled);
+        log.info("Published FX snapshot version {} with {} currencies", current.version() + 1, scaled.size());
+        return true;
+    }
+
+    private Map<String, BigDecimal> builtInRates() {
+        Map<String, BigDecimal> rates = new LinkedHashMap<>(STATIC_RATE_TABLE);
+        rates.putIfAbsent(properties.getBaseCurrency().trim().toUpperCase(), BigDecimal.ONE);
+        properties.getSupportedCurrencies().stream()
+                .filter(StringUtils::hasText)
+                .map(code -> code.trim().toUpperCase())
+                .forEach(code -> rates.putIfAbsent(code, BigDecimal.ONE));
+        return rates;
+    }
+}
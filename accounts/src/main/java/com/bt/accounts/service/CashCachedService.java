@@ -2,13 +2,13 @@ package com.bt.accounts.service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.Collections;
-import java.util.HashMap;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,15 +17,21 @@ import org.springframework.util.StringUtils;
 import com.bt.accounts.config.CashCachedProperties;
 import com.bt.accounts.dto.CashCachedBalanceResponse;
 import com.bt.accounts.dto.CashCachedIssueRequest;
+import com.bt.accounts.dto.CashCachedLedgerEntryResponse;
+import com.bt.accounts.dto.CashCachedLedgerPage;
 import com.bt.accounts.dto.CashCachedRedeemRequest;
 import com.bt.accounts.dto.CashCachedSummaryResponse;
 import com.bt.accounts.dto.CashCachedTransferRequest;
+import com.bt.accounts.entity.CashCachedAggregate.Metric;
 import com.bt.accounts.entity.CashCachedLedgerEntry;
 import com.bt.accounts.entity.CashCachedLedgerEntry.Operation;
 import com.bt.accounts.entity.CashCachedWallet;
+import com.bt.accounts.entity.CashCachedWalletShard;
 import com.bt.accounts.repository.CashCachedLedgerRepository;
 import com.bt.accounts.repository.CashCachedWalletRepository;
+import com.bt.accounts.repository.CashCachedWalletShardRepository;
 import com.bt.accounts.exception.InvalidAccountDataException;
+import com.bt.accounts.time.TimeProvider;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -37,35 +43,28 @@ import lombok.extern.slf4j.Slf4j;
 public class CashCachedService {
 
     private static final BigDecimal ZERO = BigDecimal.ZERO;
-    private static final Map<String, BigDecimal> STATIC_RATE_TABLE = Map.ofEntries(
-            Map.entry("USD", new BigDecimal("1.00")),
-            Map.entry("KWD", new BigDecimal("0.31")),
-            Map.entry("INR", new BigDecimal("83.20")),
-            Map.entry("GBP", new BigDecimal("0.78")),
-            Map.entry("EUR", new BigDecimal("0.92")),
-            Map.entry("AED", new BigDecimal("3.67")),
-            Map.entry("CAD", new BigDecimal("1.36")),
-            Map.entry("JPY", new BigDecimal("149.50")),
-            Map.entry("CNY", new BigDecimal("7.24")),
-            Map.entry("MXN", new BigDecimal("18.40")),
-            Map.entry("ZAR", new BigDecimal("18.20")));
-
+    static final int MAX_HISTORY_PAGE_SIZE = 200;
+    static final int EXPORT_CHUNK = 500;
     private final CashCachedProperties properties;
     private final CashCachedLedgerRepository ledgerRepository;
     private final CashCachedWalletRepository walletRepository;
     private final CustomerProfileClient customerProfileClient;
+    private final WalletLocks walletLocks;
+    private final CashCachedWalletShardRepository shardRepository;
+    private final CashCachedAggregates aggregates;
+    private final CashCachedFxRates fxRates;
 
     @Transactional
     public CashCachedLedgerEntry issue(CashCachedIssueRequest request) {
         BigDecimal amount = requireWholeAmount(request.getAmount());
-        CashCachedWallet wallet = ensureWallet(request.getCustomerId());
+        ensureWallet(request.getCustomerId());
+        lockForCredit(request.getCustomerId());
         String transactionId = generateTransactionId();
-        wallet.setBalance(wallet.getBalance().add(amount));
-        walletRepository.save(wallet);
-        return ledgerRepository.save(CashCachedLedgerEntry.builder()
+        BigDecimal balanceAfter = credit(request.getCustomerId(), amount);
+        return appendLedger(CashCachedLedgerEntry.builder()
                 .customerId(request.getCustomerId())
                 .changeAmount(amount)
-                .balanceAfter(wallet.getBalance())
+                .balanceAfter(balanceAfter)
                 .operation(Operation.ISSUE)
                 .transactionHash(transactionId)
                 .reference(request.getReference())
@@ -75,19 +74,17 @@ public class CashCachedService {
     @Transactional
     public CashCachedLedgerEntry recordContractLock(String customerId, BigDecimal amount, String reference) {
         BigDecimal debitAmount = requireWholeAmount(amount);
-        CashCachedWallet wallet = ensureWallet(customerId);
-        
-        if (wallet.getBalance().compareTo(debitAmount) < 0) {
+        ensureWallet(customerId);
+        lockForDebit(customerId);
+
+        if (!tryDebit(customerId, debitAmount)) {
             throw new IllegalStateException("Insufficient wallet balance");
         }
-        
-        wallet.setBalance(wallet.getBalance().subtract(debitAmount));
-        walletRepository.save(wallet);
-        
-        return ledgerRepository.save(CashCachedLedgerEntry.builder()
+
+        return appendLedger(CashCachedLedgerEntry.builder()
                 .customerId(customerId)
                 .changeAmount(debitAmount.negate())
-                .balanceAfter(wallet.getBalance())
+                .balanceAfter(balanceOf(customerId))
                 .operation(Operation.CONTRACT)
                 .reference(reference)
                 .build());
@@ -105,27 +102,37 @@ public class CashCachedService {
         if (request.getFromCustomerId().equals(request.getToCustomerId())) {
             throw new IllegalArgumentException("Transfers require distinct customers");
         }
-        CashCachedWallet fromWallet = ensureWallet(request.getFromCustomerId());
-        CashCachedWallet toWallet = ensureWallet(request.getToCustomerId());
-        if (fromWallet.getBalance().compareTo(amount) < 0) {
+        String from = request.getFromCustomerId();
+        String to = request.getToCustomerId();
+        ensureWallet(from);
+        ensureWallet(to);
+        lockForDebit(from, to);
+
+        // Touch the two rows in customer id order, so opposite transfers running on
+        // other instances cannot deadlock in the database either.
+        boolean debitFirst = from.compareTo(to) < 0;
+        if (!debitFirst) {
+            credit(to, amount);
+        }
+        if (!tryDebit(from, amount)) {
             throw new IllegalArgumentException("Insufficient balance for transfer");
         }
-        fromWallet.setBalance(fromWallet.getBalance().subtract(amount));
-        toWallet.setBalance(toWallet.getBalance().add(amount));
-        walletRepository.save(fromWallet);
-        walletRepository.save(toWallet);
-        CashCachedLedgerEntry debit = ledgerRepository.save(CashCachedLedgerEntry.builder()
+        if (debitFirst) {
+            credit(to, amount);
+        }
+
+        CashCachedLedgerEntry debit = appendLedger(CashCachedLedgerEntry.builder()
                 .customerId(request.getFromCustomerId())
                 .changeAmount(amount.negate())
-                .balanceAfter(fromWallet.getBalance())
+                .balanceAfter(balanceOf(from))
                 .operation(Operation.TRANSFER_OUT)
                 .reference(request.getReference())
                 .build());
 
-        CashCachedLedgerEntry credit = ledgerRepository.save(CashCachedLedgerEntry.builder()
+        CashCachedLedgerEntry credit = appendLedger(CashCachedLedgerEntry.builder()
                 .customerId(request.getToCustomerId())
                 .changeAmount(amount)
-                .balanceAfter(toWallet.getBalance())
+                .balanceAfter(balanceOf(to))
                 .operation(Operation.TRANSFER_IN)
                 .reference(request.getReference())
                 .build());
@@ -136,31 +143,85 @@ public class CashCachedService {
     @Transactional
     public CashCachedLedgerEntry redeem(CashCachedRedeemRequest request) {
         BigDecimal amount = requireWholeAmount(request.getAmount());
-        CashCachedWallet wallet = ensureWallet(request.getCustomerId());
-        if (wallet.getBalance().compareTo(amount) < 0) {
+        ensureWallet(request.getCustomerId());
+        lockForDebit(request.getCustomerId());
+        if (!tryDebit(request.getCustomerId(), amount)) {
             throw new InvalidAccountDataException("Insufficient wallet balance");
         }
         String transactionId = generateTransactionId();
-        wallet.setBalance(wallet.getBalance().subtract(amount));
-        walletRepository.save(wallet);
-        return ledgerRepository.save(CashCachedLedgerEntry.builder()
+        return appendLedger(CashCachedLedgerEntry.builder()
                 .customerId(request.getCustomerId())
                 .changeAmount(amount.negate())
-                .balanceAfter(wallet.getBalance())
+                .balanceAfter(balanceOf(request.getCustomerId()))
                 .operation(Operation.REDEEM)
                 .transactionHash(transactionId)
                 .reference(request.getReference())
                 .build());
     }
 
+    /**
+     * One keyset page of a customer's ledger, newest first. Pass the returned
+     * {@code nextCursor} back as {@code cursor} for the following page.
+     */
     @Transactional(readOnly = true)
-    public List<CashCachedLedgerEntry> history(String customerId) {
-        return ledgerRepository.findByCustomerIdOrderByCreatedAtDesc(customerId);
+    public CashCachedLedgerPage history(String customerId, String cursor, int limit) {
+        checkPageSize(limit);
+        return toPage(historyChunk(customerId, decodeCursor(cursor), limit + 1), limit);
     }
 
+    /**
+     * One keyset page of the ledger across all customers, newest first.
+     */
     @Transactional(readOnly = true)
-    public Page<CashCachedLedgerEntry> historyAll(Pageable pageable) {
-        return ledgerRepository.findAllByOrderByCreatedAtDesc(pageable);
+    public CashCachedLedgerPage historyAll(String cursor, int limit) {
+        checkPageSize(limit);
+        LedgerCursor after = decodeCursor(cursor);
+        List<CashCachedLedgerEntryResponse> rows = after == null
+                ? ledgerRepository.findAllHistoryPage(Limit.of(limit + 1))
+                : ledgerRepository.findAllHistoryPageAfter(after.createdAt(), after.id(), Limit.of(limit + 1));
+        return toPage(rows, limit);
+    }
+
+    /**
+     * A customer's whole ledger, newest first, read lazily in keyset chunks of
+     * {@value #EXPORT_CHUNK} rows. Rows are projections rather than managed
+     * entities, so a long export does not fill the persistence context; only
+     * the current chunk is held in memory.
+     */
+    public Stream<CashCachedLedgerEntryResponse> exportHistory(String customerId) {
+        return Stream.iterate(historyChunk(customerId, null, EXPORT_CHUNK),
+                chunk -> !chunk.isEmpty(),
+                chunk -> chunk.size() < EXPORT_CHUNK
+                        ? List.of()
+                        : historyChunk(customerId, LedgerCursor.after(chunk.get(chunk.size() - 1)), EXPORT_CHUNK))
+                .flatMap(List::stream);
+    }
+
+    private List<CashCachedLedgerEntryResponse> historyChunk(String customerId, LedgerCursor after, int size) {
+        return after == null
+                ? ledgerRepository.findHistoryPage(customerId, Limit.of(size))
+                : ledgerRepository.findHistoryPageAfter(customerId, after.createdAt(), after.id(), Limit.of(size));
+    }
+
+    private static LedgerCursor decodeCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : LedgerCursor.decode(cursor);
+    }
+
+    private static void checkPageSize(int limit) {
+        if (limit < 1 || limit > MAX_HISTORY_PAGE_SIZE) {
+            throw new InvalidAccountDataException(
+                    String.format("Page size must be between 1 and %d", MAX_HISTORY_PAGE_SIZE));
+        }
+    }
+
+    private static CashCachedLedgerPage toPage(List<CashCachedLedgerEntryResponse> rows, int limit) {
+        // The extra row only tells us whether another page exists.
+        boolean hasMore = rows.size() > limit;
+        List<CashCachedLedgerEntryResponse> entries = hasMore ? rows.subList(0, limit) : rows;
+        return CashCachedLedgerPage.builder()
+                .entries(entries)
+                .nextCursor(hasMore ? LedgerCursor.after(entries.get(limit - 1)).encode() : null)
+                .build();
     }
 
     @Transactional(readOnly = true)
@@ -168,7 +229,7 @@ public class CashCachedService {
         CashCachedWallet wallet = walletRepository.findByCustomerId(customerId)
                 .orElse(null);
         
-        BigDecimal balance = wallet != null ? wallet.getBalance() : ZERO;
+        BigDecimal balance = wallet != null ? wallet.getBalance().add(shardBalance(customerId)) : ZERO;
         String userBaseCurrency = wallet != null && wallet.getBaseCurrency() != null 
                 ? wallet.getBaseCurrency() 
                 : "INR";
@@ -179,25 +240,20 @@ public class CashCachedService {
         response.setBaseCurrency(userBaseCurrency);
         response.setBaseValue(balance);
 
-        Map<String, BigDecimal> rates = resolveRates();
-        response.setRates(rates);
+        FxSnapshot fx = fxRates.snapshot();
+        response.setRates(fx.rates());
 
         String displayCurrency = resolvePreferredCurrency(authToken, customerId);
         response.setTargetCurrency(displayCurrency);
 
         String normalizedBase = normalizeCurrency(userBaseCurrency);
         String normalizedDisplay = normalizeCurrency(displayCurrency);
-        BigDecimal baseRate = rates.getOrDefault(normalizedBase, BigDecimal.ONE);
-        BigDecimal displayRate = rates.getOrDefault(normalizedDisplay, BigDecimal.ONE);
-        
-        log.info("Currency conversion for customer {}: {} {} -> {} (base rate: {}, display rate: {})", 
-                customerId, balance, userBaseCurrency, displayCurrency, baseRate, displayRate);
-        
-        BigDecimal usdValue = balance.divide(baseRate, 4, RoundingMode.HALF_UP);
-        BigDecimal targetValue = usdValue.multiply(displayRate);
-        
-        log.info("Converted: {} USD -> {} {}", usdValue, targetValue, displayCurrency);
-        
+        BigDecimal targetValue = fx.convert(balance, normalizedBase, normalizedDisplay)
+                .setScale(2, RoundingMode.HALF_UP);
+
+        log.debug("Converted balance for customer {}: {} {} -> {} {} (FX snapshot {})",
+                customerId, balance, normalizedBase, targetValue, normalizedDisplay, fx.version());
+
         response.setTargetValue(targetValue);
 
         return response;
@@ -205,16 +261,12 @@ public class CashCachedService {
 
     @Transactional(readOnly = true)
     public BigDecimal totalSupply() {
-        return walletRepository.findAll().stream()
-                .map(CashCachedWallet::getBalance)
-                .reduce(ZERO, BigDecimal::add);
+        return aggregates.totalSupply();
     }
 
     @Transactional(readOnly = true)
     public BigDecimal ledgerTotal() {
-        return ledgerRepository.findAll().stream()
-                .map(CashCachedLedgerEntry::getChangeAmount)
-                .reduce(ZERO, BigDecimal::add);
+        return aggregates.ledgerTotal();
     }
 
     @Transactional(readOnly = true)
@@ -240,34 +292,23 @@ public class CashCachedService {
     @Transactional
     public CashCachedLedgerEntry creditWallet(String customerId, BigDecimal amount, String currency, String reference) {
         CashCachedWallet wallet = ensureWallet(customerId);
-        String userBaseCurrency = wallet.getBaseCurrency() != null ? wallet.getBaseCurrency() : "INR";
-        // If a specific currency is provided and differs, rebase wallet to that currency
-        if (currency != null) {
-            String normalized = normalizeCurrency(currency);
-            if (!normalized.equalsIgnoreCase(userBaseCurrency)) {
-                BigDecimal rebased = convertCurrency(wallet.getBalance(), userBaseCurrency, normalized)
-                        .setScale(2, RoundingMode.HALF_UP);
-                wallet.setBalance(rebased);
-                wallet.setBaseCurrency(normalized);
-                userBaseCurrency = normalized;
-            }
-        }
+        lockForCredit(customerId);
+        // One snapshot for the rebase and the amount, so both use the same rates.
+        FxSnapshot fx = fxRates.snapshot();
+        String userBaseCurrency = rebaseIfRequested(wallet, currency, fx);
         
-        BigDecimal amountInBaseCurrency = convertCurrency(amount, currency, userBaseCurrency);
-        BigDecimal roundedAmount = amountInBaseCurrency.setScale(2, RoundingMode.HALF_UP);
-        BigDecimal finalAmount = requireWholeAmount(roundedAmount);
-        wallet.setBalance(wallet.getBalance().add(finalAmount));
-        walletRepository.save(wallet);
+        BigDecimal finalAmount = requireWholeAmount(convertCurrency(fx, amount, currency, userBaseCurrency));
+        BigDecimal balanceAfter = credit(customerId, finalAmount);
         
         String ref = reference;
         if (currency != null && !currency.equalsIgnoreCase(userBaseCurrency)) {
             ref = String.format("%s (%.2f %s)", reference, amount, currency);
         }
         
-        return ledgerRepository.save(CashCachedLedgerEntry.builder()
+        return appendLedger(CashCachedLedgerEntry.builder()
                 .customerId(customerId)
                 .changeAmount(finalAmount)
-                .balanceAfter(wallet.getBalance())
+                .balanceAfter(balanceAfter)
                 .operation(Operation.TRANSFER_IN)
                 .reference(ref)
                 .build());
@@ -281,37 +322,25 @@ public class CashCachedService {
     @Transactional
     public CashCachedLedgerEntry debitWallet(String customerId, BigDecimal amount, String currency, String reference) {
         CashCachedWallet wallet = ensureWallet(customerId);
-        String userBaseCurrency = wallet.getBaseCurrency() != null ? wallet.getBaseCurrency() : "INR";
-        // If a specific currency is provided and differs, rebase wallet to that currency
-        if (currency != null) {
-            String normalized = normalizeCurrency(currency);
-            if (!normalized.equalsIgnoreCase(userBaseCurrency)) {
-                BigDecimal rebased = convertCurrency(wallet.getBalance(), userBaseCurrency, normalized)
-                        .setScale(2, RoundingMode.HALF_UP);
-                wallet.setBalance(rebased);
-                wallet.setBaseCurrency(normalized);
-                userBaseCurrency = normalized;
-            }
-        }
+        lockForDebit(customerId);
+        // One snapshot for the rebase and the amount, so both use the same rates.
+        FxSnapshot fx = fxRates.snapshot();
+        String userBaseCurrency = rebaseIfRequested(wallet, currency, fx);
         
-        BigDecimal amountInBaseCurrency = convertCurrency(amount, currency, userBaseCurrency);
-        BigDecimal roundedAmount = amountInBaseCurrency.setScale(2, RoundingMode.HALF_UP);
-        BigDecimal finalAmount = requireWholeAmount(roundedAmount);
-        if (wallet.getBalance().compareTo(finalAmount) < 0) {
+        BigDecimal finalAmount = requireWholeAmount(convertCurrency(fx, amount, currency, userBaseCurrency));
+        if (!tryDebit(customerId, finalAmount)) {
             throw new InvalidAccountDataException("Insufficient wallet balance");
         }
-        wallet.setBalance(wallet.getBalance().subtract(finalAmount));
-        walletRepository.save(wallet);
         
         String ref = reference;
         if (currency != null && !currency.equalsIgnoreCase(userBaseCurrency)) {
             ref = String.format("%s (%.2f %s)", reference, amount, currency);
         }
         
-        return ledgerRepository.save(CashCachedLedgerEntry.builder()
+        return appendLedger(CashCachedLedgerEntry.builder()
                 .customerId(customerId)
                 .changeAmount(finalAmount.negate())
-                .balanceAfter(wallet.getBalance())
+                .balanceAfter(balanceOf(customerId))
                 .operation(Operation.TRANSFER_OUT)
                 .reference(ref)
                 .build());
@@ -330,6 +359,81 @@ public class CashCachedService {
         return response;
     }
 
+    /**
+     * The treasury plus any configured hot wallets; these are the wallets whose
+     * credits are spread over shards when more than one shard is configured.
+     */
+    public List<String> hotWallets() {
+        List<String> wallets = new ArrayList<>(properties.getHotWallets());
+        if (StringUtils.hasText(properties.getTreasuryAddress()) && !wallets.contains(properties.getTreasuryAddress())) {
+            wallets.add(properties.getTreasuryAddress());
+        }
+        return wallets;
+    }
+
+    /**
+     * Creates the wallet row and any missing shard rows for a sharded wallet.
+     */
+    @Transactional
+    public void initialiseShards(String customerId) {
+        if (!isSharded(customerId)) {
+            return;
+        }
+        ensureWallet(customerId);
+        for (int shardNo = 0; shardNo < properties.getWalletShards(); shardNo++) {
+            if (!shardRepository.existsByCustomerIdAndShardNo(customerId, shardNo)) {
+                shardRepository.save(CashCachedWalletShard.builder()
+                        .customerId(customerId)
+                        .shardNo(shardNo)
+                        .balance(ZERO)
+                        .build());
+            }
+        }
+    }
+
+    /**
+     * The hot wallets plus any wallet that still has shard rows from an earlier
+     * configuration, e.g. one dropped from hot-wallets or left over after
+     * wallet-shards was lowered. Consolidating those retires the stale shards.
+     */
+    @Transactional(readOnly = true)
+    public List<String> walletsWithShards() {
+        List<String> wallets = hotWallets();
+        for (String customerId : shardRepository.findShardOwners()) {
+            if (!wallets.contains(customerId)) {
+                wallets.add(customerId);
+            }
+        }
+        return wallets;
+    }
+
+    /**
+     * Moves every shard's balance into the wallet row and returns the amount
+     * moved. The total balance is unchanged. Credits that land on a shard while
+     * it is being drained simply stay there for the next run. Shards outside the
+     * current configuration are deleted once drained.
+     */
+    @Transactional
+    public BigDecimal consolidateShards(String customerId) {
+        walletLocks.lockForTransaction(customerId);
+        LocalDateTime now = TimeProvider.currentDateTime();
+        int configuredShards = isSharded(customerId) ? properties.getWalletShards() : 0;
+        BigDecimal moved = ZERO;
+        for (CashCachedWalletShard shard : shardRepository.findByCustomerId(customerId)) {
+            BigDecimal amount = shard.getBalance();
+            if (amount.signum() > 0 && shardRepository.drain(shard.getId(), amount, now) > 0) {
+                moved = moved.add(amount);
+            }
+            if (shard.getShardNo() >= configuredShards) {
+                shardRepository.deleteIfEmpty(shard.getId());
+            }
+        }
+        if (moved.signum() > 0 && walletRepository.credit(customerId, moved, now) == 0) {
+            throw new IllegalStateException("No wallet row to consolidate shards of " + customerId);
+        }
+        return moved;
+    }
+
     private CashCachedWallet ensureWallet(String customerId) {
         return walletRepository.findByCustomerId(customerId)
                 .orElseGet(() -> {
@@ -348,16 +452,107 @@ public class CashCachedService {
         return "TXN-" + java.util.UUID.randomUUID().toString();
     }
 
+    /**
+     * Credits of a sharded wallet go to a random shard; if that shard row does not
+     * exist yet the wallet row is credited instead.
+     */
+    private BigDecimal credit(String customerId, BigDecimal amount) {
+        LocalDateTime now = TimeProvider.currentDateTime();
+        if (!isSharded(customerId) || shardRepository.credit(customerId,
+                ThreadLocalRandom.current().nextInt(properties.getWalletShards()), amount, now) == 0) {
+            walletRepository.credit(customerId, amount, now);
+        }
+        aggregates.add(Metric.TOTAL_SUPPLY, amount);
+        return balanceOf(customerId);
+    }
+
+    private boolean tryDebit(String customerId, BigDecimal amount) {
+        if (walletRepository.debit(customerId, amount, TimeProvider.currentDateTime()) == 0) {
+            return false;
+        }
+        aggregates.add(Metric.TOTAL_SUPPLY, amount.negate());
+        return true;
+    }
+
+    private CashCachedLedgerEntry appendLedger(CashCachedLedgerEntry entry) {
+        CashCachedLedgerEntry saved = ledgerRepository.save(entry);
+        aggregates.add(Metric.LEDGER_TOTAL, saved.getChangeAmount());
+        return saved;
+    }
+
+    // Reads this transaction's own update; the row stays locked until commit. For a
+    // sharded wallet the shard total may include other writers' credits in flight.
+    private BigDecimal balanceOf(String customerId) {
+        return walletRepository.findBalanceByCustomerId(customerId).orElse(ZERO).add(shardBalance(customerId));
+    }
+
+    // Counts every shard row, not just the configured ones, so a wallet that stops
+    // being hot keeps its full balance until its shards are consolidated away.
+    private BigDecimal shardBalance(String customerId) {
+        return shardRepository.sumBalanceByCustomerId(customerId);
+    }
+
+    private boolean isSharded(String customerId) {
+        return properties.getWalletShards() > 1 && (customerId.equals(properties.getTreasuryAddress())
+                || properties.getHotWallets().contains(customerId));
+    }
+
+    /**
+     * Ordinary wallets are serialised per wallet; sharded wallets take credits
+     * without a lock, since each credit is a relative update of a random shard.
+     */
+    private void lockForCredit(String customerId) {
+        if (!isSharded(customerId)) {
+            walletLocks.lockForTransaction(customerId);
+        }
+    }
+
+    /**
+     * Locks the wallets and folds any shards back into the wallet row, so the
+     * conditional debit that follows sees the whole balance. Ordinary wallets are
+     * included in case they kept shards from an earlier configuration.
+     */
+    private void lockForDebit(String... customerIds) {
+        walletLocks.lockForTransaction(customerIds);
+        for (String customerId : customerIds) {
+            consolidateShards(customerId);
+        }
+    }
+
+    /**
+     * If a specific currency is provided and differs from the wallet's, rebases
+     * the wallet to that currency. Returns the wallet's base currency afterwards.
+     */
+    private String rebaseIfRequested(CashCachedWallet wallet, String currency, FxSnapshot fx) {
+        String userBaseCurrency = wallet.getBaseCurrency() != null ? wallet.getBaseCurrency() : "INR";
+        if (currency == null) {
+            return userBaseCurrency;
+        }
+        String normalized = normalizeCurrency(currency);
+        if (normalized.equalsIgnoreCase(userBaseCurrency)) {
+            return userBaseCurrency;
+        }
+        lockForDebit(wallet.getCustomerId());
+        BigDecimal balance = walletRepository.findBalanceForUpdate(wallet.getCustomerId()).orElse(ZERO);
+        BigDecimal rebased = convertCurrency(fx, balance, userBaseCurrency, normalized);
+        if (walletRepository.rebase(wallet.getCustomerId(), userBaseCurrency, normalized, rebased,
+                TimeProvider.currentDateTime()) == 0) {
+            throw new InvalidAccountDataException("Wallet currency changed concurrently, please retry");
+        }
+        aggregates.add(Metric.TOTAL_SUPPLY, rebased.subtract(balance));
+        return normalized;
+    }
+
     private void recordTreasuryIssuance(BigDecimal amount, String reference) {
         String transactionId = generateTransactionId();
         String treasuryId = properties.getTreasuryAddress();
-        CashCachedWallet treasuryWallet = ensureWallet(treasuryId);
-        treasuryWallet.setBalance(treasuryWallet.getBalance().add(amount));
-        walletRepository.save(treasuryWallet);
-        ledgerRepository.save(CashCachedLedgerEntry.builder()
+        ensureWallet(treasuryId);
+        lockForCredit(treasuryId);
+        BigDecimal balanceAfter = credit(treasuryId, amount);
+        appendLedger(CashCachedLedgerEntry.builder()
                 .customerId(treasuryId)
                 .changeAmount(amount)
-                .balanceAfter(treasuryWallet.getBalance())
+                .balanceAfter(balanceAfter)
                 .operation(Operation.ISSUE)
                 .transactionHash(transactionId)
                 .reference(reference)
@@ -383,21 +578,6 @@ public class CashCachedService {
     }
 
 
-    private Map<String, BigDecimal> resolveRates() {
-        Map<String, BigDecimal> rates = new HashMap<>();
-        STATIC_RATE_TABLE.forEach((code, rate) -> rates.put(normalizeCurrency(code), rate.setScale(4, RoundingMode.HALF_UP)));
-
-        String base = normalizeCurrency(properties.getBaseCurrency());
-        rates.putIfAbsent(base, BigDecimal.ONE.setScale(4, RoundingMode.HALF_UP));
-
-        properties.getSupportedCurrencies().stream()
-                .map(this::normalizeCurrency)
-                .forEach(code -> rates.putIfAbsent(code, STATIC_RATE_TABLE.getOrDefault(code,
-                        BigDecimal.ONE.setScale(4, RoundingMode.HALF_UP))));
-
-        return Collections.unmodifiableMap(rates);
-    }
-
     private String normalizeCurrency(String code) {
         if (code == null || code.isBlank()) {
             return properties.getBaseCurrency();
@@ -417,7 +597,15 @@ public class CashCachedService {
                 .orElse(baseCurrency);
     }
 
+    /**
+     * Converts with the current FX snapshot. A converted amount is rounded to two
+     * places; one already in the target currency is returned unchanged.
+     */
     public BigDecimal convertCurrency(BigDecimal amount, String fromCurrency, String toCurrency) {
+        return convertCurrency(fxRates.snapshot(), amount, fromCurrency, toCurrency);
+    }
+
+    private BigDecimal convertCurrency(FxSnapshot fx, BigDecimal amount, String fromCurrency, String toCurrency) {
         if (amount == null || amount.compareTo(ZERO) <= 0) {
             return ZERO;
         }
@@ -429,17 +617,7 @@ public class CashCachedService {
             return amount;
         }
         
-        Map<String, BigDecimal> rates = resolveRates();
-        BigDecimal fromRate = rates.getOrDefault(normalizedFrom, BigDecimal.ONE);
-        BigDecimal toRate = rates.getOrDefault(normalizedTo, BigDecimal.ONE);
-        
-        BigDecimal usdAmount = amount.divide(fromRate, 4, RoundingMode.HALF_UP);
-        BigDecimal convertedAmount = usdAmount.multiply(toRate);
-        
-        log.info("Converting {} {} to {}: {} USD -> {} {}", 
-                amount, normalizedFrom, normalizedTo, usdAmount, convertedAmount, normalizedTo);
-        
-        return convertedAmount;
+        return fx.convert(amount, normalizedFrom, normalizedTo).setScale(2, RoundingMode.HALF_UP);
     }
 
 }
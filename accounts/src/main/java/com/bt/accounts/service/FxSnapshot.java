@@ -0,0 +1,85 @@
+package com.bt.accounts.service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exchange rates as of one refresh, never modified after construction. Every
+ * cross rate between the known currencies is worked out up front, so a
+ * conversion is an index lookup and a single multiply. Currency codes must
+ * already be normalised; an unknown code is treated as rate 1, as before.
+ */
+public final class FxSnapshot {
+
+    private final long version;
+    private final Map<String, BigDecimal> rates;
+    private final Map<String, Integer> index;
+    private final BigDecimal[][] crossRates;
+
+    FxSnapshot(long version, Map<String, BigDecimal> ratesPerUsd) {
+        this.version = version;
+        Map<String, BigDecimal> scaled = scaled(ratesPerUsd);
+        this.rates = Collections.unmodifiableMap(scaled);
+
+        String[] codes = scaled.keySet().toArray(String[]::new);
+        Map<String, Integer> positions = new HashMap<>();
+        this.crossRates = new BigDecimal[codes.length][codes.length];
+        for (int from = 0; from < codes.length; from++) {
+            positions.put(codes[from], from);
+            for (int to = 0; to < codes.length; to++) {
+                crossRates[from][to] = from == to
+                        ? BigDecimal.ONE
+                        : cross(scaled.get(codes[from]), scaled.get(codes[to]));
+            }
+        }
+        this.index = Collections.unmodifiableMap(positions);
+    }
+
+    /**
+     * Increases by one each time the rates change.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Units of each currency per US dollar, scaled to four places.
+     */
+    public Map<String, BigDecimal> rates() {
+        return rates;
+    }
+
+    /**
+     * Units of {@code toCurrency} per unit of {@code fromCurrency}.
+     */
+    public BigDecimal crossRate(String fromCurrency, String toCurrency) {
+        Integer from = index.get(fromCurrency);
+        Integer to = index.get(toCurrency);
+        if (from != null && to != null) {
+            return crossRates[from][to];
+        }
+        return cross(rates.getOrDefault(fromCurrency, BigDecimal.ONE), rates.getOrDefault(toCurrency, BigDecimal.ONE));
+    }
+
+    public BigDecimal convert(BigDecimal amount, String fromCurrency, String toCurrency) {
+        return amount.multiply(crossRate(fromCurrency, toCurrency));
+    }
+
+    /**
+     * The rates as a snapshot would hold them, for comparing against {@link #rates()}.
+     */
+    static Map<String, BigDecimal> scaled(Map<String, BigDecimal> ratesPerUsd) {
+        Map<String, BigDecimal> scaled = new LinkedHashMap<>();
+        ratesPerUsd.forEach((code, rate) -> scaled.put(code, rate.setScale(4, RoundingMode.HALF_UP)));
+        return scaled;
+    }
+
+    private static BigDecimal cross(BigDecimal fromRate, BigDecimal toRate) {
+        return toRate.divide(fromRate, MathContext.DECIMAL64);
+    }
+}
@@ -53,10 +53,24 @@ public class InterestAccrualBackfill {
                 account.setNextInterestAccrualAt(nextAccrual);
                 updated = true;
             }
+            LocalDateTime nextPayout = resolveNextPayout(account);
+            if (account.getNextPayoutAt() == null && nextPayout != null) {
+                account.setNextPayoutAt(nextPayout);
+                updated = true;
+            }
+            if (account.refreshNextDueAt()) {
+                updated = true;
+            }
             if (account.getProductMaxTenureMonths() == null) {
                 account.setProductMaxTenureMonths(account.getTenureMonths());
                 updated = true;
             }
+            if (account.getCurrentBalance() == null) {
+                transactionRepository.findTopByAccountNoOrderByTransactionDateDescIdDesc(account.getAccountNo())
+                        .ifPresent(latest -> account.applyLedgerEntry(latest.getBalanceAfter(),
+                                latest.getTransactionDate()));
+                updated |= account.getCurrentBalance() != null;
+            }
             if (updated) {
                 accountRepository.save(account);
                 log.info("Backfilled interest metadata for account {}", account.getAccountNo());
@@ -64,6 +78,21 @@ public class InterestAccrualBackfill {
         }
     }
 
+    private LocalDateTime resolveNextPayout(FdAccount account) {
+        if (account.getStatus() != FdAccount.AccountStatus.ACTIVE) {
+            return null;
+        }
+        if (account.getMaturityDate() != null) {
+            return account.getMaturityDate();
+        }
+        Integer tenure = account.getTenureMonths() != null ? account.getTenureMonths()
+                : account.getProductMaxTenureMonths();
+        if (tenure != null && tenure > 0 && account.getCreatedAt() != null) {
+            return account.getCreatedAt().plusMonths(tenure);
+        }
+        return null;
+    }
+
     private LocalDateTime resolveNextAccrual(FdAccount account, LocalDateTime lastAccrual) {
         if (account.getStatus() != FdAccount.AccountStatus.ACTIVE) {
             return null;
@@ -0,0 +1,36 @@
+package com.bt.accounts.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.bt.accounts.dto.CashCachedLedgerEntryResponse;
+import com.bt.accounts.exception.InvalidAccountDataException;
+
+/**
+ * Position in the wallet ledger, newest first: the (createdAt, id) of the last
+ * entry returned. Clients see it only as an opaque URL-safe token.
+ */
+record LedgerCursor(LocalDateTime createdAt, Long id) {
+
+    static LedgerCursor after(CashCachedLedgerEntryResponse entry) {
+        return new LedgerCursor(entry.getCreatedAt(), entry.getId());
+    }
+
+    String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static LedgerCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new LedgerCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidAccountDataException("Invalid history cursor");
+        }
+    }
+}
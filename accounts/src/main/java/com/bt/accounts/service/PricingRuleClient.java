@@ -2,6 +2,15 @@ package com.bt.accounts.service;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,6 +20,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import jakarta.annotation.PreDestroy;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestClientException;
@@ -19,10 +29,21 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import com.bt.accounts.config.PricingServiceProperties;
 import com.bt.accounts.dto.ApiResponse;
+import com.bt.accounts.dto.PricingEvaluationItem;
+import com.bt.accounts.dto.PricingEvaluationResult;
 import com.bt.accounts.dto.PricingRuleDto;
 import com.bt.accounts.entity.FdAccount;
 import com.bt.accounts.exception.ServiceIntegrationException;
 
+/**
+ * Fetches active pricing rules from product-pricing and keeps them cached per
+ * product, pre-sorted by priority.
+ *
+ * Entries are evicted by {@code pricing.rule.changed} events. As a backstop, an
+ * entry older than the refresh interval is still served while one background
+ * reload runs, and an entry past its TTL is reloaded inline. If a reload fails the
+ * last known rules keep being served.
+ */
 @Service
 public class PricingRuleClient {
 
@@ -32,27 +53,192 @@ public class PricingRuleClient {
             new ParameterizedTypeReference<>() {
             };
 
+    private static final ParameterizedTypeReference<ApiResponse<List<PricingEvaluationResult>>> EVALUATION_RESPONSE_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private static final PricingRuleIndex<PricingRuleDto> EMPTY_INDEX = compile(List.of());
+
     private final RestTemplate restTemplate;
     private final PricingServiceProperties properties;
     private final ServiceTokenProvider serviceTokenProvider;
+    private final Map<Long, CachedRules> cache = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<PricingRuleIndex<PricingRuleDto>>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final ExecutorService refresher;
 
     public PricingRuleClient(RestTemplate restTemplate, PricingServiceProperties properties,
             ServiceTokenProvider serviceTokenProvider) {
         this.restTemplate = restTemplate;
         this.properties = properties;
         this.serviceTokenProvider = serviceTokenProvider;
+        this.refresher = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "pricing-rule-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     public List<PricingRuleDto> fetchActiveRules(FdAccount account, String authToken) {
+        return fetchRuleIndex(account, authToken).rules();
+    }
+
+    /**
+     * Active rules of the account's product compiled into a threshold index.
+     */
+    public PricingRuleIndex<PricingRuleDto> fetchRuleIndex(FdAccount account, String authToken) {
         if (account == null) {
-            return Collections.emptyList();
+            return EMPTY_INDEX;
         }
         Long productId = account.getProductRefId();
         if (productId == null) {
             log.debug("Account {} missing product reference id, skipping pricing rule fetch", account.getAccountNo());
+            return EMPTY_INDEX;
+        }
+
+        long now = System.currentTimeMillis();
+        CachedRules cached = cache.get(productId);
+        if (cached != null && cached.ageMillis(now) < TimeUnit.SECONDS.toMillis(properties.getRuleCacheTtlSeconds())) {
+            if (cached.ageMillis(now) >= TimeUnit.SECONDS.toMillis(properties.getRuleCacheRefreshSeconds())) {
+                refreshInBackground(productId);
+            }
+            return cached.index();
+        }
+
+        try {
+            return load(productId, authToken);
+        } catch (ServiceIntegrationException ex) {
+            if (cached != null) {
+                log.warn("Serving expired pricing rules for product {} after reload failure", productId);
+                return cached.index();
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Cached rule index for a product if one is still within its TTL; never
+     * triggers a remote call.
+     */
+    public Optional<PricingRuleIndex<PricingRuleDto>> peekRuleIndex(Long productId) {
+        CachedRules cached = productId != null ? cache.get(productId) : null;
+        if (cached == null
+                || cached.ageMillis(System.currentTimeMillis()) >= TimeUnit.SECONDS.toMillis(
+                        properties.getRuleCacheTtlSeconds())) {
+            return Optional.empty();
+        }
+        return Optional.of(cached.index());
+    }
+
+    /**
+     * Prices many (product, balance, base rate) tuples with a single request to
+     * product-pricing's batch endpoint.
+     */
+    public List<PricingEvaluationResult> evaluateBatch(List<PricingEvaluationItem> items, String authToken) {
+        if (items == null || items.isEmpty()) {
             return Collections.emptyList();
         }
+        String baseUrl = properties.getUrl();
+        if (!StringUtils.hasText(baseUrl)) {
+            throw new ServiceIntegrationException("Pricing service base URL is not configured");
+        }
 
+        String url = UriComponentsBuilder.fromHttpUrl(baseUrl)
+                .path("/api/v1/pricing-rule/evaluate/batch")
+                .toUriString();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(resolveBearerToken(authToken));
+
+        try {
+            ResponseEntity<ApiResponse<List<PricingEvaluationResult>>> response = restTemplate.exchange(
+                    url,
+                    HttpMethod.POST,
+                    new HttpEntity<>(items, headers),
+                    EVALUATION_RESPONSE_TYPE);
+
+            ApiResponse<List<PricingEvaluationResult>> body = response.getBody();
+            if (body == null || !Boolean.TRUE.equals(body.getSuccess())) {
+                throw new ServiceIntegrationException("Batch pricing evaluation failed: "
+                        + (body != null ? body.getMessage() : "empty response"));
+            }
+            List<PricingEvaluationResult> results = body.getData();
+            return results != null ? results : Collections.emptyList();
+        } catch (RestClientException ex) {
+            log.warn("Batch pricing evaluation failed for {} item(s): {}", items.size(), ex.getMessage());
+            throw new ServiceIntegrationException("Failed to evaluate pricing batch", ex);
+        }
+    }
+
+    public void invalidate(Long productId) {
+        invalidations.incrementAndGet();
+        cache.remove(productId);
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.clear();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private void refreshInBackground(Long productId) {
+        if (inFlight.containsKey(productId)) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    load(productId, null);
+                } catch (RuntimeException ex) {
+                    log.debug("Background pricing rule refresh failed for product {}: {}", productId,
+                            ex.getMessage());
+                }
+            });
+        } catch (RuntimeException ex) {
+            log.debug("Pricing rule refresh not scheduled for product {}: {}", productId, ex.getMessage());
+        }
+    }
+
+    /**
+     * Loads rules for a product, sharing one remote call between concurrent
+     * callers. The result is cached only if no invalidation arrived meanwhile.
+     */
+    private PricingRuleIndex<PricingRuleDto> load(Long productId, String authToken) {
+        CompletableFuture<PricingRuleIndex<PricingRuleDto>> mine = new CompletableFuture<>();
+        CompletableFuture<PricingRuleIndex<PricingRuleDto>> existing = inFlight.putIfAbsent(productId, mine);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw ex;
+            }
+        }
+        long generation = invalidations.get();
+        try {
+            PricingRuleIndex<PricingRuleDto> index = compile(requestActiveRules(productId, authToken));
+            if (invalidations.get() == generation) {
+                cache.put(productId, new CachedRules(index, System.currentTimeMillis()));
+            }
+            mine.complete(index);
+            return index;
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(productId, mine);
+        }
+    }
+
+    private List<PricingRuleDto> requestActiveRules(Long productId, String authToken) {
         String baseUrl = properties.getUrl();
         if (!StringUtils.hasText(baseUrl)) {
             throw new ServiceIntegrationException("Pricing service base URL is not configured");
@@ -117,4 +303,16 @@ public class PricingRuleClient {
         }
         return candidate;
     }
+
+    private static PricingRuleIndex<PricingRuleDto> compile(List<PricingRuleDto> rules) {
+        return PricingRuleIndex.compile(rules, PricingRuleDto::getMinThreshold, PricingRuleDto::getMaxThreshold,
+                PricingRuleDto::getPriorityOrder, rule -> Boolean.TRUE.equals(rule.getIsActive()));
+    }
+
+    private record CachedRules(PricingRuleIndex<PricingRuleDto> index, long loadedAt) {
+
+        long ageMillis(long now) {
+            return now - loadedAt;
+        }
+    }
 }
@@ -1,11 +1,17 @@
 package com.bt.accounts.service;
 
+import com.bt.accounts.dto.PricingEvaluationItem;
+import com.bt.accounts.dto.PricingEvaluationResult;
 import com.bt.accounts.dto.PricingRuleDto;
 import com.bt.accounts.entity.FdAccount;
 import com.bt.accounts.exception.ServiceIntegrationException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -22,38 +28,85 @@ public class PricingRuleEvaluator {
     public EvaluationResult evaluate(FdAccount account, BigDecimal balance, String authToken) {
         try {
             String token = resolveToken(authToken);
-            List<PricingRuleDto> rules = fetchRules(account, token);
+            PricingRuleIndex<PricingRuleDto> rules = pricingRuleClient.fetchRuleIndex(account, token);
             if (rules.isEmpty()) {
                 return EvaluationResult.noRule(account.getBaseInterestRate());
             }
-            PricingRuleDto matched = rules.stream()
-                    .filter(rule -> matches(rule, balance))
-                    .findFirst()
-                    .orElse(null);
-            if (matched == null) {
-                return EvaluationResult.noRule(account.getBaseInterestRate());
-            }
-            BigDecimal rate = resolveRate(account.getBaseInterestRate(), matched);
-            BigDecimal fee = resolveFee(matched);
-            return EvaluationResult.ruleMatched(matched, rate, fee);
+            return evaluateLocally(account, rules, balance);
         } catch (Exception ex) {
             log.warn("Pricing rule evaluation failed for account {}: {}", account.getAccountNo(), ex.getMessage());
             throw new ServiceIntegrationException("Unable to evaluate pricing rules", ex);
         }
     }
 
-    private List<PricingRuleDto> fetchRules(FdAccount account, String token) {
-        return pricingRuleClient.fetchActiveRules(account, token);
-    }
+    /**
+     * Evaluates a whole chunk of accounts, keyed by account number. Accounts whose
+     * product rules are already cached are priced in-process. All others go to
+     * product-pricing in one batch request. If that request fails, those accounts
+     * are left out of the result so callers can fall back to {@link #evaluate}.
+     */
+    public Map<String, EvaluationResult> evaluateAll(List<FdAccount> accounts, Map<String, BigDecimal> balances,
+            String authToken) {
+        Map<String, EvaluationResult> results = new HashMap<>();
+        if (accounts == null || accounts.isEmpty()) {
+            return results;
+        }
+        String token = resolveToken(authToken);
+        Map<String, FdAccount> remote = new HashMap<>();
+        List<PricingEvaluationItem> items = new ArrayList<>();
+        for (FdAccount account : accounts) {
+            BigDecimal balance = balances.get(account.getAccountNo());
+            if (balance == null) {
+                continue;
+            }
+            if (account.getProductRefId() == null) {
+                results.put(account.getAccountNo(), EvaluationResult.noRule(account.getBaseInterestRate()));
+                continue;
+            }
+            Optional<PricingRuleIndex<PricingRuleDto>> cached = pricingRuleClient
+                    .peekRuleIndex(account.getProductRefId());
+            if (cached.isPresent()) {
+                results.put(account.getAccountNo(), evaluateLocally(account, cached.get(), balance));
+                continue;
+            }
+            remote.put(account.getAccountNo(), account);
+            items.add(PricingEvaluationItem.builder()
+                    .key(account.getAccountNo())
+                    .productId(account.getProductRefId())
+                    .balance(balance)
+                    .baseRate(account.getBaseInterestRate())
+                    .build());
+        }
 
-    private boolean matches(PricingRuleDto rule, BigDecimal balance) {
-        if (rule.getMinThreshold() != null && balance.compareTo(rule.getMinThreshold()) < 0) {
-            return false;
+        if (!items.isEmpty()) {
+            try {
+                for (PricingEvaluationResult result : pricingRuleClient.evaluateBatch(items, token)) {
+                    FdAccount account = remote.get(result.getKey());
+                    if (account == null) {
+                        continue;
+                    }
+                    results.put(result.getKey(), result.getRule() == null
+                            ? EvaluationResult.noRule(account.getBaseInterestRate())
+                            : EvaluationResult.ruleMatched(result.getRule(), result.getAppliedRate(),
+                                    result.getFee()));
+                }
+            } catch (ServiceIntegrationException ex) {
+                log.warn("Batch pricing evaluation failed for {} account(s), falling back per account: {}",
+                        items.size(), ex.getMessage());
+            }
         }
-        if (rule.getMaxThreshold() != null && balance.compareTo(rule.getMaxThreshold()) > 0) {
-            return false;
+        return results;
+    }
+
+    private EvaluationResult evaluateLocally(FdAccount account, PricingRuleIndex<PricingRuleDto> rules,
+            BigDecimal balance) {
+        PricingRuleDto matched = rules.bestMatch(balance);
+        if (matched == null) {
+            return EvaluationResult.noRule(account.getBaseInterestRate());
         }
-        return Boolean.TRUE.equals(rule.getIsActive());
+        BigDecimal rate = resolveRate(account.getBaseInterestRate(), matched);
+        BigDecimal fee = resolveFee(matched);
+        return EvaluationResult.ruleMatched(matched, rate, fee);
     }
 
     private BigDecimal resolveRate(BigDecimal baseRate, PricingRuleDto rule) {
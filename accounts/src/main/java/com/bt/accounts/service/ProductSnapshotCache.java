@@ -0,0 +1,71 @@
+package com.bt.accounts.service;
+
+import com.bt.accounts.event.ProductDetailsResponse;
+import com.bt.accounts.event.ProductSnapshotEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of the product catalogue, rebuilt on every start by reading the
+ * compacted {@code product.snapshot} topic from the beginning and then kept
+ * current by the same listener. Lookups are local reads; a product that has not
+ * arrived yet is simply a miss and the caller falls back to the Kafka
+ * request/reply round-trip.
+ */
+@Service
+@Slf4j
+public class ProductSnapshotCache {
+
+    private final Map<String, ProductSnapshotEvent> products = new ConcurrentHashMap<>();
+
+    /**
+     * Applies an upsert, or a delete when {@code snapshot} is null. Snapshots
+     * older than the one already held are ignored.
+     */
+    public void apply(String productCode, ProductSnapshotEvent snapshot) {
+        if (productCode == null) {
+            return;
+        }
+        if (snapshot == null) {
+            products.remove(productCode);
+            log.debug("Product {} removed from snapshot cache", productCode);
+            return;
+        }
+        products.merge(productCode, snapshot,
+                (current, incoming) -> incoming.getVersion() >= current.getVersion() ? incoming : current);
+    }
+
+    public Optional<ProductDetailsResponse> find(String productCode) {
+        ProductSnapshotEvent snapshot = productCode != null ? products.get(productCode) : null;
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        return Optional.of(ProductDetailsResponse.builder()
+                .productId(snapshot.getProductId())
+                .productCode(snapshot.getProductCode())
+                .productName(snapshot.getProductName())
+                .productType(snapshot.getProductType())
+                .status(snapshot.getStatus())
+                .minAmount(snapshot.getMinAmount())
+                .maxAmount(snapshot.getMaxAmount())
+                .minTermMonths(snapshot.getMinTermMonths())
+                .maxTermMonths(snapshot.getMaxTermMonths())
+                .minInterestRate(snapshot.getMinInterestRate())
+                .maxInterestRate(snapshot.getMaxInterestRate())
+                .currency(snapshot.getCurrency())
+                .compoundingFrequency(snapshot.getCompoundingFrequency())
+                .prematurePenaltyRate(snapshot.getPrematurePenaltyRate())
+                .prematurePenaltyGraceDays(snapshot.getPrematurePenaltyGraceDays())
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
+
+    public int size() {
+        return products.size();
+    }
+}
@@ -27,7 +27,6 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -39,6 +38,7 @@ public class RedemptionService {
     private final CashCachedService cashCachedService;
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final TimeProvider timeProvider;
+    private final AccountBalanceService accountBalanceService;
 
     private static final String REDEMPTION_TYPE_MATURITY = "MATURITY";
     private static final String REDEMPTION_TYPE_PREMATURE = "PREMATURE";
@@ -59,7 +59,7 @@ public class RedemptionService {
         long daysUntilMaturity = isMatured ? 0 : ChronoUnit.DAYS.between(now, maturityDate);
         long daysOverdue = isMatured ? ChronoUnit.DAYS.between(maturityDate, now) : 0;
 
-        BigDecimal ledgerBalance = resolveLedgerBalance(accountNo);
+        BigDecimal ledgerBalance = accountBalanceService.currentBalance(account);
         BigDecimal principalOriginal = account.getPrincipalAmount() != null ? account.getPrincipalAmount()
                 : BigDecimal.ZERO;
         BigDecimal accruedInterest = ledgerBalance.subtract(principalOriginal);
@@ -117,7 +117,7 @@ public class RedemptionService {
     @Transactional
     @CacheEvict(value = { "accounts", "customerAccounts", "redemptionEnquiry" }, allEntries = true)
     public RedemptionResponse processRedemption(String accountNo, RedemptionRequest request, String authToken) {
-        FdAccount account = accountRepository.findByAccountNo(accountNo)
+        FdAccount account = accountRepository.findByAccountNoForUpdate(accountNo)
                 .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNo));
 
         if (account.getStatus() != FdAccount.AccountStatus.ACTIVE) {
@@ -131,7 +131,7 @@ public class RedemptionService {
 
         String redemptionType = isMatured ? REDEMPTION_TYPE_MATURITY : REDEMPTION_TYPE_PREMATURE;
 
-        BigDecimal ledgerBalance = resolveLedgerBalance(accountNo);
+        BigDecimal ledgerBalance = accountBalanceService.currentBalance(account);
         BigDecimal principalOriginal = account.getPrincipalAmount() != null ? account.getPrincipalAmount()
                 : BigDecimal.ZERO;
         BigDecimal accruedInterest = ledgerBalance.subtract(principalOriginal);
@@ -198,24 +198,6 @@ public class RedemptionService {
                 .build();
     }
 
-    private BigDecimal resolveLedgerBalance(String accountNo) {
-        LocalDateTime now = TimeProvider.currentDateTime();
-        List<AccountTransaction> transactions = transactionRepository
-                .findByAccountNoOrderByTransactionDateDesc(accountNo);
-        
-        List<AccountTransaction> validTxns = transactions.stream()
-                .filter(t -> t.getTransactionDate() != null && !t.getTransactionDate().isAfter(now))
-                .collect(Collectors.toList());
-        
-        if (validTxns.isEmpty()) {
-            FdAccount account = accountRepository.findByAccountNo(accountNo)
-                    .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNo));
-            BigDecimal principal = account.getPrincipalAmount();
-            return principal != null ? principal : BigDecimal.ZERO;
-        }
-        return validTxns.get(0).getBalanceAfter();
-    }
-
     private BigDecimal calculateAccruedInterest(FdAccount account, LocalDateTime currentDate) {
         LocalDateTime startDate = account.getCreatedAt();
         LocalDateTime maturityDate = account.getMaturityDate();
@@ -318,7 +300,8 @@ public class RedemptionService {
                     .transactionDate(LocalDateTime.now())
                     .build();
 
-            transactionRepository.save(transaction);
+            AccountTransaction saved = transactionRepository.save(transaction);
+            accountBalanceService.applyEntry(account, saved);
 
             log.info("Recorded redemption transaction: {} for account: {}, Type: {}, Amount: {}",
                     transactionId, account.getAccountNo(), transactionType, netPayoutAmount);
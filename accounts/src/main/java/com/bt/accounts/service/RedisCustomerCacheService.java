@@ -14,7 +14,9 @@ import java.util.concurrent.TimeUnit;
 public class RedisCustomerCacheService {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisCacheTagService cacheTagService;
     private static final String CUSTOMER_PREFIX = "customer:";
+    private static final String CUSTOMER_TAG = "customer";
     private static final long CACHE_TTL_HOURS = 6;
 
     @Cacheable(value = "customers", key = "#customerId")
@@ -31,20 +33,21 @@ public class RedisCustomerCacheService {
     public void cacheCustomer(Long customerId, Object customer) {
         String key = CUSTOMER_PREFIX + customerId;
         redisTemplate.opsForValue().set(key, customer, CACHE_TTL_HOURS, TimeUnit.HOURS);
+        cacheTagService.tag(key, TimeUnit.HOURS.toSeconds(CACHE_TTL_HOURS), CUSTOMER_TAG);
         log.debug("Cached customer: {}", customerId);
     }
 
     public void invalidateCustomer(Long customerId) {
         String key = CUSTOMER_PREFIX + customerId;
         redisTemplate.delete(key);
+        cacheTagService.untag(key, CUSTOMER_TAG);
         log.info("Invalidated cached customer: {}", customerId);
     }
 
     public void invalidateAllCustomers() {
-        var keys = redisTemplate.keys(CUSTOMER_PREFIX + "*");
-        if (keys != null && !keys.isEmpty()) {
-            redisTemplate.delete(keys);
-            log.info("Invalidated {} cached customers", keys.size());
+        long removed = cacheTagService.invalidateTag(CUSTOMER_TAG);
+        if (removed > 0) {
+            log.info("Invalidated {} cached customers", removed);
         }
     }
 }
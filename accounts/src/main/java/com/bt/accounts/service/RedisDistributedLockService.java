@@ -3,8 +3,11 @@ package com.bt.accounts.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -16,6 +19,15 @@ public class RedisDistributedLockService {
     private final RedisTemplate<String, Object> redisTemplate;
     private static final String LOCK_PREFIX = "lock:";
 
+    // Compare-and-act scripts so a holder whose lease already expired can never
+    // release or extend a lock that has since been taken by someone else.
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+    private static final RedisScript<Long> EXTEND_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('expire', KEYS[1], ARGV[2]) else return 0 end",
+            Long.class);
+
     public String acquireLock(String lockKey, long timeoutSeconds) {
         String fullKey = LOCK_PREFIX + lockKey;
         String lockValue = UUID.randomUUID().toString();
@@ -34,10 +46,9 @@ public class RedisDistributedLockService {
 
     public boolean releaseLock(String lockKey, String lockValue) {
         String fullKey = LOCK_PREFIX + lockKey;
-        Object currentValue = redisTemplate.opsForValue().get(fullKey);
+        Long released = redisTemplate.execute(RELEASE_SCRIPT, List.of(fullKey), lockValue);
 
-        if (lockValue.equals(currentValue)) {
-            redisTemplate.delete(fullKey);
+        if (released != null && released > 0) {
             log.debug("Lock released: {}", lockKey);
             return true;
         }
@@ -48,12 +59,7 @@ public class RedisDistributedLockService {
 
     public boolean extendLock(String lockKey, String lockValue, long additionalSeconds) {
         String fullKey = LOCK_PREFIX + lockKey;
-        Object currentValue = redisTemplate.opsForValue().get(fullKey);
-
-        if (lockValue.equals(currentValue)) {
-            return Boolean.TRUE.equals(redisTemplate.expire(fullKey, additionalSeconds, TimeUnit.SECONDS));
-        }
-
-        return false;
+        Long extended = redisTemplate.execute(EXTEND_SCRIPT, List.of(fullKey), lockValue, additionalSeconds);
+        return extended != null && extended > 0;
     }
 }
@@ -36,6 +36,7 @@ public class TransactionService {
     private final CashCachedService cashCachedService;
     private final PricingRuleEvaluator pricingRuleEvaluator;
     private final CacheManager cacheManager;
+    private final AccountBalanceService accountBalanceService;
     @Value("${self.txn.relaxed:false}")
     private boolean selfTxnRelaxed;
 
@@ -44,9 +45,10 @@ public class TransactionService {
         return recordTransaction(accountNo, request, null);
     }
 
+    @Transactional
     public TransactionResponse recordTransaction(String accountNo, TransactionRequest request,
             LocalDateTime occurredAt) {
-        FdAccount account = accountRepository.findByAccountNo(accountNo)
+        FdAccount account = accountRepository.findByAccountNoForUpdate(accountNo)
                 .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNo));
 
         if (account.getStatus() == FdAccount.AccountStatus.CLOSED) {
@@ -65,7 +67,7 @@ public class TransactionService {
 
         String transactionId = generateTransactionId(accountNo);
         BigDecimal amountTokens = requireTokenAmount(request.getAmount());
-        BigDecimal currentBalance = calculateCurrentBalance(accountNo);
+        BigDecimal currentBalance = accountBalanceService.latestBalance(account);
         PricingRuleEvaluator.EvaluationResult pricing = applyPricingRules(account, currentBalance, null);
         BigDecimal newBalance = calculateNewBalance(currentBalance, type, amountTokens);
 
@@ -92,6 +94,8 @@ public class TransactionService {
         }
 
         AccountTransaction savedTransaction = transactionRepository.save(transaction);
+        accountBalanceService.applyEntry(account, savedTransaction);
+        accountRepository.save(account);
         log.info("Recorded transaction: {} for account: {}", transactionId, accountNo);
 
         TransactionResponse response = TransactionResponse.fromEntity(savedTransaction);
@@ -102,7 +106,7 @@ public class TransactionService {
     @Transactional
     public TransactionResponse recordSelfTransaction(String accountNo, TransactionRequest request, String userIdHeader,
             String authHeader) {
-        FdAccount account = accountRepository.findByAccountNo(accountNo)
+        FdAccount account = accountRepository.findByAccountNoForUpdate(accountNo)
                 .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountNo));
 
         if (account.getStatus() == FdAccount.AccountStatus.CLOSED) {
@@ -150,7 +154,7 @@ public class TransactionService {
         }
 
         BigDecimal amountTokens = requireTokenAmount(request.getAmount());
-        BigDecimal currentBalance = calculateCurrentBalance(accountNo);
+        BigDecimal currentBalance = accountBalanceService.latestBalance(account);
         PricingRuleEvaluator.EvaluationResult pricing = applyPricingRules(account, currentBalance, authHeader);
         BigDecimal newBalance = calculateNewBalance(currentBalance, type, amountTokens);
         if (newBalance.compareTo(BigDecimal.ZERO) < 0) {
@@ -181,7 +185,9 @@ public class TransactionService {
         reconcileWalletForTransaction(account, type, amountTokens, request.getReferenceNo());
 
         AccountTransaction saved = transactionRepository.save(transaction);
+        accountBalanceService.applyEntry(account, saved);
         applyPenaltyIfNeeded(account, pricing.getPenalty(), request.getReferenceNo());
+        accountRepository.save(account);
         evictCaches(account);
         return TransactionResponse.fromEntity(saved);
     }
@@ -216,17 +222,6 @@ public class TransactionService {
                 .collect(Collectors.toList());
     }
 
-    private BigDecimal calculateCurrentBalance(String accountNo) {
-        List<AccountTransaction> transactions = transactionRepository
-                .findByAccountNoOrderByTransactionDateDesc(accountNo);
-        if (transactions.isEmpty()) {
-            FdAccount account = accountRepository.findByAccountNo(accountNo).orElseThrow();
-            BigDecimal pa = account.getPrincipalAmount();
-            return pa != null ? pa : BigDecimal.ZERO;
-        }
-        return transactions.get(0).getBalanceAfter();
-    }
-
     private BigDecimal calculateNewBalance(BigDecimal currentBalance, AccountTransaction.TransactionType type,
             BigDecimal amountTokens) {
         return switch (type) {
@@ -283,7 +278,7 @@ public class TransactionService {
                 .accountNo(accountNo)
                 .transactionType(AccountTransaction.TransactionType.PENALTY_DEBIT)
                 .amount(penalty.negate())
-                .balanceAfter(calculateNewBalance(calculateCurrentBalance(accountNo),
+                .balanceAfter(calculateNewBalance(accountBalanceService.latestBalance(account),
                         AccountTransaction.TransactionType.PENALTY_DEBIT, penalty))
                 .description("Pricing rule penalty")
                 .referenceNo(reference)
@@ -291,6 +286,7 @@ public class TransactionService {
                 .remarks("Auto-applied pricing penalty")
                 .build();
         penaltyTxn = transactionRepository.save(penaltyTxn);
+        accountBalanceService.applyEntry(account, penaltyTxn);
         reconcileWalletForTransaction(account, AccountTransaction.TransactionType.PENALTY_DEBIT, penalty, reference);
         log.info("Applied penalty {} to account {} due to pricing rule", penalty, accountNo);
         evictCaches(account);
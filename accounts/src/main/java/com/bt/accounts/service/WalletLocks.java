@@ -0,0 +1,89 @@
+package com.bt.accounts.service;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bt.accounts.config.CashCachedProperties;
+import com.bt.accounts.exception.ServiceIntegrationException;
+
+/**
+ * Striped in-JVM locks that queue mutations of the same wallet on this
+ * instance before they reach the database.
+ *
+ * The database updates are already atomic; the stripes keep a burst on one
+ * hot wallet (the treasury, a corporate customer) from piling up as blocked
+ * row locks and connections. A stripe is held until the surrounding
+ * transaction completes, so the next writer starts only after the previous
+ * one has committed. When several wallets are locked together their stripes
+ * are always taken in ascending order, so two opposite transfers cannot
+ * deadlock. A lock that cannot be taken within the configured timeout fails
+ * the call instead of waiting forever.
+ */
+@Component
+public class WalletLocks {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMs;
+
+    public WalletLocks(CashCachedProperties properties) {
+        int size = Integer.highestOneBit(Math.max(1, properties.getWalletLockStripes() - 1) << 1);
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMs = properties.getWalletLockTimeoutMs();
+    }
+
+    /**
+     * Locks the given wallets until the current transaction completes. Must be
+     * called inside a transaction.
+     */
+    public void lockForTransaction(String... customerIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Wallet locks can only be taken inside a transaction");
+        }
+        int[] indexes = Arrays.stream(customerIds).mapToInt(this::stripeOf).sorted().distinct().toArray();
+        int acquired = 0;
+        try {
+            for (; acquired < indexes.length; acquired++) {
+                if (!stripes[indexes[acquired]].tryLock(timeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new ServiceIntegrationException("Wallet is busy, please retry");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            unlock(indexes, acquired);
+            throw new ServiceIntegrationException("Interrupted while waiting for wallet lock", e);
+        } catch (RuntimeException e) {
+            unlock(indexes, acquired);
+            throw e;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                unlock(indexes, indexes.length);
+            }
+        });
+    }
+
+    int stripeOf(String customerId) {
+        int h = customerId.hashCode();
+        return (h ^ (h >>> 16)) & (stripes.length - 1);
+    }
+
+    int stripeCount() {
+        return stripes.length;
+    }
+
+    private void unlock(int[] indexes, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            stripes[indexes[i]].unlock();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.bt.accounts.benchmark;
+
+import com.bt.accounts.repository.FdAccountRepository;
+import com.bt.accounts.service.AccountNumberGenerator;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures IBAN generation and validation. {@code calculateIBANCheckDigits} is
+ * private, so it is measured through {@link AccountNumberGenerator#validateIBAN},
+ * which is little more than that mod-97 check. The repository is a stub-only
+ * mock so that invocations are not recorded across millions of calls.
+ * Not part of the surefire suite; run it from the IDE via {@link #main}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccountNumberBenchmark {
+
+    private static final String[] BRANCHES = { "BR001", "MUM0042", "DEL7", "BLR-221" };
+
+    private AccountNumberGenerator generator;
+    private String[] ibans;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        FdAccountRepository repository = Mockito.mock(FdAccountRepository.class,
+                Mockito.withSettings().stubOnly());
+        when(repository.countTodayAccountsByBranch(anyString())).thenReturn(0L);
+
+        generator = new AccountNumberGenerator(repository);
+        ReflectionTestUtils.setField(generator, "countryCode", "IN");
+        ReflectionTestUtils.setField(generator, "bankCode", "SBIN");
+        ReflectionTestUtils.setField(generator, "ibanEnabled", true);
+        ReflectionTestUtils.setField(generator, "accountPrefix", "FD");
+
+        ibans = new String[BRANCHES.length];
+        for (int i = 0; i < BRANCHES.length; i++) {
+            ibans[i] = generator.generateIBAN(BRANCHES[i]);
+        }
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (BRANCHES.length - 1);
+        return cursor;
+    }
+
+    @Benchmark
+    public String generateIBAN() {
+        return generator.generateIBAN(BRANCHES[next()]);
+    }
+
+    @Benchmark
+    public boolean validateIBAN() {
+        return generator.validateIBAN(ibans[next()]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AccountNumberBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,72 @@
+package com.bt.accounts.benchmark;
+
+import com.bt.accounts.config.CashCachedProperties;
+import com.bt.accounts.service.CashCachedFxRates;
+import com.bt.accounts.service.CashCachedService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link CashCachedService#convertCurrency} across the supported
+ * currency pairs, served from the built-in FX snapshot.
+ * Not part of the surefire suite; run it from the IDE via {@link #main}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurrencyConversionBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private CashCachedService service;
+    private BigDecimal[] amounts;
+    private String[] fromCurrencies;
+    private String[] toCurrencies;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        CashCachedProperties properties = new CashCachedProperties();
+        service = new CashCachedService(properties, null, null, null, null, null, null,
+                new CashCachedFxRates(properties, null));
+
+        String[] currencies = properties.getSupportedCurrencies().toArray(String[]::new);
+        Random random = new Random(42);
+        amounts = new BigDecimal[SAMPLES];
+        fromCurrencies = new String[SAMPLES];
+        toCurrencies = new String[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            amounts[i] = BigDecimal.valueOf(1 + random.nextInt(1_000_000));
+            fromCurrencies[i] = currencies[random.nextInt(currencies.length)];
+            toCurrencies[i] = currencies[random.nextInt(currencies.length)];
+        }
+    }
+
+    @Benchmark
+    public BigDecimal convertCurrency() {
+        cursor = (cursor + 1) & (SAMPLES - 1);
+        return service.convertCurrency(amounts[cursor], fromCurrencies[cursor], toCurrencies[cursor]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CurrencyConversionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
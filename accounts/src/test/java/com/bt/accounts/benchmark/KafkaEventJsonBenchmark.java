@@ -0,0 +1,136 @@
+package com.bt.accounts.benchmark;
+
+import com.bt.accounts.event.FdCalculationRequestEvent;
+import com.bt.accounts.event.FdCalculationResponseEvent;
+import com.bt.accounts.event.KafkaTopics;
+import com.bt.accounts.event.ProductSnapshotEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Kafka value (de)serialisation of the events accounts sends and
+ * receives on its hot topics, with the serializer and deserializers configured
+ * as in {@code KafkaConfig}.
+ * Not part of the surefire suite; run it from the IDE via {@link #main}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KafkaEventJsonBenchmark {
+
+    private JsonSerializer<Object> serializer;
+    private JsonDeserializer<FdCalculationResponseEvent> calculationResponseDeserializer;
+    private JsonDeserializer<ProductSnapshotEvent> productSnapshotDeserializer;
+
+    private FdCalculationRequestEvent calculationRequest;
+    private byte[] calculationResponseJson;
+    private byte[] productSnapshotJson;
+
+    @Setup
+    public void setUp() {
+        serializer = new JsonSerializer<>();
+        serializer.configure(Map.of(JsonSerializer.ADD_TYPE_INFO_HEADERS, false), false);
+        calculationResponseDeserializer = deserializer(FdCalculationResponseEvent.class);
+        productSnapshotDeserializer = deserializer(ProductSnapshotEvent.class);
+
+        LocalDateTime now = LocalDateTime.of(2026, 10, 16, 9, 30, 15);
+        calculationRequest = FdCalculationRequestEvent.builder()
+                .requestId(UUID.randomUUID().toString())
+                .customerId(1042L)
+                .productCode("FD-REGULAR-12M")
+                .principalAmount(new BigDecimal("250000.00"))
+                .tenureMonths(12)
+                .timestamp(now)
+                .build();
+        calculationResponseJson = serializer.serialize(KafkaTopics.FD_CALCULATION_RESPONSE,
+                FdCalculationResponseEvent.builder()
+                        .requestId(calculationRequest.getRequestId())
+                        .calculationId(88_231L)
+                        .customerId(1042L)
+                        .productCode("FD-REGULAR-12M")
+                        .principalAmount(new BigDecimal("250000.00"))
+                        .maturityAmount(new BigDecimal("267964.76"))
+                        .interestEarned(new BigDecimal("17964.76"))
+                        .effectiveRate(new BigDecimal("7.19"))
+                        .tenureMonths(12)
+                        .timestamp(now)
+                        .build());
+        productSnapshotJson = serializer.serialize(KafkaTopics.PRODUCT_SNAPSHOT, ProductSnapshotEvent.builder()
+                .productId(7L)
+                .productCode("FD-REGULAR-12M")
+                .productName("Regular Fixed Deposit")
+                .productType("FIXED_DEPOSIT")
+                .status("ACTIVE")
+                .minAmount(new BigDecimal("10000.00"))
+                .maxAmount(new BigDecimal("10000000.00"))
+                .minTermMonths(6)
+                .maxTermMonths(120)
+                .minInterestRate(new BigDecimal("6.50"))
+                .maxInterestRate(new BigDecimal("7.50"))
+                .currency("INR")
+                .compoundingFrequency("QUARTERLY")
+                .prematurePenaltyRate(new BigDecimal("1.00"))
+                .prematurePenaltyGraceDays(7)
+                .version(1_760_600_000_000L)
+                .build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializer.close();
+        calculationResponseDeserializer.close();
+        productSnapshotDeserializer.close();
+    }
+
+    private static <T> JsonDeserializer<T> deserializer(Class<T> type) {
+        JsonDeserializer<T> deserializer = new JsonDeserializer<>();
+        deserializer.configure(Map.of(
+                JsonDeserializer.TRUSTED_PACKAGES, "*",
+                JsonDeserializer.USE_TYPE_INFO_HEADERS, false,
+                JsonDeserializer.VALUE_DEFAULT_TYPE, type.getName()), false);
+        return deserializer;
+    }
+
+    @Benchmark
+    public byte[] serializeCalculationRequest() {
+        return serializer.serialize(KafkaTopics.FD_CALCULATION_REQUEST, calculationRequest);
+    }
+
+    @Benchmark
+    public FdCalculationResponseEvent deserializeCalculationResponse() {
+        return calculationResponseDeserializer.deserialize(KafkaTopics.FD_CALCULATION_RESPONSE,
+                calculationResponseJson);
+    }
+
+    @Benchmark
+    public ProductSnapshotEvent deserializeProductSnapshot() {
+        return productSnapshotDeserializer.deserialize(KafkaTopics.PRODUCT_SNAPSHOT, productSnapshotJson);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(KafkaEventJsonBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,124 @@
+package com.bt.accounts.benchmark;
+
+import com.bt.accounts.dto.PricingRuleDto;
+import com.bt.accounts.entity.FdAccount;
+import com.bt.accounts.service.PricingRuleClient;
+import com.bt.accounts.service.PricingRuleEvaluator;
+import com.bt.accounts.service.PricingRuleEvaluator.EvaluationResult;
+import com.bt.accounts.service.PricingRuleIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prices one accrual chunk of accounts through {@link PricingRuleEvaluator#evaluateAll}
+ * with every product's rules already cached, i.e. the in-process matching,
+ * rate and fee path the accrual job takes on a warm cache. Reported time is per chunk.
+ * Not part of the surefire suite; run it from the IDE via {@link #main}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingRuleEvaluatorBenchmark {
+
+    private static final int PRODUCTS = 8;
+
+    @Param({ "4", "32" })
+    public int rulesPerProduct;
+
+    @Param({ "500" })
+    public int chunkSize;
+
+    private PricingRuleEvaluator evaluator;
+    private List<FdAccount> accounts;
+    private Map<String, BigDecimal> balances;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Map<Long, PricingRuleIndex<PricingRuleDto>> indexes = new HashMap<>();
+        for (long productId = 1; productId <= PRODUCTS; productId++) {
+            List<PricingRuleDto> rules = new ArrayList<>();
+            for (int i = 0; i < rulesPerProduct; i++) {
+                long min = i * 10_000L;
+                rules.add(PricingRuleDto.builder()
+                        .id(productId * 1_000 + i)
+                        .minThreshold(BigDecimal.valueOf(min))
+                        .maxThreshold(i % 5 == 0 ? null : BigDecimal.valueOf(min + 25_000L))
+                        .priorityOrder(random.nextInt(rulesPerProduct))
+                        .interestRate(i % 2 == 0 ? new BigDecimal("7.25") : null)
+                        .discountPercentage(i % 2 == 0 ? null : new BigDecimal("5.00"))
+                        .feeAmount(i % 3 == 0 ? new BigDecimal("12.40") : null)
+                        .isActive(true)
+                        .build());
+            }
+            indexes.put(productId, PricingRuleIndex.compile(rules, PricingRuleDto::getMinThreshold,
+                    PricingRuleDto::getMaxThreshold, PricingRuleDto::getPriorityOrder,
+                    rule -> Boolean.TRUE.equals(rule.getIsActive())));
+        }
+        evaluator = new PricingRuleEvaluator(new CachedRulesClient(indexes));
+
+        accounts = new ArrayList<>(chunkSize);
+        balances = new HashMap<>();
+        for (int i = 0; i < chunkSize; i++) {
+            String accountNo = String.format("FD%08d", i);
+            accounts.add(FdAccount.builder()
+                    .accountNo(accountNo)
+                    .productRefId(1L + random.nextInt(PRODUCTS))
+                    .baseInterestRate(new BigDecimal("6.80"))
+                    .build());
+            balances.put(accountNo, BigDecimal.valueOf(random.nextInt(rulesPerProduct * 10_000 + 1)));
+        }
+    }
+
+    @Benchmark
+    public Map<String, EvaluationResult> evaluateChunk() {
+        return evaluator.evaluateAll(accounts, balances, "benchmark-token");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PricingRuleEvaluatorBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * Serves every product from a fixed set of compiled indexes, as a warm
+     * client cache would; nothing here goes over the network.
+     */
+    private static final class CachedRulesClient extends PricingRuleClient {
+
+        private final Map<Long, PricingRuleIndex<PricingRuleDto>> indexes;
+
+        CachedRulesClient(Map<Long, PricingRuleIndex<PricingRuleDto>> indexes) {
+            super(null, null, null);
+            this.indexes = indexes;
+        }
+
+        @Override
+        public Optional<PricingRuleIndex<PricingRuleDto>> peekRuleIndex(Long productId) {
+            return Optional.ofNullable(indexes.get(productId));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.bt.accounts.benchmark;
+
+import com.bt.accounts.dto.PricingRuleDto;
+import com.bt.accounts.service.PricingRuleIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the compiled pricing-rule index with the previous linear scan.
+ * Not part of the surefire suite; run it from the IDE via {@link #main}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingRuleMatchBenchmark {
+
+    @Param({ "4", "32", "256" })
+    public int ruleCount;
+
+    private List<PricingRuleDto> sortedRules;
+    private PricingRuleIndex<PricingRuleDto> index;
+    private BigDecimal[] balances;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<PricingRuleDto> rules = new ArrayList<>();
+        for (int i = 0; i < ruleCount; i++) {
+            long min = i * 1_000L;
+            rules.add(PricingRuleDto.builder()
+                    .id((long) i)
+                    .minThreshold(BigDecimal.valueOf(min))
+                    .maxThreshold(i % 5 == 0 ? null : BigDecimal.valueOf(min + 2_500L))
+                    .priorityOrder(random.nextInt(ruleCount))
+                    .interestRate(new BigDecimal("5.25"))
+                    .isActive(true)
+                    .build());
+        }
+        sortedRules = rules.stream()
+                .sorted(Comparator.comparing(PricingRuleDto::getPriorityOrder))
+                .toList();
+        index = PricingRuleIndex.compile(rules, PricingRuleDto::getMinThreshold, PricingRuleDto::getMaxThreshold,
+                PricingRuleDto::getPriorityOrder, rule -> Boolean.TRUE.equals(rule.getIsActive()));
+        balances = new BigDecimal[1024];
+        for (int i = 0; i < balances.length; i++) {
+            balances[i] = BigDecimal.valueOf(random.nextInt(ruleCount * 1_000 + 1), 2).movePointRight(2);
+        }
+    }
+
+    private BigDecimal nextBalance() {
+        cursor = (cursor + 1) & (balances.length - 1);
+        return balances[cursor];
+    }
+
+    @Benchmark
+    public PricingRuleDto linearScan() {
+        BigDecimal balance = nextBalance();
+        return sortedRules.stream()
+                .filter(rule -> matches(rule, balance))
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Benchmark
+    public PricingRuleDto compiledIndex() {
+        return index.bestMatch(nextBalance());
+    }
+
+    private static boolean matches(PricingRuleDto rule, BigDecimal balance) {
+        if (rule.getMinThreshold() != null && balance.compareTo(rule.getMinThreshold()) < 0) {
+            return false;
+        }
+        if (rule.getMaxThreshold() != null && balance.compareTo(rule.getMaxThreshold()) > 0) {
+            return false;
+        }
+        return Boolean.TRUE.equals(rule.getIsActive());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PricingRuleMatchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
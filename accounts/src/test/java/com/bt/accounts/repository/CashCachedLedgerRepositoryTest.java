@@ -0,0 +1,89 @@
+package com.bt.accounts.repository;
+
+import com.bt.accounts.dto.CashCachedLedgerEntryResponse;
+import com.bt.accounts.entity.CashCachedLedgerEntry;
+import com.bt.accounts.entity.CashCachedLedgerEntry.Operation;
+import com.bt.accounts.time.TimeProvider;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class CashCachedLedgerRepositoryTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    @Autowired
+    private CashCachedLedgerRepository ledgerRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<Long> customerIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // The entry's @PrePersist reads the clock, which is not a bean in a JPA slice.
+        new TimeProvider();
+        // Three entries share a timestamp so the id has to break the tie.
+        for (int minutes : new int[] { 0, 1, 1, 1, 2 }) {
+            customerIds.add(entry("CUST001", T0.plusMinutes(minutes)).getId());
+        }
+        entry("CUST002", T0.plusMinutes(1));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findHistoryPage_ShouldReturnNewestFirstUpToLimit() {
+        List<CashCachedLedgerEntryResponse> page = ledgerRepository.findHistoryPage("CUST001", Limit.of(2));
+
+        assertEquals(2, page.size());
+        assertEquals(customerIds.get(4), page.get(0).getId());
+        assertEquals(customerIds.get(3), page.get(1).getId());
+    }
+
+    @Test
+    void findHistoryPageAfter_ShouldWalkEveryEntryOnceAcrossTiedTimestamps() {
+        List<Long> seen = new ArrayList<>();
+        List<CashCachedLedgerEntryResponse> page = ledgerRepository.findHistoryPage("CUST001", Limit.of(2));
+        while (!page.isEmpty()) {
+            page.forEach(entry -> seen.add(entry.getId()));
+            CashCachedLedgerEntryResponse last = page.get(page.size() - 1);
+            page = ledgerRepository.findHistoryPageAfter("CUST001", last.getCreatedAt(), last.getId(), Limit.of(2));
+        }
+
+        assertEquals(List.of(customerIds.get(4), customerIds.get(3), customerIds.get(2), customerIds.get(1),
+                customerIds.get(0)), seen);
+    }
+
+    @Test
+    void findAllHistoryPageAfter_ShouldIncludeEveryCustomer() {
+        List<CashCachedLedgerEntryResponse> page = ledgerRepository.findAllHistoryPageAfter(T0.plusMinutes(2),
+                customerIds.get(4), Limit.of(10));
+
+        assertEquals(5, page.size());
+        assertTrue(page.stream().anyMatch(entry -> "CUST002".equals(entry.getCustomerId())));
+        assertEquals(T0, page.get(page.size() - 1).getCreatedAt());
+    }
+
+    private CashCachedLedgerEntry entry(String customerId, LocalDateTime createdAt) {
+        CashCachedLedgerEntry entry = ledgerRepository.save(CashCachedLedgerEntry.builder()
+                .customerId(customerId)
+                .changeAmount(BigDecimal.ONE)
+                .balanceAfter(BigDecimal.ONE)
+                .operation(Operation.ISSUE)
+                .build());
+        // Overwrite the clock's timestamp once the row exists.
+        entry.setCreatedAt(createdAt);
+        return entry;
+    }
+}
@@ -0,0 +1,92 @@
+package com.bt.accounts.repository;
+
+import com.bt.accounts.entity.CashCachedWallet;
+import com.bt.accounts.time.TimeProvider;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class CashCachedWalletRepositoryTest {
+
+    @Autowired
+    private CashCachedWalletRepository walletRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        // The wallet's @PrePersist reads the clock, which is not a bean in a JPA slice.
+        new TimeProvider();
+        walletRepository.save(CashCachedWallet.builder()
+                .customerId("CUST001")
+                .balance(new BigDecimal("100.00"))
+                .baseCurrency("INR")
+                .build());
+        walletRepository.save(CashCachedWallet.builder()
+                .customerId("LEGACY")
+                .balance(new BigDecimal("50.00"))
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void debit_WithSufficientBalance_ShouldSubtractAndBumpVersion() {
+        int updated = walletRepository.debit("CUST001", new BigDecimal("40.00"), LocalDateTime.now());
+
+        assertEquals(1, updated);
+        assertEquals(0, new BigDecimal("60.00").compareTo(walletRepository.findBalanceByCustomerId("CUST001").get()));
+        entityManager.clear();
+        assertEquals(1L, walletRepository.findByCustomerId("CUST001").get().getVersion());
+    }
+
+    @Test
+    void debit_WithInsufficientBalance_ShouldLeaveWalletUntouched() {
+        int updated = walletRepository.debit("CUST001", new BigDecimal("100.01"), LocalDateTime.now());
+
+        assertEquals(0, updated);
+        assertEquals(0, new BigDecimal("100.00").compareTo(walletRepository.findBalanceByCustomerId("CUST001").get()));
+    }
+
+    @Test
+    void debit_WithExactBalance_ShouldEmptyWallet() {
+        assertEquals(1, walletRepository.debit("CUST001", new BigDecimal("100.00"), LocalDateTime.now()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(walletRepository.findBalanceByCustomerId("CUST001").get()));
+    }
+
+    @Test
+    void credit_ShouldAddToCurrentBalance() {
+        walletRepository.credit("CUST001", new BigDecimal("25.00"), LocalDateTime.now());
+        walletRepository.credit("CUST001", new BigDecimal("25.00"), LocalDateTime.now());
+
+        assertEquals(0, new BigDecimal("150.00").compareTo(walletRepository.findBalanceByCustomerId("CUST001").get()));
+    }
+
+    @Test
+    void credit_WithUnknownWallet_ShouldUpdateNothing() {
+        assertEquals(0, walletRepository.credit("UNKNOWN", BigDecimal.TEN, LocalDateTime.now()));
+    }
+
+    @Test
+    void rebase_ShouldOnlyApplyWhileWalletIsInExpectedCurrency() {
+        assertEquals(0, walletRepository.rebase("CUST001", "USD", "EUR", new BigDecimal("1.00"),
+                LocalDateTime.now()));
+        assertEquals(1, walletRepository.rebase("CUST001", "INR", "USD", new BigDecimal("1.20"),
+                LocalDateTime.now()));
+        assertEquals(1, walletRepository.rebase("LEGACY", "INR", "USD", new BigDecimal("0.60"),
+                LocalDateTime.now()));
+
+        entityManager.clear();
+        CashCachedWallet wallet = walletRepository.findByCustomerId("CUST001").get();
+        assertEquals("USD", wallet.getBaseCurrency());
+        assertEquals(0, new BigDecimal("1.20").compareTo(wallet.getBalance()));
+        assertEquals(0, new BigDecimal("0.60").compareTo(walletRepository.findBalanceForUpdate("LEGACY").get()));
+    }
+}
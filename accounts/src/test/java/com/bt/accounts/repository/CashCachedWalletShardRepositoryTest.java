@@ -0,0 +1,97 @@
+package com.bt.accounts.repository;
+
+import com.bt.accounts.entity.CashCachedWalletShard;
+import com.bt.accounts.time.TimeProvider;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class CashCachedWalletShardRepositoryTest {
+
+    @Autowired
+    private CashCachedWalletShardRepository shardRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long firstShardId;
+
+    @BeforeEach
+    void setUp() {
+        // The shard's @PrePersist reads the clock, which is not a bean in a JPA slice.
+        new TimeProvider();
+        for (int shardNo = 0; shardNo < 4; shardNo++) {
+            CashCachedWalletShard shard = shardRepository.save(CashCachedWalletShard.builder()
+                    .customerId("TREASURY")
+                    .shardNo(shardNo)
+                    .balance(BigDecimal.ZERO)
+                    .build());
+            if (shardNo == 0) {
+                firstShardId = shard.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void credit_ShouldOnlyTouchTheChosenShard() {
+        assertEquals(1, shardRepository.credit("TREASURY", 0, new BigDecimal("10.00"), LocalDateTime.now()));
+        assertEquals(1, shardRepository.credit("TREASURY", 3, new BigDecimal("5.00"), LocalDateTime.now()));
+        assertEquals(0, shardRepository.credit("TREASURY", 9, new BigDecimal("5.00"), LocalDateTime.now()));
+
+        assertEquals(0, new BigDecimal("15.00").compareTo(shardRepository.sumBalanceByCustomerId("TREASURY")));
+        assertEquals(0, new BigDecimal("15.00").compareTo(shardRepository.sumBalance()));
+    }
+
+    @Test
+    void sumBalanceByCustomerId_WithoutShards_ShouldBeZero() {
+        assertEquals(0, BigDecimal.ZERO.compareTo(shardRepository.sumBalanceByCustomerId("CUST001")));
+    }
+
+    @Test
+    void drain_ShouldNeverTakeMoreThanTheShardHolds() {
+        shardRepository.credit("TREASURY", 0, new BigDecimal("10.00"), LocalDateTime.now());
+
+        assertEquals(1, shardRepository.drain(firstShardId, new BigDecimal("10.00"), LocalDateTime.now()));
+        assertEquals(0, shardRepository.drain(firstShardId, new BigDecimal("10.00"), LocalDateTime.now()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(shardRepository.sumBalanceByCustomerId("TREASURY")));
+    }
+
+    @Test
+    void existsByCustomerIdAndShardNo_ShouldMatchCreatedShards() {
+        assertTrue(shardRepository.existsByCustomerIdAndShardNo("TREASURY", 3));
+        assertFalse(shardRepository.existsByCustomerIdAndShardNo("TREASURY", 4));
+    }
+
+    @Test
+    void deleteIfEmpty_ShouldKeepShardsThatStillHoldCredits() {
+        shardRepository.credit("TREASURY", 0, new BigDecimal("10.00"), LocalDateTime.now());
+
+        assertEquals(0, shardRepository.deleteIfEmpty(firstShardId));
+        shardRepository.drain(firstShardId, new BigDecimal("10.00"), LocalDateTime.now());
+        assertEquals(1, shardRepository.deleteIfEmpty(firstShardId));
+        assertFalse(shardRepository.existsByCustomerIdAndShardNo("TREASURY", 0));
+    }
+
+    @Test
+    void findShardOwners_ShouldListEachWalletOnce() {
+        shardRepository.save(CashCachedWalletShard.builder()
+                .customerId("FORMER-HOT")
+                .shardNo(0)
+                .balance(new BigDecimal("3.00"))
+                .build());
+
+        List<String> owners = shardRepository.findShardOwners();
+
+        assertEquals(2, owners.size());
+        assertTrue(owners.containsAll(List.of("TREASURY", "FORMER-HOT")));
+    }
+}
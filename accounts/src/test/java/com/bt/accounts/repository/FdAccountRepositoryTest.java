@@ -1,10 +1,12 @@
 package com.bt.accounts.repository;
 
 import com.bt.accounts.entity.FdAccount;
+import com.bt.accounts.time.TimeProvider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,6 +23,8 @@ class FdAccountRepositoryTest {
 
     @BeforeEach
     void setUp() {
+        // The account's @PrePersist reads the clock, which is not a bean in a JPA slice.
+        new TimeProvider();
         testAccount = FdAccount.builder()
                 .accountNo("FD-BR001-20251023-10000001")
                 .customerId("CUST001")
@@ -52,6 +56,15 @@ class FdAccountRepositoryTest {
         assertFalse(found.isPresent());
     }
 
+    @Test
+    void findByAccountNoForUpdate_WithExistingAccount_ShouldReturnLockedAccount() {
+        Optional<FdAccount> found = accountRepository.findByAccountNoForUpdate("FD-BR001-20251023-10000001");
+
+        assertTrue(found.isPresent());
+        assertEquals(testAccount.getId(), found.get().getId());
+        assertTrue(accountRepository.findByAccountNoForUpdate("INVALID").isEmpty());
+    }
+
     @Test
     void findByCustomerId_WithExistingCustomer_ShouldReturnAccounts() {
         List<FdAccount> accounts = accountRepository.findByCustomerId("CUST001");
@@ -90,4 +103,42 @@ class FdAccountRepositoryTest {
         assertNotNull(count);
         assertTrue(count >= 1);
     }
+
+    @Test
+    void findDueForAccrual_ShouldWalkDueAccountsByEarliestDueDateThenId() {
+        LocalDateTime now = LocalDateTime.now();
+        FdAccount accrualDue = dueAccount("FD-DUE-1", LocalDateTime.of(2020, 1, 1, 0, 0), null,
+                FdAccount.AccountStatus.ACTIVE);
+        FdAccount payoutDue = dueAccount("FD-DUE-2", LocalDateTime.of(2021, 1, 1, 0, 0),
+                LocalDateTime.of(2019, 1, 1, 0, 0), FdAccount.AccountStatus.ACTIVE);
+        FdAccount sameDate = dueAccount("FD-DUE-3", LocalDateTime.of(2020, 1, 1, 0, 0), null,
+                FdAccount.AccountStatus.ACTIVE);
+        dueAccount("FD-DUE-4", LocalDateTime.of(2018, 1, 1, 0, 0), null, FdAccount.AccountStatus.SUSPENDED);
+
+        assertEquals(LocalDateTime.of(2019, 1, 1, 0, 0), payoutDue.getNextDueAt());
+
+        List<FdAccount> first = accountRepository.findDueForAccrual(FdAccount.AccountStatus.ACTIVE, now,
+                PageRequest.of(0, 2));
+        assertEquals(List.of("FD-DUE-2", "FD-DUE-1"), first.stream().map(FdAccount::getAccountNo).toList());
+
+        List<FdAccount> rest = accountRepository.findDueForAccrualAfter(FdAccount.AccountStatus.ACTIVE, now,
+                accrualDue.getNextDueAt(), accrualDue.getId(), PageRequest.of(0, 2));
+        assertEquals(List.of(sameDate.getId()), rest.stream().map(FdAccount::getId).toList());
+    }
+
+    private FdAccount dueAccount(String accountNo, LocalDateTime nextAccrual, LocalDateTime nextPayout,
+            FdAccount.AccountStatus status) {
+        return accountRepository.save(FdAccount.builder()
+                .accountNo(accountNo)
+                .customerId("CUST002")
+                .productCode("FD-PREMIUM")
+                .principalAmount(new BigDecimal("1000.00"))
+                .interestRate(new BigDecimal("6.75"))
+                .tenureMonths(24)
+                .branchCode("BR001")
+                .status(status)
+                .nextInterestAccrualAt(nextAccrual)
+                .nextPayoutAt(nextPayout)
+                .build());
+    }
 }
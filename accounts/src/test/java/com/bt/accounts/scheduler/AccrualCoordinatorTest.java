@@ -0,0 +1,149 @@
+package com.bt.accounts.scheduler;
+
+import com.bt.accounts.config.AccrualProperties;
+import com.bt.accounts.entity.FdAccount;
+import com.bt.accounts.service.RedisDistributedLockService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccrualCoordinatorTest {
+
+    @Mock
+    private RedisDistributedLockService lockService;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    private AccrualProperties properties;
+    private AccrualCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AccrualProperties();
+        properties.setLeaseSeconds(120);
+        coordinator = new AccrualCoordinator(lockService, stringRedisTemplate, properties, "accounts-service");
+    }
+
+    @AfterEach
+    void tearDown() {
+        properties.setCoordination(AccrualCoordinator.Mode.NONE);
+        coordinator.shutdown();
+    }
+
+    @Test
+    void acquire_WithoutCoordination_ShouldOwnEveryAccount() {
+        properties.setCoordination(AccrualCoordinator.Mode.NONE);
+
+        try (AccrualCoordinator.Assignment assignment = coordinator.acquire()) {
+            assertTrue(assignment.isActive());
+            assertTrue(assignment.owns(account("FD-1")));
+        }
+        verifyNoInteractions(lockService);
+    }
+
+    @Test
+    void acquire_AsLeader_ShouldExtendHeldLeaseOnLaterTicks() {
+        properties.setCoordination(AccrualCoordinator.Mode.LEADER);
+        when(lockService.acquireLock("accrual:leader", 120)).thenReturn("lease-1");
+        when(lockService.extendLock("accrual:leader", "lease-1", 120)).thenReturn(true);
+
+        try (AccrualCoordinator.Assignment first = coordinator.acquire()) {
+            assertTrue(first.isActive());
+        }
+        try (AccrualCoordinator.Assignment second = coordinator.acquire()) {
+            assertTrue(second.isActive());
+        }
+
+        verify(lockService, times(1)).acquireLock("accrual:leader", 120);
+        verify(lockService, never()).releaseLock(eq("accrual:leader"), anyString());
+    }
+
+    @Test
+    void acquire_WhenLeaseTakenByAnotherInstance_ShouldSkipTick() {
+        properties.setCoordination(AccrualCoordinator.Mode.LEADER);
+        when(lockService.acquireLock("accrual:leader", 120)).thenReturn("lease-1", (String) null);
+        when(lockService.extendLock("accrual:leader", "lease-1", 120)).thenReturn(false);
+
+        coordinator.acquire().close();
+        try (AccrualCoordinator.Assignment assignment = coordinator.acquire()) {
+            assertFalse(assignment.isActive());
+            assertFalse(assignment.owns(account("FD-1")));
+        }
+    }
+
+    @Test
+    void acquire_WhenRedisIsDown_ShouldSkipTick() {
+        properties.setCoordination(AccrualCoordinator.Mode.LEADER);
+        when(lockService.acquireLock("accrual:leader", 120))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertFalse(coordinator.acquire().isActive());
+    }
+
+    @Test
+    void acquire_Sharded_AsOnlyMember_ShouldClaimAndReleaseEverySlot() {
+        properties.setCoordination(AccrualCoordinator.Mode.SHARDED);
+        properties.setShardSlots(8);
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.add(eq("accrual:members"), eq(coordinator.getInstanceId()), anyDouble())).thenReturn(true);
+        when(zSetOperations.range("accrual:members", 0, -1)).thenReturn(Set.of(coordinator.getInstanceId()));
+        when(lockService.acquireLock(anyString(), anyLong())).thenAnswer(invocation -> "v-" + invocation.getArgument(0));
+
+        try (AccrualCoordinator.Assignment assignment = coordinator.acquire()) {
+            assertTrue(assignment.isActive());
+            assertTrue(assignment.owns(account("FD-1")));
+            assertTrue(assignment.owns(account("FD-2")));
+        }
+
+        for (int slot = 0; slot < 8; slot++) {
+            verify(lockService).releaseLock("accrual:slot:" + slot, "v-accrual:slot:" + slot);
+        }
+    }
+
+    @Test
+    void assignment_WhenRenewalFails_ShouldStopReportingActive() {
+        properties.setCoordination(AccrualCoordinator.Mode.LEADER);
+        properties.setLeaseSeconds(3);
+        when(lockService.acquireLock("accrual:leader", 3)).thenReturn("lease-1");
+        when(lockService.extendLock("accrual:leader", "lease-1", 3)).thenReturn(false);
+
+        try (AccrualCoordinator.Assignment assignment = coordinator.acquire()) {
+            assertTrue(assignment.isActive());
+            verify(lockService, timeout(3000)).extendLock("accrual:leader", "lease-1", 3);
+            long deadline = System.currentTimeMillis() + 1000;
+            while (assignment.isActive() && System.currentTimeMillis() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertFalse(assignment.isActive());
+        }
+    }
+
+    private static FdAccount account(String accountNo) {
+        return FdAccount.builder().accountNo(accountNo).build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.bt.accounts.scheduler;
+
+import com.bt.accounts.config.AccrualProperties;
+import com.bt.accounts.entity.FdAccount;
+import com.bt.accounts.repository.FdAccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccrualWorkerPoolTest {
+
+    @Mock
+    private FdAccountRepository accountRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final AccrualMetrics metrics = new AccrualMetrics();
+    private AccrualWorkerPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void laneFor_ShouldBeStableAndWithinLaneCount() {
+        pool = newPool(4);
+
+        for (int i = 0; i < 100; i++) {
+            String accountNo = "FD-BR001-" + i;
+            int lane = pool.laneFor(accountNo);
+            assertTrue(lane >= 0 && lane < 4);
+            assertEquals(lane, pool.laneFor(accountNo));
+        }
+        assertEquals(0, pool.laneFor(null));
+    }
+
+    @Test
+    void dispatch_ShouldRunEachAccountOnItsOwnLane() {
+        pool = newPool(4);
+        List<FdAccount> accounts = List.of(account(1L, "FD-A"), account(2L, "FD-B"), account(3L, "FD-C"),
+                account(4L, "FD-D"), account(5L, "FD-E"));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(accountRepository.findAllById(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return accounts.stream().filter(a -> ids.contains(a.getId())).toList();
+        });
+        Map<String, String> threads = new ConcurrentHashMap<>();
+
+        int succeeded = pool.dispatch(accounts, a -> threads.put(a.getAccountNo(), Thread.currentThread().getName()));
+
+        assertEquals(5, succeeded);
+        for (FdAccount account : accounts) {
+            assertEquals("accrual-lane-" + pool.laneFor(account.getAccountNo()), threads.get(account.getAccountNo()));
+        }
+    }
+
+    @Test
+    void dispatch_WhenBatchFails_ShouldReplayEachAccountInItsOwnTransaction() {
+        pool = newPool(1);
+        FdAccount good = account(1L, "FD-GOOD-1");
+        FdAccount bad = account(2L, "FD-BAD");
+        FdAccount other = account(3L, "FD-GOOD-2");
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(accountRepository.findAllById(List.of(1L, 2L, 3L))).thenReturn(List.of(good, bad, other));
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(good));
+        when(accountRepository.findById(2L)).thenReturn(Optional.of(bad));
+        when(accountRepository.findById(3L)).thenReturn(Optional.of(other));
+
+        int succeeded = pool.dispatch(List.of(good, bad, other), a -> {
+            if (a == bad) {
+                throw new IllegalStateException("boom");
+            }
+        });
+
+        assertEquals(2, succeeded);
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, times(4)).getTransaction(definitions.capture());
+        definitions.getAllValues().forEach(definition -> assertEquals(
+                TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getPropagationBehavior()));
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager, times(2)).commit(any());
+        assertEquals(2L, metrics.snapshot().get("accountsProcessed"));
+        assertEquals(1L, metrics.snapshot().get("accountsFailed"));
+        assertEquals(1L, metrics.snapshot().get("batchesIsolated"));
+    }
+
+    private AccrualWorkerPool newPool(int workerThreads) {
+        AccrualProperties properties = new AccrualProperties();
+        properties.setWorkerThreads(workerThreads);
+        return new AccrualWorkerPool(accountRepository, metrics, transactionManager, properties);
+    }
+
+    private static FdAccount account(Long id, String accountNo) {
+        return FdAccount.builder().id(id).accountNo(accountNo).build();
+    }
+}
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
@@ -48,6 +49,12 @@ class AccountServiceTest {
         @Mock
         private AccountNumberGenerator accountNumberGenerator;
 
+        @Mock
+        private ProductSnapshotCache productSnapshotCache;
+
+        @Spy
+        private MaturityEngine maturityEngine = new MaturityEngine();
+
         @InjectMocks
         private AccountService accountService;
 
@@ -0,0 +1,99 @@
+package com.bt.accounts.service;
+
+import com.bt.accounts.entity.CashCachedAggregate.Metric;
+import com.bt.accounts.entity.CashCachedLedgerEntry;
+import com.bt.accounts.entity.CashCachedLedgerEntry.Operation;
+import com.bt.accounts.repository.CashCachedAggregateRepository;
+import com.bt.accounts.repository.CashCachedLedgerRepository;
+import com.bt.accounts.time.TimeProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs reconcile against a real database, committing each run, to check that
+ * overlapping runs from two instances do not apply the same correction twice.
+ */
+@DataJpaTest(properties = "cashcached.wallet-shards=2")
+@Import(CashCachedAggregates.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CashCachedAggregatesReconcileTest {
+
+    @Autowired
+    private CashCachedAggregates aggregates;
+
+    @Autowired
+    private CashCachedAggregateRepository aggregateRepository;
+
+    @MockitoSpyBean
+    private CashCachedLedgerRepository ledgerRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        // The entities' @PrePersist reads the clock, which is not a bean in a JPA slice.
+        new TimeProvider();
+        aggregates.initialise();
+        ledgerRepository.save(CashCachedLedgerEntry.builder()
+                .customerId("CUST001")
+                .changeAmount(new BigDecimal("100.00"))
+                .balanceAfter(new BigDecimal("100.00"))
+                .operation(Operation.ISSUE)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ledgerRepository.deleteAll();
+        aggregateRepository.deleteAll();
+    }
+
+    @Test
+    void reconcile_WhenTwoRunsOverlap_ShouldCorrectDriftOnce() throws Exception {
+        TransactionTemplate first = new TransactionTemplate(transactionManager);
+        first.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        CompletableFuture<Map<Metric, BigDecimal>> second = first.execute(status -> {
+            Map<Metric, BigDecimal> corrections = aggregates.reconcile();
+            assertEquals(0, new BigDecimal("100.00").compareTo(corrections.get(Metric.LEDGER_TOTAL)));
+
+            // The second run starts while the first has corrected but not committed,
+            // and must not read anything until the first is done.
+            CompletableFuture<Map<Metric, BigDecimal>> overlapping = CompletableFuture
+                    .supplyAsync(aggregates::reconcile);
+            assertThrows(TimeoutException.class, () -> overlapping.get(300, TimeUnit.MILLISECONDS));
+            verify(ledgerRepository, times(1)).findMaxId();
+            return overlapping;
+        });
+
+        // MySQL lets the waiting run read after the first commits and it finds no
+        // drift left; H2 aborts it instead. Either way the drift is applied once.
+        Map<Metric, BigDecimal> corrections = second
+                .exceptionally(e -> Map.of())
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(corrections.getOrDefault(Metric.LEDGER_TOTAL, BigDecimal.ZERO)));
+        assertEquals(0, new BigDecimal("100.00").compareTo(aggregates.ledgerTotal()));
+    }
+}
@@ -0,0 +1,184 @@
+package com.bt.accounts.service;
+
+import com.bt.accounts.config.CashCachedProperties;
+import com.bt.accounts.entity.CashCachedAggregate;
+import com.bt.accounts.entity.CashCachedAggregate.Metric;
+import com.bt.accounts.repository.CashCachedAggregateRepository;
+import com.bt.accounts.repository.CashCachedLedgerRepository;
+import com.bt.accounts.repository.CashCachedWalletRepository;
+import com.bt.accounts.repository.CashCachedWalletShardRepository;
+import com.bt.accounts.time.TimeProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CashCachedAggregatesTest {
+
+    @Mock
+    private CashCachedAggregateRepository aggregateRepository;
+
+    @Mock
+    private CashCachedLedgerRepository ledgerRepository;
+
+    @Mock
+    private CashCachedWalletRepository walletRepository;
+
+    @Mock
+    private CashCachedWalletShardRepository shardRepository;
+
+    private CashCachedAggregates aggregates;
+
+    @BeforeEach
+    void setUp() {
+        new TimeProvider();
+        CashCachedProperties properties = new CashCachedProperties();
+        properties.setWalletShards(4);
+        aggregates = new CashCachedAggregates(properties, aggregateRepository, ledgerRepository, walletRepository,
+                shardRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(aggregates);
+    }
+
+    @Test
+    void add_ShouldWriteNetDeltasOnceBeforeCommitToOneShardInMetricOrder() {
+        TransactionSynchronizationManager.initSynchronization();
+        aggregates.add(Metric.TOTAL_SUPPLY, new BigDecimal("7.00"));
+        aggregates.add(Metric.LEDGER_TOTAL, new BigDecimal("10.00"));
+        aggregates.add(Metric.LEDGER_TOTAL, new BigDecimal("-4.00"));
+
+        verify(aggregateRepository, never()).add(any(), anyInt(), any(), any());
+
+        commit();
+
+        ArgumentCaptor<Integer> shards = ArgumentCaptor.forClass(Integer.class);
+        InOrder order = inOrder(aggregateRepository);
+        order.verify(aggregateRepository).add(eq(Metric.LEDGER_TOTAL), shards.capture(), eq(new BigDecimal("6.00")),
+                any());
+        order.verify(aggregateRepository).add(eq(Metric.TOTAL_SUPPLY), shards.capture(), eq(new BigDecimal("7.00")),
+                any());
+        assertEquals(shards.getAllValues().get(0), shards.getAllValues().get(1));
+        assertTrue(shards.getValue() >= 0 && shards.getValue() < 4);
+    }
+
+    @Test
+    void add_WhenDeltasCancelOut_ShouldNotTouchAggregates() {
+        TransactionSynchronizationManager.initSynchronization();
+        aggregates.add(Metric.TOTAL_SUPPLY, new BigDecimal("25.00"));
+        aggregates.add(Metric.TOTAL_SUPPLY, new BigDecimal("-25.00"));
+        aggregates.add(Metric.LEDGER_TOTAL, BigDecimal.ZERO);
+
+        commit();
+
+        verify(aggregateRepository, never()).add(any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void add_WhenTransactionRollsBack_ShouldDiscardDeltas() {
+        TransactionSynchronizationManager.initSynchronization();
+        aggregates.add(Metric.LEDGER_TOTAL, new BigDecimal("10.00"));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        verify(aggregateRepository, never()).add(any(), anyInt(), any(), any());
+        assertNull(TransactionSynchronizationManager.getResource(aggregates));
+    }
+
+    @Test
+    void add_OutsideTransaction_ShouldFail() {
+        assertThrows(IllegalStateException.class,
+                () -> aggregates.add(Metric.LEDGER_TOTAL, new BigDecimal("10.00")));
+    }
+
+    @Test
+    void reconcile_ShouldSumInChunksAndCorrectDriftOnShardZero() {
+        long chunk = CashCachedAggregates.RECONCILE_CHUNK;
+        when(ledgerRepository.findMaxId()).thenReturn(chunk + 10);
+        when(ledgerRepository.sumChangeAmountBetween(0L, chunk)).thenReturn(new BigDecimal("100.00"));
+        when(ledgerRepository.sumChangeAmountBetween(chunk, chunk + 10)).thenReturn(new BigDecimal("25.00"));
+        when(walletRepository.findMaxId()).thenReturn(3L);
+        when(walletRepository.sumBalanceBetween(0L, 3L)).thenReturn(new BigDecimal("90.00"));
+        when(shardRepository.sumBalance()).thenReturn(new BigDecimal("30.00"));
+        when(aggregateRepository.sumByMetric(Metric.LEDGER_TOTAL)).thenReturn(new BigDecimal("120.00"));
+        when(aggregateRepository.sumByMetric(Metric.TOTAL_SUPPLY)).thenReturn(new BigDecimal("120.00"));
+        lockShardZero();
+
+        Map<Metric, BigDecimal> corrections = aggregates.reconcile();
+
+        assertEquals(0, new BigDecimal("5.00").compareTo(corrections.get(Metric.LEDGER_TOTAL)));
+        assertEquals(0, BigDecimal.ZERO.compareTo(corrections.get(Metric.TOTAL_SUPPLY)));
+        verify(aggregateRepository).add(eq(Metric.LEDGER_TOTAL), eq(0), eq(new BigDecimal("5.00")), any());
+        verify(aggregateRepository, never()).add(eq(Metric.TOTAL_SUPPLY), anyInt(), any(), any());
+    }
+
+    @Test
+    void reconcile_WhenTotalMovesDuringScan_ShouldSkipCorrection() {
+        when(ledgerRepository.findMaxId()).thenReturn(1L);
+        when(ledgerRepository.sumChangeAmountBetween(0L, 1L)).thenReturn(new BigDecimal("50.00"));
+        when(walletRepository.findMaxId()).thenReturn(0L);
+        when(shardRepository.sumBalance()).thenReturn(BigDecimal.ZERO);
+        when(aggregateRepository.sumByMetric(Metric.LEDGER_TOTAL))
+                .thenReturn(new BigDecimal("40.00"), new BigDecimal("45.00"));
+        when(aggregateRepository.sumByMetric(Metric.TOTAL_SUPPLY)).thenReturn(BigDecimal.ZERO);
+        lockShardZero();
+
+        Map<Metric, BigDecimal> corrections = aggregates.reconcile();
+
+        assertFalse(corrections.containsKey(Metric.LEDGER_TOTAL));
+        verify(aggregateRepository, never()).add(eq(Metric.LEDGER_TOTAL), anyInt(), any(), any());
+    }
+
+    @Test
+    void reconcile_WhenAggregatesAreNotInitialised_ShouldNotScan() {
+        when(aggregateRepository.findForUpdate(Metric.LEDGER_TOTAL, 0)).thenReturn(Optional.empty());
+
+        Map<Metric, BigDecimal> corrections = aggregates.reconcile();
+
+        assertTrue(corrections.isEmpty());
+        verify(ledgerRepository, never()).findMaxId();
+        verify(aggregateRepository, never()).add(any(), anyInt(), any(), any());
+    }
+
+    private void lockShardZero() {
+        for (Metric metric : Metric.values()) {
+            when(aggregateRepository.findForUpdate(metric, 0)).thenReturn(Optional.of(new CashCachedAggregate()));
+        }
+    }
+
+    private static void commit() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.beforeCommit(false);
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+    }
+}
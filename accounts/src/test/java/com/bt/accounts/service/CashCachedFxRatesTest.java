@@ -0,0 +1,75 @@
+package com.bt.accounts.service;
+
+import com.bt.accounts.config.CashCachedProperties;
+import com.bt.accounts.entity.CashCachedExchangeRate;
+import com.bt.accounts.repository.CashCachedExchangeRateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CashCachedFxRatesTest {
+
+    @Mock
+    private CashCachedExchangeRateRepository exchangeRateRepository;
+
+    private CashCachedFxRates fxRates;
+
+    @BeforeEach
+    void setUp() {
+        fxRates = new CashCachedFxRates(new CashCachedProperties(), exchangeRateRepository);
+    }
+
+    @Test
+    void snapshot_ShouldConvertWithPrecomputedCrossRate() {
+        FxSnapshot snapshot = fxRates.snapshot();
+
+        assertEquals(0, new BigDecimal("1.796875").compareTo(snapshot.crossRate("INR", "JPY")));
+        assertSame(snapshot.crossRate("INR", "JPY"), snapshot.crossRate("INR", "JPY"));
+        assertEquals(0, new BigDecimal("1796.875").compareTo(snapshot.convert(new BigDecimal("1000"), "INR", "JPY")));
+        assertEquals(BigDecimal.ONE, snapshot.crossRate("GBP", "GBP"));
+    }
+
+    @Test
+    void snapshot_WithUnknownCurrency_ShouldTreatItAsRateOne() {
+        FxSnapshot snapshot = fxRates.snapshot();
+
+        assertEquals(0, new BigDecimal("832").compareTo(snapshot.convert(BigDecimal.TEN, "XYZ", "INR")));
+    }
+
+    @Test
+    void refresh_WithUnchangedRates_ShouldKeepCurrentSnapshot() {
+        FxSnapshot before = fxRates.snapshot();
+        when(exchangeRateRepository.findAll()).thenReturn(List.of(rate("inr", "83.2000")));
+
+        assertFalse(fxRates.refresh());
+        assertSame(before, fxRates.snapshot());
+    }
+
+    @Test
+    void refresh_WithChangedRate_ShouldPublishNewVersion() {
+        when(exchangeRateRepository.findAll()).thenReturn(List.of(rate("INR", "84.00"), rate("EUR", "0")));
+
+        assertTrue(fxRates.refresh());
+
+        FxSnapshot snapshot = fxRates.snapshot();
+        assertEquals(2, snapshot.version());
+        assertEquals(0, new BigDecimal("84").compareTo(snapshot.crossRate("USD", "INR")));
+        assertEquals(0, new BigDecimal("0.92").compareTo(snapshot.rates().get("EUR")));
+    }
+
+    private static CashCachedExchangeRate rate(String currency, String ratePerUsd) {
+        return CashCachedExchangeRate.builder()
+                .currency(currency)
+                .ratePerUsd(new BigDecimal(ratePerUsd))
+                .build();
+    }
+}
@@ -0,0 +1,189 @@
+package com.bt.accounts.service;
+
+import com.bt.accounts.config.CashCachedProperties;
+import com.bt.accounts.dto.CashCachedIssueRequest;
+import com.bt.accounts.dto.CashCachedRedeemRequest;
+import com.bt.accounts.entity.CashCachedWallet;
+import com.bt.accounts.entity.CashCachedWalletShard;
+import com.bt.accounts.repository.CashCachedAggregateRepository;
+import com.bt.accounts.repository.CashCachedLedgerRepository;
+import com.bt.accounts.repository.CashCachedWalletRepository;
+import com.bt.accounts.repository.CashCachedWalletShardRepository;
+import com.bt.accounts.time.TimeProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the sharded wallet paths of CashCachedService against a real database,
+ * committing each call, with the real wallet locks and aggregates.
+ */
+@DataJpaTest(properties = {
+        "cashcached.treasury-address=TREASURY",
+        "cashcached.hot-wallets=HOT001",
+        "cashcached.wallet-shards=4" })
+@Import({ CashCachedService.class, WalletLocks.class, CashCachedAggregates.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CashCachedServiceShardTest {
+
+    private static final String HOT = "HOT001";
+
+    @Autowired
+    private CashCachedService service;
+
+    @Autowired
+    private CashCachedProperties properties;
+
+    @Autowired
+    private CashCachedAggregates aggregates;
+
+    @Autowired
+    private CashCachedWalletRepository walletRepository;
+
+    @Autowired
+    private CashCachedWalletShardRepository shardRepository;
+
+    @Autowired
+    private CashCachedLedgerRepository ledgerRepository;
+
+    @Autowired
+    private CashCachedAggregateRepository aggregateRepository;
+
+    @MockitoBean
+    private CustomerProfileClient customerProfileClient;
+
+    @MockitoBean
+    private CashCachedFxRates fxRates;
+
+    @BeforeEach
+    void setUp() {
+        // The entities' @PrePersist reads the clock, which is not a bean in a JPA slice.
+        new TimeProvider();
+        aggregates.initialise();
+        when(fxRates.snapshot()).thenReturn(new FxSnapshot(1, Map.of("INR", BigDecimal.ONE)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        properties.setHotWallets(new ArrayList<>(List.of(HOT)));
+        properties.setWalletShards(4);
+        ledgerRepository.deleteAll();
+        shardRepository.deleteAll();
+        walletRepository.deleteAll();
+        aggregateRepository.deleteAll();
+    }
+
+    @Test
+    void issue_WhenWalletIsSharded_ShouldCreditOneShardAndLeaveWalletRow() {
+        service.initialiseShards(HOT);
+
+        service.issue(issue(HOT, "100"));
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(walletBalance(HOT)));
+        List<BigDecimal> shardBalances = shardRepository.findByCustomerId(HOT).stream()
+                .map(CashCachedWalletShard::getBalance)
+                .filter(balance -> balance.signum() > 0)
+                .toList();
+        assertEquals(1, shardBalances.size());
+        assertEquals(0, new BigDecimal("100").compareTo(shardBalances.get(0)));
+        assertEquals(0, new BigDecimal("100").compareTo(balance(HOT)));
+    }
+
+    @Test
+    void issue_WhenShardRowIsMissing_ShouldCreditWalletRow() {
+        service.issue(issue(HOT, "100"));
+
+        assertTrue(shardRepository.findByCustomerId(HOT).isEmpty());
+        assertEquals(0, new BigDecimal("100").compareTo(walletBalance(HOT)));
+    }
+
+    @Test
+    void redeem_WhenFundsAreOnShards_ShouldConsolidateBeforeDebit() {
+        service.initialiseShards(HOT);
+        service.issue(issue(HOT, "60"));
+        service.issue(issue(HOT, "40"));
+
+        service.redeem(redeem(HOT, "90"));
+
+        assertEquals(0, new BigDecimal("10").compareTo(walletBalance(HOT)));
+        assertEquals(0, BigDecimal.ZERO.compareTo(shardRepository.sumBalanceByCustomerId(HOT)));
+        assertEquals(0, new BigDecimal("10").compareTo(aggregates.totalSupply()));
+    }
+
+    @Test
+    void consolidateShards_WhenShardCountIsLowered_ShouldRetireExtraShards() {
+        service.initialiseShards(HOT);
+        service.issue(issue(HOT, "100"));
+
+        properties.setWalletShards(2);
+        // Shards outside the new configuration still count until they are drained.
+        assertEquals(0, new BigDecimal("100").compareTo(balance(HOT)));
+        service.walletsWithShards().forEach(service::consolidateShards);
+
+        assertEquals(List.of(0, 1), shardRepository.findByCustomerId(HOT).stream()
+                .map(CashCachedWalletShard::getShardNo).sorted().toList());
+        assertEquals(0, new BigDecimal("100").compareTo(balance(HOT)));
+    }
+
+    @Test
+    void consolidateShards_WhenWalletIsNoLongerHot_ShouldRetireAllShards() {
+        service.initialiseShards(HOT);
+        service.issue(issue(HOT, "100"));
+
+        properties.setHotWallets(new ArrayList<>());
+        assertTrue(service.walletsWithShards().contains(HOT));
+        service.walletsWithShards().forEach(service::consolidateShards);
+
+        assertTrue(shardRepository.findByCustomerId(HOT).isEmpty());
+        assertFalse(service.walletsWithShards().contains(HOT));
+        assertEquals(0, new BigDecimal("100").compareTo(walletBalance(HOT)));
+    }
+
+    @Test
+    void balance_ShouldIncludeEveryShardRow() {
+        service.issue(issue(HOT, "5"));
+        service.initialiseShards(HOT);
+        for (int i = 0; i < 8; i++) {
+            service.issue(issue(HOT, "25"));
+        }
+
+        assertEquals(0, new BigDecimal("205").compareTo(balance(HOT)));
+        assertEquals(0, new BigDecimal("200").compareTo(shardRepository.sumBalanceByCustomerId(HOT)));
+    }
+
+    private BigDecimal balance(String customerId) {
+        return service.balance(customerId, null).getBalance();
+    }
+
+    private BigDecimal walletBalance(String customerId) {
+        return walletRepository.findByCustomerId(customerId).map(CashCachedWallet::getBalance).orElseThrow();
+    }
+
+    private static CashCachedIssueRequest issue(String customerId, String amount) {
+        CashCachedIssueRequest request = new CashCachedIssueRequest();
+        request.setCustomerId(customerId);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+
+    private static CashCachedRedeemRequest redeem(String customerId, String amount) {
+        CashCachedRedeemRequest request = new CashCachedRedeemRequest();
+        request.setCustomerId(customerId);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+}
@@ -0,0 +1,103 @@
+package com.bt.accounts.service;
+
+import com.bt.accounts.config.CashCachedProperties;
+import com.bt.accounts.dto.CashCachedBalanceResponse;
+import com.bt.accounts.entity.CashCachedLedgerEntry;
+import com.bt.accounts.entity.CashCachedWallet;
+import com.bt.accounts.repository.CashCachedLedgerRepository;
+import com.bt.accounts.repository.CashCachedWalletRepository;
+import com.bt.accounts.repository.CashCachedWalletShardRepository;
+import com.bt.accounts.time.TimeProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CashCachedServiceTest {
+
+    @Mock
+    private CashCachedLedgerRepository ledgerRepository;
+
+    @Mock
+    private CashCachedWalletRepository walletRepository;
+
+    @Mock
+    private CustomerProfileClient customerProfileClient;
+
+    @Mock
+    private WalletLocks walletLocks;
+
+    @Mock
+    private CashCachedWalletShardRepository shardRepository;
+
+    @Mock
+    private CashCachedAggregates aggregates;
+
+    @Mock
+    private CashCachedFxRates fxRates;
+
+    private CashCachedService service;
+
+    @BeforeEach
+    void setUp() {
+        new TimeProvider();
+        service = new CashCachedService(new CashCachedProperties(), ledgerRepository, walletRepository,
+                customerProfileClient, walletLocks, shardRepository, aggregates, fxRates);
+        when(fxRates.snapshot()).thenReturn(new FxSnapshot(1, Map.of(
+                "USD", BigDecimal.ONE,
+                "INR", new BigDecimal("83.2"),
+                "JPY", new BigDecimal("149.5"))));
+    }
+
+    @Test
+    void convertCurrency_ShouldRoundConvertedAmountToTwoPlaces() {
+        assertEquals(new BigDecimal("1796.88"), service.convertCurrency(new BigDecimal("1000"), "INR", "JPY"));
+        assertEquals(new BigDecimal("1000"), service.convertCurrency(new BigDecimal("1000"), "inr", "INR"));
+    }
+
+    @Test
+    void balance_ShouldRoundTargetValueToTwoPlaces() {
+        when(walletRepository.findByCustomerId("CUST001")).thenReturn(Optional.of(wallet("INR")));
+        when(shardRepository.sumBalanceByCustomerId("CUST001")).thenReturn(BigDecimal.ZERO);
+        when(customerProfileClient.fetchPreferredCurrency("CUST001", null)).thenReturn(Optional.of("JPY"));
+
+        CashCachedBalanceResponse response = service.balance("CUST001", null);
+
+        assertEquals(new BigDecimal("1796.88"), response.getTargetValue());
+    }
+
+    @Test
+    void creditWallet_InAnotherCurrency_ShouldRebaseAndConvertFromOneSnapshot() {
+        when(walletRepository.findByCustomerId("CUST001")).thenReturn(Optional.of(wallet("INR")));
+        when(walletRepository.findBalanceForUpdate("CUST001")).thenReturn(Optional.of(new BigDecimal("1000.00")));
+        when(walletRepository.rebase(eq("CUST001"), eq("INR"), eq("JPY"), any(), any())).thenReturn(1);
+        when(shardRepository.sumBalanceByCustomerId("CUST001")).thenReturn(BigDecimal.ZERO);
+        when(ledgerRepository.save(any(CashCachedLedgerEntry.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        CashCachedLedgerEntry entry = service.creditWallet("CUST001", new BigDecimal("500"), "jpy", "top-up");
+
+        verify(walletRepository).rebase(eq("CUST001"), eq("INR"), eq("JPY"), eq(new BigDecimal("1796.88")), any());
+        assertEquals(new BigDecimal("500.00"), entry.getChangeAmount());
+        verify(fxRates, times(1)).snapshot();
+    }
+
+    private static CashCachedWallet wallet(String baseCurrency) {
+        return CashCachedWallet.builder()
+                .customerId("CUST001")
+                .balance(new BigDecimal("1000.00"))
+                .baseCurrency(baseCurrency)
+                .build();
+    }
+}
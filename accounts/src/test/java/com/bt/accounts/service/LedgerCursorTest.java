@@ -0,0 +1,27 @@
+package com.bt.accounts.service;
+
+import com.bt.accounts.exception.InvalidAccountDataException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LedgerCursorTest {
+
+    @Test
+    void decode_ShouldRoundTripEncodedCursor() {
+        LedgerCursor cursor = new LedgerCursor(LocalDateTime.of(2026, 3, 14, 10, 15, 30, 123_000_000), 42L);
+
+        String token = cursor.encode();
+
+        assertFalse(token.contains("|"));
+        assertEquals(cursor, LedgerCursor.decode(token));
+    }
+
+    @Test
+    void decode_WithMalformedToken_ShouldRejectAsInvalidData() {
+        assertThrows(InvalidAccountDataException.class, () -> LedgerCursor.decode("not a cursor"));
+        assertThrows(InvalidAccountDataException.class, () -> LedgerCursor.decode("bm8tc2VwYXJhdG9y"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.bt.accounts.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MaturityEngineTest {
+
+    private final MaturityEngine engine = new MaturityEngine();
+
+    @Test
+    void maturityAmount_WholePeriods_ShouldMatchExactPower() {
+        BigDecimal principal = new BigDecimal("99999999.99");
+        BigDecimal expected = principal
+                .multiply(new BigDecimal("1.01625").pow(20, MathContext.UNLIMITED))
+                .setScale(2, RoundingMode.HALF_UP);
+
+        assertEquals(expected, engine.maturityAmount(principal, new BigDecimal("6.5"), 60, 4, 2));
+    }
+
+    @Test
+    void maturityAmount_FractionalPeriod_ShouldAgreeWithClosedForm() {
+        BigDecimal factor = engine.growthFactor(new BigDecimal("10"), 1, 18);
+
+        assertEquals(Math.pow(1.1, 1.5), factor.doubleValue(), 1e-15);
+        assertEquals(new BigDecimal("115368.97"),
+                engine.maturityAmount(new BigDecimal("100000"), new BigDecimal("10"), 18, 1, 2));
+    }
+
+    @Test
+    void maturityAmount_SimpleInterest_ShouldBeLinear() {
+        assertEquals(new BigDecimal("107583.33"),
+                engine.maturityAmount(new BigDecimal("100000"), new BigDecimal("7"), 13, 0, 2));
+        assertEquals(new BigDecimal("7.00"), engine.effectiveRate(new BigDecimal("7"), 0, 2));
+    }
+
+    @Test
+    void effectiveRate_ShouldUseTwelveMonthFactor() {
+        assertEquals(new BigDecimal("6.66"), engine.effectiveRate(new BigDecimal("6.5"), 4, 2));
+        assertEquals(new BigDecimal("7.25"), engine.effectiveRate(new BigDecimal("7.00"), 365, 2));
+    }
+
+    @Test
+    void growthFactor_ShouldBeSharedAcrossEquivalentRates() {
+        assertSame(engine.growthFactor(new BigDecimal("6.50"), 12, 24),
+                engine.growthFactor(new BigDecimal("6.5"), 12, 24));
+    }
+
+    @Test
+    void maturityAmount_ShouldStayWithinACentOfDoublePathForTypicalInputs() {
+        BigDecimal principal = new BigDecimal("250000.00");
+        for (int frequency : new int[] { 1, 2, 4, 12, 365 }) {
+            for (int months = 1; months <= 120; months++) {
+                double legacy = principal.doubleValue() * Math.pow(1 + 0.0725 / frequency, frequency * (months / 12.0));
+                BigDecimal amount = engine.maturityAmount(principal, new BigDecimal("7.25"), months, frequency, 2);
+                assertEquals(legacy, amount.doubleValue(), 0.01, "frequency " + frequency + ", months " + months);
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.bt.accounts.service;
+
+import com.bt.accounts.dto.PricingRuleDto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PricingRuleIndexTest {
+
+    private static PricingRuleDto rule(long id, String min, String max, Integer priority, boolean active) {
+        return PricingRuleDto.builder()
+                .id(id)
+                .minThreshold(min != null ? new BigDecimal(min) : null)
+                .maxThreshold(max != null ? new BigDecimal(max) : null)
+                .priorityOrder(priority)
+                .isActive(active)
+                .build();
+    }
+
+    private static PricingRuleIndex<PricingRuleDto> compile(List<PricingRuleDto> rules) {
+        return PricingRuleIndex.compile(rules, PricingRuleDto::getMinThreshold, PricingRuleDto::getMaxThreshold,
+                PricingRuleDto::getPriorityOrder, r -> Boolean.TRUE.equals(r.getIsActive()));
+    }
+
+    @Test
+    void bestMatch_ShouldHonourInclusiveBoundsAndPriority() {
+        PricingRuleIndex<PricingRuleDto> index = compile(List.of(
+                rule(1, "0", "1000.00", 2, true),
+                rule(2, "1000.00", "5000.00", 1, true),
+                rule(3, null, null, 9, true),
+                rule(4, "0", null, 0, false)));
+
+        assertEquals(1L, index.bestMatch(new BigDecimal("999.99")).getId());
+        assertEquals(2L, index.bestMatch(new BigDecimal("1000.00")).getId());
+        assertEquals(2L, index.bestMatch(new BigDecimal("5000")).getId());
+        assertEquals(3L, index.bestMatch(new BigDecimal("5000.001")).getId());
+        assertEquals(3L, index.bestMatch(new BigDecimal("-1")).getId());
+        assertEquals(List.of(2L, 1L, 3L),
+                index.matching(new BigDecimal("1000")).stream().map(PricingRuleDto::getId).toList());
+    }
+
+    @Test
+    void bestMatch_WithUnrepresentableThreshold_ShouldFallBackToLinearScan() {
+        PricingRuleIndex<PricingRuleDto> index = compile(List.of(
+                rule(1, "10.000001", "20", 1, true)));
+
+        assertNull(index.bestMatch(new BigDecimal("10")));
+        assertEquals(1L, index.bestMatch(new BigDecimal("10.0000011")).getId());
+    }
+}
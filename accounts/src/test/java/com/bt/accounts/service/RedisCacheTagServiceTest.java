@@ -0,0 +1,92 @@
+package com.bt.accounts.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisCacheTagServiceTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private Cursor<ZSetOperations.TypedTuple<String>> members;
+
+    private RedisCacheTagService tagService;
+
+    @BeforeEach
+    void setUp() {
+        tagService = new RedisCacheTagService(stringRedisTemplate);
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    void tag_ShouldDropExpiredMembersAndScoreKeyByExpiry() {
+        tagService.tag("customer:CUST001", 3600, "customer");
+
+        ArgumentCaptor<RedisScript> script = ArgumentCaptor.forClass(RedisScript.class);
+        verify(stringRedisTemplate).execute(script.capture(), eq(List.of("tag:customer")),
+                eq("customer:CUST001"), eq("3600"));
+        String source = script.getValue().getScriptAsString();
+        assertTrue(source.contains("redis.call('zremrangebyscore', tag, '-inf', now)"));
+        assertTrue(source.contains("redis.call('zadd', tag, now + ttl, ARGV[1])"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void tag_WhenRedisIsDown_ShouldNotPropagate() {
+        when(stringRedisTemplate.execute(any(RedisScript.class), anyList(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertDoesNotThrow(() -> tagService.tag("customer:CUST001", 60, "customer"));
+    }
+
+    @Test
+    void invalidateTag_ShouldUnlinkTrackedKeysAndDropTheSet() {
+        when(stringRedisTemplate.hasKey("tag:customer")).thenReturn(true);
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.scan(startsWith("tag:customer:purge:"), any(ScanOptions.class))).thenReturn(members);
+        when(members.hasNext()).thenReturn(true, true, false);
+        when(members.next()).thenReturn(new DefaultTypedTuple<>("customer:CUST001", 1.0),
+                new DefaultTypedTuple<>("customer:CUST002", 2.0));
+        when(stringRedisTemplate.unlink(List.of("customer:CUST001", "customer:CUST002"))).thenReturn(2L);
+
+        assertEquals(2, tagService.invalidateTag("customer"));
+        verify(stringRedisTemplate).rename(eq("tag:customer"), startsWith("tag:customer:purge:"));
+        verify(stringRedisTemplate).unlink(startsWith("tag:customer:purge:"));
+    }
+
+    @Test
+    void invalidateTag_WhenTagIsMissing_ShouldDoNothing() {
+        when(stringRedisTemplate.hasKey("tag:customer")).thenReturn(false);
+
+        assertEquals(0, tagService.invalidateTag("customer"));
+        verify(stringRedisTemplate, never()).rename(anyString(), anyString());
+    }
+}
@@ -0,0 +1,94 @@
+package com.bt.accounts.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisDistributedLockServiceTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    private RedisDistributedLockService lockService;
+
+    @BeforeEach
+    void setUp() {
+        lockService = new RedisDistributedLockService(redisTemplate);
+    }
+
+    @Test
+    void acquireLock_WhenKeyIsFree_ShouldReturnUniqueFencingValue() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("lock:accrual:leader"), anyString(), eq(30L), eq(TimeUnit.SECONDS)))
+                .thenReturn(true);
+
+        String first = lockService.acquireLock("accrual:leader", 30);
+        String second = lockService.acquireLock("accrual:leader", 30);
+
+        assertNotNull(first);
+        assertNotEquals(first, second);
+        ArgumentCaptor<Object> stored = ArgumentCaptor.forClass(Object.class);
+        verify(valueOperations, times(2))
+                .setIfAbsent(eq("lock:accrual:leader"), stored.capture(), eq(30L), eq(TimeUnit.SECONDS));
+        assertEquals(List.of(first, second), stored.getAllValues());
+    }
+
+    @Test
+    void acquireLock_WhenKeyIsHeld_ShouldReturnNull() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq("lock:accrual:leader"), anyString(), eq(30L), eq(TimeUnit.SECONDS)))
+                .thenReturn(false);
+
+        assertNull(lockService.acquireLock("accrual:leader", 30));
+    }
+
+    @Test
+    void releaseLock_ShouldOnlyDeleteWhenValueStillMatches() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("lock:accrual:slot:1")), eq("mine")))
+                .thenReturn(1L);
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("lock:accrual:slot:1")), eq("stale")))
+                .thenReturn(0L);
+
+        assertTrue(lockService.releaseLock("accrual:slot:1", "mine"));
+        assertFalse(lockService.releaseLock("accrual:slot:1", "stale"));
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    void extendLock_ShouldCompareValueBeforeResettingTtl() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("lock:accrual:leader")), eq("mine"), eq(120L)))
+                .thenReturn(1L);
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("lock:accrual:leader")), eq("stale"),
+                eq(120L))).thenReturn(0L);
+
+        assertTrue(lockService.extendLock("accrual:leader", "mine", 120));
+        assertFalse(lockService.extendLock("accrual:leader", "stale", 120));
+
+        ArgumentCaptor<RedisScript> script = ArgumentCaptor.forClass(RedisScript.class);
+        verify(redisTemplate).execute(script.capture(), eq(List.of("lock:accrual:leader")), eq("mine"), eq(120L));
+        String source = script.getValue().getScriptAsString();
+        assertTrue(source.contains("redis.call('get', KEYS[1]) == ARGV[1]"));
+        assertTrue(source.contains("expire"));
+    }
+}
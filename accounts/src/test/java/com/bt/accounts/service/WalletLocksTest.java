@@ -0,0 +1,133 @@
+package com.bt.accounts.service;
+
+import com.bt.accounts.config.CashCachedProperties;
+import com.bt.accounts.exception.ServiceIntegrationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WalletLocksTest {
+
+    private WalletLocks walletLocks;
+
+    @BeforeEach
+    void setUp() {
+        CashCachedProperties properties = new CashCachedProperties();
+        properties.setWalletLockStripes(64);
+        properties.setWalletLockTimeoutMs(100);
+        walletLocks = new WalletLocks(properties);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            completeTransaction();
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void stripeCount_ShouldRoundUpToPowerOfTwo() {
+        CashCachedProperties properties = new CashCachedProperties();
+        properties.setWalletLockStripes(100);
+
+        assertEquals(128, new WalletLocks(properties).stripeCount());
+        assertEquals(64, walletLocks.stripeCount());
+    }
+
+    @Test
+    void lockForTransaction_ShouldHoldWalletUntilTransactionCompletes() throws Exception {
+        walletLocks.lockForTransaction("CUST001");
+
+        assertFalse(inOtherTransaction(() -> walletLocks.lockForTransaction("CUST001")));
+
+        completeTransaction();
+
+        assertTrue(inOtherTransaction(() -> walletLocks.lockForTransaction("CUST001")));
+    }
+
+    @Test
+    void lockForTransaction_ShouldBeReentrantWithinTheSameTransaction() throws Exception {
+        walletLocks.lockForTransaction("CUST001", "CUST002");
+        walletLocks.lockForTransaction("CUST002");
+        walletLocks.lockForTransaction("CUST001", "CUST001");
+
+        completeTransaction();
+
+        assertTrue(inOtherTransaction(() -> walletLocks.lockForTransaction("CUST002", "CUST001")));
+    }
+
+    @Test
+    void lockForTransaction_WithOppositeTransfers_ShouldNotDeadlock() throws Exception {
+        TransactionSynchronizationManager.clearSynchronization();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Callable<Integer> forward = () -> repeat(500, "TREASURY", "CORP042");
+            Callable<Integer> backward = () -> repeat(500, "CORP042", "TREASURY");
+            var first = executor.submit(forward);
+            var second = executor.submit(backward);
+
+            assertEquals(500, first.get(10, TimeUnit.SECONDS));
+            assertEquals(500, second.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void lockForTransaction_OutsideTransaction_ShouldFail() {
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThrows(IllegalStateException.class, () -> walletLocks.lockForTransaction("CUST001"));
+    }
+
+    private int repeat(int times, String... customerIds) {
+        int completed = 0;
+        for (int i = 0; i < times; i++) {
+            if (inThisThreadTransaction(() -> walletLocks.lockForTransaction(customerIds))) {
+                completed++;
+            }
+        }
+        return completed;
+    }
+
+    private boolean inOtherTransaction(Runnable work) throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            return executor.submit(() -> inThisThreadTransaction(work)).get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static boolean inThisThreadTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            return true;
+        } catch (ServiceIntegrationException busy) {
+            return false;
+        } finally {
+            completeTransaction();
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void completeTransaction() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+}
@@ -0,0 +1,91 @@
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result with the recorded baseline and exits non-zero when
+ * any benchmark is slower than the baseline by more than the allowed percentage.
+ * Benchmarks are matched on name plus parameters; ones missing from either side
+ * are listed but never fail the check. Run by each service's {@code benchmarks}
+ * Maven profile after the benchmarks themselves, as a single-file source program
+ * on the service's test classpath (for Jackson).
+ *
+ * <p>Arguments: {@code <result.json> <baseline.json> [tolerancePercent]}.
+ */
+public final class BaselineComparison {
+
+    private static final double DEFAULT_TOLERANCE_PERCENT = 10.0;
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <result.json> <baseline.json> [tolerancePercent]");
+            System.exit(2);
+        }
+        Path resultFile = Path.of(args[0]);
+        Path baselineFile = Path.of(args[1]);
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_TOLERANCE_PERCENT;
+
+        if (!Files.exists(baselineFile)) {
+            System.out.printf("No baseline at %s; copy %s there to record one.%n", baselineFile, resultFile);
+            return;
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> results = index(mapper.readTree(resultFile.toFile()));
+        Map<String, JsonNode> baseline = index(mapper.readTree(baselineFile.toFile()));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : results.entrySet()) {
+            JsonNode current = entry.getValue();
+            JsonNode recorded = baseline.get(entry.getKey());
+            if (recorded == null) {
+                System.out.printf("NEW        %s%n", entry.getKey());
+                continue;
+            }
+            double now = current.path("primaryMetric").path("score").asDouble();
+            double then = recorded.path("primaryMetric").path("score").asDouble();
+            // Average and sample time are costs; throughput is the only mode where higher is better.
+            boolean higherIsBetter = "thrpt".equals(current.path("mode").asText());
+            double change = then == 0 ? 0 : (now - then) / then * 100;
+            double slowdown = higherIsBetter ? -change : change;
+            String unit = current.path("primaryMetric").path("scoreUnit").asText();
+            boolean regressed = slowdown > tolerance;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-10s %s: %.3f -> %.3f %s (%+.1f%%)%n", regressed ? "REGRESSED" : "OK",
+                    entry.getKey(), then, now, unit, change);
+        }
+        for (String missing : baseline.keySet()) {
+            if (!results.containsKey(missing)) {
+                System.out.printf("NOT RUN    %s%n", missing);
+            }
+        }
+
+        if (regressions > 0) {
+            System.err.printf("%d benchmark(s) regressed by more than %.1f%% against %s%n", regressions, tolerance,
+                    baselineFile);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> index(JsonNode runs) {
+        Map<String, JsonNode> indexed = new LinkedHashMap<>();
+        for (JsonNode run : runs) {
+            Map<String, String> params = new TreeMap<>();
+            run.path("params").properties().forEach(param -> params.put(param.getKey(), param.getValue().asText()));
+            indexed.put(params.isEmpty() ? run.path("benchmark").asText()
+                    : run.path("benchmark").asText() + params, run);
+        }
+        return indexed;
+    }
+}
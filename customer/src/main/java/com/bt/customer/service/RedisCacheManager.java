@@ -2,23 +2,22 @@ package com.bt.customer.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
-import java.util.Set;
-
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class RedisCacheManager {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    private static final String TOKEN_PATTERN = "auth:token:*";
+
+    private final RedisCacheTagService cacheTagService;
 
     public void clearAllCaches() {
         clearCacheByPattern("userProfile:*");
         clearCacheByPattern("customerById:*");
         clearCacheByPattern("allCustomers:*");
-        clearCacheByPattern("auth:token:*");
+        clearCacheByPattern(TOKEN_PATTERN);
         log.info("All customer caches cleared");
     }
 
@@ -28,20 +27,25 @@ public class RedisCacheManager {
     }
 
     public void clearAuthTokens() {
-        clearCacheByPattern("auth:token:*");
+        clearCacheByPattern(TOKEN_PATTERN);
         log.info("Auth tokens cleared");
     }
 
+    /**
+     * Spring cache entries are not tagged, so they are swept with SCAN; tokens are
+     * dropped through their tag first.
+     */
     private void clearCacheByPattern(String pattern) {
-        Set<String> keys = redisTemplate.keys(pattern);
-        if (keys != null && !keys.isEmpty()) {
-            redisTemplate.delete(keys);
-            log.debug("Cleared {} keys matching pattern: {}", keys.size(), pattern);
+        long removed = TOKEN_PATTERN.equals(pattern) ? cacheTagService.invalidateTag(RedisTokenService.TOKEN_TAG) : 0;
+        removed += cacheTagService.deleteByScan(pattern);
+        if (removed > 0) {
+            log.debug("Cleared {} keys matching pattern: {}", removed, pattern);
         }
     }
 
     public long countKeys(String pattern) {
-        Set<String> keys = redisTemplate.keys(pattern);
-        return keys != null ? keys.size() : 0;
+        return TOKEN_PATTERN.equals(pattern)
+                ? cacheTagService.countTag(RedisTokenService.TOKEN_TAG)
+                : cacheTagService.countByScan(pattern);
     }
 }
@@ -13,13 +13,16 @@ import java.util.concurrent.TimeUnit;
 public class RedisTokenService {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisCacheTagService cacheTagService;
     private static final String TOKEN_PREFIX = "auth:token:";
+    static final String TOKEN_TAG = "auth:token";
     private static final String BLACKLIST_PREFIX = "auth:blacklist:";
     private static final long TOKEN_VALIDITY_HOURS = 24;
 
     public void storeToken(String token, String username) {
         String key = TOKEN_PREFIX + token;
         redisTemplate.opsForValue().set(key, username, TOKEN_VALIDITY_HOURS, TimeUnit.HOURS);
+        cacheTagService.tag(key, TimeUnit.HOURS.toSeconds(TOKEN_VALIDITY_HOURS), TOKEN_TAG);
         log.debug("Stored token for user: {}", username);
     }
 
@@ -53,12 +56,14 @@ public class RedisTokenService {
     public void removeToken(String token) {
         String key = TOKEN_PREFIX + token;
         redisTemplate.delete(key);
+        cacheTagService.untag(key, TOKEN_TAG);
         log.debug("Removed token from Redis");
     }
 
     public void extendTokenValidity(String token, long hours) {
         String key = TOKEN_PREFIX + token;
         redisTemplate.expire(key, hours, TimeUnit.HOURS);
+        cacheTagService.tag(key, TimeUnit.HOURS.toSeconds(hours), TOKEN_TAG);
         log.debug("Extended token validity for {} hours", hours);
     }
 }
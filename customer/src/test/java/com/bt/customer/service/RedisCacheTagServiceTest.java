@@ -0,0 +1,75 @@
+package com.bt.customer.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisCacheTagServiceTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    private RedisCacheTagService tagService;
+
+    @BeforeEach
+    void setUp() {
+        tagService = new RedisCacheTagService(stringRedisTemplate);
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    void tag_ShouldPruneExpiredTokensOnEveryLogin() {
+        tagService.tag("auth:token:abc", 86400, RedisTokenService.TOKEN_TAG);
+
+        ArgumentCaptor<RedisScript> script = ArgumentCaptor.forClass(RedisScript.class);
+        verify(stringRedisTemplate).execute(script.capture(), eq(List.of("tag:auth:token")),
+                eq("auth:token:abc"), eq("86400"));
+        String source = script.getValue().getScriptAsString();
+        // Expired members go before the new one is added, so steady logins keep the
+        // set at the tokens issued within one validity window.
+        assertTrue(source.indexOf("zremrangebyscore") < source.indexOf("zadd"));
+        assertTrue(source.contains("if redis.call('ttl', tag) < ttl then redis.call('expire', tag, ttl) end"));
+    }
+
+    @Test
+    void countTag_ShouldCountOnlyTokensThatHaveNotExpired() {
+        long now = System.currentTimeMillis() / 1000;
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.count(eq("tag:auth:token"), anyDouble(), eq(Double.POSITIVE_INFINITY))).thenReturn(3L);
+
+        assertEquals(3, tagService.countTag(RedisTokenService.TOKEN_TAG));
+
+        ArgumentCaptor<Double> from = ArgumentCaptor.forClass(Double.class);
+        verify(zSetOperations).count(eq("tag:auth:token"), from.capture(), eq(Double.POSITIVE_INFINITY));
+        assertTrue(from.getValue() > now);
+        verifyNoMoreInteractions(zSetOperations);
+    }
+
+    @Test
+    void untag_ShouldRemoveTheTokenFromItsTag() {
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+
+        tagService.untag("auth:token:abc", RedisTokenService.TOKEN_TAG);
+
+        verify(zSetOperations).remove("tag:auth:token", "auth:token:abc");
+    }
+}
@@ -6,6 +6,9 @@ import org.apache.kafka.clients.admin.NewTopic;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.config.KafkaListenerContainerFactory;
@@ -16,11 +19,18 @@ import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaAdmin;
 import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.util.backoff.ExponentialBackOff;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -32,6 +42,21 @@ public class KafkaConfig {
         @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
         private String bootstrapServers;
 
+        @Value("${app.kafka.fd-calculation.max-poll-records:200}")
+        private int fdCalculationMaxPollRecords;
+
+        @Value("${app.calculation.journal.max-poll-records:500}")
+        private int journalMaxPollRecords;
+
+        @Value("${app.calculation.journal.fetch-max-wait-ms:200}")
+        private int journalFetchMaxWaitMs;
+
+        @Value("${app.calculation.journal.retry-initial-interval-ms:500}")
+        private long journalRetryInitialIntervalMs;
+
+        @Value("${app.calculation.journal.retry-max-interval-ms:30000}")
+        private long journalRetryMaxIntervalMs;
+
         @Bean
         public KafkaAdmin admin() {
                 Map<String, Object> configs = new HashMap<>();
@@ -104,6 +129,23 @@ public class KafkaConfig {
                                 .build();
         }
 
+        @Bean
+        public NewTopic fdCalculationRecordTopic() {
+                return TopicBuilder.name(KafkaTopics.FD_CALCULATION_RECORD)
+                                .partitions(3)
+                                .replicas(1)
+                                .build();
+        }
+
+        // Same partition count as the journal: dead records keep their partition.
+        @Bean
+        public NewTopic fdCalculationRecordDltTopic() {
+                return TopicBuilder.name(KafkaTopics.FD_CALCULATION_RECORD_DLT)
+                                .partitions(3)
+                                .replicas(1)
+                                .build();
+        }
+
         // Producer configuration
         @Bean
         public ProducerFactory<String, Object> producerFactory() {
@@ -175,6 +217,33 @@ public class KafkaConfig {
                 return factory;
         }
 
+        // Consumer configuration for the compacted product snapshot topic. Each instance
+        // reads it from the beginning to rebuild its local product map.
+        @Bean
+        public ConsumerFactory<String, ProductSnapshotEvent> productSnapshotConsumerFactory() {
+                Map<String, Object> props = new HashMap<>();
+                props.put(org.apache.kafka.clients.consumer.ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+                props.put(org.apache.kafka.clients.consumer.ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG,
+                                StringDeserializer.class);
+                props.put(org.apache.kafka.clients.consumer.ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG,
+                                ErrorHandlingDeserializer.class);
+                props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS,
+                                JsonDeserializer.class.getName());
+                props.put(org.apache.kafka.clients.consumer.ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+                props.put(org.apache.kafka.clients.consumer.ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+                props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+                props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+                props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, ProductSnapshotEvent.class.getName());
+                return new DefaultKafkaConsumerFactory<>(props);
+        }
+
+        @Bean
+        public KafkaListenerContainerFactory<ConcurrentMessageListenerContainer<String, ProductSnapshotEvent>> productSnapshotKafkaListenerContainerFactory() {
+                ConcurrentKafkaListenerContainerFactory<String, ProductSnapshotEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+                factory.setConsumerFactory(productSnapshotConsumerFactory());
+                return factory;
+        }
+
         // Consumer configuration for FD calculation requests
         @Bean
         public ConsumerFactory<String, FdCalculationRequestEvent> fdCalculationRequestConsumerFactory() {
@@ -190,6 +259,9 @@ public class KafkaConfig {
                 props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
                 props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
                 props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, FdCalculationRequestEvent.class.getName());
+                props.put(org.apache.kafka.clients.consumer.ConsumerConfig.MAX_POLL_RECORDS_CONFIG,
+                                fdCalculationMaxPollRecords);
+                props.put(org.apache.kafka.clients.consumer.ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
                 return new DefaultKafkaConsumerFactory<>(props);
         }
 
@@ -197,9 +269,104 @@ public class KafkaConfig {
         public KafkaListenerContainerFactory<ConcurrentMessageListenerContainer<String, FdCalculationRequestEvent>> fdCalculationRequestKafkaListenerContainerFactory() {
                 ConcurrentKafkaListenerContainerFactory<String, FdCalculationRequestEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
                 factory.setConsumerFactory(fdCalculationRequestConsumerFactory());
+                factory.setBatchListener(true);
+                // Batches are acknowledged from the completion thread once their
+                // replies are produced or the reply retries run out, possibly out
+                // of order.
+                factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+                factory.getContainerProperties().setAsyncAcks(true);
+                return factory;
+        }
+
+        // Consumer configuration for FD history requests
+        @Bean
+        public ConsumerFactory<String, FdHistoryRequest> fdHistoryRequestConsumerFactory() {
+                Map<String, Object> props = new HashMap<>();
+                props.put(org.apache.kafka.clients.consumer.ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+                props.put(org.apache.kafka.clients.consumer.ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG,
+                                StringDeserializer.class);
+                props.put(org.apache.kafka.clients.consumer.ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG,
+                                ErrorHandlingDeserializer.class);
+                props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS,
+                                JsonDeserializer.class.getName());
+                props.put(org.apache.kafka.clients.consumer.ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+                props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+                props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+                props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, FdHistoryRequest.class.getName());
+                return new DefaultKafkaConsumerFactory<>(props);
+        }
+
+        @Bean
+        public KafkaListenerContainerFactory<ConcurrentMessageListenerContainer<String, FdHistoryRequest>> fdHistoryRequestKafkaListenerContainerFactory() {
+                ConcurrentKafkaListenerContainerFactory<String, FdHistoryRequest> factory = new ConcurrentKafkaListenerContainerFactory<>();
+                factory.setConsumerFactory(fdHistoryRequestConsumerFactory());
                 return factory;
         }
 
+        // Consumer configuration for the calculation journal. The broker holds each
+        // fetch until it has a few records or the wait expires, so inserts go out in
+        // batches even under light load.
+        @Bean
+        public ConsumerFactory<String, FdCalculationRecordEvent> calculationRecordConsumerFactory() {
+                Map<String, Object> props = new HashMap<>();
+                props.put(org.apache.kafka.clients.consumer.ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+                props.put(org.apache.kafka.clients.consumer.ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG,
+                                StringDeserializer.class);
+                props.put(org.apache.kafka.clients.consumer.ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG,
+                                ErrorHandlingDeserializer.class);
+                props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS,
+                                JsonDeserializer.class.getName());
+                props.put(org.apache.kafka.clients.consumer.ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+                props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+                props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+                props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, FdCalculationRecordEvent.class.getName());
+                props.put(org.apache.kafka.clients.consumer.ConsumerConfig.MAX_POLL_RECORDS_CONFIG,
+                                journalMaxPollRecords);
+                props.put(org.apache.kafka.clients.consumer.ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 16 * 1024);
+                props.put(org.apache.kafka.clients.consumer.ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG,
+                                journalFetchMaxWaitMs);
+                props.put(org.apache.kafka.clients.consumer.ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+                return new DefaultKafkaConsumerFactory<>(props);
+        }
+
+        @Bean
+        public KafkaListenerContainerFactory<ConcurrentMessageListenerContainer<String, FdCalculationRecordEvent>> calculationRecordKafkaListenerContainerFactory() {
+                ConcurrentKafkaListenerContainerFactory<String, FdCalculationRecordEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+                factory.setConsumerFactory(calculationRecordConsumerFactory());
+                factory.setBatchListener(true);
+                // Offsets are committed only after the batch insert returns; a failed
+                // batch is redelivered from the failing record and de-duplicated by
+                // record id.
+                factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+                factory.setCommonErrorHandler(calculationRecordErrorHandler(new DeadLetterPublishingRecoverer(
+                                kafkaTemplate(),
+                                (record, e) -> new TopicPartition(KafkaTopics.FD_CALCULATION_RECORD_DLT,
+                                                record.partition()))));
+                return factory;
+        }
+
+        // Journal records are the only copy of a calculation, so a record that fails on
+        // a database or connection outage is retried with capped exponential backoff
+        // until the database is back. Any other failure will fail the same way on every
+        // delivery; the listener names the record and it goes straight to the dead
+        // letter topic so the records behind it keep flowing.
+        DefaultErrorHandler calculationRecordErrorHandler(ConsumerRecordRecoverer recoverer) {
+                DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, calculationRecordBackOff());
+                errorHandler.defaultFalse();
+                errorHandler.addRetryableExceptions(TransientDataAccessException.class,
+                                RecoverableDataAccessException.class,
+                                DataAccessResourceFailureException.class,
+                                CannotCreateTransactionException.class);
+                return errorHandler;
+        }
+
+        ExponentialBackOff calculationRecordBackOff() {
+                ExponentialBackOff backOff = new ExponentialBackOff(journalRetryInitialIntervalMs,
+                                ExponentialBackOff.DEFAULT_MULTIPLIER);
+                backOff.setMaxInterval(journalRetryMaxIntervalMs);
+                return backOff;
+        }
+
         // Generic consumer factory (for backward compatibility)
         @Bean
         public ConsumerFactory<String, Object> consumerFactory() {
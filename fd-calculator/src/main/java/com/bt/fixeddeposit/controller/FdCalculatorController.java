@@ -1,19 +1,30 @@
 package com.bt.fixeddeposit.controller;
 
 import com.bt.fixeddeposit.dto.ApiResponse;
+import com.bt.fixeddeposit.dto.FdCalculationPage;
 import com.bt.fixeddeposit.dto.FdCalculationRequest;
 import com.bt.fixeddeposit.dto.FdCalculationResponse;
+import com.bt.fixeddeposit.dto.FdComparisonRequest;
+import com.bt.fixeddeposit.dto.FdComparisonResponse;
+import com.bt.fixeddeposit.dto.FdScheduleEntry;
+import com.bt.fixeddeposit.dto.FdScheduleRequest;
 import com.bt.fixeddeposit.service.FdCalculationService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/fd")
@@ -23,6 +34,7 @@ import java.util.List;
 public class FdCalculatorController {
 
     private final FdCalculationService calculationService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/calculate")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'BANKOFFICER', 'ADMIN')")
@@ -36,6 +48,57 @@ public class FdCalculatorController {
                 .body(ApiResponse.success(response, "FD calculation completed successfully"));
     }
 
+    @PostMapping("/compare")
+    @PreAuthorize("hasAnyRole('CUSTOMER', 'BANKOFFICER', 'ADMIN')")
+    @Operation(summary = "Compare products and tenures", description = "Price one principal across several products and tenures in a single call without saving the results")
+    public ResponseEntity<ApiResponse<FdComparisonResponse>> compareProducts(
+            @Valid @RequestBody FdComparisonRequest request,
+            @RequestHeader("Authorization") String authToken) {
+
+        FdComparisonResponse response = calculationService.compareProducts(request);
+        return ResponseEntity.ok(ApiResponse.success(response, "FD comparison completed successfully"));
+    }
+
+    @PostMapping(value = "/schedule", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('CUSTOMER', 'BANKOFFICER', 'ADMIN')")
+    @Operation(summary = "Stream FD projection schedule", description = "Stream the period-by-period projection for one or more principal amounts as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> streamSchedule(
+            @Valid @RequestBody FdScheduleRequest request,
+            @RequestHeader("Authorization") String authToken) {
+
+        Stream<FdScheduleEntry> schedule = calculationService.generateSchedule(request);
+        StreamingResponseBody body = out -> {
+            try (schedule; JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                for (Iterator<FdScheduleEntry> rows = schedule.iterator(); rows.hasNext();) {
+                    generator.writeObject(rows.next());
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @PostMapping(value = "/schedule", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('CUSTOMER', 'BANKOFFICER', 'ADMIN')")
+    @Operation(summary = "Stream FD projection schedule as a JSON array", description = "Stream the period-by-period projection for one or more principal amounts as a chunked JSON array")
+    public ResponseEntity<StreamingResponseBody> streamScheduleArray(
+            @Valid @RequestBody FdScheduleRequest request,
+            @RequestHeader("Authorization") String authToken) {
+
+        Stream<FdScheduleEntry> schedule = calculationService.generateSchedule(request);
+        StreamingResponseBody body = out -> {
+            try (schedule; JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                for (Iterator<FdScheduleEntry> rows = schedule.iterator(); rows.hasNext();) {
+                    generator.writeObject(rows.next());
+                }
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @GetMapping("/calculations/{id}")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'BANKOFFICER', 'ADMIN')")
     @Operation(summary = "Get calculation by ID", description = "Retrieve a specific FD calculation by its ID")
@@ -49,24 +112,29 @@ public class FdCalculatorController {
 
     @GetMapping("/history/{customerId}")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'BANKOFFICER', 'ADMIN')")
-    @Operation(summary = "Get customer calculation history", description = "Retrieve all FD calculations for a specific customer")
-    public ResponseEntity<ApiResponse<List<FdCalculationResponse>>> getCalculationHistory(
+    @Operation(summary = "Get customer calculation history", description = "Retrieve a page of FD calculations for a specific customer, newest first; pass nextCursor back as cursor for the following page")
+    public ResponseEntity<ApiResponse<FdCalculationPage>> getCalculationHistory(
             @PathVariable Long customerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") Integer limit,
             @RequestHeader("Authorization") String authToken) {
 
-        List<FdCalculationResponse> response = calculationService.getCalculationHistory(customerId, authToken);
+        FdCalculationPage response = calculationService.getCalculationHistory(customerId, cursor, limit, authToken);
         return ResponseEntity.ok(ApiResponse.success(response, "Calculation history retrieved successfully"));
     }
 
     @GetMapping("/recent/{customerId}")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'BANKOFFICER', 'ADMIN')")
-    @Operation(summary = "Get recent calculations", description = "Retrieve recent FD calculations for a customer within specified days")
-    public ResponseEntity<ApiResponse<List<FdCalculationResponse>>> getRecentCalculations(
+    @Operation(summary = "Get recent calculations", description = "Retrieve a page of FD calculations for a customer within specified days, newest first")
+    public ResponseEntity<ApiResponse<FdCalculationPage>> getRecentCalculations(
             @PathVariable Long customerId,
             @RequestParam(defaultValue = "30") Integer days,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") Integer limit,
             @RequestHeader("Authorization") String authToken) {
 
-        List<FdCalculationResponse> response = calculationService.getRecentCalculations(customerId, days, authToken);
+        FdCalculationPage response = calculationService.getRecentCalculations(customerId, days, cursor, limit,
+                authToken);
         return ResponseEntity.ok(ApiResponse.success(response, "Recent calculations retrieved successfully"));
     }
 }
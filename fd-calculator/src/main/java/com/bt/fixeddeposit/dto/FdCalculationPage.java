@@ -0,0 +1,15 @@
+package com.bt.fixeddeposit.dto;
+
+import lombok.*;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FdCalculationPage {
+
+    private List<FdCalculationResponse> calculations;
+    private String nextCursor;
+}
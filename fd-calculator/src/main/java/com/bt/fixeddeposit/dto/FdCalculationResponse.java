@@ -12,6 +12,7 @@ import java.time.LocalDateTime;
 public class FdCalculationResponse {
 
     private Long id;
+    private String recordId;
     private Long customerId;
     private String productCode;
     private String productName;
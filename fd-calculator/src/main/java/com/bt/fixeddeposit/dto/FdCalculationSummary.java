@@ -0,0 +1,29 @@
+package com.bt.fixeddeposit.dto;
+
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of an {@code fd_calculations} row for history listings,
+ * selected directly by JPQL constructor expression so no entity is hydrated.
+ */
+@Getter
+@AllArgsConstructor
+public class FdCalculationSummary {
+
+    private Long id;
+    private String recordId;
+    private Long customerId;
+    private String productCode;
+    private BigDecimal principalAmount;
+    private Integer tenureMonths;
+    private BigDecimal interestRate;
+    private Integer compoundingFrequency;
+    private BigDecimal maturityAmount;
+    private BigDecimal interestEarned;
+    private BigDecimal effectiveRate;
+    private String currency;
+    private LocalDateTime calculationDate;
+    private LocalDateTime createdAt;
+}
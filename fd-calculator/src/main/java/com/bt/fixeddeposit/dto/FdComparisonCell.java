@@ -0,0 +1,23 @@
+package com.bt.fixeddeposit.dto;
+
+import lombok.*;
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FdComparisonCell {
+
+    private String productCode;
+    private String productName;
+    private Integer tenureMonths;
+    private BigDecimal interestRate;
+    private Integer compoundingFrequency;
+    private BigDecimal maturityAmount;
+    private BigDecimal interestEarned;
+    private BigDecimal effectiveRate;
+    private String currency;
+    private String error;
+}
@@ -0,0 +1,44 @@
+package com.bt.fixeddeposit.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * What-if grid: one principal against several products and tenures. Tenures
+ * are either listed explicitly or given as a range with a step.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FdComparisonRequest {
+
+    @NotNull(message = "Principal amount is required")
+    @DecimalMin(value = "1000.00", message = "Principal amount must be at least 1000")
+    @DecimalMax(value = "100000000.00", message = "Principal amount cannot exceed 100000000")
+    private BigDecimal principalAmount;
+
+    @NotEmpty(message = "At least one product code is required")
+    @Size(max = 20, message = "At most 20 products can be compared")
+    private List<@Pattern(regexp = "^[A-Z0-9-]{3,20}$", message = "Invalid product code format") String> productCodes;
+
+    @Size(max = 120, message = "At most 120 tenures can be compared")
+    private List<@NotNull @Min(value = 1, message = "Tenure must be at least 1 month")
+            @Max(value = 120, message = "Tenure cannot exceed 120 months") Integer> tenureMonths;
+
+    @Min(value = 1, message = "Tenure must be at least 1 month")
+    @Max(value = 120, message = "Tenure cannot exceed 120 months")
+    private Integer minTenureMonths;
+
+    @Min(value = 1, message = "Tenure must be at least 1 month")
+    @Max(value = 120, message = "Tenure cannot exceed 120 months")
+    private Integer maxTenureMonths;
+
+    @Min(value = 1, message = "Tenure step must be at least 1 month")
+    private Integer tenureStepMonths;
+
+    private Integer compoundingFrequency;
+}
@@ -0,0 +1,17 @@
+package com.bt.fixeddeposit.dto;
+
+import lombok.*;
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FdComparisonResponse {
+
+    private BigDecimal principalAmount;
+    private List<Integer> tenureMonths;
+    private List<FdComparisonCell> cells;
+}
@@ -0,0 +1,23 @@
+package com.bt.fixeddeposit.dto;
+
+import lombok.*;
+import java.math.BigDecimal;
+
+/**
+ * Customer-independent result of an FD calculation: everything that follows
+ * from the product, principal, tenure and compounding frequency alone.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FdQuote {
+
+    private BigDecimal interestRate;
+    private Integer compoundingFrequency;
+    private BigDecimal maturityAmount;
+    private BigDecimal interestEarned;
+    private BigDecimal effectiveRate;
+    private String currency;
+}
@@ -0,0 +1,22 @@
+package com.bt.fixeddeposit.dto;
+
+import lombok.*;
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FdScheduleEntry {
+
+    private BigDecimal principalAmount;
+    private BigDecimal interestRate;
+    private Integer compoundingFrequency;
+    private Integer period;
+    private Boolean partialPeriod;
+    private BigDecimal openingBalance;
+    private BigDecimal interestEarned;
+    private BigDecimal closingBalance;
+    private BigDecimal cumulativeInterest;
+}
@@ -32,4 +32,5 @@ public class ProductResponse {
     private String compoundingFrequency;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
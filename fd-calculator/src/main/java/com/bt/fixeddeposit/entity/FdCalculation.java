@@ -9,7 +9,9 @@ import java.time.LocalDateTime;
 @Table(name = "fd_calculations", indexes = {
         @Index(name = "idx_customer_id", columnList = "customer_id"),
         @Index(name = "idx_product_code", columnList = "product_code"),
-        @Index(name = "idx_created_at", columnList = "created_at")
+        @Index(name = "idx_created_at", columnList = "created_at"),
+        @Index(name = "idx_customer_created_id", columnList = "customer_id, created_at, id"),
+        @Index(name = "idx_record_id", columnList = "record_id", unique = true)
 })
 @Getter
 @Setter
@@ -22,6 +24,9 @@ public class FdCalculation {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "record_id", length = 36)
+    private String recordId;
+
     @Column(name = "customer_id", nullable = false)
     private Long customerId;
 
@@ -63,8 +68,10 @@ public class FdCalculation {
 
     @PrePersist
     protected void onCreate() {
-        this.calculationDate = LocalDateTime.now();
-        this.createdAt = LocalDateTime.now();
+        if (this.createdAt == null) {
+            this.calculationDate = LocalDateTime.now();
+            this.createdAt = LocalDateTime.now();
+        }
     }
 
     @PreUpdate
@@ -0,0 +1,35 @@
+package com.bt.fixeddeposit.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Journal entry for a calculation that has been returned to the caller but not
+ * yet written to {@code fd_calculations}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FdCalculationRecordEvent implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String recordId;
+    private Long customerId;
+    private String productCode;
+    private BigDecimal principalAmount;
+    private Integer tenureMonths;
+    private BigDecimal interestRate;
+    private Integer compoundingFrequency;
+    private BigDecimal maturityAmount;
+    private BigDecimal interestEarned;
+    private BigDecimal effectiveRate;
+    private String currency;
+    private LocalDateTime calculationDate;
+    private LocalDateTime createdAt;
+}
@@ -16,5 +16,7 @@ public class FdHistoryRequest implements Serializable {
 
     private Long customerId;
     private String requestId;
+    private String cursor;
+    private Integer limit;
     private LocalDateTime timestamp;
 }
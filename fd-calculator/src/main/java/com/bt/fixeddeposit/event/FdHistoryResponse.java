@@ -18,6 +18,7 @@ public class FdHistoryResponse implements Serializable {
 
     private String requestId;
     private List<FdCalculationData> calculations;
+    private String nextCursor;
     private String error;
     private LocalDateTime timestamp;
 
@@ -27,11 +28,14 @@ public class FdHistoryResponse implements Serializable {
     @AllArgsConstructor
     public static class FdCalculationData {
         private Long id;
+        private String recordId;
         private Long customerId;
         private String productCode;
+        private String productName;
         private BigDecimal principalAmount;
         private BigDecimal maturityAmount;
         private BigDecimal interestEarned;
         private Integer tenureMonths;
+        private LocalDateTime createdAt;
     }
 }
@@ -1,14 +1,33 @@
 package com.bt.fixeddeposit.event;
 
+import com.bt.fixeddeposit.dto.FdCalculationPage;
 import com.bt.fixeddeposit.dto.FdCalculationRequest;
+import com.bt.fixeddeposit.dto.FdCalculationResponse;
+import com.bt.fixeddeposit.service.FdCalculationJournal;
 import com.bt.fixeddeposit.service.FdCalculationService;
+import com.bt.fixeddeposit.service.ProductSnapshotCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.PartitionOffset;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 @RequiredArgsConstructor
@@ -16,8 +35,24 @@ import java.time.LocalDateTime;
 public class KafkaConsumerService {
 
     private final RedisRequestResponseStore requestResponseStore;
+    private final ProductSnapshotCache productSnapshotCache;
     private final FdCalculationService fdCalculationService;
+    private final FdCalculationJournal calculationJournal;
     private final KafkaProducerService kafkaProducerService;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    static final String FD_CALCULATION_LISTENER_ID = "fdCalculationRequestListener";
+    private static final int DEFAULT_HISTORY_PAGE_SIZE = 50;
+
+    @Value("${app.kafka.fd-calculation.max-in-flight:1000}")
+    private int maxInFlight;
+
+    @Value("${app.kafka.fd-calculation.reply-attempts:4}")
+    private int replyAttempts;
+
+    @Value("${app.kafka.fd-calculation.reply-backoff-ms:250}")
+    private long replyBackoffMs;
 
     @KafkaListener(topics = "customer.validation.response", groupId = "fd-customer-response-consumer", containerFactory = "customerValidationKafkaListenerContainerFactory")
     public void handleCustomerValidationResponse(@Payload CustomerValidationResponse response) {
@@ -30,9 +65,9 @@ public class KafkaConsumerService {
                     response != null ? response.getActive() : "N/A");
 
             if (response != null && response.getRequestId() != null) {
-                log.info("Storing response in RedisRequestResponseStore for requestId: {}", response.getRequestId());
+                log.info("Delivering response to pending request: {}", response.getRequestId());
                 requestResponseStore.putResponse(response.getRequestId(), response);
-                log.info("Response stored successfully");
+                log.info("Response delivered successfully");
             } else {
                 log.error("Invalid customer validation response - null response or null requestId");
             }
@@ -53,9 +88,9 @@ public class KafkaConsumerService {
             log.info("Error: {}", response != null ? response.getError() : "NULL");
 
             if (response != null && response.getRequestId() != null) {
-                log.info("Storing response in Redis for request ID: {}", response.getRequestId());
+                log.info("Delivering response to pending request: {}", response.getRequestId());
                 requestResponseStore.putResponse(response.getRequestId(), response);
-                log.info("Response stored successfully");
+                log.info("Response delivered successfully");
             } else {
                 log.error("Invalid product details response - null response or null requestId");
             }
@@ -64,60 +99,269 @@ public class KafkaConsumerService {
         }
     }
 
-    @KafkaListener(topics = "fd.calculation.request", groupId = "fd-calculation-consumer", containerFactory = "fdCalculationRequestKafkaListenerContainerFactory")
-    public void handleFdCalculationRequest(@Payload FdCalculationRequestEvent request) {
-        try {
-            log.info("============ FD CALCULATION REQUEST RECEIVED ============");
-            log.info("Request ID: {}, Customer ID: {}, Product: {}, Principal: {}, Tenure: {} months",
-                    request.getRequestId(), request.getCustomerId(), request.getProductCode(),
-                    request.getPrincipalAmount(), request.getTenureMonths());
-
-            if (request == null || request.getRequestId() == null) {
-                log.error("Invalid FD calculation request - null request or null requestId");
-                return;
-            }
-
-            // Convert event to service request
-            FdCalculationRequest calcRequest = new FdCalculationRequest();
-            calcRequest.setCustomerId(request.getCustomerId());
-            calcRequest.setProductCode(request.getProductCode());
-            calcRequest.setPrincipalAmount(request.getPrincipalAmount());
-            calcRequest.setTenureMonths(request.getTenureMonths());
+    // Assigned every partition directly and read from offset 0 on each start, so the
+    // cache is rebuilt from the compacted topic without leaving a consumer group behind.
+    @KafkaListener(topicPartitions = @TopicPartition(topic = KafkaTopics.PRODUCT_SNAPSHOT,
+            partitions = KafkaTopics.PRODUCT_SNAPSHOT_PARTITIONS,
+            partitionOffsets = @PartitionOffset(partition = "*", initialOffset = "0")),
+            containerFactory = "productSnapshotKafkaListenerContainerFactory")
+    public void handleProductSnapshot(ConsumerRecord<String, ProductSnapshotEvent> record) {
+        productSnapshotCache.apply(record.key(), record.value());
+    }
 
-            // Perform calculation
-            var calcResponse = fdCalculationService.calculateFd(calcRequest, null);
+    /**
+     * Serves one page of a customer's history per request, with the same cursor
+     * semantics as the REST endpoint.
+     */
+    @KafkaListener(topics = KafkaTopics.FD_HISTORY_REQUEST, groupId = "fd-history-consumer", containerFactory = "fdHistoryRequestKafkaListenerContainerFactory")
+    public void handleFdHistoryRequest(@Payload FdHistoryRequest request) {
+        if (request == null || request.getRequestId() == null || request.getCustomerId() == null) {
+            log.error("Invalid FD history request - null request, requestId or customerId");
+            return;
+        }
 
-            // Build response event
-            FdCalculationResponseEvent response = FdCalculationResponseEvent.builder()
+        FdHistoryResponse response;
+        try {
+            FdCalculationPage page = fdCalculationService.getCalculationHistory(request.getCustomerId(),
+                    request.getCursor(),
+                    request.getLimit() != null ? request.getLimit() : DEFAULT_HISTORY_PAGE_SIZE,
+                    null);
+            response = FdHistoryResponse.builder()
                     .requestId(request.getRequestId())
-                    .calculationId(calcResponse.getId())
-                    .customerId(request.getCustomerId())
-                    .productCode(request.getProductCode())
-                    .principalAmount(calcResponse.getPrincipalAmount())
-                    .maturityAmount(calcResponse.getMaturityAmount())
-                    .interestEarned(calcResponse.getInterestEarned())
-                    .effectiveRate(calcResponse.getEffectiveRate())
-                    .tenureMonths(calcResponse.getTenureMonths())
+                    .calculations(page.getCalculations().stream()
+                            .map(this::toHistoryData)
+                            .toList())
+                    .nextCursor(page.getNextCursor())
                     .timestamp(LocalDateTime.now())
                     .build();
-
-            kafkaProducerService.sendFdCalculationResponse(response);
-            log.info("FD calculation response sent successfully for request: {}", request.getRequestId());
-            log.info("============ FD CALCULATION REQUEST PROCESSED ============");
         } catch (Exception e) {
-            log.error("Error processing FD calculation request for requestId: {}",
-                    request != null ? request.getRequestId() : "unknown", e);
-
-            // Send error response
-            FdCalculationResponseEvent errorResponse = FdCalculationResponseEvent.builder()
-                    .requestId(request != null ? request.getRequestId() : "unknown")
-                    .customerId(request != null ? request.getCustomerId() : null)
-                    .productCode(request != null ? request.getProductCode() : null)
+            log.error("Error processing FD history request: {}", request.getRequestId(), e);
+            response = FdHistoryResponse.builder()
+                    .requestId(request.getRequestId())
                     .error(e.getMessage())
                     .timestamp(LocalDateTime.now())
                     .build();
+        }
+        kafkaProducerService.sendFdHistoryResponse(response);
+    }
 
-            kafkaProducerService.sendFdCalculationResponse(errorResponse);
+    /**
+     * Drains the calculation journal into the database, one JDBC batch per poll.
+     * When the batch insert fails the records are stored one at a time to find the
+     * one that fails, and the container is told its index: the records before it
+     * are committed and the error handler decides whether it is retried or dead
+     * lettered.
+     */
+    @KafkaListener(topics = KafkaTopics.FD_CALCULATION_RECORD, groupId = "fd-calculation-journal", containerFactory = "calculationRecordKafkaListenerContainerFactory")
+    public void handleCalculationRecords(List<FdCalculationRecordEvent> records) {
+        List<FdCalculationRecordEvent> valid = records.stream()
+                .filter(record -> record != null && record.getRecordId() != null)
+                .toList();
+        if (valid.size() < records.size()) {
+            log.error("Skipping {} unreadable calculation journal records", records.size() - valid.size());
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+        try {
+            calculationJournal.persist(valid);
+        } catch (RuntimeException batchFailure) {
+            log.warn("Calculation journal batch of {} failed, storing records one by one", valid.size(),
+                    batchFailure);
+            persistOneByOne(records);
+        }
+    }
+
+    private void persistOneByOne(List<FdCalculationRecordEvent> records) {
+        for (int index = 0; index < records.size(); index++) {
+            FdCalculationRecordEvent record = records.get(index);
+            if (record == null || record.getRecordId() == null) {
+                continue;
+            }
+            try {
+                calculationJournal.persist(List.of(record));
+            } catch (RuntimeException e) {
+                throw new BatchListenerFailedException(
+                        "Calculation journal record " + record.getRecordId() + " could not be stored", e, index);
+            }
+        }
+    }
+
+    /**
+     * Batch listener: the whole poll is calculated together and the replies go out
+     * as one producer batch. The listener thread only publishes the nested lookups
+     * and returns; the batch completes asynchronously and its offsets are
+     * acknowledged once the replies have been produced.
+     *
+     * With async acks the container stops fetching the partition until every
+     * earlier batch is acknowledged, so a batch is always acknowledged in the end:
+     * replies that still cannot be produced after the bounded retries are dropped
+     * and their callers time out.
+     */
+    @KafkaListener(id = FD_CALCULATION_LISTENER_ID, topics = "fd.calculation.request", groupId = "fd-calculation-consumer", containerFactory = "fdCalculationRequestKafkaListenerContainerFactory")
+    public void handleFdCalculationRequests(@Payload List<FdCalculationRequestEvent> batch, Acknowledgment ack) {
+        List<FdCalculationRequestEvent> requests = new ArrayList<>(batch.size());
+        for (FdCalculationRequestEvent request : batch) {
+            if (request == null || request.getRequestId() == null) {
+                log.error("Invalid FD calculation request - null request or null requestId");
+            } else {
+                requests.add(request);
+            }
+        }
+        if (requests.isEmpty()) {
+            ack.acknowledge();
+            return;
         }
+        log.info("Received batch of {} FD calculation requests", requests.size());
+
+        acquireInFlight(requests.size());
+        CompletableFuture<List<FdCalculationService.BatchOutcome>> outcomes;
+        try {
+            outcomes = fdCalculationService.calculateFdBatchAsync(requests.stream()
+                    .map(this::toCalculationRequest)
+                    .toList());
+        } catch (Exception e) {
+            outcomes = CompletableFuture.failedFuture(e);
+        }
+
+        outcomes.handle((results, error) -> toResponseEvents(requests, results, error))
+                .thenCompose(responses -> sendResponses(responses, 1))
+                .whenComplete((ignored, error) -> {
+                    releaseInFlight(requests.size());
+                    ack.acknowledge();
+                    if (error != null) {
+                        log.error("FD calculation batch of {} requests acknowledged without replies", requests.size(),
+                                error);
+                        return;
+                    }
+                    log.info("FD calculation batch processed: {} responses sent", requests.size());
+                });
+    }
+
+    /**
+     * Produces the replies, resending the whole batch with exponential backoff if
+     * any send fails. Callers take the first reply per request id, so a resent
+     * duplicate is harmless.
+     */
+    private CompletableFuture<Void> sendResponses(List<FdCalculationResponseEvent> responses, int attempt) {
+        CompletableFuture<Void> sent;
+        try {
+            sent = kafkaProducerService.sendFdCalculationResponses(responses);
+        } catch (Exception e) {
+            sent = CompletableFuture.failedFuture(e);
+        }
+        return sent.handle((ignored, error) -> error)
+                .thenCompose(error -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    if (attempt >= replyAttempts) {
+                        return CompletableFuture.failedFuture(error);
+                    }
+                    long delayMs = replyBackoffMs << (attempt - 1);
+                    log.warn("Sending {} FD calculation responses failed (attempt {}/{}), retrying in {} ms",
+                            responses.size(), attempt, replyAttempts, delayMs);
+                    Executor delayed = CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS);
+                    return CompletableFuture.supplyAsync(() -> attempt + 1, delayed)
+                            .thenCompose(next -> sendResponses(responses, next));
+                });
+    }
+
+    private List<FdCalculationResponseEvent> toResponseEvents(List<FdCalculationRequestEvent> requests,
+            List<FdCalculationService.BatchOutcome> outcomes, Throwable error) {
+        List<FdCalculationResponseEvent> responses = new ArrayList<>(requests.size());
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            log.error("Error processing FD calculation batch of {} requests", requests.size(), cause);
+            for (FdCalculationRequestEvent request : requests) {
+                responses.add(toErrorEvent(request, cause.getMessage()));
+            }
+            return responses;
+        }
+
+        for (int i = 0; i < requests.size(); i++) {
+            FdCalculationService.BatchOutcome outcome = outcomes.get(i);
+            responses.add(outcome.error() == null
+                    ? toResponseEvent(requests.get(i), outcome.response())
+                    : toErrorEvent(requests.get(i), outcome.error()));
+        }
+        return responses;
+    }
+
+    /**
+     * Pauses the listener once too many requests are awaiting replies, so a burst
+     * is absorbed by the topic rather than by this instance's memory and the
+     * downstream services.
+     */
+    private void acquireInFlight(int count) {
+        if (inFlight.addAndGet(count) >= maxInFlight) {
+            MessageListenerContainer container = listenerRegistry.getListenerContainer(FD_CALCULATION_LISTENER_ID);
+            if (container != null && !container.isPauseRequested()) {
+                log.warn("Pausing FD calculation listener: {} requests in flight", inFlight.get());
+                container.pause();
+            }
+        }
+    }
+
+    private void releaseInFlight(int count) {
+        if (inFlight.addAndGet(-count) <= maxInFlight / 2) {
+            MessageListenerContainer container = listenerRegistry.getListenerContainer(FD_CALCULATION_LISTENER_ID);
+            if (container != null && container.isPauseRequested()) {
+                log.info("Resuming FD calculation listener: {} requests in flight", inFlight.get());
+                container.resume();
+            }
+        }
+    }
+
+    private FdCalculationRequest toCalculationRequest(FdCalculationRequestEvent request) {
+        FdCalculationRequest calcRequest = new FdCalculationRequest();
+        calcRequest.setCustomerId(request.getCustomerId());
+        calcRequest.setProductCode(request.getProductCode());
+        calcRequest.setPrincipalAmount(request.getPrincipalAmount());
+        calcRequest.setTenureMonths(request.getTenureMonths());
+        return calcRequest;
+    }
+
+    private FdCalculationResponseEvent toResponseEvent(FdCalculationRequestEvent request,
+            FdCalculationResponse calcResponse) {
+        return FdCalculationResponseEvent.builder()
+                .requestId(request.getRequestId())
+                .calculationId(calcResponse.getId())
+                .customerId(request.getCustomerId())
+                .productCode(request.getProductCode())
+                .principalAmount(calcResponse.getPrincipalAmount())
+                .maturityAmount(calcResponse.getMaturityAmount())
+                .interestEarned(calcResponse.getInterestEarned())
+                .effectiveRate(calcResponse.getEffectiveRate())
+                .tenureMonths(calcResponse.getTenureMonths())
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    private FdHistoryResponse.FdCalculationData toHistoryData(FdCalculationResponse calculation) {
+        return FdHistoryResponse.FdCalculationData.builder()
+                .id(calculation.getId())
+                .recordId(calculation.getRecordId())
+                .customerId(calculation.getCustomerId())
+                .productCode(calculation.getProductCode())
+                .productName(calculation.getProductName())
+                .principalAmount(calculation.getPrincipalAmount())
+                .maturityAmount(calculation.getMaturityAmount())
+                .interestEarned(calculation.getInterestEarned())
+                .tenureMonths(calculation.getTenureMonths())
+                .createdAt(calculation.getCreatedAt())
+                .build();
+    }
+
+    private FdCalculationResponseEvent toErrorEvent(FdCalculationRequestEvent request, String error) {
+        return FdCalculationResponseEvent.builder()
+                .requestId(request.getRequestId())
+                .customerId(request.getCustomerId())
+                .productCode(request.getProductCode())
+                .error(error)
+                .timestamp(LocalDateTime.now())
+                .build();
     }
 }
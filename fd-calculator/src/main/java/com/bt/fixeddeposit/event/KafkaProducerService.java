@@ -5,6 +5,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -56,4 +60,43 @@ public class KafkaProducerService {
             log.error("Failed to send FD calculation response for request: {}", response.getRequestId(), e);
         }
     }
+
+    public void sendFdHistoryResponse(FdHistoryResponse response) {
+        try {
+            kafkaTemplate.send(KafkaTopics.FD_HISTORY_RESPONSE, response.getRequestId(), response);
+            log.info("FD history response sent for request: {}", response.getRequestId());
+        } catch (Exception e) {
+            log.error("Failed to send FD history response for request: {}", response.getRequestId(), e);
+        }
+    }
+
+    /**
+     * Appends a calculation to the journal topic, keyed by customer so a customer's
+     * records stay in order. The future completes once the broker has it on all
+     * in-sync replicas.
+     */
+    public CompletableFuture<?> sendCalculationRecord(FdCalculationRecordEvent record) {
+        return kafkaTemplate.send(KafkaTopics.FD_CALCULATION_RECORD, String.valueOf(record.getCustomerId()), record);
+    }
+
+    /**
+     * Hands every response to the producer before a single flush, so they leave as
+     * one batch instead of one round-trip each. The returned future completes once
+     * the broker has acknowledged all of them, and fails if any send failed.
+     */
+    public CompletableFuture<Void> sendFdCalculationResponses(List<FdCalculationResponseEvent> responses) {
+        List<CompletableFuture<?>> sends = new ArrayList<>(responses.size());
+        for (FdCalculationResponseEvent response : responses) {
+            sends.add(kafkaTemplate.send(KafkaTopics.FD_CALCULATION_RESPONSE, response.getRequestId(), response)
+                    .whenComplete((result, error) -> {
+                        if (error != null) {
+                            log.error("Failed to send FD calculation response for request: {}",
+                                    response.getRequestId(), error);
+                        }
+                    }));
+        }
+        kafkaTemplate.flush();
+        log.info("FD calculation responses sent: {}", responses.size());
+        return CompletableFuture.allOf(sends.toArray(new CompletableFuture[0]));
+    }
 }
@@ -15,12 +15,20 @@ public class KafkaTopics {
     public static final String PRODUCT_UPDATED = "product.updated";
     public static final String PRODUCT_DETAILS_REQUEST = "product.details.request";
     public static final String PRODUCT_DETAILS_RESPONSE = "product.details.response";
+    public static final String PRODUCT_SNAPSHOT = "product.snapshot";
+
+    // Partitions of the topics that every instance reads in full through manual
+    // assignment rather than a consumer group. They must match the partition
+    // counts product-pricing creates the topics with.
+    public static final String PRODUCT_SNAPSHOT_PARTITIONS = "0-2";
 
     // FD Calculator Service Topics
     public static final String FD_CALCULATION_REQUEST = "fd.calculation.request";
     public static final String FD_CALCULATION_RESPONSE = "fd.calculation.response";
     public static final String FD_HISTORY_REQUEST = "fd.history.request";
     public static final String FD_HISTORY_RESPONSE = "fd.history.response";
+    public static final String FD_CALCULATION_RECORD = "fd.calculation.record";
+    public static final String FD_CALCULATION_RECORD_DLT = "fd.calculation.record.DLT";
 
     // Account Service Topics
     public static final String ACCOUNT_CREATED = "account.created";
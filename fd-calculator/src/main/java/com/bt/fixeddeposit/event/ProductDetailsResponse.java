@@ -28,6 +28,7 @@ public class ProductDetailsResponse implements Serializable {
     private BigDecimal maxInterestRate;
     private String currency;
     private String compoundingFrequency;
+    private Long version;
     private String error;
     private LocalDateTime timestamp;
 }
@@ -0,0 +1,38 @@
+package com.bt.fixeddeposit.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Full state of a product as published by product-pricing on the log-compacted
+ * {@code product.snapshot} topic, keyed by product code. Deletes arrive as
+ * tombstones (null values).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSnapshotEvent implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long productId;
+    private String productCode;
+    private String productName;
+    private String productType;
+    private String status;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private Integer minTermMonths;
+    private Integer maxTermMonths;
+    private BigDecimal minInterestRate;
+    private BigDecimal maxInterestRate;
+    private String currency;
+    private String compoundingFrequency;
+    private BigDecimal prematurePenaltyRate;
+    private Integer prematurePenaltyGraceDays;
+    private long version;
+}
@@ -1,6 +1,8 @@
 package com.bt.fixeddeposit.repository;
 
+import com.bt.fixeddeposit.dto.FdCalculationSummary;
 import com.bt.fixeddeposit.entity.FdCalculation;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -23,6 +25,28 @@ public interface FdCalculationRepository extends JpaRepository<FdCalculation, Lo
     List<FdCalculation> findCalculationsByProductAndDate(@Param("productCode") String productCode,
             @Param("startDate") LocalDateTime startDate);
 
+    // Keyset pages over idx_customer_created_id, newest first. The "after" variant
+    // continues strictly below the (createdAt, id) of the previous page's last row.
+    @Query("SELECT new com.bt.fixeddeposit.dto.FdCalculationSummary(f.id, f.recordId, f.customerId, f.productCode, "
+            + "f.principalAmount, f.tenureMonths, f.interestRate, f.compoundingFrequency, f.maturityAmount, "
+            + "f.interestEarned, f.effectiveRate, f.currency, f.calculationDate, f.createdAt) "
+            + "FROM FdCalculation f WHERE f.customerId = :customerId AND f.createdAt >= :since "
+            + "ORDER BY f.createdAt DESC, f.id DESC")
+    List<FdCalculationSummary> findHistoryPage(@Param("customerId") Long customerId,
+            @Param("since") LocalDateTime since, Limit limit);
+
+    @Query("SELECT new com.bt.fixeddeposit.dto.FdCalculationSummary(f.id, f.recordId, f.customerId, f.productCode, "
+            + "f.principalAmount, f.tenureMonths, f.interestRate, f.compoundingFrequency, f.maturityAmount, "
+            + "f.interestEarned, f.effectiveRate, f.currency, f.calculationDate, f.createdAt) "
+            + "FROM FdCalculation f WHERE f.customerId = :customerId AND f.createdAt >= :since "
+            + "AND (f.createdAt < :afterCreatedAt OR (f.createdAt = :afterCreatedAt AND f.id < :afterId)) "
+            + "ORDER BY f.createdAt DESC, f.id DESC")
+    List<FdCalculationSummary> findHistoryPageAfter(@Param("customerId") Long customerId,
+            @Param("since") LocalDateTime since,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") Long afterId,
+            Limit limit);
+
     @Query("SELECT COUNT(f) FROM FdCalculation f WHERE f.customerId = :customerId")
     Long countByCustomerId(@Param("customerId") Long customerId);
 }
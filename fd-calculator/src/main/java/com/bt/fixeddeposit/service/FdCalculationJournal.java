@@ -0,0 +1,200 @@
+package com.bt.fixeddeposit.service;
+
+import com.bt.fixeddeposit.entity.FdCalculation;
+import com.bt.fixeddeposit.event.FdCalculationRecordEvent;
+import com.bt.fixeddeposit.event.KafkaProducerService;
+import com.bt.fixeddeposit.repository.FdCalculationRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind journal for calculation audit rows.
+ *
+ * A calculation is appended to the {@code fd.calculation.record} topic and the
+ * caller returns as soon as the broker has acknowledged it; the journal
+ * listener later inserts whole poll batches with one JDBC batch statement.
+ * Until then the record is held in a bounded pending index, which the first
+ * page of a history read merges with what is already in the database. Every record carries a
+ * {@code recordId}, so a batch redelivered after a crash skips rows that were
+ * already inserted. If the broker cannot take the record in time it is saved
+ * synchronously instead.
+ */
+@Service
+@Slf4j
+public class FdCalculationJournal {
+
+    private static final String INSERT_SQL = "INSERT INTO fd_calculations (record_id, customer_id, product_code, "
+            + "principal_amount, tenure_months, interest_rate, compounding_frequency, maturity_amount, "
+            + "interest_earned, effective_rate, currency, calculation_date, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String EXISTING_SQL =
+            "SELECT record_id FROM fd_calculations WHERE record_id IN (:recordIds)";
+
+    private final KafkaProducerService kafkaProducerService;
+    private final FdCalculationRepository calculationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final Cache<String, FdCalculation> pending;
+
+    @Value("${app.calculation.journal.send-timeout-ms:5000}")
+    private long sendTimeoutMs;
+
+    public FdCalculationJournal(KafkaProducerService kafkaProducerService,
+            FdCalculationRepository calculationRepository,
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.calculation.journal.max-pending:10000}") long maxPending,
+            @Value("${app.calculation.journal.pending-ttl-minutes:10}") long pendingTtlMinutes) {
+        this.kafkaProducerService = kafkaProducerService;
+        this.calculationRepository = calculationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.pending = Caffeine.newBuilder()
+                .maximumSize(maxPending)
+                .expireAfterWrite(pendingTtlMinutes, TimeUnit.MINUTES)
+                .build();
+    }
+
+    /**
+     * Journals a new calculation and returns it with its {@code recordId} and
+     * timestamps set. The database id stays null until the row is inserted,
+     * unless the journal was unavailable and the row was saved directly.
+     */
+    public FdCalculation record(FdCalculation calculation) {
+        LocalDateTime now = LocalDateTime.now();
+        calculation.setRecordId(UUID.randomUUID().toString());
+        calculation.setCalculationDate(now);
+        calculation.setCreatedAt(now);
+
+        pending.put(calculation.getRecordId(), calculation);
+        try {
+            kafkaProducerService.sendCalculationRecord(toEvent(calculation)).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            return calculation;
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.warn("Calculation journal unavailable, saving record {} directly", calculation.getRecordId(), e);
+            pending.invalidate(calculation.getRecordId());
+            try {
+                return calculationRepository.save(calculation);
+            } catch (DataIntegrityViolationException duplicate) {
+                // The send did reach the journal after all and the row is already in.
+                return calculation;
+            }
+        }
+    }
+
+    /**
+     * Inserts a batch taken from the journal topic. Records that are already in the
+     * table, from a direct save or an earlier delivery, are skipped.
+     */
+    @Transactional
+    public int persist(List<FdCalculationRecordEvent> records) {
+        Set<String> recordIds = records.stream()
+                .map(FdCalculationRecordEvent::getRecordId)
+                .collect(Collectors.toSet());
+        Set<String> existing = new HashSet<>(namedJdbcTemplate.queryForList(EXISTING_SQL,
+                new MapSqlParameterSource("recordIds", recordIds), String.class));
+
+        List<FdCalculationRecordEvent> toInsert = new ArrayList<>(records.size());
+        for (FdCalculationRecordEvent record : records) {
+            // Also drops duplicates within the batch.
+            if (existing.add(record.getRecordId())) {
+                toInsert.add(record);
+            }
+        }
+
+        if (!toInsert.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, toInsert, toInsert.size(), (ps, record) -> {
+                ps.setString(1, record.getRecordId());
+                ps.setLong(2, record.getCustomerId());
+                ps.setString(3, record.getProductCode());
+                ps.setBigDecimal(4, record.getPrincipalAmount());
+                ps.setInt(5, record.getTenureMonths());
+                ps.setBigDecimal(6, record.getInterestRate());
+                ps.setInt(7, record.getCompoundingFrequency());
+                ps.setBigDecimal(8, record.getMaturityAmount());
+                ps.setBigDecimal(9, record.getInterestEarned());
+                ps.setBigDecimal(10, record.getEffectiveRate());
+                ps.setString(11, record.getCurrency());
+                ps.setTimestamp(12, Timestamp.valueOf(record.getCalculationDate()));
+                ps.setTimestamp(13, Timestamp.valueOf(record.getCreatedAt()));
+            });
+        }
+
+        // Drop them from the pending index only once the rows are visible to readers.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pending.invalidateAll(recordIds);
+            }
+        });
+        log.debug("Journal batch of {} persisted, {} inserted", records.size(), toInsert.size());
+        return toInsert.size();
+    }
+
+    /**
+     * Returns this instance's pending records for the customer created at or after
+     * {@code since}, newest first. Records whose id is in {@code storedRecordIds}
+     * have reached the database and are dropped from the index instead.
+     */
+    public List<FdCalculation> pendingFor(Long customerId, LocalDateTime since, Set<String> storedRecordIds) {
+        List<FdCalculation> waiting = new ArrayList<>();
+        for (FdCalculation calculation : pending.asMap().values()) {
+            if (!customerId.equals(calculation.getCustomerId()) || calculation.getCreatedAt().isBefore(since)) {
+                continue;
+            }
+            if (storedRecordIds.contains(calculation.getRecordId())) {
+                pending.invalidate(calculation.getRecordId());
+            } else {
+                waiting.add(calculation);
+            }
+        }
+        waiting.sort(Comparator.comparing(FdCalculation::getCreatedAt).reversed());
+        return waiting;
+    }
+
+    public long pendingCount() {
+        return pending.estimatedSize();
+    }
+
+    private FdCalculationRecordEvent toEvent(FdCalculation calculation) {
+        return FdCalculationRecordEvent.builder()
+                .recordId(calculation.getRecordId())
+                .customerId(calculation.getCustomerId())
+                .productCode(calculation.getProductCode())
+                .principalAmount(calculation.getPrincipalAmount())
+                .tenureMonths(calculation.getTenureMonths())
+                .interestRate(calculation.getInterestRate())
+                .compoundingFrequency(calculation.getCompoundingFrequency())
+                .maturityAmount(calculation.getMaturityAmount())
+                .interestEarned(calculation.getInterestEarned())
+                .effectiveRate(calculation.getEffectiveRate())
+                .currency(calculation.getCurrency())
+                .calculationDate(calculation.getCalculationDate())
+                .createdAt(calculation.getCreatedAt())
+                .build();
+    }
+}
@@ -1,7 +1,15 @@
 package com.bt.fixeddeposit.service;
 
 import com.bt.fixeddeposit.dto.FdCalculationRequest;
+import com.bt.fixeddeposit.dto.FdCalculationPage;
 import com.bt.fixeddeposit.dto.FdCalculationResponse;
+import com.bt.fixeddeposit.dto.FdCalculationSummary;
+import com.bt.fixeddeposit.dto.FdComparisonCell;
+import com.bt.fixeddeposit.dto.FdComparisonRequest;
+import com.bt.fixeddeposit.dto.FdComparisonResponse;
+import com.bt.fixeddeposit.dto.FdQuote;
+import com.bt.fixeddeposit.dto.FdScheduleEntry;
+import com.bt.fixeddeposit.dto.FdScheduleRequest;
 import com.bt.fixeddeposit.dto.external.ProductResponse;
 import com.bt.fixeddeposit.entity.FdCalculation;
 import com.bt.fixeddeposit.event.CustomerValidationRequest;
@@ -12,18 +20,36 @@ import com.bt.fixeddeposit.event.ProductDetailsResponse;
 import com.bt.fixeddeposit.event.RedisRequestResponseStore;
 import com.bt.fixeddeposit.exception.*;
 import com.bt.fixeddeposit.repository.FdCalculationRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Service
 @RequiredArgsConstructor
@@ -33,7 +59,24 @@ public class FdCalculationService {
     private final FdCalculationRepository calculationRepository;
     private final KafkaProducerService kafkaProducerService;
     private final RedisRequestResponseStore requestResponseStore;
-    private final RedisFdCacheService redisFdCacheService;
+    private final FdQuoteCache quoteCache;
+    private final FdCalculationJournal calculationJournal;
+    private final ProductSnapshotCache productSnapshotCache;
+    private final MaturityEngine maturityEngine;
+
+    private static final int BATCH_THREADS = 4;
+    static final int MAX_HISTORY_PAGE_SIZE = 200;
+    static final int MAX_COMPARISON_CELLS = 2_400;
+    // Lower bound for unfiltered history, inside every SQL datetime range.
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    // Batch completions run here rather than on the thread that delivered the last
+    // reply, which is usually a Kafka listener thread.
+    private final ExecutorService batchExecutor = Executors.newFixedThreadPool(BATCH_THREADS, r -> {
+        Thread thread = new Thread(r, "fd-batch");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     @Value("${app.calculation.default-compounding-frequency}")
     private Integer defaultCompoundingFrequency;
@@ -44,63 +87,238 @@ public class FdCalculationService {
     @Value("${app.kafka.request-timeout-seconds:30}")
     private long requestTimeoutSeconds;
 
-    @Transactional
+    /**
+     * Not transactional: the audit row is handed to the write-behind journal, so
+     * the database is off the request path.
+     */
     public FdCalculationResponse calculateFd(FdCalculationRequest request, String authToken) {
         log.info("Processing FD calculation request for customer: {} and product: {}",
                 request.getCustomerId(), request.getProductCode());
 
-        FdCalculationResponse cachedResult = redisFdCacheService.getCachedCalculation(
-                request.getCustomerId(),
-                request.getProductCode(),
-                request.getTenureMonths(),
-                request.getPrincipalAmount());
+        validateCustomer(request.getCustomerId());
+        ProductResponse product = fetchProductDetails(request.getProductCode());
+        validateCalculationRequest(request, product);
+
+        FdCalculation calculation = buildCalculation(request, product);
+
+        FdCalculation savedCalculation = calculationJournal.record(calculation);
+        log.info("FD calculation journaled with record ID: {}", savedCalculation.getRecordId());
+
+        return buildCalculationResponse(savedCalculation, product.getProductName());
+    }
+
+    /**
+     * Calculates a whole poll batch. Each distinct customer and product is looked up
+     * once with all lookups in flight together, maturities are computed (or taken
+     * from the quote cache) product by product, and the rows are written with a
+     * single saveAll. Outcomes come back in request order, and a
+     * request that fails validation only fails its own outcome.
+     */
+    public List<BatchOutcome> calculateFdBatch(List<FdCalculationRequest> requests) {
+        return calculateFdBatchAsync(requests).join();
+    }
 
-        if (cachedResult != null) {
-            log.info("Returning cached FD calculation result");
-            return cachedResult;
+    /**
+     * Non-blocking variant of {@link #calculateFdBatch}. The caller only waits for
+     * the lookup requests to be published; validation,
+     * calculation and persistence run on the batch executor once every reply has
+     * arrived or timed out.
+     */
+    public CompletableFuture<List<BatchOutcome>> calculateFdBatchAsync(List<FdCalculationRequest> requests) {
+        BatchOutcome[] outcomes = new BatchOutcome[requests.size()];
+        Map<String, List<Integer>> pendingByProduct = new LinkedHashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            pendingByProduct.computeIfAbsent(requests.get(i).getProductCode(), code -> new ArrayList<>()).add(i);
         }
 
-        validateCustomer(request.getCustomerId());
+        if (pendingByProduct.isEmpty()) {
+            return CompletableFuture.completedFuture(Arrays.asList(outcomes));
+        }
+
+        Map<Long, CompletableFuture<CustomerValidationResponse>> customerLookups = new HashMap<>();
+        Map<String, CompletableFuture<ProductDetailsResponse>> productLookups = new HashMap<>();
+        pendingByProduct.forEach((productCode, indices) -> {
+            productLookups.put(productCode, requestProductDetails(productCode));
+            for (int index : indices) {
+                customerLookups.computeIfAbsent(requests.get(index).getCustomerId(), this::requestCustomerValidation);
+            }
+        });
+
+        List<CompletableFuture<?>> lookups = new ArrayList<>(productLookups.values());
+        lookups.addAll(customerLookups.values());
+        return CompletableFuture.allOf(lookups.toArray(new CompletableFuture[0]))
+                .thenApplyAsync(ignored -> completeBatch(requests, outcomes, pendingByProduct,
+                        customerLookups, productLookups), batchExecutor);
+    }
+
+    private List<BatchOutcome> completeBatch(List<FdCalculationRequest> requests, BatchOutcome[] outcomes,
+            Map<String, List<Integer>> pendingByProduct,
+            Map<Long, CompletableFuture<CustomerValidationResponse>> customerLookups,
+            Map<String, CompletableFuture<ProductDetailsResponse>> productLookups) {
+        List<FdCalculation> calculations = new ArrayList<>();
+        List<Integer> calculationIndices = new ArrayList<>();
+        List<String> productNames = new ArrayList<>();
+
+        for (Map.Entry<String, List<Integer>> group : pendingByProduct.entrySet()) {
+            ProductResponse product;
+            try {
+                product = requireActiveProduct(group.getKey(), productLookups.get(group.getKey()).join());
+            } catch (RuntimeException e) {
+                for (int index : group.getValue()) {
+                    outcomes[index] = BatchOutcome.failure(e.getMessage());
+                }
+                continue;
+            }
+
+            for (int index : group.getValue()) {
+                FdCalculationRequest request = requests.get(index);
+                try {
+                    requireActiveCustomer(request.getCustomerId(),
+                            customerLookups.get(request.getCustomerId()).join());
+                    validateCalculationRequest(request, product);
+                    calculations.add(buildCalculation(request, product));
+                    calculationIndices.add(index);
+                    productNames.add(product.getProductName());
+                } catch (RuntimeException e) {
+                    outcomes[index] = BatchOutcome.failure(e.getMessage());
+                }
+            }
+        }
+
+        if (!calculations.isEmpty()) {
+            List<FdCalculation> saved = calculationRepository.saveAll(calculations);
+            log.info("Saved {} FD calculations from batch of {}", saved.size(), requests.size());
+
+            for (int i = 0; i < saved.size(); i++) {
+                outcomes[calculationIndices.get(i)] = BatchOutcome.success(
+                        buildCalculationResponse(saved.get(i), productNames.get(i)));
+            }
+        }
+
+        return Arrays.asList(outcomes);
+    }
+
+    /**
+     * Projects a deposit period by period for each requested principal, in
+     * request order. The product is looked up and every principal validated up
+     * front, so errors surface before the first row; rows are then generated
+     * lazily as the stream is consumed. Nothing is persisted.
+     */
+    public Stream<FdScheduleEntry> generateSchedule(FdScheduleRequest request) {
         ProductResponse product = fetchProductDetails(request.getProductCode());
-        validateCalculationRequest(request, product);
+        for (BigDecimal principal : request.getPrincipalAmounts()) {
+            validateCalculationRequest(FdCalculationRequest.builder()
+                    .productCode(request.getProductCode())
+                    .principalAmount(principal)
+                    .tenureMonths(request.getTenureMonths())
+                    .build(), product);
+        }
 
-        Integer compoundingFrequency = resolveCompoundingFrequency(request, product);
+        BigDecimal interestRate = determineApplicableInterestRate(product, request.getTenureMonths());
+        int compoundingFrequency = resolveCompoundingFrequency(request.getCompoundingFrequency(), product);
+        if (compoundingFrequency < 0 || compoundingFrequency > 365) {
+            throw new InvalidCalculationDataException(
+                    String.format("Unsupported compounding frequency: %d", compoundingFrequency));
+        }
 
-        BigDecimal interestRate = determineApplicableInterestRate(product, request);
-        BigDecimal maturityAmount = calculateMaturityAmount(
-                request.getPrincipalAmount(),
-                interestRate,
-                request.getTenureMonths(),
-                compoundingFrequency);
-        BigDecimal interestEarned = maturityAmount.subtract(request.getPrincipalAmount());
-        BigDecimal effectiveRate = calculateEffectiveRate(interestRate, compoundingFrequency);
+        return request.getPrincipalAmounts().stream()
+                .flatMap(principal -> {
+                    MaturitySchedule schedule = new MaturitySchedule(maturityEngine, principal, interestRate,
+                            request.getTenureMonths(), compoundingFrequency, roundingScale);
+                    return StreamSupport.stream(Spliterators.spliterator(schedule, schedule.size(),
+                            Spliterator.ORDERED | Spliterator.NONNULL), false);
+                });
+    }
 
-        FdCalculation calculation = FdCalculation.builder()
-                .customerId(request.getCustomerId())
-                .productCode(request.getProductCode())
-                .principalAmount(request.getPrincipalAmount())
-                .tenureMonths(request.getTenureMonths())
-                .interestRate(interestRate)
-                .compoundingFrequency(compoundingFrequency)
-                .maturityAmount(maturityAmount)
-                .interestEarned(interestEarned)
-                .effectiveRate(effectiveRate)
-                .currency(product.getCurrency())
-                .build();
+    /**
+     * Prices every (product, tenure) pair for one principal without persisting
+     * anything. Each distinct product is resolved once, with all lookups in flight
+     * together, and the grid is computed in parallel. A product that cannot be
+     * resolved, or whose limits exclude a tenure or the principal, fails only its
+     * own cells. Cells are ordered product by product, then by tenure.
+     */
+    public FdComparisonResponse compareProducts(FdComparisonRequest request) {
+        List<Integer> tenures = resolveComparisonTenures(request);
+        List<String> productCodes = request.getProductCodes().stream().distinct().toList();
+        if ((long) productCodes.size() * tenures.size() > MAX_COMPARISON_CELLS) {
+            throw new InvalidCalculationDataException(
+                    String.format("Comparison cannot exceed %d cells", MAX_COMPARISON_CELLS));
+        }
 
-        FdCalculation savedCalculation = calculationRepository.save(calculation);
-        log.info("FD calculation saved successfully with ID: {}", savedCalculation.getId());
+        Map<String, CompletableFuture<ProductDetailsResponse>> lookups = new LinkedHashMap<>();
+        productCodes.forEach(code -> lookups.put(code, requestProductDetails(code)));
+        List<ProductResponse> products = new ArrayList<>(productCodes.size());
+        List<String> productErrors = new ArrayList<>(productCodes.size());
+        lookups.forEach((code, lookup) -> {
+            try {
+                products.add(requireActiveProduct(code, lookup.join()));
+                productErrors.add(null);
+            } catch (RuntimeException e) {
+                products.add(null);
+                productErrors.add(e.getMessage());
+            }
+        });
 
-        FdCalculationResponse response = buildCalculationResponse(savedCalculation, product.getProductName());
+        FdComparisonCell[] cells = new FdComparisonCell[productCodes.size() * tenures.size()];
+        IntStream.range(0, cells.length).parallel().forEach(i -> {
+            int productIndex = i / tenures.size();
+            cells[i] = priceComparisonCell(productCodes.get(productIndex), products.get(productIndex),
+                    productErrors.get(productIndex), tenures.get(i % tenures.size()), request);
+        });
 
-        redisFdCacheService.cacheCalculation(
-                request.getCustomerId(),
-                request.getProductCode(),
-                request.getTenureMonths(),
-                request.getPrincipalAmount(),
-                response);
+        return FdComparisonResponse.builder()
+                .principalAmount(request.getPrincipalAmount())
+                .tenureMonths(tenures)
+                .cells(Arrays.asList(cells))
+                .build();
+    }
 
-        return response;
+    private FdComparisonCell priceComparisonCell(String productCode, ProductResponse product, String productError,
+            int tenureMonths, FdComparisonRequest request) {
+        FdComparisonCell.FdComparisonCellBuilder cell = FdComparisonCell.builder()
+                .productCode(productCode)
+                .tenureMonths(tenureMonths);
+        if (product == null) {
+            return cell.error(productError).build();
+        }
+        cell.productName(product.getProductName());
+        try {
+            validateCalculationRequest(FdCalculationRequest.builder()
+                    .productCode(productCode)
+                    .principalAmount(request.getPrincipalAmount())
+                    .tenureMonths(tenureMonths)
+                    .build(), product);
+            FdQuote quote = calculateQuote(request.getPrincipalAmount(), tenureMonths,
+                    resolveCompoundingFrequency(request.getCompoundingFrequency(), product), product);
+            return cell.interestRate(quote.getInterestRate())
+                    .compoundingFrequency(quote.getCompoundingFrequency())
+                    .maturityAmount(quote.getMaturityAmount())
+                    .interestEarned(quote.getInterestEarned())
+                    .effectiveRate(quote.getEffectiveRate())
+                    .currency(quote.getCurrency())
+                    .build();
+        } catch (RuntimeException e) {
+            return cell.error(e.getMessage()).build();
+        }
+    }
+
+    private List<Integer> resolveComparisonTenures(FdComparisonRequest request) {
+        if (request.getTenureMonths() != null && !request.getTenureMonths().isEmpty()) {
+            return request.getTenureMonths().stream().distinct().sorted().toList();
+        }
+        Integer min = request.getMinTenureMonths();
+        Integer max = request.getMaxTenureMonths();
+        if (min == null || max == null || min > max) {
+            throw new InvalidCalculationDataException(
+                    "Either tenureMonths or a minTenureMonths..maxTenureMonths range is required");
+        }
+        int step = request.getTenureStepMonths() != null ? request.getTenureStepMonths() : 1;
+        List<Integer> tenures = new ArrayList<>();
+        for (int tenure = min; tenure <= max; tenure += step) {
+            tenures.add(tenure);
+        }
+        return tenures;
     }
 
     @Transactional(readOnly = true)
@@ -112,26 +330,100 @@ public class FdCalculationService {
         return buildCalculationResponse(calculation, product.getProductName());
     }
 
-    @Transactional(readOnly = true)
-    public List<FdCalculationResponse> getCalculationHistory(Long customerId, String authToken) {
+    public FdCalculationPage getCalculationHistory(Long customerId, String cursor, int limit, String authToken) {
         validateCustomer(customerId);
-        List<FdCalculation> calculations = calculationRepository.findByCustomerIdOrderByCreatedAtDesc(customerId);
-
-        return calculations.stream()
-                .map(calc -> buildCalculationResponse(calc, fetchProductNameSafely(calc.getProductCode())))
-                .collect(Collectors.toList());
+        return loadHistoryPage(customerId, HISTORY_START, cursor, limit);
     }
 
-    @Transactional(readOnly = true)
-    public List<FdCalculationResponse> getRecentCalculations(Long customerId, Integer days, String authToken) {
+    public FdCalculationPage getRecentCalculations(Long customerId, Integer days, String cursor, int limit,
+            String authToken) {
         validateCustomer(customerId);
-        LocalDateTime startDate = LocalDateTime.now().minusDays(days);
-        List<FdCalculation> calculations = calculationRepository.findRecentCalculationsByCustomer(customerId,
-                startDate);
+        return loadHistoryPage(customerId, LocalDateTime.now().minusDays(days), cursor, limit);
+    }
+
+    /**
+     * One keyset page of a customer's history, newest first. Rows come back as
+     * projections and product names are resolved once per distinct product. The
+     * first page also carries any of the customer's calculations still waiting in
+     * the write-behind journal; they have no database id yet and sit ahead of the
+     * stored rows.
+     */
+    FdCalculationPage loadHistoryPage(Long customerId, LocalDateTime since, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_HISTORY_PAGE_SIZE) {
+            throw new InvalidCalculationDataException(
+                    String.format("Page size must be between 1 and %d", MAX_HISTORY_PAGE_SIZE));
+        }
 
-        return calculations.stream()
-                .map(calc -> buildCalculationResponse(calc, fetchProductNameSafely(calc.getProductCode())))
-                .collect(Collectors.toList());
+        List<FdCalculationSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = calculationRepository.findHistoryPage(customerId, since, Limit.of(limit + 1));
+        } else {
+            HistoryCursor after = HistoryCursor.decode(cursor);
+            rows = calculationRepository.findHistoryPageAfter(customerId, since, after.createdAt(), after.id(),
+                    Limit.of(limit + 1));
+        }
+
+        // The extra row only tells us whether another page exists.
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+
+        List<FdCalculation> waiting = List.of();
+        if (cursor == null || cursor.isBlank()) {
+            Set<String> storedRecordIds = rows.stream()
+                    .map(FdCalculationSummary::getRecordId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            waiting = calculationJournal.pendingFor(customerId, since, storedRecordIds);
+        }
+
+        Set<String> productCodes = new HashSet<>();
+        waiting.forEach(calc -> productCodes.add(calc.getProductCode()));
+        rows.forEach(row -> productCodes.add(row.getProductCode()));
+        Map<String, String> productNames = resolveProductNames(productCodes);
+
+        List<FdCalculationResponse> calculations = new ArrayList<>(waiting.size() + rows.size());
+        waiting.forEach(calc -> calculations.add(
+                buildCalculationResponse(calc, productNames.get(calc.getProductCode()))));
+        rows.forEach(row -> calculations.add(
+                buildSummaryResponse(row, productNames.get(row.getProductCode()))));
+
+        String nextCursor = null;
+        if (hasMore) {
+            FdCalculationSummary last = rows.get(rows.size() - 1);
+            nextCursor = new HistoryCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return FdCalculationPage.builder()
+                .calculations(calculations)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Looks up every product at once: snapshot hits are immediate and the rest go
+     * out as concurrent Kafka requests. A product that cannot be resolved shows its
+     * code in place of the name.
+     */
+    private Map<String, String> resolveProductNames(Set<String> productCodes) {
+        Map<String, CompletableFuture<ProductDetailsResponse>> lookups = new HashMap<>();
+        for (String productCode : productCodes) {
+            lookups.put(productCode, requestProductDetails(productCode));
+        }
+
+        Map<String, String> names = new HashMap<>();
+        lookups.forEach((productCode, lookup) -> {
+            ProductDetailsResponse product = null;
+            try {
+                product = lookup.join();
+            } catch (RuntimeException e) {
+                log.warn("Failed to fetch product name for code: {}", productCode);
+            }
+            names.put(productCode, product != null && product.getProductName() != null
+                    ? product.getProductName()
+                    : productCode);
+        });
+        return names;
     }
 
     private void validateCustomer(Long customerId) {
@@ -160,15 +452,7 @@ public class FdCalculationService {
                     response != null ? response.getValid() : "N/A",
                     response != null ? response.getActive() : "N/A");
 
-            if (response == null || !Boolean.TRUE.equals(response.getValid())) {
-                log.error("Customer validation FAILED: response null or invalid. Throwing CustomerNotFoundException");
-                throw new CustomerNotFoundException("Customer not found with ID: " + customerId);
-            }
-
-            if (!Boolean.TRUE.equals(response.getActive())) {
-                log.error("Customer account is INACTIVE. Throwing InvalidCalculationDataException");
-                throw new InvalidCalculationDataException("Customer account is not active");
-            }
+            requireActiveCustomer(customerId, response);
 
             log.info("Customer validation SUCCESSFUL for ID: {}", customerId);
             log.info("============ VALIDATION COMPLETE ============");
@@ -179,6 +463,10 @@ public class FdCalculationService {
     }
 
     private ProductResponse fetchProductDetails(String productCode) {
+        Optional<ProductDetailsResponse> snapshot = productSnapshotCache.find(productCode);
+        if (snapshot.isPresent()) {
+            return requireActiveProduct(productCode, snapshot.get());
+        }
         try {
             String requestId = UUID.randomUUID().toString();
             log.info("============ REQUESTING PRODUCT DETAILS ============");
@@ -192,7 +480,7 @@ public class FdCalculationService {
                     .build();
 
             requestResponseStore.putRequest(requestId, null);
-            log.info("Stored request marker in Redis");
+            log.info("Registered pending request");
 
             kafkaProducerService.sendProductDetailsRequest(request);
             log.info("Sent product details request to Kafka");
@@ -204,30 +492,69 @@ public class FdCalculationService {
             log.info("Response received: {}", response);
             log.info("Response product ID: {}", response != null ? response.getProductId() : "NULL");
 
-            if (response == null || response.getProductId() == null) {
-                log.error("Product not found - response null or productId null");
-                throw new ProductNotFoundException("Product not found with code: " + productCode);
-            }
-
-            if (!"ACTIVE".equals(response.getStatus())) {
-                throw new InvalidCalculationDataException("Product is not active: " + productCode);
-            }
-
-            return convertToProductResponse(response);
+            return requireActiveProduct(productCode, response);
         } catch (InterruptedException e) {
             log.error("Interrupted while fetching product details for code: {}", productCode, e);
             throw new ServiceIntegrationException("Failed to fetch product information", e);
         }
     }
 
-    private String fetchProductNameSafely(String productCode) {
-        try {
-            ProductResponse product = fetchProductDetails(productCode);
-            return product.getProductName();
-        } catch (Exception e) {
-            log.warn("Failed to fetch product name for code: {}", productCode);
-            return productCode;
+    private CompletableFuture<CustomerValidationResponse> requestCustomerValidation(Long customerId) {
+        String requestId = UUID.randomUUID().toString();
+        requestResponseStore.putRequest(requestId, null);
+        kafkaProducerService.sendCustomerValidationRequest(CustomerValidationRequest.builder()
+                .customerId(customerId)
+                .requestId(requestId)
+                .timestamp(LocalDateTime.now())
+                .build());
+        return requestResponseStore.getResponseAsync(requestId, CustomerValidationResponse.class,
+                requestTimeoutSeconds, TimeUnit.SECONDS);
+    }
+
+    private CompletableFuture<ProductDetailsResponse> requestProductDetails(String productCode) {
+        Optional<ProductDetailsResponse> snapshot = productSnapshotCache.find(productCode);
+        if (snapshot.isPresent()) {
+            return CompletableFuture.completedFuture(snapshot.get());
+        }
+        String requestId = UUID.randomUUID().toString();
+        requestResponseStore.putRequest(requestId, null);
+        kafkaProducerService.sendProductDetailsRequest(ProductDetailsRequest.builder()
+                .productCode(productCode)
+                .requestId(requestId)
+                .timestamp(LocalDateTime.now())
+                .build());
+        return requestResponseStore.getResponseAsync(requestId, ProductDetailsResponse.class,
+                requestTimeoutSeconds, TimeUnit.SECONDS);
+    }
+
+    private void requireActiveCustomer(Long customerId, CustomerValidationResponse response) {
+        if (response == null || !Boolean.TRUE.equals(response.getValid())) {
+            log.error("Customer validation FAILED: response null or invalid. Throwing CustomerNotFoundException");
+            throw new CustomerNotFoundException("Customer not found with ID: " + customerId);
         }
+
+        if (!Boolean.TRUE.equals(response.getActive())) {
+            log.error("Customer account is INACTIVE. Throwing InvalidCalculationDataException");
+            throw new InvalidCalculationDataException("Customer account is not active");
+        }
+    }
+
+    private ProductResponse requireActiveProduct(String productCode, ProductDetailsResponse response) {
+        if (response == null || response.getProductId() == null) {
+            log.error("Product not found - response null or productId null");
+            throw new ProductNotFoundException("Product not found with code: " + productCode);
+        }
+
+        if (!"ACTIVE".equals(response.getStatus())) {
+            throw new InvalidCalculationDataException("Product is not active: " + productCode);
+        }
+
+        return convertToProductResponse(response);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        batchExecutor.shutdown();
     }
 
     private ProductResponse convertToProductResponse(ProductDetailsResponse response) {
@@ -244,6 +571,7 @@ public class FdCalculationService {
                 .maxInterestRate(response.getMaxInterestRate())
                 .currency(response.getCurrency())
                 .compoundingFrequency(response.getCompoundingFrequency())
+                .version(response.getVersion())
                 .build();
     }
 
@@ -269,15 +597,63 @@ public class FdCalculationService {
         }
     }
 
-    private BigDecimal determineApplicableInterestRate(ProductResponse product, FdCalculationRequest request) {
+    /**
+     * Builds the customer's audit record around a quote that depends only on the
+     * product and the deposit terms, so the same quote is shared across customers.
+     */
+    private FdCalculation buildCalculation(FdCalculationRequest request, ProductResponse product) {
+        int compoundingFrequency = resolveCompoundingFrequency(request.getCompoundingFrequency(), product);
+        FdQuote quote = quoteCache.get(
+                product.getProductCode(),
+                product.getVersion(),
+                request.getTenureMonths(),
+                compoundingFrequency,
+                request.getPrincipalAmount(),
+                () -> calculateQuote(request.getPrincipalAmount(), request.getTenureMonths(),
+                        compoundingFrequency, product));
+
+        return FdCalculation.builder()
+                .customerId(request.getCustomerId())
+                .productCode(request.getProductCode())
+                .principalAmount(request.getPrincipalAmount())
+                .tenureMonths(request.getTenureMonths())
+                .interestRate(quote.getInterestRate())
+                .compoundingFrequency(quote.getCompoundingFrequency())
+                .maturityAmount(quote.getMaturityAmount())
+                .interestEarned(quote.getInterestEarned())
+                .effectiveRate(quote.getEffectiveRate())
+                .currency(quote.getCurrency())
+                .build();
+    }
+
+    private FdQuote calculateQuote(BigDecimal principalAmount, Integer tenureMonths, Integer compoundingFrequency,
+            ProductResponse product) {
+        BigDecimal interestRate = determineApplicableInterestRate(product, tenureMonths);
+        BigDecimal maturityAmount = calculateMaturityAmount(
+                principalAmount,
+                interestRate,
+                tenureMonths,
+                compoundingFrequency);
+
+        return FdQuote.builder()
+                .interestRate(interestRate)
+                .compoundingFrequency(compoundingFrequency)
+                .maturityAmount(maturityAmount)
+                .interestEarned(maturityAmount.subtract(principalAmount))
+                .effectiveRate(calculateEffectiveRate(interestRate, compoundingFrequency))
+                .currency(product.getCurrency())
+                .build();
+    }
+
+    private BigDecimal determineApplicableInterestRate(ProductResponse product, Integer tenureMonths) {
         BigDecimal baseRate = product.getMinInterestRate();
         BigDecimal maxRate = product.getMaxInterestRate();
 
-        if (request.getTenureMonths() >= 60) {
+        if (tenureMonths >= 60) {
             return maxRate;
-        } else if (request.getTenureMonths() >= 36) {
+        } else if (tenureMonths >= 36) {
             return baseRate.add(maxRate.subtract(baseRate).multiply(BigDecimal.valueOf(0.75)));
-        } else if (request.getTenureMonths() >= 12) {
+        } else if (tenureMonths >= 12) {
             return baseRate.add(maxRate.subtract(baseRate).multiply(BigDecimal.valueOf(0.50)));
         }
 
@@ -286,34 +662,18 @@ public class FdCalculationService {
 
     private BigDecimal calculateMaturityAmount(BigDecimal principal, BigDecimal annualRate,
             Integer tenureMonths, Integer compoundingFrequency) {
-        double p = principal.doubleValue();
-        double r = annualRate.divide(BigDecimal.valueOf(100), 10, RoundingMode.HALF_UP).doubleValue();
-        double t = tenureMonths.doubleValue() / 12.0;
-
-        if (compoundingFrequency != null && compoundingFrequency == 0) {
-            double maturitySimple = p * (1 + (r * t));
-            return BigDecimal.valueOf(maturitySimple).setScale(roundingScale, RoundingMode.HALF_UP);
-        }
-
-        double n = compoundingFrequency != null ? compoundingFrequency.doubleValue() : 1.0;
-        double maturity = p * Math.pow(1 + (r / n), n * t);
-        return BigDecimal.valueOf(maturity).setScale(roundingScale, RoundingMode.HALF_UP);
+        return maturityEngine.maturityAmount(principal, annualRate, tenureMonths,
+                compoundingFrequency != null ? compoundingFrequency : 1, roundingScale);
     }
 
     private BigDecimal calculateEffectiveRate(BigDecimal nominalRate, Integer compoundingFrequency) {
-        double r = nominalRate.divide(BigDecimal.valueOf(100), 10, RoundingMode.HALF_UP).doubleValue();
-        if (compoundingFrequency != null && compoundingFrequency == 0) {
-            double eff = r * 100.0;
-            return BigDecimal.valueOf(eff).setScale(roundingScale, RoundingMode.HALF_UP);
-        }
-        double n = compoundingFrequency != null ? compoundingFrequency.doubleValue() : 1.0;
-        double effectiveRate = (Math.pow(1 + (r / n), n) - 1) * 100;
-        return BigDecimal.valueOf(effectiveRate).setScale(roundingScale, RoundingMode.HALF_UP);
+        return maturityEngine.effectiveRate(nominalRate,
+                compoundingFrequency != null ? compoundingFrequency : 1, roundingScale);
     }
 
-    private Integer resolveCompoundingFrequency(FdCalculationRequest request, ProductResponse product) {
-        if (request.getCompoundingFrequency() != null)
-            return request.getCompoundingFrequency();
+    private Integer resolveCompoundingFrequency(Integer requestedFrequency, ProductResponse product) {
+        if (requestedFrequency != null)
+            return requestedFrequency;
         if (product != null && product.getCompoundingFrequency() != null) {
             String f = product.getCompoundingFrequency().toUpperCase();
             switch (f) {
@@ -339,6 +699,7 @@ public class FdCalculationService {
     private FdCalculationResponse buildCalculationResponse(FdCalculation calculation, String productName) {
         return FdCalculationResponse.builder()
                 .id(calculation.getId())
+                .recordId(calculation.getRecordId())
                 .customerId(calculation.getCustomerId())
                 .productCode(calculation.getProductCode())
                 .productName(productName)
@@ -354,4 +715,35 @@ public class FdCalculationService {
                 .createdAt(calculation.getCreatedAt())
                 .build();
     }
+
+    private FdCalculationResponse buildSummaryResponse(FdCalculationSummary summary, String productName) {
+        return FdCalculationResponse.builder()
+                .id(summary.getId())
+                .recordId(summary.getRecordId())
+                .customerId(summary.getCustomerId())
+                .productCode(summary.getProductCode())
+                .productName(productName)
+                .principalAmount(summary.getPrincipalAmount())
+                .tenureMonths(summary.getTenureMonths())
+                .interestRate(summary.getInterestRate())
+                .compoundingFrequency(summary.getCompoundingFrequency())
+                .maturityAmount(summary.getMaturityAmount())
+                .interestEarned(summary.getInterestEarned())
+                .effectiveRate(summary.getEffectiveRate())
+                .currency(summary.getCurrency())
+                .calculationDate(summary.getCalculationDate())
+                .createdAt(summary.getCreatedAt())
+                .build();
+    }
+
+    public record BatchOutcome(FdCalculationResponse response, String error) {
+
+        static BatchOutcome success(FdCalculationResponse response) {
+            return new BatchOutcome(response, null);
+        }
+
+        static BatchOutcome failure(String error) {
+            return new BatchOutcome(null, error);
+        }
+    }
 }
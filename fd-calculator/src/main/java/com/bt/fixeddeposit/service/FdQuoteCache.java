@@ -0,0 +1,84 @@
+package com.bt.fixeddeposit.service;
+
+import com.bt.fixeddeposit.dto.FdQuote;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier cache of {@link FdQuote}s: a bounded in-process L1 in front of the
+ * shared Redis L2. Keys are built only from the inputs that determine the
+ * result (product code and version, tenure, compounding frequency and the
+ * principal with its scale normalised), so identical quotes for different
+ * customers share an entry and a product change simply moves to new keys.
+ * Redis is read and written outside the L1 so that a slow round trip never
+ * holds a Caffeine bin lock; two concurrent misses for the same key may both
+ * compute the quote, which is cheap and yields the same value.
+ */
+@Service
+@Slf4j
+public class FdQuoteCache {
+
+    private final RedisFdCacheService redisFdCacheService;
+    private final Cache<String, FdQuote> localQuotes;
+
+    public FdQuoteCache(RedisFdCacheService redisFdCacheService,
+            @Value("${app.calculation.quote-cache.max-size:10000}") long maxSize,
+            @Value("${app.calculation.quote-cache.expire-minutes:30}") long expireMinutes) {
+        this.redisFdCacheService = redisFdCacheService;
+        this.localQuotes = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireMinutes, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached quote, or computes it with {@code calculator} and
+     * stores it in both tiers. Products without a version are not cached, since
+     * a stale entry could not be told apart from a current one.
+     */
+    public FdQuote get(String productCode, Long productVersion, int tenureMonths, int compoundingFrequency,
+            BigDecimal principalAmount, Supplier<FdQuote> calculator) {
+        if (productVersion == null) {
+            return calculator.get();
+        }
+        String key = buildKey(productCode, productVersion, tenureMonths, compoundingFrequency, principalAmount);
+        FdQuote quote = localQuotes.getIfPresent(key);
+        if (quote != null) {
+            return quote;
+        }
+        quote = redisFdCacheService.getCachedQuote(key);
+        if (quote == null) {
+            quote = calculator.get();
+            redisFdCacheService.cacheQuote(key, productCode, quote);
+        }
+        localQuotes.put(key, quote);
+        return quote;
+    }
+
+    public void invalidateLocal() {
+        localQuotes.invalidateAll();
+    }
+
+    public long localSize() {
+        return localQuotes.estimatedSize();
+    }
+
+    public double localHitRate() {
+        return localQuotes.stats().hitRate();
+    }
+
+    static String buildKey(String productCode, long productVersion, int tenureMonths, int compoundingFrequency,
+            BigDecimal principalAmount) {
+        return String.format("%s:%d:%d:%d:%s",
+                productCode, productVersion, tenureMonths, compoundingFrequency,
+                principalAmount.stripTrailingZeros().toPlainString());
+    }
+}
@@ -0,0 +1,132 @@
+package com.bt.fixeddeposit.service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Fixed-point compound-interest arithmetic for FD maturities.
+ *
+ * The growth factor (1 + r/n)^(n*t) depends only on the annual rate, the
+ * compounding frequency and the tenure in months. It is computed once at
+ * {@link #CONTEXT} precision and memoised, so a maturity is a single multiply of
+ * the principal by the factor. Whole compounding periods use exact
+ * {@link BigDecimal#pow(int, MathContext)}; a trailing fractional period (daily
+ * compounding over whole months, annual compounding over 18 months, ...) is
+ * evaluated as exp(f * ln(base)) with series at the same precision. A
+ * compounding frequency of 0 means simple interest. One instance is shared
+ * through the context so every caller hits the same memoised factors.
+ */
+@Component
+public final class MaturityEngine {
+
+    static final MathContext CONTEXT = MathContext.DECIMAL128;
+
+    private static final int MAX_FACTORS = 10_000;
+    private static final int MAX_SERIES_TERMS = 1_000;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final BigDecimal TWELVE = BigDecimal.valueOf(12);
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+    private static final BigDecimal SERIES_EPSILON = BigDecimal.ONE.movePointLeft(CONTEXT.getPrecision() + 4);
+
+    private final Map<FactorKey, BigDecimal> factors = new ConcurrentHashMap<>();
+
+    public BigDecimal maturityAmount(BigDecimal principal, BigDecimal annualRatePercent, int tenureMonths,
+            int compoundingFrequency, int scale) {
+        // The product is exact, so the only rounding is the final one to the money scale.
+        return principal.multiply(growthFactor(annualRatePercent, compoundingFrequency, tenureMonths))
+                .setScale(scale, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Annual effective rate in percent, i.e. the twelve-month growth factor
+     * minus one. For simple interest this is the nominal rate.
+     */
+    public BigDecimal effectiveRate(BigDecimal annualRatePercent, int compoundingFrequency, int scale) {
+        return growthFactor(annualRatePercent, compoundingFrequency, 12)
+                .subtract(BigDecimal.ONE)
+                .multiply(HUNDRED)
+                .setScale(scale, RoundingMode.HALF_UP);
+    }
+
+    public BigDecimal growthFactor(BigDecimal annualRatePercent, int compoundingFrequency, int tenureMonths) {
+        FactorKey key = new FactorKey(annualRatePercent.stripTrailingZeros(), compoundingFrequency, tenureMonths);
+        BigDecimal factor = factors.get(key);
+        if (factor == null) {
+            factor = computeGrowthFactor(key.ratePercent(), compoundingFrequency, tenureMonths);
+            // Rates come from a small product catalogue; the bound only guards
+            // against unexpected key churn.
+            if (factors.size() < MAX_FACTORS) {
+                factors.putIfAbsent(key, factor);
+            }
+        }
+        return factor;
+    }
+
+    /**
+     * Growth over a single compounding period, 1 + r/n. Multiplying a running
+     * factor by this steps a projection one period at a time.
+     */
+    public BigDecimal periodFactor(BigDecimal annualRatePercent, int compoundingFrequency) {
+        return base(annualRatePercent.divide(HUNDRED, CONTEXT), compoundingFrequency);
+    }
+
+    static BigDecimal computeGrowthFactor(BigDecimal annualRatePercent, int compoundingFrequency, int tenureMonths) {
+        BigDecimal rate = annualRatePercent.divide(HUNDRED, CONTEXT);
+        if (compoundingFrequency == 0) {
+            return BigDecimal.ONE.add(rate.multiply(BigDecimal.valueOf(tenureMonths)).divide(TWELVE, CONTEXT),
+                    CONTEXT);
+        }
+
+        BigDecimal base = base(rate, compoundingFrequency);
+        long twelfths = (long) compoundingFrequency * tenureMonths;
+        BigDecimal factor = base.pow(Math.toIntExact(twelfths / 12), CONTEXT);
+        long remainder = twelfths % 12;
+        if (remainder != 0) {
+            BigDecimal fraction = BigDecimal.valueOf(remainder).divide(TWELVE, CONTEXT);
+            factor = factor.multiply(exp(ln(base).multiply(fraction, CONTEXT)), CONTEXT);
+        }
+        return factor;
+    }
+
+    private static BigDecimal base(BigDecimal rate, int compoundingFrequency) {
+        return BigDecimal.ONE.add(rate.divide(BigDecimal.valueOf(compoundingFrequency), CONTEXT), CONTEXT);
+    }
+
+    // ln(x) = 2 * atanh((x - 1) / (x + 1)), which converges quickly for x near 1.
+    private static BigDecimal ln(BigDecimal x) {
+        BigDecimal z = x.subtract(BigDecimal.ONE).divide(x.add(BigDecimal.ONE), CONTEXT);
+        BigDecimal zSquared = z.multiply(z, CONTEXT);
+        BigDecimal power = z;
+        BigDecimal sum = z;
+        for (int k = 3; k < MAX_SERIES_TERMS; k += 2) {
+            power = power.multiply(zSquared, CONTEXT);
+            BigDecimal term = power.divide(BigDecimal.valueOf(k), CONTEXT);
+            if (term.abs().compareTo(SERIES_EPSILON) < 0) {
+                break;
+            }
+            sum = sum.add(term, CONTEXT);
+        }
+        return sum.multiply(TWO, CONTEXT);
+    }
+
+    private static BigDecimal exp(BigDecimal y) {
+        BigDecimal term = BigDecimal.ONE;
+        BigDecimal sum = BigDecimal.ONE;
+        for (int k = 1; k < MAX_SERIES_TERMS; k++) {
+            term = term.multiply(y, CONTEXT).divide(BigDecimal.valueOf(k), CONTEXT);
+            if (term.abs().compareTo(SERIES_EPSILON) < 0) {
+                break;
+            }
+            sum = sum.add(term, CONTEXT);
+        }
+        return sum;
+    }
+
+    private record FactorKey(BigDecimal ratePercent, int compoundingFrequency, int tenureMonths) {
+    }
+}
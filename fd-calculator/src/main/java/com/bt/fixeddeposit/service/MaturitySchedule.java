@@ -0,0 +1,101 @@
+package com.bt.fixeddeposit.service;
+
+import com.bt.fixeddeposit.dto.FdScheduleEntry;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily generated period-by-period projection of one deposit.
+ *
+ * Each compounding period yields one entry; the running growth factor is
+ * stepped by {@link MaturityEngine#periodFactor} so only the current row is
+ * held in memory. When the tenure does not end on a period boundary the last
+ * entry is a partial period. The closing balance of the last entry is always
+ * {@link MaturityEngine#maturityAmount}, so the schedule ends exactly on the
+ * calculator's maturity. Simple interest (frequency 0) is projected month by
+ * month.
+ */
+final class MaturitySchedule implements Iterator<FdScheduleEntry> {
+
+    private final MaturityEngine engine;
+    private final BigDecimal principal;
+    private final BigDecimal annualRatePercent;
+    private final int tenureMonths;
+    private final int compoundingFrequency;
+    private final int scale;
+    private final int periods;
+    private final boolean endsOnPartialPeriod;
+    private final BigDecimal periodFactor;
+
+    private BigDecimal factor = BigDecimal.ONE;
+    private BigDecimal openingBalance;
+    private int period;
+
+    MaturitySchedule(MaturityEngine engine, BigDecimal principal, BigDecimal annualRatePercent, int tenureMonths,
+            int compoundingFrequency, int scale) {
+        this.engine = engine;
+        this.principal = principal;
+        this.annualRatePercent = annualRatePercent;
+        this.tenureMonths = tenureMonths;
+        this.compoundingFrequency = compoundingFrequency;
+        this.scale = scale;
+        this.openingBalance = principal.setScale(scale, RoundingMode.HALF_UP);
+
+        if (compoundingFrequency == 0) {
+            this.periods = tenureMonths;
+            this.endsOnPartialPeriod = false;
+            this.periodFactor = null;
+        } else {
+            long twelfths = (long) compoundingFrequency * tenureMonths;
+            this.endsOnPartialPeriod = twelfths % 12 != 0;
+            this.periods = Math.toIntExact(twelfths / 12) + (endsOnPartialPeriod ? 1 : 0);
+            this.periodFactor = engine.periodFactor(annualRatePercent, compoundingFrequency);
+        }
+    }
+
+    int size() {
+        return periods;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return period < periods;
+    }
+
+    @Override
+    public FdScheduleEntry next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        period++;
+
+        BigDecimal closingBalance;
+        if (period == periods) {
+            closingBalance = engine.maturityAmount(principal, annualRatePercent, tenureMonths, compoundingFrequency,
+                    scale);
+        } else if (compoundingFrequency == 0) {
+            closingBalance = principal.multiply(engine.growthFactor(annualRatePercent, 0, period))
+                    .setScale(scale, RoundingMode.HALF_UP);
+        } else {
+            factor = factor.multiply(periodFactor, MaturityEngine.CONTEXT);
+            closingBalance = principal.multiply(factor).setScale(scale, RoundingMode.HALF_UP);
+        }
+
+        FdScheduleEntry entry = FdScheduleEntry.builder()
+                .principalAmount(principal)
+                .interestRate(annualRatePercent)
+                .compoundingFrequency(compoundingFrequency)
+                .period(period)
+                .partialPeriod(endsOnPartialPeriod && period == periods)
+                .openingBalance(openingBalance)
+                .interestEarned(closingBalance.subtract(openingBalance))
+                .closingBalance(closingBalance)
+                .cumulativeInterest(closingBalance.subtract(principal))
+                .build();
+        openingBalance = closingBalance;
+        return entry;
+    }
+}
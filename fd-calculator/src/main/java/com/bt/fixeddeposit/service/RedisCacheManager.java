@@ -2,20 +2,27 @@ package com.bt.fixeddeposit.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
-import java.util.Set;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class RedisCacheManager {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    // Patterns whose keys are tagged at write time; anything else is only
+    // reachable through SCAN.
+    private static final Map<String, String> TAGS_BY_PATTERN = Map.of(
+            "fd:calc:*", RedisFdCacheService.CALCULATION_TAG,
+            "product:*", RedisProductCacheService.PRODUCT_TAG);
+
+    private final RedisCacheTagService cacheTagService;
+    private final FdQuoteCache quoteCache;
 
     public void clearAllCaches() {
         clearCacheByPattern("fd:calc:*");
+        quoteCache.invalidateLocal();
         clearCacheByPattern("product:*");
         clearCacheByPattern("customer:*");
         clearCacheByPattern("auth:token:*");
@@ -24,6 +31,7 @@ public class RedisCacheManager {
 
     public void clearFdCalculationCache() {
         clearCacheByPattern("fd:calc:*");
+        quoteCache.invalidateLocal();
         log.info("FD calculation cache cleared");
     }
 
@@ -42,16 +50,21 @@ public class RedisCacheManager {
         log.info("Auth tokens cleared");
     }
 
+    /**
+     * Drops the tagged keys first, then sweeps the pattern with SCAN to catch keys
+     * written before tagging or by other services.
+     */
     private void clearCacheByPattern(String pattern) {
-        Set<String> keys = redisTemplate.keys(pattern);
-        if (keys != null && !keys.isEmpty()) {
-            redisTemplate.delete(keys);
-            log.debug("Cleared {} keys matching pattern: {}", keys.size(), pattern);
+        String tag = TAGS_BY_PATTERN.get(pattern);
+        long removed = tag != null ? cacheTagService.invalidateTag(tag) : 0;
+        removed += cacheTagService.deleteByScan(pattern);
+        if (removed > 0) {
+            log.debug("Cleared {} keys matching pattern: {}", removed, pattern);
         }
     }
 
     public long countKeys(String pattern) {
-        Set<String> keys = redisTemplate.keys(pattern);
-        return keys != null ? keys.size() : 0;
+        String tag = TAGS_BY_PATTERN.get(pattern);
+        return tag != null ? cacheTagService.countTag(tag) : cacheTagService.countByScan(pattern);
     }
 }
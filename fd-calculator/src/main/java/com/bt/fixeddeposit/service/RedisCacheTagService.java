@@ -0,0 +1,174 @@
+package com.bt.fixeddeposit.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Tracks cache keys in Redis sorted sets ("tags") at write time so that a group of
+ * keys can be invalidated or counted without walking the keyspace with KEYS. Each
+ * member is scored with the time its key expires, so members whose keys are gone
+ * are dropped on the next write and never counted. Keys written by other services,
+ * which are never tagged, can still be cleared with a cursor-based SCAN that does
+ * not block the server.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RedisCacheTagService {
+
+    private static final String TAG_PREFIX = "tag:";
+    private static final int BATCH_SIZE = 500;
+
+    // Drops members that have already expired, records the key with its expiry time
+    // and only pushes the set's own expiry out when the key outlives it. A brand-new
+    // set reports TTL -1 and so always gets one.
+    private static final RedisScript<Long> TAG_SCRIPT = new DefaultRedisScript<>(
+            "local now = tonumber(redis.call('time')[1]) "
+                    + "local ttl = tonumber(ARGV[2]) "
+                    + "for _, tag in ipairs(KEYS) do "
+                    + "redis.call('zremrangebyscore', tag, '-inf', now) "
+                    + "redis.call('zadd', tag, now + ttl, ARGV[1]) "
+                    + "if redis.call('ttl', tag) < ttl then redis.call('expire', tag, ttl) end "
+                    + "end return #KEYS",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * Records the key under each tag. A tag set lives as long as the longest-lived
+     * key it tracks and never holds more than the keys written within that time.
+     */
+    public void tag(String key, long ttlSeconds, String... tags) {
+        if (tags.length == 0) {
+            return;
+        }
+        try {
+            List<String> tagKeys = Arrays.stream(tags).map(tag -> TAG_PREFIX + tag).collect(Collectors.toList());
+            stringRedisTemplate.execute(TAG_SCRIPT, tagKeys, key, String.valueOf(ttlSeconds));
+        } catch (Exception e) {
+            log.warn("Failed to tag cache key {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Stops tracking a key that was deleted directly.
+     */
+    public void untag(String key, String... tags) {
+        try {
+            for (String tag : tags) {
+                stringRedisTemplate.opsForZSet().remove(TAG_PREFIX + tag, key);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to untag cache key {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes every key recorded under the tag. The tag set is first renamed away,
+     * so keys tagged while the purge runs land in a fresh set and are not lost.
+     *
+     * @return number of keys removed
+     */
+    public long invalidateTag(String tag) {
+        String tagKey = TAG_PREFIX + tag;
+        String purgeKey = tagKey + ":purge:" + UUID.randomUUID();
+        if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(tagKey))) {
+            return 0;
+        }
+        try {
+            stringRedisTemplate.rename(tagKey, purgeKey);
+        } catch (Exception e) {
+            log.debug("Tag {} vanished before purge: {}", tag, e.getMessage());
+            return 0;
+        }
+
+        long removed = 0;
+        List<String> batch = new ArrayList<>(BATCH_SIZE);
+        try (Cursor<ZSetOperations.TypedTuple<String>> members = stringRedisTemplate.opsForZSet().scan(purgeKey,
+                ScanOptions.scanOptions().count(BATCH_SIZE).build())) {
+            while (members.hasNext()) {
+                batch.add(members.next().getValue());
+                if (batch.size() == BATCH_SIZE) {
+                    removed += unlink(batch);
+                }
+            }
+        }
+        removed += unlink(batch);
+        stringRedisTemplate.unlink(purgeKey);
+        return removed;
+    }
+
+    /**
+     * Number of keys under the tag that have not expired yet, from a range count on
+     * the expiry scores.
+     */
+    public long countTag(String tag) {
+        long now = System.currentTimeMillis() / 1000;
+        Long live = stringRedisTemplate.opsForZSet().count(TAG_PREFIX + tag, now + 1, Double.POSITIVE_INFINITY);
+        return live != null ? live : 0;
+    }
+
+    /**
+     * Size of the tag set. Expired members are only dropped when the tag is next
+     * written, so this can include keys that expired since; cheap enough for a
+     * stats read.
+     */
+    public long tagSize(String tag) {
+        Long size = stringRedisTemplate.opsForZSet().zCard(TAG_PREFIX + tag);
+        return size != null ? size : 0;
+    }
+
+    /**
+     * Incrementally scans for keys matching the pattern and deletes them in batches.
+     *
+     * @return number of keys removed
+     */
+    public long deleteByScan(String pattern) {
+        long removed = 0;
+        List<String> batch = new ArrayList<>(BATCH_SIZE);
+        try (Cursor<String> keys = stringRedisTemplate.scan(
+                ScanOptions.scanOptions().match(pattern).count(BATCH_SIZE).build())) {
+            while (keys.hasNext()) {
+                batch.add(keys.next());
+                if (batch.size() == BATCH_SIZE) {
+                    removed += unlink(batch);
+                }
+            }
+        }
+        return removed + unlink(batch);
+    }
+
+    public long countByScan(String pattern) {
+        long count = 0;
+        try (Cursor<String> keys = stringRedisTemplate.scan(
+                ScanOptions.scanOptions().match(pattern).count(BATCH_SIZE).build())) {
+            while (keys.hasNext()) {
+                keys.next();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long unlink(List<String> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Long removed = stringRedisTemplate.unlink(batch);
+        batch.clear();
+        return removed != null ? removed : 0;
+    }
+}
@@ -1,13 +1,12 @@
 package com.bt.fixeddeposit.service;
 
-import com.bt.fixeddeposit.dto.FdCalculationResponse;
+import com.bt.fixeddeposit.dto.FdQuote;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
 import java.util.concurrent.TimeUnit;
 
 @Service
@@ -15,76 +14,72 @@ import java.util.concurrent.TimeUnit;
 public class RedisFdCacheService {
 
     private final StringRedisTemplate stringRedisTemplate;
+    private final RedisCacheTagService cacheTagService;
     private final ObjectMapper objectMapper;
-    private static final String FD_CALCULATION_PREFIX = "fd:calc:";
+    private static final String FD_QUOTE_PREFIX = "fd:calc:quote:";
     private static final String FD_CUSTOMER_HISTORY_PREFIX = "fd:history:";
     private static final long CACHE_TTL_HOURS = 24;
 
-    public RedisFdCacheService(StringRedisTemplate stringRedisTemplate) {
+    static final String CALCULATION_TAG = "fd:calc";
+    private static final String PRODUCT_TAG_PREFIX = "fd:calc:product:";
+    private static final String CUSTOMER_TAG_PREFIX = "fd:customer:";
+
+    public RedisFdCacheService(StringRedisTemplate stringRedisTemplate, RedisCacheTagService cacheTagService) {
         this.stringRedisTemplate = stringRedisTemplate;
+        this.cacheTagService = cacheTagService;
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
     }
 
-    public void cacheCalculation(Long customerId, String productCode, Integer tenureMonths,
-            BigDecimal principalAmount, FdCalculationResponse response) {
-        String key = buildCalculationKey(customerId, productCode, tenureMonths, principalAmount);
+    public void cacheQuote(String key, String productCode, FdQuote quote) {
+        String redisKey = FD_QUOTE_PREFIX + key;
         try {
-            String json = objectMapper.writeValueAsString(response);
-            stringRedisTemplate.opsForValue().set(key, json, CACHE_TTL_HOURS, TimeUnit.HOURS);
-            log.debug("Cached FD calculation: {}", key);
+            String json = objectMapper.writeValueAsString(quote);
+            stringRedisTemplate.opsForValue().set(redisKey, json, CACHE_TTL_HOURS, TimeUnit.HOURS);
+            cacheTagService.tag(redisKey, TimeUnit.HOURS.toSeconds(CACHE_TTL_HOURS), CALCULATION_TAG,
+                    PRODUCT_TAG_PREFIX + productCode);
+            log.debug("Cached FD quote: {}", redisKey);
         } catch (Exception e) {
-            log.error("Failed to cache FD calculation", e);
+            log.error("Failed to cache FD quote", e);
         }
     }
 
-    public FdCalculationResponse getCachedCalculation(Long customerId, String productCode,
-            Integer tenureMonths, BigDecimal principalAmount) {
-        String key = buildCalculationKey(customerId, productCode, tenureMonths, principalAmount);
-        String cached = stringRedisTemplate.opsForValue().get(key);
-        if (cached != null) {
-            log.debug("Cache hit for FD calculation: {}", key);
-            try {
-                return objectMapper.readValue(cached, FdCalculationResponse.class);
-            } catch (Exception e) {
-                log.error("Failed to deserialize cached FD calculation", e);
-                return null;
+    public FdQuote getCachedQuote(String key) {
+        String redisKey = FD_QUOTE_PREFIX + key;
+        try {
+            String cached = stringRedisTemplate.opsForValue().get(redisKey);
+            if (cached != null) {
+                log.debug("Cache hit for FD quote: {}", redisKey);
+                return objectMapper.readValue(cached, FdQuote.class);
             }
+        } catch (Exception e) {
+            log.error("Failed to read cached FD quote", e);
+            return null;
         }
-        log.debug("Cache miss for FD calculation: {}", key);
+        log.debug("Cache miss for FD quote: {}", redisKey);
         return null;
     }
 
     public void invalidateCustomerCalculations(Long customerId) {
-        String pattern = FD_CUSTOMER_HISTORY_PREFIX + customerId + ":*";
-        var keys = stringRedisTemplate.keys(pattern);
-        if (keys != null && !keys.isEmpty()) {
-            stringRedisTemplate.delete(keys);
-            log.info("Invalidated {} cached calculations for customer: {}", keys.size(), customerId);
+        long removed = cacheTagService.invalidateTag(CUSTOMER_TAG_PREFIX + customerId);
+        if (removed > 0) {
+            log.info("Invalidated {} cached calculations for customer: {}", removed, customerId);
         }
     }
 
     public void invalidateProductCalculations(String productCode) {
-        String pattern = FD_CALCULATION_PREFIX + "*:" + productCode + ":*";
-        var keys = stringRedisTemplate.keys(pattern);
-        if (keys != null && !keys.isEmpty()) {
-            stringRedisTemplate.delete(keys);
-            log.info("Invalidated {} cached calculations for product: {}", keys.size(), productCode);
+        long removed = cacheTagService.invalidateTag(PRODUCT_TAG_PREFIX + productCode);
+        if (removed > 0) {
+            log.info("Invalidated {} cached calculations for product: {}", removed, productCode);
         }
     }
 
-    private String buildCalculationKey(Long customerId, String productCode,
-            Integer tenureMonths, BigDecimal principalAmount) {
-        return String.format("%s%d:%s:%d:%s",
-                FD_CALCULATION_PREFIX, customerId, productCode, tenureMonths,
-                principalAmount.toPlainString());
-    }
-
     public void cacheCustomerHistory(Long customerId, Object history) {
         String key = FD_CUSTOMER_HISTORY_PREFIX + customerId;
         try {
             String json = objectMapper.writeValueAsString(history);
             stringRedisTemplate.opsForValue().set(key, json, CACHE_TTL_HOURS, TimeUnit.HOURS);
+            cacheTagService.tag(key, TimeUnit.HOURS.toSeconds(CACHE_TTL_HOURS), CUSTOMER_TAG_PREFIX + customerId);
             log.debug("Cached customer history for: {}", customerId);
         } catch (Exception e) {
             log.error("Failed to cache customer history", e);
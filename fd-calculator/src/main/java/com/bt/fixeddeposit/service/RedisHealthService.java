@@ -1,5 +1,6 @@
 package com.bt.fixeddeposit.service;
 
+import com.bt.fixeddeposit.event.RedisRequestResponseStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -15,6 +16,9 @@ import java.util.Map;
 public class RedisHealthService {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisCacheTagService cacheTagService;
+    private final RedisRequestResponseStore requestResponseStore;
+    private final FdQuoteCache quoteCache;
 
     public Map<String, Object> getHealthStatus() {
         Map<String, Object> health = new HashMap<>();
@@ -44,16 +48,16 @@ public class RedisHealthService {
         Map<String, Object> stats = new HashMap<>();
 
         try {
-            long fdCalcKeys = countKeysByPattern("fd:calc:*");
-            long productKeys = countKeysByPattern("product:*");
-            long tokenKeys = countKeysByPattern("auth:token:*");
-            long requestKeys = countKeysByPattern("kafka:request:*");
+            long fdCalcKeys = cacheTagService.tagSize(RedisFdCacheService.CALCULATION_TAG);
+            long productKeys = cacheTagService.tagSize(RedisProductCacheService.PRODUCT_TAG);
+            long requestKeys = requestResponseStore.pendingCount();
 
             stats.put("fd_calculations", fdCalcKeys);
             stats.put("products", productKeys);
-            stats.put("auth_tokens", tokenKeys);
             stats.put("kafka_requests", requestKeys);
-            stats.put("total_keys", fdCalcKeys + productKeys + tokenKeys + requestKeys);
+            stats.put("total_keys", fdCalcKeys + productKeys + requestKeys);
+            stats.put("fd_quotes_local", quoteCache.localSize());
+            stats.put("fd_quotes_local_hit_rate", quoteCache.localHitRate());
         } catch (Exception e) {
             stats.put("error", e.getMessage());
             log.error("Failed to get cache statistics", e);
@@ -61,14 +65,4 @@ public class RedisHealthService {
 
         return stats;
     }
-
-    private long countKeysByPattern(String pattern) {
-        try {
-            var keys = redisTemplate.keys(pattern);
-            return keys != null ? keys.size() : 0;
-        } catch (Exception e) {
-            log.warn("Failed to count keys for pattern: {}", pattern, e);
-            return 0;
-        }
-    }
 }
@@ -15,9 +15,12 @@ import java.util.concurrent.TimeUnit;
 public class RedisProductCacheService {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisCacheTagService cacheTagService;
     private static final String PRODUCT_PREFIX = "product:";
     private static final long CACHE_TTL_HOURS = 6;
 
+    static final String PRODUCT_TAG = "product";
+
     @Cacheable(value = "products", key = "#productCode")
     public ProductResponse getCachedProduct(String productCode) {
         String key = PRODUCT_PREFIX + productCode;
@@ -32,20 +35,21 @@ public class RedisProductCacheService {
     public void cacheProduct(String productCode, ProductResponse product) {
         String key = PRODUCT_PREFIX + productCode;
         redisTemplate.opsForValue().set(key, product, CACHE_TTL_HOURS, TimeUnit.HOURS);
+        cacheTagService.tag(key, TimeUnit.HOURS.toSeconds(CACHE_TTL_HOURS), PRODUCT_TAG);
         log.debug("Cached product: {}", productCode);
     }
 
     public void invalidateProduct(String productCode) {
         String key = PRODUCT_PREFIX + productCode;
         redisTemplate.delete(key);
+        cacheTagService.untag(key, PRODUCT_TAG);
         log.info("Invalidated cached product: {}", productCode);
     }
 
     public void invalidateAllProducts() {
-        var keys = redisTemplate.keys(PRODUCT_PREFIX + "*");
-        if (keys != null && !keys.isEmpty()) {
-            redisTemplate.delete(keys);
-            log.info("Invalidated {} cached products", keys.size());
+        long removed = cacheTagService.invalidateTag(PRODUCT_TAG);
+        if (removed > 0) {
+            log.info("Invalidated {} cached products", removed);
         }
     }
 }
@@ -0,0 +1,142 @@
+package com.bt.fixeddeposit.benchmark;
+
+import com.bt.fixeddeposit.event.FdCalculationRecordEvent;
+import com.bt.fixeddeposit.event.FdCalculationRequestEvent;
+import com.bt.fixeddeposit.event.FdCalculationResponseEvent;
+import com.bt.fixeddeposit.event.KafkaTopics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Kafka value (de)serialisation of the calculator's request,
+ * response and journal events, with the serializer and deserializers
+ * configured as in {@code KafkaConfig}. Every calculation pays for one journal
+ * record serialise on the request path and one deserialise in the journal listener.
+ * Not part of the surefire suite; run it from the IDE via {@link #main}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KafkaEventJsonBenchmark {
+
+    private JsonSerializer<Object> serializer;
+    private JsonDeserializer<FdCalculationRequestEvent> calculationRequestDeserializer;
+    private JsonDeserializer<FdCalculationRecordEvent> calculationRecordDeserializer;
+
+    private FdCalculationResponseEvent calculationResponse;
+    private FdCalculationRecordEvent calculationRecord;
+    private byte[] calculationRequestJson;
+    private byte[] calculationRecordJson;
+
+    @Setup
+    public void setUp() {
+        serializer = new JsonSerializer<>();
+        serializer.configure(Map.of(JsonSerializer.ADD_TYPE_INFO_HEADERS, false), false);
+        calculationRequestDeserializer = deserializer(FdCalculationRequestEvent.class);
+        calculationRecordDeserializer = deserializer(FdCalculationRecordEvent.class);
+
+        LocalDateTime now = LocalDateTime.of(2026, 10, 16, 9, 30, 15);
+        String requestId = UUID.randomUUID().toString();
+        calculationRequestJson = serializer.serialize(KafkaTopics.FD_CALCULATION_REQUEST,
+                FdCalculationRequestEvent.builder()
+                        .requestId(requestId)
+                        .customerId(1042L)
+                        .productCode("FD-REGULAR-12M")
+                        .principalAmount(new BigDecimal("250000.00"))
+                        .tenureMonths(12)
+                        .timestamp(now)
+                        .build());
+        calculationResponse = FdCalculationResponseEvent.builder()
+                .requestId(requestId)
+                .calculationId(88_231L)
+                .customerId(1042L)
+                .productCode("FD-REGULAR-12M")
+                .principalAmount(new BigDecimal("250000.00"))
+                .maturityAmount(new BigDecimal("267964.76"))
+                .interestEarned(new BigDecimal("17964.76"))
+                .effectiveRate(new BigDecimal("7.19"))
+                .tenureMonths(12)
+                .timestamp(now)
+                .build();
+        calculationRecord = FdCalculationRecordEvent.builder()
+                .recordId(UUID.randomUUID().toString())
+                .customerId(1042L)
+                .productCode("FD-REGULAR-12M")
+                .principalAmount(new BigDecimal("250000.00"))
+                .tenureMonths(12)
+                .interestRate(new BigDecimal("7.00"))
+                .compoundingFrequency(4)
+                .maturityAmount(new BigDecimal("267964.76"))
+                .interestEarned(new BigDecimal("17964.76"))
+                .effectiveRate(new BigDecimal("7.19"))
+                .currency("INR")
+                .calculationDate(now)
+                .createdAt(now)
+                .build();
+        calculationRecordJson = serializer.serialize(KafkaTopics.FD_CALCULATION_RECORD, calculationRecord);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializer.close();
+        calculationRequestDeserializer.close();
+        calculationRecordDeserializer.close();
+    }
+
+    private static <T> JsonDeserializer<T> deserializer(Class<T> type) {
+        JsonDeserializer<T> deserializer = new JsonDeserializer<>();
+        deserializer.configure(Map.of(
+                JsonDeserializer.TRUSTED_PACKAGES, "*",
+                JsonDeserializer.USE_TYPE_INFO_HEADERS, false,
+                JsonDeserializer.VALUE_DEFAULT_TYPE, type.getName()), false);
+        return deserializer;
+    }
+
+    @Benchmark
+    public FdCalculationRequestEvent deserializeCalculationRequest() {
+        return calculationRequestDeserializer.deserialize(KafkaTopics.FD_CALCULATION_REQUEST,
+                calculationRequestJson);
+    }
+
+    @Benchmark
+    public byte[] serializeCalculationResponse() {
+        return serializer.serialize(KafkaTopics.FD_CALCULATION_RESPONSE, calculationResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeCalculationRecord() {
+        return serializer.serialize(KafkaTopics.FD_CALCULATION_RECORD, calculationRecord);
+    }
+
+    @Benchmark
+    public FdCalculationRecordEvent deserializeCalculationRecord() {
+        return calculationRecordDeserializer.deserialize(KafkaTopics.FD_CALCULATION_RECORD, calculationRecordJson);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(KafkaEventJsonBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,143 @@
+package com.bt.fixeddeposit.benchmark;
+
+import com.bt.fixeddeposit.service.MaturityEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the memoised fixed-point maturity engine with the previous
+ * double/Math.pow calculation, for both the maturity amount and the annual
+ * effective rate. {@link #main} first prints the largest deviation
+ * of each path from a 50-digit reference over the benchmark inputs, then runs
+ * the throughput comparison. Not part of the surefire suite; run it from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MaturityCalculationBenchmark {
+
+    private static final int SAMPLES = 1024;
+    private static final BigDecimal[] RATES = {
+            new BigDecimal("6.50"), new BigDecimal("7.00"), new BigDecimal("7.25"), new BigDecimal("7.50") };
+
+    @Param({ "4", "12", "365" })
+    public int compoundingFrequency;
+
+    private final MaturityEngine engine = new MaturityEngine();
+    private BigDecimal[] principals;
+    private BigDecimal[] rates;
+    private int[] tenures;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        principals = new BigDecimal[SAMPLES];
+        rates = new BigDecimal[SAMPLES];
+        tenures = new int[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            principals[i] = BigDecimal.valueOf(1_000_00L + (long) (random.nextDouble() * 9_999_900_000L), 2);
+            rates[i] = RATES[random.nextInt(RATES.length)];
+            tenures[i] = 1 + random.nextInt(120);
+        }
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (SAMPLES - 1);
+        return cursor;
+    }
+
+    @Benchmark
+    public BigDecimal doublePow() {
+        int i = next();
+        return legacyMaturity(principals[i], rates[i], tenures[i], compoundingFrequency);
+    }
+
+    @Benchmark
+    public BigDecimal maturityEngine() {
+        int i = next();
+        return engine.maturityAmount(principals[i], rates[i], tenures[i], compoundingFrequency, 2);
+    }
+
+    @Benchmark
+    public BigDecimal doubleEffectiveRate() {
+        return legacyEffectiveRate(rates[next()], compoundingFrequency);
+    }
+
+    @Benchmark
+    public BigDecimal engineEffectiveRate() {
+        return engine.effectiveRate(rates[next()], compoundingFrequency, 2);
+    }
+
+    static BigDecimal legacyMaturity(BigDecimal principal, BigDecimal annualRate, int tenureMonths,
+            int compoundingFrequency) {
+        double p = principal.doubleValue();
+        double r = annualRate.divide(BigDecimal.valueOf(100), 10, RoundingMode.HALF_UP).doubleValue();
+        double t = tenureMonths / 12.0;
+        double n = compoundingFrequency;
+        return BigDecimal.valueOf(p * Math.pow(1 + (r / n), n * t)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    static BigDecimal legacyEffectiveRate(BigDecimal annualRate, int compoundingFrequency) {
+        double r = annualRate.divide(BigDecimal.valueOf(100), 10, RoundingMode.HALF_UP).doubleValue();
+        double n = compoundingFrequency;
+        return BigDecimal.valueOf((Math.pow(1 + (r / n), n) - 1) * 100).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // Whole periods only, so the reference is an exact power rounded once.
+    private static BigDecimal referenceMaturity(BigDecimal principal, BigDecimal annualRate, int years,
+            int compoundingFrequency) {
+        MathContext context = new MathContext(50);
+        BigDecimal base = BigDecimal.ONE.add(annualRate.divide(BigDecimal.valueOf(100L * compoundingFrequency),
+                context));
+        return principal.multiply(base.pow(compoundingFrequency * years, context))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static void printAccuracy() {
+        MaturityEngine engine = new MaturityEngine();
+        Random random = new Random(7);
+        for (int frequency : new int[] { 4, 12, 365 }) {
+            BigDecimal legacyWorst = BigDecimal.ZERO;
+            BigDecimal engineWorst = BigDecimal.ZERO;
+            for (int i = 0; i < 10_000; i++) {
+                BigDecimal principal = BigDecimal.valueOf(1_000_00L + (long) (random.nextDouble() * 9_999_900_000L), 2);
+                BigDecimal rate = RATES[random.nextInt(RATES.length)];
+                int years = 1 + random.nextInt(10);
+                BigDecimal reference = referenceMaturity(principal, rate, years, frequency);
+                legacyWorst = legacyWorst.max(
+                        legacyMaturity(principal, rate, years * 12, frequency).subtract(reference).abs());
+                engineWorst = engineWorst.max(
+                        engine.maturityAmount(principal, rate, years * 12, frequency, 2).subtract(reference).abs());
+            }
+            System.out.printf("n=%d: max deviation from reference, double=%s engine=%s%n",
+                    frequency, legacyWorst, engineWorst);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        printAccuracy();
+        new Runner(new OptionsBuilder().include(MaturityCalculationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
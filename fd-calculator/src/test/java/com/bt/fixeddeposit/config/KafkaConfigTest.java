@@ -0,0 +1,93 @@
+package com.bt.fixeddeposit.config;
+
+import com.bt.fixeddeposit.event.FdCalculationRecordEvent;
+import com.bt.fixeddeposit.event.KafkaTopics;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.backoff.BackOffExecution;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class KafkaConfigTest {
+
+    private KafkaConfig kafkaConfig;
+
+    @BeforeEach
+    void setUp() {
+        kafkaConfig = new KafkaConfig();
+        ReflectionTestUtils.setField(kafkaConfig, "bootstrapServers", "localhost:9092");
+        ReflectionTestUtils.setField(kafkaConfig, "journalMaxPollRecords", 500);
+        ReflectionTestUtils.setField(kafkaConfig, "journalFetchMaxWaitMs", 200);
+        ReflectionTestUtils.setField(kafkaConfig, "journalRetryInitialIntervalMs", 500L);
+        ReflectionTestUtils.setField(kafkaConfig, "journalRetryMaxIntervalMs", 30000L);
+    }
+
+    @Test
+    void calculationRecordContainer_ShouldUseDefaultErrorHandler() {
+        ConcurrentMessageListenerContainer<String, FdCalculationRecordEvent> container = kafkaConfig
+                .calculationRecordKafkaListenerContainerFactory()
+                .createContainer(KafkaTopics.FD_CALCULATION_RECORD);
+
+        assertInstanceOf(DefaultErrorHandler.class, container.getCommonErrorHandler());
+    }
+
+    @Test
+    void calculationRecordBackOff_ShouldGrowToCap() {
+        BackOffExecution execution = kafkaConfig.calculationRecordBackOff().start();
+
+        long previous = execution.nextBackOff();
+        assertEquals(500L, previous);
+        for (int attempt = 0; attempt < 20; attempt++) {
+            long next = execution.nextBackOff();
+            assertTrue(next >= previous && next <= 30000L);
+            previous = next;
+        }
+        assertEquals(30000L, previous);
+    }
+
+    @Test
+    void calculationRecordErrorHandler_WithPermanentFailure_ShouldDeadLetterWithoutRetry() {
+        List<ConsumerRecord<?, ?>> deadLettered = new ArrayList<>();
+        DefaultErrorHandler errorHandler = kafkaConfig
+                .calculationRecordErrorHandler((record, e) -> deadLettered.add(record));
+
+        boolean recovered = errorHandler.handleOne(
+                new DataIntegrityViolationException("tenure_months cannot be null"), journalRecord(),
+                mock(Consumer.class), mock(MessageListenerContainer.class));
+
+        assertTrue(recovered);
+        assertEquals(1, deadLettered.size());
+    }
+
+    @Test
+    void calculationRecordErrorHandler_WithTransientFailure_ShouldRetry() {
+        ReflectionTestUtils.setField(kafkaConfig, "journalRetryInitialIntervalMs", 1L);
+        List<ConsumerRecord<?, ?>> deadLettered = new ArrayList<>();
+        DefaultErrorHandler errorHandler = kafkaConfig
+                .calculationRecordErrorHandler((record, e) -> deadLettered.add(record));
+
+        boolean recovered = errorHandler.handleOne(
+                new TransientDataAccessResourceException("connection refused"), journalRecord(),
+                mock(Consumer.class), mock(MessageListenerContainer.class));
+
+        assertFalse(recovered);
+        assertTrue(deadLettered.isEmpty());
+    }
+
+    private ConsumerRecord<String, FdCalculationRecordEvent> journalRecord() {
+        return new ConsumerRecord<>(KafkaTopics.FD_CALCULATION_RECORD, 0, 42L, "r-1",
+                FdCalculationRecordEvent.builder().recordId("r-1").build());
+    }
+}
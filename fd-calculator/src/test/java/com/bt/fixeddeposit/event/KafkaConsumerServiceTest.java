@@ -0,0 +1,159 @@
+package com.bt.fixeddeposit.event;
+
+import com.bt.fixeddeposit.service.FdCalculationJournal;
+import com.bt.fixeddeposit.service.FdCalculationService;
+import com.bt.fixeddeposit.service.ProductSnapshotCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.KafkaException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaConsumerServiceTest {
+
+    @Mock
+    private RedisRequestResponseStore requestResponseStore;
+
+    @Mock
+    private ProductSnapshotCache productSnapshotCache;
+
+    @Mock
+    private FdCalculationService fdCalculationService;
+
+    @Mock
+    private FdCalculationJournal calculationJournal;
+
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+
+    @Mock
+    private KafkaListenerEndpointRegistry listenerRegistry;
+
+    @Mock
+    private Acknowledgment ack;
+
+    private KafkaConsumerService consumerService;
+
+    @BeforeEach
+    void setUp() {
+        consumerService = new KafkaConsumerService(requestResponseStore, productSnapshotCache, fdCalculationService,
+                calculationJournal, kafkaProducerService, listenerRegistry);
+        ReflectionTestUtils.setField(consumerService, "maxInFlight", 1000);
+        ReflectionTestUtils.setField(consumerService, "replyAttempts", 3);
+        ReflectionTestUtils.setField(consumerService, "replyBackoffMs", 1L);
+        lenient().when(fdCalculationService.calculateFdBatchAsync(anyList())).thenReturn(CompletableFuture.completedFuture(
+                List.of(new FdCalculationService.BatchOutcome(null, "Product not found: FD-404"))));
+    }
+
+    private FdCalculationRequestEvent request() {
+        return FdCalculationRequestEvent.builder()
+                .requestId("req-1")
+                .customerId(1L)
+                .productCode("FD-404")
+                .principalAmount(new BigDecimal("1000.00"))
+                .tenureMonths(12)
+                .build();
+    }
+
+    @Test
+    void handleFdCalculationRequests_WhenReplySendFailsOnce_ShouldRetryAndAcknowledge() {
+        when(kafkaProducerService.sendFdCalculationResponses(anyList()))
+                .thenReturn(CompletableFuture.failedFuture(new KafkaException("broker unavailable")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        consumerService.handleFdCalculationRequests(List.of(request()), ack);
+
+        verify(ack, timeout(2000)).acknowledge();
+        verify(kafkaProducerService, times(2)).sendFdCalculationResponses(anyList());
+    }
+
+    @Test
+    void handleFdCalculationRequests_WhenRepliesCannotBeSent_ShouldStillAcknowledgeAfterBoundedRetries() {
+        when(kafkaProducerService.sendFdCalculationResponses(anyList()))
+                .thenReturn(CompletableFuture.failedFuture(new KafkaException("broker unavailable")));
+
+        consumerService.handleFdCalculationRequests(List.of(request()), ack);
+
+        verify(ack, timeout(2000)).acknowledge();
+        verify(kafkaProducerService, times(3)).sendFdCalculationResponses(anyList());
+    }
+
+    @Test
+    void handleFdCalculationRequests_WhenSendThrows_ShouldStillAcknowledge() {
+        when(kafkaProducerService.sendFdCalculationResponses(anyList()))
+                .thenThrow(new KafkaException("producer closed"));
+
+        consumerService.handleFdCalculationRequests(List.of(request()), ack);
+
+        verify(ack, timeout(2000)).acknowledge();
+        verify(kafkaProducerService, times(3)).sendFdCalculationResponses(anyList());
+    }
+
+    private FdCalculationRecordEvent record(String recordId) {
+        return FdCalculationRecordEvent.builder()
+                .recordId(recordId)
+                .customerId(1L)
+                .productCode("FD-STD")
+                .build();
+    }
+
+    @Test
+    void handleCalculationRecords_WhenBatchInserts_ShouldPersistOnce() {
+        List<FdCalculationRecordEvent> records = List.of(record("r-1"), record("r-2"));
+
+        consumerService.handleCalculationRecords(records);
+
+        verify(calculationJournal).persist(records);
+        verifyNoMoreInteractions(calculationJournal);
+    }
+
+    @Test
+    void handleCalculationRecords_WhenOneRecordIsBad_ShouldFailAtItsIndex() {
+        FdCalculationRecordEvent bad = record("r-bad");
+        List<FdCalculationRecordEvent> records = Arrays.asList(record("r-1"), null, bad, record("r-3"));
+        when(calculationJournal.persist(anyList())).thenAnswer(invocation -> {
+            List<FdCalculationRecordEvent> batch = invocation.getArgument(0);
+            if (batch.contains(bad)) {
+                throw new DataIntegrityViolationException("tenure_months cannot be null");
+            }
+            return batch.size();
+        });
+
+        BatchListenerFailedException failure = assertThrows(BatchListenerFailedException.class,
+                () -> consumerService.handleCalculationRecords(records));
+
+        assertEquals(2, failure.getIndex());
+        assertInstanceOf(DataIntegrityViolationException.class, failure.getCause());
+        verify(calculationJournal).persist(List.of(records.get(0)));
+        verify(calculationJournal, never()).persist(List.of(records.get(3)));
+    }
+
+    @Test
+    void handleCalculationRecords_WhenDatabaseIsDown_ShouldFailAtFirstRecordWithTransientCause() {
+        when(calculationJournal.persist(anyList()))
+                .thenThrow(new TransientDataAccessResourceException("connection refused"));
+
+        BatchListenerFailedException failure = assertThrows(BatchListenerFailedException.class,
+                () -> consumerService.handleCalculationRecords(List.of(record("r-1"), record("r-2"))));
+
+        assertEquals(0, failure.getIndex());
+        assertInstanceOf(TransientDataAccessResourceException.class, failure.getCause());
+    }
+}
@@ -1,5 +1,6 @@
 package com.bt.fixeddeposit.repository;
 
+import com.bt.fixeddeposit.dto.FdCalculationSummary;
 import com.bt.fixeddeposit.entity.FdCalculation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -7,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -146,4 +148,28 @@ class FdCalculationRepositoryTest {
         assertNotNull(count);
         assertEquals(0, count);
     }
+
+    @Test
+    void testFindHistoryPage_KeysetOrdering() {
+        LocalDateTime createdAt = LocalDateTime.now().withNano(0);
+        calculation1.setCreatedAt(createdAt);
+        calculation2.setCreatedAt(createdAt);
+        FdCalculation first = entityManager.persist(calculation1);
+        FdCalculation second = entityManager.persist(calculation2);
+        entityManager.flush();
+
+        LocalDateTime since = createdAt.minusDays(1);
+        List<FdCalculationSummary> page = calculationRepository.findHistoryPage(1L, since, Limit.of(1));
+
+        assertEquals(1, page.size());
+        assertEquals(second.getId(), page.get(0).getId());
+
+        List<FdCalculationSummary> next = calculationRepository.findHistoryPageAfter(1L, since,
+                page.get(0).getCreatedAt(), page.get(0).getId(), Limit.of(1));
+
+        assertEquals(1, next.size());
+        assertEquals(first.getId(), next.get(0).getId());
+        assertTrue(calculationRepository.findHistoryPageAfter(1L, since,
+                next.get(0).getCreatedAt(), next.get(0).getId(), Limit.of(1)).isEmpty());
+    }
 }
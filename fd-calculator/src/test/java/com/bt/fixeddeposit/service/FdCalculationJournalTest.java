@@ -0,0 +1,101 @@
+package com.bt.fixeddeposit.service;
+
+import com.bt.fixeddeposit.entity.FdCalculation;
+import com.bt.fixeddeposit.event.KafkaProducerService;
+import com.bt.fixeddeposit.repository.FdCalculationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FdCalculationJournalTest {
+
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+
+    @Mock
+    private FdCalculationRepository calculationRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private FdCalculationJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        journal = new FdCalculationJournal(kafkaProducerService, calculationRepository, jdbcTemplate, 100, 10);
+        ReflectionTestUtils.setField(journal, "sendTimeoutMs", 1000L);
+    }
+
+    private FdCalculation calculation(Long customerId) {
+        return FdCalculation.builder()
+                .customerId(customerId)
+                .productCode("FD-001")
+                .principalAmount(new BigDecimal("100000.00"))
+                .tenureMonths(12)
+                .interestRate(new BigDecimal("7.00"))
+                .compoundingFrequency(4)
+                .maturityAmount(new BigDecimal("107185.90"))
+                .interestEarned(new BigDecimal("7185.90"))
+                .effectiveRate(new BigDecimal("7.19"))
+                .currency("USD")
+                .build();
+    }
+
+    @Test
+    void record_JournalAcknowledged_ShouldNotTouchDatabase() {
+        doReturn(CompletableFuture.completedFuture(null)).when(kafkaProducerService).sendCalculationRecord(any());
+
+        FdCalculation recorded = journal.record(calculation(1L));
+
+        assertNotNull(recorded.getRecordId());
+        assertNotNull(recorded.getCreatedAt());
+        assertNull(recorded.getId());
+        assertEquals(1, journal.pendingCount());
+        verifyNoInteractions(calculationRepository);
+    }
+
+    @Test
+    void record_JournalUnavailable_ShouldSaveDirectly() {
+        doReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")))
+                .when(kafkaProducerService).sendCalculationRecord(any());
+        when(calculationRepository.save(any(FdCalculation.class))).thenAnswer(invocation -> {
+            FdCalculation saved = invocation.getArgument(0);
+            saved.setId(7L);
+            return saved;
+        });
+
+        FdCalculation recorded = journal.record(calculation(1L));
+
+        assertEquals(7L, recorded.getId());
+        assertEquals(0, journal.pendingCount());
+    }
+
+    @Test
+    void pendingFor_ShouldSkipOtherCustomersAndDropPersistedRecords() {
+        doReturn(CompletableFuture.completedFuture(null)).when(kafkaProducerService).sendCalculationRecord(any());
+        FdCalculation persisted = journal.record(calculation(1L));
+        FdCalculation waiting = journal.record(calculation(1L));
+        journal.record(calculation(2L));
+
+        List<FdCalculation> pending = journal.pendingFor(1L, LocalDateTime.now().minusMinutes(1),
+                Set.of(persisted.getRecordId()));
+
+        assertEquals(List.of(waiting), pending);
+        assertEquals(2, journal.pendingCount());
+    }
+}
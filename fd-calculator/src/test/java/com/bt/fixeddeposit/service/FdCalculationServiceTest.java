@@ -1,31 +1,47 @@
 package com.bt.fixeddeposit.service;
 
+import com.bt.fixeddeposit.dto.FdCalculationPage;
 import com.bt.fixeddeposit.dto.FdCalculationRequest;
 import com.bt.fixeddeposit.dto.FdCalculationResponse;
+import com.bt.fixeddeposit.dto.FdCalculationSummary;
+import com.bt.fixeddeposit.dto.FdComparisonCell;
+import com.bt.fixeddeposit.dto.FdComparisonRequest;
+import com.bt.fixeddeposit.dto.FdComparisonResponse;
+import com.bt.fixeddeposit.dto.FdQuote;
 import com.bt.fixeddeposit.dto.external.ProductResponse;
 import com.bt.fixeddeposit.entity.FdCalculation;
+import com.bt.fixeddeposit.event.CustomerValidationRequest;
 import com.bt.fixeddeposit.event.CustomerValidationResponse;
 import com.bt.fixeddeposit.event.KafkaProducerService;
 import com.bt.fixeddeposit.event.ProductDetailsResponse;
+import com.bt.fixeddeposit.event.RedisRequestResponseStore;
 import com.bt.fixeddeposit.event.RequestResponseStore;
 import com.bt.fixeddeposit.exception.*;
 import com.bt.fixeddeposit.repository.FdCalculationRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.util.ReflectionTestUtils;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -44,6 +60,21 @@ class FdCalculationServiceTest {
         @Mock
         private RequestResponseStore requestResponseStore;
 
+        @Mock
+        private RedisRequestResponseStore redisRequestResponseStore;
+
+        @Mock
+        private ProductSnapshotCache productSnapshotCache;
+
+        @Mock
+        private FdQuoteCache quoteCache;
+
+        @Mock
+        private FdCalculationJournal calculationJournal;
+
+        @Spy
+        private MaturityEngine maturityEngine = new MaturityEngine();
+
         @InjectMocks
         private FdCalculationService calculationService;
 
@@ -104,6 +135,8 @@ class FdCalculationServiceTest {
                                 .thenReturn(null);
                 when(calculationRepository.findByCustomerIdOrderByCreatedAtDesc(any()))
                                 .thenReturn(Collections.emptyList());
+                when(quoteCache.get(any(), any(), anyInt(), anyInt(), any(), any()))
+                                .thenAnswer(invocation -> invocation.<Supplier<FdQuote>>getArgument(5).get());
         }
 
         @Test
@@ -138,7 +171,7 @@ class FdCalculationServiceTest {
                                         }
                                 });
 
-                when(calculationRepository.save(any(FdCalculation.class))).thenReturn(savedCalculation);
+                when(calculationJournal.record(any(FdCalculation.class))).thenReturn(savedCalculation);
 
                 FdCalculationResponse response = calculationService.calculateFd(validRequest, authToken);
 
@@ -149,7 +182,8 @@ class FdCalculationServiceTest {
                 assertNotNull(response.getMaturityAmount());
                 assertTrue(response.getMaturityAmount().compareTo(response.getPrincipalAmount()) > 0);
 
-                verify(calculationRepository).save(any(FdCalculation.class));
+                verify(calculationJournal).record(any(FdCalculation.class));
+                verify(calculationRepository, never()).save(any(FdCalculation.class));
         }
 
         @Test
@@ -321,30 +355,197 @@ class FdCalculationServiceTest {
                 verify(calculationRepository).findById(eq(1L));
         }
 
+        private FdCalculationSummary summary(long id, LocalDateTime createdAt) {
+                return new FdCalculationSummary(id, null, 1L, "FD-001", BigDecimal.valueOf(100000), 12,
+                                BigDecimal.valueOf(6.5), 4, BigDecimal.valueOf(106659.46),
+                                BigDecimal.valueOf(6659.46), BigDecimal.valueOf(6.66), "USD", createdAt, createdAt);
+        }
+
+        private ProductDetailsResponse productDetails() {
+                return ProductDetailsResponse.builder()
+                                .productId(1L)
+                                .productCode("FD-001")
+                                .productName("Fixed Deposit - Regular")
+                                .minAmount(BigDecimal.valueOf(10000))
+                                .maxAmount(BigDecimal.valueOf(10000000))
+                                .minTermMonths(6)
+                                .maxTermMonths(120)
+                                .minInterestRate(BigDecimal.valueOf(6.5))
+                                .maxInterestRate(BigDecimal.valueOf(7.5))
+                                .currency("USD")
+                                .compoundingFrequency("QUARTERLY")
+                                .status("ACTIVE")
+                                .build();
+        }
+
         @Test
-        void testGetCalculationHistory_Success() {
-                List<FdCalculation> calculations = Arrays.asList(savedCalculation, savedCalculation);
-                when(calculationRepository.findByCustomerIdOrderByCreatedAtDesc(eq(1L))).thenReturn(calculations);
+        void testLoadHistoryPage_ShouldReturnCursorWhenMoreRowsExist() {
+                LocalDateTime now = LocalDateTime.now();
+                when(productSnapshotCache.find(eq("FD-001"))).thenReturn(Optional.of(productDetails()));
+                when(calculationRepository.findHistoryPage(eq(1L), any(LocalDateTime.class), eq(Limit.of(3))))
+                                .thenReturn(List.of(summary(9L, now), summary(8L, now), summary(7L, now.minusDays(1))));
+
+                FdCalculationPage page = calculationService.loadHistoryPage(1L, now.minusYears(1), null, 2);
+
+                assertEquals(2, page.getCalculations().size());
+                assertEquals(9L, page.getCalculations().get(0).getId());
+                assertEquals("Fixed Deposit - Regular", page.getCalculations().get(0).getProductName());
+                assertNotNull(page.getNextCursor());
+
+                when(calculationRepository.findHistoryPageAfter(eq(1L), any(LocalDateTime.class), eq(now), eq(8L),
+                                eq(Limit.of(3))))
+                                .thenReturn(List.of(summary(7L, now.minusDays(1))));
+
+                FdCalculationPage next = calculationService.loadHistoryPage(1L, now.minusYears(1),
+                                page.getNextCursor(), 2);
+
+                assertEquals(1, next.getCalculations().size());
+                assertNull(next.getNextCursor());
+                verify(calculationJournal, times(1)).pendingFor(eq(1L), any(), any());
+                verify(kafkaProducerService, never()).sendProductDetailsRequest(any());
+        }
 
-                List<FdCalculationResponse> response = calculationService.getCalculationHistory(1L, authToken);
+        @Test
+        void testLoadHistoryPage_InvalidCursorOrLimit() {
+                assertThrows(InvalidCalculationDataException.class,
+                                () -> calculationService.loadHistoryPage(1L, LocalDateTime.now(), "not-a-cursor", 10));
+                assertThrows(InvalidCalculationDataException.class,
+                                () -> calculationService.loadHistoryPage(1L, LocalDateTime.now(), null, 0));
+        }
 
-                assertNotNull(response);
-                assertEquals(2, response.size());
+        @Test
+        void testCompareProducts_ShouldPriceGridAndFailOnlyOutOfRangeCells() {
+                when(productSnapshotCache.find(eq("FD-001"))).thenReturn(Optional.of(productDetails()));
 
-                verify(calculationRepository).findByCustomerIdOrderByCreatedAtDesc(eq(1L));
+                FdComparisonResponse response = calculationService.compareProducts(FdComparisonRequest.builder()
+                                .principalAmount(BigDecimal.valueOf(100000))
+                                .productCodes(List.of("FD-001"))
+                                .minTenureMonths(3)
+                                .maxTenureMonths(12)
+                                .tenureStepMonths(3)
+                                .build());
+
+                assertEquals(List.of(3, 6, 9, 12), response.getTenureMonths());
+                assertEquals(4, response.getCells().size());
+                assertNotNull(response.getCells().get(0).getError());
+                assertNull(response.getCells().get(0).getMaturityAmount());
+                FdComparisonCell yearly = response.getCells().get(3);
+                assertNull(yearly.getError());
+                assertEquals(4, yearly.getCompoundingFrequency());
+                assertEquals(0, yearly.getInterestRate().compareTo(new BigDecimal("7.0")));
+                assertEquals(new BigDecimal("7.19"), yearly.getEffectiveRate());
+                assertEquals(new BigDecimal("107185.90"), yearly.getMaturityAmount());
+                verify(calculationRepository, never()).save(any());
         }
 
         @Test
-        void testGetRecentCalculations_Success() {
-                List<FdCalculation> calculations = Arrays.asList(savedCalculation);
-                when(calculationRepository.findRecentCalculationsByCustomer(eq(1L), any(LocalDateTime.class)))
-                                .thenReturn(calculations);
+        void testCalculateFdBatch_ShouldLookUpEachIdOnceAndSaveOnceInRequestOrder() {
+                Map<String, Long> customersByRequestId = stubCustomerLookups(Set.of());
+                when(redisRequestResponseStore.getResponseAsync(any(), eq(ProductDetailsResponse.class), anyLong(),
+                                any(TimeUnit.class)))
+                                .thenAnswer(invocation -> CompletableFuture.completedFuture(productDetails()));
+                stubSaveAll();
+
+                List<FdCalculationService.BatchOutcome> outcomes = calculationService.calculateFdBatch(List.of(
+                                batchRequest(1L, "FD-001", 100000),
+                                batchRequest(2L, "FD-002", 200000),
+                                batchRequest(1L, "FD-001", 300000),
+                                batchRequest(2L, "FD-001", 400000)));
+
+                verify(kafkaProducerService, times(2)).sendProductDetailsRequest(any());
+                verify(kafkaProducerService, times(2)).sendCustomerValidationRequest(any());
+                assertEquals(Set.of(1L, 2L), Set.copyOf(customersByRequestId.values()));
+                verify(calculationRepository, times(1)).saveAll(anyList());
+                verify(calculationRepository, never()).save(any());
 
-                List<FdCalculationResponse> response = calculationService.getRecentCalculations(1L, 30, authToken);
+                assertEquals(List.of(1L, 2L, 1L, 2L), outcomes.stream()
+                                .map(outcome -> outcome.response().getCustomerId()).toList());
+                assertEquals(List.of(100000, 200000, 300000, 400000), outcomes.stream()
+                                .map(outcome -> outcome.response().getPrincipalAmount().intValue()).toList());
+        }
 
-                assertNotNull(response);
-                assertEquals(1, response.size());
+        @Test
+        void testCalculateFdBatch_WhenSomeRequestsFail_ShouldOnlyFailThoseOutcomes() {
+                stubCustomerLookups(Set.of(3L));
+                ProductDetailsResponse inactive = productDetails();
+                inactive.setProductCode("FD-002");
+                inactive.setStatus("INACTIVE");
+                when(productSnapshotCache.find(eq("FD-001"))).thenReturn(Optional.of(productDetails()));
+                when(productSnapshotCache.find(eq("FD-002"))).thenReturn(Optional.of(inactive));
+                ArgumentCaptor<List<FdCalculation>> saved = stubSaveAll();
+
+                List<FdCalculationService.BatchOutcome> outcomes = calculationService.calculateFdBatch(List.of(
+                                batchRequest(1L, "FD-001", 100000),
+                                batchRequest(1L, "FD-002", 100000),
+                                batchRequest(1L, "FD-001", 5000),
+                                batchRequest(3L, "FD-001", 100000),
+                                batchRequest(2L, "FD-001", 200000)));
+
+                assertEquals(5, outcomes.size());
+                assertNull(outcomes.get(0).error());
+                assertTrue(outcomes.get(1).error().contains("not active"));
+                assertNotNull(outcomes.get(2).error());
+                assertTrue(outcomes.get(3).error().contains("Customer not found"));
+                assertEquals(2L, outcomes.get(4).response().getCustomerId());
+                assertEquals(2, saved.getValue().size());
+                verify(kafkaProducerService, never()).sendProductDetailsRequest(any());
+        }
+
+        @Test
+        void testCalculateFdBatch_WhenEveryRequestFails_ShouldNotSave() {
+                stubCustomerLookups(Set.of(1L));
+                when(productSnapshotCache.find(eq("FD-001"))).thenReturn(Optional.of(productDetails()));
+
+                List<FdCalculationService.BatchOutcome> outcomes = calculationService.calculateFdBatch(List.of(
+                                batchRequest(1L, "FD-001", 100000)));
+
+                assertNotNull(outcomes.get(0).error());
+                verify(calculationRepository, never()).saveAll(anyList());
+        }
+
+        private FdCalculationRequest batchRequest(long customerId, String productCode, int principal) {
+                return FdCalculationRequest.builder()
+                                .customerId(customerId)
+                                .productCode(productCode)
+                                .principalAmount(BigDecimal.valueOf(principal))
+                                .tenureMonths(12)
+                                .build();
+        }
+
+        /**
+         * Answers each customer validation request sent over Kafka, treating the given
+         * customers as unknown. Returns the customer asked for under each request id.
+         */
+        private Map<String, Long> stubCustomerLookups(Set<Long> unknownCustomers) {
+                Map<String, Long> customersByRequestId = new ConcurrentHashMap<>();
+                doAnswer(invocation -> {
+                        CustomerValidationRequest request = invocation.getArgument(0);
+                        customersByRequestId.put(request.getRequestId(), request.getCustomerId());
+                        return null;
+                }).when(kafkaProducerService).sendCustomerValidationRequest(any());
+                when(redisRequestResponseStore.getResponseAsync(any(), eq(CustomerValidationResponse.class),
+                                anyLong(), any(TimeUnit.class)))
+                                .thenAnswer(invocation -> {
+                                        Long customerId = customersByRequestId.get(invocation.<String>getArgument(0));
+                                        boolean known = !unknownCustomers.contains(customerId);
+                                        return CompletableFuture.completedFuture(CustomerValidationResponse.builder()
+                                                        .customerId(customerId)
+                                                        .valid(known)
+                                                        .active(known)
+                                                        .build());
+                                });
+                return customersByRequestId;
+        }
 
-                verify(calculationRepository).findRecentCalculationsByCustomer(eq(1L), any(LocalDateTime.class));
+        @SuppressWarnings("unchecked")
+        private ArgumentCaptor<List<FdCalculation>> stubSaveAll() {
+                ArgumentCaptor<List<FdCalculation>> saved = ArgumentCaptor.forClass(List.class);
+                AtomicLong ids = new AtomicLong();
+                when(calculationRepository.saveAll(saved.capture())).thenAnswer(invocation -> {
+                        List<FdCalculation> calculations = invocation.getArgument(0);
+                        calculations.forEach(calculation -> calculation.setId(ids.incrementAndGet()));
+                        return calculations;
+                });
+                return saved;
         }
 }
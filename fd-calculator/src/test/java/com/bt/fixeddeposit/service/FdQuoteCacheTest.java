@@ -0,0 +1,87 @@
+package com.bt.fixeddeposit.service;
+
+import com.bt.fixeddeposit.dto.FdQuote;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FdQuoteCacheTest {
+
+    @Mock
+    private RedisFdCacheService redisFdCacheService;
+
+    private FdQuoteCache quoteCache;
+    private AtomicInteger calculations;
+    private Supplier<FdQuote> calculator;
+
+    @BeforeEach
+    void setUp() {
+        quoteCache = new FdQuoteCache(redisFdCacheService, 100, 30);
+        calculations = new AtomicInteger();
+        calculator = () -> {
+            calculations.incrementAndGet();
+            return FdQuote.builder().maturityAmount(new BigDecimal("106659.46")).build();
+        };
+    }
+
+    @Test
+    void get_EquivalentPrincipals_ShouldShareOneEntry() {
+        FdQuote first = quoteCache.get("FD-001", 42L, 12, 4, new BigDecimal("100000"), calculator);
+        FdQuote second = quoteCache.get("FD-001", 42L, 12, 4, new BigDecimal("100000.00"), calculator);
+
+        assertSame(first, second);
+        assertEquals(1, calculations.get());
+        verify(redisFdCacheService).getCachedQuote("FD-001:42:12:4:100000");
+        verify(redisFdCacheService).cacheQuote("FD-001:42:12:4:100000", "FD-001", first);
+    }
+
+    @Test
+    void get_NewProductVersion_ShouldMissAndRecalculate() {
+        quoteCache.get("FD-001", 42L, 12, 4, new BigDecimal("100000"), calculator);
+        quoteCache.get("FD-001", 43L, 12, 4, new BigDecimal("100000"), calculator);
+
+        assertEquals(2, calculations.get());
+    }
+
+    @Test
+    void get_RedisHit_ShouldNotRecalculate() {
+        FdQuote shared = FdQuote.builder().maturityAmount(new BigDecimal("106659.46")).build();
+        when(redisFdCacheService.getCachedQuote("FD-001:42:12:4:250000.5")).thenReturn(shared);
+
+        assertSame(shared, quoteCache.get("FD-001", 42L, 12, 4, new BigDecimal("250000.50"), calculator));
+        assertEquals(0, calculations.get());
+        verify(redisFdCacheService, never()).cacheQuote(any(), any(), any());
+    }
+
+    @Test
+    void get_RedisHit_ShouldFillLocalTier() {
+        FdQuote shared = FdQuote.builder().maturityAmount(new BigDecimal("106659.46")).build();
+        when(redisFdCacheService.getCachedQuote("FD-001:42:12:4:100000")).thenReturn(shared);
+
+        quoteCache.get("FD-001", 42L, 12, 4, new BigDecimal("100000"), calculator);
+
+        assertSame(shared, quoteCache.get("FD-001", 42L, 12, 4, new BigDecimal("100000"), calculator));
+        verify(redisFdCacheService, times(1)).getCachedQuote("FD-001:42:12:4:100000");
+        assertEquals(1, quoteCache.localSize());
+    }
+
+    @Test
+    void get_UnversionedProduct_ShouldBypassCache() {
+        quoteCache.get("FD-001", null, 12, 4, new BigDecimal("100000"), calculator);
+        quoteCache.get("FD-001", null, 12, 4, new BigDecimal("100000"), calculator);
+
+        assertEquals(2, calculations.get());
+        verifyNoInteractions(redisFdCacheService);
+    }
+}
@@ -0,0 +1,64 @@
+package com.bt.fixeddeposit.service;
+
+import com.bt.fixeddeposit.dto.FdScheduleEntry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MaturityScheduleTest {
+
+    private final MaturityEngine engine = new MaturityEngine();
+
+    private List<FdScheduleEntry> drain(MaturitySchedule schedule) {
+        List<FdScheduleEntry> entries = new ArrayList<>();
+        schedule.forEachRemaining(entries::add);
+        return entries;
+    }
+
+    @Test
+    void schedule_Quarterly_ShouldChainBalancesAndEndOnMaturity() {
+        BigDecimal principal = new BigDecimal("100000.00");
+        BigDecimal rate = new BigDecimal("7.00");
+        List<FdScheduleEntry> entries = drain(new MaturitySchedule(engine, principal, rate, 24, 4, 2));
+
+        assertEquals(8, entries.size());
+        assertEquals(new BigDecimal("101750.00"), entries.get(0).getClosingBalance());
+        assertEquals(new BigDecimal("1750.00"), entries.get(0).getInterestEarned());
+        for (int i = 1; i < entries.size(); i++) {
+            assertEquals(entries.get(i - 1).getClosingBalance(), entries.get(i).getOpeningBalance());
+            assertEquals(i + 1, entries.get(i).getPeriod());
+        }
+
+        FdScheduleEntry last = entries.get(entries.size() - 1);
+        assertFalse(last.getPartialPeriod());
+        assertEquals(engine.maturityAmount(principal, rate, 24, 4, 2), last.getClosingBalance());
+        assertEquals(last.getClosingBalance().subtract(principal), last.getCumulativeInterest());
+    }
+
+    @Test
+    void schedule_DailyOverWholeMonths_ShouldEndOnPartialPeriod() {
+        BigDecimal principal = new BigDecimal("250000.00");
+        BigDecimal rate = new BigDecimal("6.50");
+        List<FdScheduleEntry> entries = drain(new MaturitySchedule(engine, principal, rate, 7, 365, 2));
+
+        // 365 * 7 / 12 = 212.9 periods
+        assertEquals(213, entries.size());
+        assertTrue(entries.get(212).getPartialPeriod());
+        assertFalse(entries.get(211).getPartialPeriod());
+        assertEquals(engine.maturityAmount(principal, rate, 7, 365, 2), entries.get(212).getClosingBalance());
+    }
+
+    @Test
+    void schedule_SimpleInterest_ShouldAccrueMonthly() {
+        List<FdScheduleEntry> entries = drain(
+                new MaturitySchedule(engine, new BigDecimal("120000"), new BigDecimal("6"), 12, 0, 2));
+
+        assertEquals(12, entries.size());
+        entries.forEach(entry -> assertEquals(new BigDecimal("600.00"), entry.getInterestEarned()));
+        assertEquals(new BigDecimal("127200.00"), entries.get(11).getClosingBalance());
+    }
+}
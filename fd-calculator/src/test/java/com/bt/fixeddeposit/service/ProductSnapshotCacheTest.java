@@ -0,0 +1,66 @@
+package com.bt.fixeddeposit.service;
+
+import com.bt.fixeddeposit.event.ProductDetailsResponse;
+import com.bt.fixeddeposit.event.ProductSnapshotEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSnapshotCacheTest {
+
+    private ProductSnapshotCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProductSnapshotCache();
+    }
+
+    @Test
+    void apply_WhenNewerVersionArrives_ShouldReplaceSnapshot() {
+        cache.apply("FD001", snapshot(1L, "6.00"));
+        cache.apply("FD001", snapshot(2L, "6.50"));
+
+        ProductDetailsResponse product = cache.find("FD001").orElseThrow();
+        assertEquals(new BigDecimal("6.50"), product.getMaxInterestRate());
+        assertEquals("FD001", product.getProductCode());
+    }
+
+    @Test
+    void apply_WhenStaleVersionArrives_ShouldKeepNewerSnapshot() {
+        cache.apply("FD001", snapshot(2L, "6.50"));
+        cache.apply("FD001", snapshot(1L, "6.00"));
+
+        assertEquals(new BigDecimal("6.50"), cache.find("FD001").orElseThrow().getMaxInterestRate());
+    }
+
+    @Test
+    void apply_WhenTombstoneArrives_ShouldRemoveProduct() {
+        cache.apply("FD001", snapshot(1L, "6.00"));
+        cache.apply("FD001", null);
+
+        assertTrue(cache.find("FD001").isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void apply_WhenKeyIsMissing_ShouldIgnoreRecord() {
+        cache.apply(null, snapshot(1L, "6.00"));
+
+        assertEquals(0, cache.size());
+    }
+
+    private ProductSnapshotEvent snapshot(long version, String maxRate) {
+        return ProductSnapshotEvent.builder()
+                .productId(1L)
+                .productCode("FD001")
+                .productName("Fixed Deposit")
+                .status("ACTIVE")
+                .maxInterestRate(new BigDecimal(maxRate))
+                .currency("INR")
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.bt.fixeddeposit.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisCacheTagServiceTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private Cursor<ZSetOperations.TypedTuple<String>> members;
+
+    private RedisCacheTagService tagService;
+
+    @BeforeEach
+    void setUp() {
+        tagService = new RedisCacheTagService(stringRedisTemplate);
+    }
+
+    @Test
+    void tagSize_ShouldReadCardinalityWithoutWalkingTheSet() {
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.zCard("tag:" + RedisFdCacheService.CALCULATION_TAG)).thenReturn(42L);
+
+        assertEquals(42, tagService.tagSize(RedisFdCacheService.CALCULATION_TAG));
+        verify(zSetOperations).zCard("tag:" + RedisFdCacheService.CALCULATION_TAG);
+        verifyNoMoreInteractions(zSetOperations);
+    }
+
+    @Test
+    void tagSize_WhenTagIsMissing_ShouldReturnZero() {
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.zCard("tag:" + RedisProductCacheService.PRODUCT_TAG)).thenReturn(null);
+
+        assertEquals(0, tagService.tagSize(RedisProductCacheService.PRODUCT_TAG));
+    }
+
+    @Test
+    void invalidateTag_ShouldUnlinkEveryCalculationCachedForTheProduct() {
+        String tagKey = "tag:fd:calc:product:FD-STD";
+        when(stringRedisTemplate.hasKey(tagKey)).thenReturn(true);
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.scan(startsWith(tagKey + ":purge:"), any(ScanOptions.class))).thenReturn(members);
+        when(members.hasNext()).thenReturn(true, false);
+        when(members.next()).thenReturn(new DefaultTypedTuple<>("fd:calc:1", 1.0));
+        when(stringRedisTemplate.unlink(List.of("fd:calc:1"))).thenReturn(1L);
+
+        assertEquals(1, tagService.invalidateTag("fd:calc:product:FD-STD"));
+        verify(stringRedisTemplate).unlink(startsWith(tagKey + ":purge:"));
+    }
+}
@@ -966,6 +966,7 @@ const dict: Dict = {
   "wallet.transactions.subtitle": { en: "Your wallet transaction history", ja: "ウォレット取引履歴" },
   "wallet.transactions.empty": { en: "No transactions yet", ja: "まだ取引はありません" },
   "wallet.transactions.balance": { en: "Balance", ja: "残高" },
+  "wallet.transactions.loadMore": { en: "Load more", ja: "さらに読み込む" },
   "wallet.quickActions.title": { en: "Quick Actions", ja: "クイック操作" },
   "wallet.quickActions.viewAccounts": { en: "View My Accounts", ja: "マイ口座を表示" },
   "wallet.quickActions.fdCalculator": { en: "FD Calculator", ja: "定期預金計算機" },
@@ -25,6 +25,11 @@ interface LedgerEntry {
   createdAt: string
 }
 
+interface LedgerPage {
+  entries: LedgerEntry[]
+  nextCursor: string | null
+}
+
 interface Summary {
   contractAddress: string
   treasuryAddress: string
@@ -69,10 +74,15 @@ export function CashCachedDashboard() {
   const { preferredCurrency, formatTokens, formatConvertedTokens } = useStablecoinConversion()
   const [isLoading, setIsLoading] = useState(true)
   const [history, setHistory] = useState<LedgerEntry[]>([])
+  // Cursor for the next page of the customer's older entries; null once all are loaded.
+  const [historyCursor, setHistoryCursor] = useState<string | null>(null)
+  const [isLoadingMoreHistory, setIsLoadingMoreHistory] = useState(false)
+  const [isExportingHistory, setIsExportingHistory] = useState(false)
   const [allHistory, setAllHistory] = useState<LedgerEntry[]>([])
   const [allPage, setAllPage] = useState(0)
-  const [allSize, setAllSize] = useState(25)
-  const [allTotalPages, setAllTotalPages] = useState(0)
+  const [allSize] = useState(25)
+  // allCursors[n] is the cursor that loads page n; page 0 needs none.
+  const [allCursors, setAllCursors] = useState<(string | null)[]>([null])
   const [isLoadingAll, setIsLoadingAll] = useState(false)
   const [summary, setSummary] = useState<Summary | null>(null)
   const [customers, setCustomers] = useState<CustomerOption[]>([])
@@ -125,17 +135,66 @@ export function CashCachedDashboard() {
     }
     try {
       const historyResp = await api.get(`/api/financials/wallet/history/${id}`)
-      const payload = unwrapApiData<LedgerEntry[]>(historyResp?.data) ?? []
-      const entries = Array.isArray(payload) ? payload : []
+      const payload = unwrapApiData<LedgerPage>(historyResp?.data)
+      const entries = Array.isArray(payload?.entries) ? payload.entries : []
       setHistory(entries)
+      setHistoryCursor(payload?.nextCursor ?? null)
       return entries
     } catch {
       toast.error('Unable to refresh history')
       setHistory([])
+      setHistoryCursor(null)
       return []
     }
   }
 
+  const loadMoreHistory = async () => {
+    const id = canManage ? selectedCustomer?.id : user?.id
+    if (!id || !historyCursor) {
+      return
+    }
+    setIsLoadingMoreHistory(true)
+    try {
+      const historyResp = await api.get(`/api/financials/wallet/history/${id}`, {
+        params: { cursor: historyCursor },
+      })
+      const payload = unwrapApiData<LedgerPage>(historyResp?.data)
+      const entries = Array.isArray(payload?.entries) ? payload.entries : []
+      setHistory((current) => [...current, ...entries])
+      setHistoryCursor(payload?.nextCursor ?? null)
+    } catch {
+      toast.error('Unable to load more history')
+    } finally {
+      setIsLoadingMoreHistory(false)
+    }
+  }
+
+  // Streams the customer's full history as NDJSON, oldest pages included.
+  const exportHistory = async () => {
+    const id = canManage ? selectedCustomer?.id : user?.id
+    if (!id) {
+      return
+    }
+    setIsExportingHistory(true)
+    try {
+      const response = await api.get(`/api/financials/wallet/history/${id}/export`, {
+        responseType: 'blob',
+      })
+      const url = window.URL.createObjectURL(new Blob([response.data]))
+      const link = document.createElement('a')
+      link.href = url
+      link.setAttribute('download', `cashcached-history-${id}.ndjson`)
+      document.body.appendChild(link)
+      link.click()
+      link.parentNode?.removeChild(link)
+      window.URL.revokeObjectURL(url)
+    } catch {
+      toast.error('Unable to export history')
+    } finally {
+      setIsExportingHistory(false)
+    }
+  }
+
   const refreshAllHistory = async (page = allPage, size = allSize) => {
     if (!canManage) {
       return
@@ -143,17 +202,14 @@ export function CashCachedDashboard() {
     setIsLoadingAll(true)
     try {
       const response = await api.get('/api/financials/wallet/history/all', {
-        params: { page, size },
+        params: { cursor: allCursors[page] ?? undefined, limit: size },
       })
-      const payload = unwrapApiData<any>(response?.data) ?? {}
-      const content = Array.isArray(payload?.content) ? payload.content : []
-      const resolvedPage = Number(payload?.number ?? payload?.pageable?.pageNumber ?? page)
-      const resolvedSize = Number(payload?.size ?? payload?.pageable?.pageSize ?? size)
-      const resolvedTotalPages = Number(payload?.totalPages ?? 0)
-      setAllHistory(content)
-      setAllPage(Number.isFinite(resolvedPage) ? resolvedPage : page)
-      setAllSize(Number.isFinite(resolvedSize) ? resolvedSize : size)
-      setAllTotalPages(Number.isFinite(resolvedTotalPages) ? resolvedTotalPages : 0)
+      const payload = unwrapApiData<LedgerPage>(response?.data)
+      const entries = Array.isArray(payload?.entries) ? payload.entries : []
+      const nextCursor = payload?.nextCursor ?? null
+      setAllHistory(entries)
+      setAllPage(page)
+      setAllCursors((cursors) => [...cursors.slice(0, page + 1), nextCursor])
     } catch {
       toast.error('Unable to load global history')
       setAllHistory([])
@@ -790,6 +846,19 @@ export function CashCachedDashboard() {
               {canManage && <TabsTrigger value="all">All</TabsTrigger>}
             </TabsList>
             <TabsContent value="customer">
+              <div className="flex items-center justify-between mb-3">
+                <div className="text-sm text-muted-foreground">
+                  Showing {history.length} entries
+                </div>
+                <Button
+                  variant="outline"
+                  size="sm"
+                  disabled={isExportingHistory || history.length === 0}
+                  onClick={exportHistory}
+                >
+                  {isExportingHistory ? 'Exporting…' : 'Export'}
+                </Button>
+              </div>
               <div className="overflow-x-auto">
                 <Table>
                   <TableHeader>
@@ -853,12 +922,24 @@ export function CashCachedDashboard() {
                   </TableBody>
                 </Table>
               </div>
+              {historyCursor && (
+                <div className="flex justify-center mt-3">
+                  <Button
+                    variant="outline"
+                    size="sm"
+                    disabled={isLoadingMoreHistory}
+                    onClick={loadMoreHistory}
+                  >
+                    {isLoadingMoreHistory ? 'Loading…' : 'Load more'}
+                  </Button>
+                </div>
+              )}
             </TabsContent>
             {canManage && (
               <TabsContent value="all">
                 <div className="flex items-center justify-between mb-3">
                   <div className="text-sm text-muted-foreground">
-                    Page {allPage + 1} of {Math.max(allTotalPages, 1)}
+                    Page {allPage + 1}
                   </div>
                   <div className="flex gap-2">
                     <Button
@@ -872,7 +953,7 @@ export function CashCachedDashboard() {
                     <Button
                       variant="outline"
                       size="sm"
-                      disabled={isLoadingAll || allPage >= allTotalPages - 1}
+                      disabled={isLoadingAll || !allCursors[allPage + 1]}
                       onClick={() => refreshAllHistory(allPage + 1, allSize)}
                     >
                       Next
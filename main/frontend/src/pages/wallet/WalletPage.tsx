@@ -26,6 +26,8 @@ import { toast } from "sonner";
 import { formatCurrency } from "@/lib/currency";
 import { Tabs, TabsContent, TabsList, TabsTrigger } from "@/components/ui/tabs";
 
+const TRANSACTIONS_PAGE_SIZE = 10;
+
 interface Transaction {
   id: string;
   type: string;
@@ -48,6 +50,9 @@ export function WalletPage() {
   const [isProcessing, setIsProcessing] = useState(false);
   const [transactions, setTransactions] = useState<Transaction[]>([]);
   const [isLoadingTransactions, setIsLoadingTransactions] = useState(false);
+  // Cursor for the next page of older transactions; null once all are loaded.
+  const [transactionsCursor, setTransactionsCursor] = useState<string | null>(null);
+  const [isLoadingMoreTransactions, setIsLoadingMoreTransactions] = useState(false);
 
 
   const parseAmount = (value: string) => {
@@ -107,35 +112,42 @@ export function WalletPage() {
     }
   };
 
-  const fetchTransactions = async () => {
+  const toTransaction = (item: any): Transaction => {
+    const changeAmount = Number(item.changeAmount) || 0;
+    const balanceAfter = Number(item.balanceAfter) || 0;
+
+    const convertedAmount = convertCurrency(changeAmount, baseCurrency, preferredCurrency);
+    const convertedBalance = convertCurrency(balanceAfter, baseCurrency, preferredCurrency);
+
+    return {
+      id: item.id?.toString() || '',
+      type: changeAmount >= 0 ? 'CREDIT' : 'DEBIT',
+      amount: convertedAmount,
+      description: item.reference || 'Transaction',
+      timestamp: item.createdAt || new Date().toISOString(),
+      balanceAfter: convertedBalance,
+    };
+  };
+
+  // Without a cursor the list is reloaded from the newest entry; with one, the
+  // next page of older entries is appended.
+  const fetchTransactions = async (cursor: string | null = null) => {
     if (!user?.id) return;
-    setIsLoadingTransactions(true);
+    const setLoading = cursor ? setIsLoadingMoreTransactions : setIsLoadingTransactions;
+    setLoading(true);
     try {
       const response = await api.get(
-        `/api/financials/wallet/transactions/${user.id}`
+        `/api/financials/wallet/transactions/${user.id}`,
+        { params: { cursor: cursor ?? undefined, limit: TRANSACTIONS_PAGE_SIZE } }
       );
-      const list = response?.data?.data ?? response?.data ?? [];
-      const mapped = (Array.isArray(list) ? list : []).map((item: any) => {
-        const changeAmount = Number(item.changeAmount) || 0;
-        const balanceAfter = Number(item.balanceAfter) || 0;
-        
-        const convertedAmount = convertCurrency(changeAmount, baseCurrency, preferredCurrency);
-        const convertedBalance = convertCurrency(balanceAfter, baseCurrency, preferredCurrency);
-        
-        return {
-          id: item.id?.toString() || '',
-          type: changeAmount >= 0 ? 'CREDIT' : 'DEBIT',
-          amount: convertedAmount,
-          description: item.reference || 'Transaction',
-          timestamp: item.createdAt || new Date().toISOString(),
-          balanceAfter: convertedBalance,
-        };
-      });
-      setTransactions(mapped);
+      const list = response?.data?.data?.entries ?? [];
+      const mapped = (Array.isArray(list) ? list : []).map(toTransaction);
+      setTransactions((current) => (cursor ? [...current, ...mapped] : mapped));
+      setTransactionsCursor(response?.data?.data?.nextCursor ?? null);
     } catch (error) {
       console.error("Failed to load transactions", error);
     } finally {
-      setIsLoadingTransactions(false);
+      setLoading(false);
     }
   };
 
@@ -426,7 +438,7 @@ export function WalletPage() {
             </div>
           ) : (
             <div className="space-y-3">
-              {transactions.slice(0, 10).map((txn) => (
+              {transactions.map((txn) => (
                 <div
                   key={txn.id}
                   className="flex items-center justify-between p-4 border rounded-lg hover:bg-muted/50 transition-colors"
@@ -469,6 +481,17 @@ export function WalletPage() {
                   </div>
                 </div>
               ))}
+              {transactionsCursor && (
+                <Button
+                  variant="outline"
+                  className="w-full"
+                  disabled={isLoadingMoreTransactions}
+                  onClick={() => fetchTransactions(transactionsCursor)}
+                >
+                  {isLoadingMoreTransactions && <RefreshCw className="h-4 w-4 mr-2 animate-spin" />}
+                  {t("wallet.transactions.loadMore")}
+                </Button>
+              )}
             </div>
           )}
         </CardContent>
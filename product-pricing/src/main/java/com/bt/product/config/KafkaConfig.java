@@ -71,6 +71,39 @@ public class KafkaConfig {
                 .build();
     }
 
+    @Bean
+    public NewTopic pricingRuleChangedTopic() {
+        return TopicBuilder.name(KafkaTopics.PRICING_RULE_CHANGED)
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public NewTopic pricingEvaluationRequestTopic() {
+        return TopicBuilder.name(KafkaTopics.PRICING_EVALUATION_REQUEST)
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public NewTopic pricingEvaluationResponseTopic() {
+        return TopicBuilder.name(KafkaTopics.PRICING_EVALUATION_RESPONSE)
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public NewTopic productSnapshotTopic() {
+        return TopicBuilder.name(KafkaTopics.PRODUCT_SNAPSHOT)
+                .partitions(3)
+                .replicas(1)
+                .compact()
+                .build();
+    }
+
     @Bean
     public NewTopic fdCalculationRequestTopic() {
         return TopicBuilder.name(KafkaTopics.FD_CALCULATION_REQUEST)
@@ -139,6 +172,53 @@ public class KafkaConfig {
         return new DefaultKafkaConsumerFactory<>(props);
     }
 
+    // Consumer configuration for pricing rule change events, used to drop compiled
+    // rule indexes on every instance.
+    @Bean
+    public ConsumerFactory<String, PricingRuleChangedEvent> pricingRuleChangedConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG,
+                StringDeserializer.class);
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG,
+                JsonDeserializer.class);
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, PricingRuleChangedEvent.class.getName());
+        props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    @Bean
+    public KafkaListenerContainerFactory<ConcurrentMessageListenerContainer<String, PricingRuleChangedEvent>> pricingRuleChangedKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, PricingRuleChangedEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(pricingRuleChangedConsumerFactory());
+        return factory;
+    }
+
+    // Consumer configuration for batch pricing evaluation requests
+    @Bean
+    public ConsumerFactory<String, PricingEvaluationRequest> pricingEvaluationConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG,
+                StringDeserializer.class);
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG,
+                JsonDeserializer.class);
+        props.put(org.apache.kafka.clients.consumer.ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, PricingEvaluationRequest.class.getName());
+        props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+        props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    @Bean
+    public KafkaListenerContainerFactory<ConcurrentMessageListenerContainer<String, PricingEvaluationRequest>> pricingEvaluationKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, PricingEvaluationRequest> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(pricingEvaluationConsumerFactory());
+        return factory;
+    }
+
     @Bean
     public KafkaListenerContainerFactory<ConcurrentMessageListenerContainer<String, Object>> kafkaListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
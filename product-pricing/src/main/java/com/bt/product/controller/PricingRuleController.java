@@ -1,6 +1,8 @@
 package com.bt.product.controller;
 
 import com.bt.product.dto.ApiResponse;
+import com.bt.product.dto.PricingEvaluationItem;
+import com.bt.product.dto.PricingEvaluationResult;
 import com.bt.product.dto.PricingRuleRequest;
 import com.bt.product.dto.PricingRuleResponse;
 import com.bt.product.service.PricingRuleService;
@@ -101,6 +103,19 @@ public class PricingRuleController {
                 .build());
     }
 
+    @PostMapping("/evaluate/batch")
+    @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN', 'BANKOFFICER')")
+    @Operation(summary = "Evaluate pricing in bulk", description = "Resolves the matched rule, applied rate and fee for many product/balance pairs")
+    public ResponseEntity<ApiResponse<List<PricingEvaluationResult>>> evaluateBatch(
+            @Valid @RequestBody List<@Valid PricingEvaluationItem> items) {
+        List<PricingEvaluationResult> results = pricingRuleService.evaluateBatch(items);
+        return ResponseEntity.ok(ApiResponse.<List<PricingEvaluationResult>>builder()
+                .success(true)
+                .message("Pricing evaluated successfully")
+                .data(results)
+                .build());
+    }
+
     @DeleteMapping("/{ruleId}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Delete pricing rule", description = "Deletes a pricing rule by ID (Admin only)")
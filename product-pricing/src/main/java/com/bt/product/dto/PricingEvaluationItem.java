@@ -0,0 +1,27 @@
+package com.bt.product.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import java.math.BigDecimal;
+
+/**
+ * One (product, balance, base rate) tuple to price. The key is echoed back so the
+ * caller can correlate results, typically with an account number.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PricingEvaluationItem {
+
+    private String key;
+
+    @NotNull(message = "Product id is required")
+    private Long productId;
+
+    @NotNull(message = "Balance is required")
+    private BigDecimal balance;
+
+    private BigDecimal baseRate;
+}
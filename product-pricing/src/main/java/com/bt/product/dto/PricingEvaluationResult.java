@@ -0,0 +1,18 @@
+package com.bt.product.dto;
+
+import lombok.*;
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PricingEvaluationResult {
+
+    private String key;
+    private Long productId;
+    private PricingRuleResponse rule;
+    private BigDecimal appliedRate;
+    private BigDecimal fee;
+}
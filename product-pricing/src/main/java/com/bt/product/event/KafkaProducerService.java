@@ -29,4 +29,42 @@ public class KafkaProducerService {
             log.error("Failed to send product details response for request: {}", response.getRequestId(), e);
         }
     }
+
+    public void sendPricingEvaluationResponse(PricingEvaluationResponse response) {
+        try {
+            kafkaTemplate.send(KafkaTopics.PRICING_EVALUATION_RESPONSE, response.getRequestId(), response);
+            log.info("Pricing evaluation response sent for request: {}", response.getRequestId());
+        } catch (Exception e) {
+            log.error("Failed to send pricing evaluation response for request: {}", response.getRequestId(), e);
+        }
+    }
+
+    public void sendPricingRuleChanged(PricingRuleChangedEvent event) {
+        try {
+            kafkaTemplate.send(KafkaTopics.PRICING_RULE_CHANGED, String.valueOf(event.getProductId()), event);
+            log.info("Pricing rule {} {} for product {}", event.getRuleId(), event.getChangeType(),
+                    event.getProductId());
+        } catch (Exception e) {
+            log.error("Failed to publish pricing rule change for rule: {}", event.getRuleId(), e);
+        }
+    }
+
+    public void sendProductSnapshot(ProductSnapshotEvent snapshot) {
+        try {
+            kafkaTemplate.send(KafkaTopics.PRODUCT_SNAPSHOT, snapshot.getProductCode(), snapshot);
+            log.debug("Product snapshot published for {} (version {})", snapshot.getProductCode(),
+                    snapshot.getVersion());
+        } catch (Exception e) {
+            log.error("Failed to publish product snapshot for {}", snapshot.getProductCode(), e);
+        }
+    }
+
+    public void sendProductTombstone(String productCode) {
+        try {
+            kafkaTemplate.send(KafkaTopics.PRODUCT_SNAPSHOT, productCode, null);
+            log.info("Product tombstone published for {}", productCode);
+        } catch (Exception e) {
+            log.error("Failed to publish product tombstone for {}", productCode, e);
+        }
+    }
 }
@@ -15,6 +15,14 @@ public class KafkaTopics {
     public static final String PRODUCT_UPDATED = "product.updated";
     public static final String PRODUCT_DETAILS_REQUEST = "product.details.request";
     public static final String PRODUCT_DETAILS_RESPONSE = "product.details.response";
+    public static final String PRICING_RULE_CHANGED = "pricing.rule.changed";
+    public static final String PRICING_EVALUATION_REQUEST = "pricing.evaluation.request";
+    public static final String PRICING_EVALUATION_RESPONSE = "pricing.evaluation.response";
+    public static final String PRODUCT_SNAPSHOT = "product.snapshot";
+
+    // Every instance reads the rule change topic in full through manual assignment
+    // rather than a consumer group; must match the partition count in KafkaConfig.
+    public static final String PRICING_RULE_CHANGED_PARTITIONS = "0-2";
 
     // FD Calculator Service Topics
     public static final String FD_CALCULATION_REQUEST = "fd.calculation.request";
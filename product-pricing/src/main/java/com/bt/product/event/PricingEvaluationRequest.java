@@ -0,0 +1,22 @@
+package com.bt.product.event;
+
+import com.bt.product.dto.PricingEvaluationItem;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PricingEvaluationRequest implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String requestId;
+    private List<PricingEvaluationItem> items;
+    private LocalDateTime timestamp;
+}
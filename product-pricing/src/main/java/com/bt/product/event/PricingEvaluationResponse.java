@@ -0,0 +1,23 @@
+package com.bt.product.event;
+
+import com.bt.product.dto.PricingEvaluationResult;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PricingEvaluationResponse implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String requestId;
+    private List<PricingEvaluationResult> results;
+    private String error;
+    private LocalDateTime timestamp;
+}
@@ -32,6 +32,7 @@ public class ProductDetailsResponse implements Serializable {
     private String compoundingFrequency;
     private BigDecimal prematurePenaltyRate;
     private Integer prematurePenaltyGraceDays;
+    private Long version;
     private String error;
     private LocalDateTime timestamp;
 }
@@ -0,0 +1,39 @@
+package com.bt.product.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import com.bt.product.entity.ProductType;
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Full state of a product, keyed by product code on the log-compacted
+ * {@code product.snapshot} topic. A deleted product is published as a tombstone
+ * (null value) under its code, so compaction eventually drops it entirely.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSnapshotEvent implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long productId;
+    private String productCode;
+    private String productName;
+    private ProductType productType;
+    private String status;
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private Integer minTermMonths;
+    private Integer maxTermMonths;
+    private BigDecimal minInterestRate;
+    private BigDecimal maxInterestRate;
+    private String currency;
+    private String compoundingFrequency;
+    private BigDecimal prematurePenaltyRate;
+    private Integer prematurePenaltyGraceDays;
+    private long version;
+}
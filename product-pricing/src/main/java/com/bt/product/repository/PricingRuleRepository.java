@@ -18,7 +18,7 @@ public interface PricingRuleRepository extends JpaRepository<PricingRule, Long>
 
     List<PricingRule> findByIsActiveTrue();
 
-    @Query("SELECT pr FROM PricingRule pr WHERE pr.product.id = :productId AND pr.isActive = true ORDER BY pr.priorityOrder ASC")
+    @Query("SELECT pr FROM PricingRule pr JOIN FETCH pr.product p WHERE p.id = :productId AND pr.isActive = true ORDER BY pr.priorityOrder ASC")
     List<PricingRule> findActiveRulesByProductIdOrderByPriority(@Param("productId") Long productId);
 
     @Query("SELECT pr FROM PricingRule pr WHERE pr.product.id = :productId AND pr.isActive = true AND " +
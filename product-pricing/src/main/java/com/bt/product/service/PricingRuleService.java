@@ -1,27 +1,51 @@
 package com.bt.product.service;
 
+import com.bt.product.dto.PricingEvaluationItem;
+import com.bt.product.dto.PricingEvaluationResult;
 import com.bt.product.dto.PricingRuleRequest;
 import com.bt.product.dto.PricingRuleResponse;
 import com.bt.product.entity.PricingRule;
 import com.bt.product.entity.Product;
+import com.bt.product.event.KafkaProducerService;
+import com.bt.product.event.PricingRuleChangedEvent;
 import com.bt.product.exception.InvalidProductDataException;
 import com.bt.product.exception.PricingRuleNotFoundException;
 import com.bt.product.exception.ProductNotFoundException;
 import com.bt.product.repository.PricingRuleRepository;
 import com.bt.product.repository.ProductRepository;
+import com.bt.product.util.PricingRuleIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PricingRuleService {
 
+    private static final BigDecimal ONE_HUNDRED = new BigDecimal("100");
+    private static final int MAX_EVALUATION_BATCH = 5000;
+
     private final PricingRuleRepository pricingRuleRepository;
     private final ProductRepository productRepository;
+    private final KafkaProducerService kafkaProducerService;
+    private final Map<Long, PricingRuleIndex<PricingRuleResponse>> ruleIndexes = new ConcurrentHashMap<>();
+    // Bumped by every eviction, per product and for all products at once. An index
+    // compiled across an eviction may hold the rules from before the change, so it
+    // is returned to its caller but never cached.
+    private final Map<Long, AtomicLong> ruleGenerations = new ConcurrentHashMap<>();
+    private final AtomicLong allRulesGeneration = new AtomicLong();
 
     @Transactional
     public PricingRuleResponse createPricingRule(PricingRuleRequest request) {
@@ -45,6 +69,7 @@ public class PricingRuleService {
                 .build();
 
         PricingRule savedRule = pricingRuleRepository.save(pricingRule);
+        publishRuleChange(savedRule, PricingRuleChangedEvent.ChangeType.CREATED);
         return mapToPricingRuleResponse(savedRule);
     }
 
@@ -66,6 +91,7 @@ public class PricingRuleService {
         pricingRule.setIsActive(request.getIsActive());
 
         PricingRule updatedRule = pricingRuleRepository.save(pricingRule);
+        publishRuleChange(updatedRule, PricingRuleChangedEvent.ChangeType.UPDATED);
         return mapToPricingRuleResponse(updatedRule);
     }
 
@@ -87,10 +113,113 @@ public class PricingRuleService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Served from the product's compiled rule index, which is built on first use
+     * and dropped whenever one of the product's rules changes.
+     */
     public List<PricingRuleResponse> getApplicableRulesForAmount(Long productId, BigDecimal amount) {
-        return pricingRuleRepository.findApplicableRulesByAmount(productId, amount).stream()
+        return ruleIndex(productId).matching(amount);
+    }
+
+    /**
+     * Prices many (product, balance, base rate) tuples in one call. Each distinct
+     * product's rule index is resolved once for the whole batch.
+     */
+    public List<PricingEvaluationResult> evaluateBatch(List<PricingEvaluationItem> items) {
+        if (items == null || items.isEmpty()) {
+            return List.of();
+        }
+        if (items.size() > MAX_EVALUATION_BATCH) {
+            throw new InvalidProductDataException(
+                    "Pricing evaluation batch cannot exceed " + MAX_EVALUATION_BATCH + " items");
+        }
+        Map<Long, PricingRuleIndex<PricingRuleResponse>> indexes = new HashMap<>();
+        List<PricingEvaluationResult> results = new ArrayList<>(items.size());
+        for (PricingEvaluationItem item : items) {
+            if (item == null || item.getProductId() == null) {
+                throw new InvalidProductDataException("Product id is required for every evaluation item");
+            }
+            PricingRuleIndex<PricingRuleResponse> index = indexes.computeIfAbsent(item.getProductId(),
+                    this::ruleIndex);
+            PricingRuleResponse matched = index.bestMatch(item.getBalance());
+            results.add(PricingEvaluationResult.builder()
+                    .key(item.getKey())
+                    .productId(item.getProductId())
+                    .rule(matched)
+                    .appliedRate(resolveAppliedRate(item.getBaseRate(), matched))
+                    .fee(resolveFee(matched))
+                    .build());
+        }
+        return results;
+    }
+
+    private BigDecimal resolveAppliedRate(BigDecimal baseRate, PricingRuleResponse rule) {
+        if (rule != null && rule.getInterestRate() != null && rule.getInterestRate().compareTo(BigDecimal.ZERO) > 0) {
+            return rule.getInterestRate().setScale(2, RoundingMode.HALF_UP);
+        }
+        if (baseRate == null) {
+            return null;
+        }
+        if (rule != null && rule.getDiscountPercentage() != null
+                && rule.getDiscountPercentage().compareTo(BigDecimal.ZERO) > 0) {
+            BigDecimal discount = baseRate.multiply(rule.getDiscountPercentage()).divide(ONE_HUNDRED, 4,
+                    RoundingMode.HALF_UP);
+            BigDecimal adjusted = baseRate.subtract(discount);
+            return adjusted.compareTo(BigDecimal.ZERO) < 0 ? BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP)
+                    : adjusted.setScale(2, RoundingMode.HALF_UP);
+        }
+        return baseRate.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private BigDecimal resolveFee(PricingRuleResponse rule) {
+        if (rule == null || rule.getFeeAmount() == null || rule.getFeeAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return null;
+        }
+        return rule.getFeeAmount().setScale(0, RoundingMode.CEILING);
+    }
+
+    public void evictRuleIndex(Long productId) {
+        if (productId != null) {
+            ruleGenerations.computeIfAbsent(productId, id -> new AtomicLong()).incrementAndGet();
+            ruleIndexes.remove(productId);
+        } else {
+            allRulesGeneration.incrementAndGet();
+            ruleIndexes.clear();
+        }
+    }
+
+    /**
+     * Returns the cached index or compiles one. The rules are read in their own
+     * transaction after the generation is taken, and the result is only cached if
+     * no eviction happened in between; checking and publishing is atomic with
+     * respect to {@link #evictRuleIndex}, which bumps the generation first.
+     */
+    private PricingRuleIndex<PricingRuleResponse> ruleIndex(Long productId) {
+        PricingRuleIndex<PricingRuleResponse> cached = ruleIndexes.get(productId);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = generation(productId);
+        PricingRuleIndex<PricingRuleResponse> compiled = compileRuleIndex(productId);
+        PricingRuleIndex<PricingRuleResponse> published = ruleIndexes.compute(productId,
+                (id, current) -> current != null ? current : generation(id) == generation ? compiled : null);
+        return published != null ? published : compiled;
+    }
+
+    // Both counters only grow, so the sum changes whenever either of them does.
+    private long generation(Long productId) {
+        AtomicLong productGeneration = ruleGenerations.get(productId);
+        return allRulesGeneration.get() + (productGeneration != null ? productGeneration.get() : 0);
+    }
+
+    private PricingRuleIndex<PricingRuleResponse> compileRuleIndex(Long productId) {
+        List<PricingRuleResponse> rules = pricingRuleRepository.findActiveRulesByProductIdOrderByPriority(productId)
+                .stream()
                 .map(this::mapToPricingRuleResponse)
                 .collect(Collectors.toList());
+        return PricingRuleIndex.compile(rules, PricingRuleResponse::getMinThreshold,
+                PricingRuleResponse::getMaxThreshold, PricingRuleResponse::getPriorityOrder,
+                rule -> Boolean.TRUE.equals(rule.getIsActive()));
     }
 
     @Transactional
@@ -98,6 +227,32 @@ public class PricingRuleService {
         PricingRule pricingRule = pricingRuleRepository.findById(ruleId)
                 .orElseThrow(() -> new PricingRuleNotFoundException("Pricing rule not found with id: " + ruleId));
         pricingRuleRepository.delete(pricingRule);
+        publishRuleChange(pricingRule, PricingRuleChangedEvent.ChangeType.DELETED);
+    }
+
+    /**
+     * Announces the change once the surrounding transaction has committed, so
+     * consumers that reload on the event never read the pre-change rules.
+     */
+    private void publishRuleChange(PricingRule rule, PricingRuleChangedEvent.ChangeType changeType) {
+        PricingRuleChangedEvent event = PricingRuleChangedEvent.builder()
+                .productId(rule.getProduct() != null ? rule.getProduct().getId() : null)
+                .ruleId(rule.getId())
+                .changeType(changeType)
+                .occurredAt(LocalDateTime.now())
+                .build();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictRuleIndex(event.getProductId());
+                    kafkaProducerService.sendPricingRuleChanged(event);
+                }
+            });
+        } else {
+            evictRuleIndex(event.getProductId());
+            kafkaProducerService.sendPricingRuleChanged(event);
+        }
     }
 
     private void validatePricingRuleRequest(PricingRuleRequest request) {
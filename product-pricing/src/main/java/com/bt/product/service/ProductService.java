@@ -26,6 +26,7 @@ public class ProductService {
     private final ProductRepository productRepository;
     private final PricingRuleRepository pricingRuleRepository;
     private final CurrencyConverter currencyConverter;
+    private final ProductSnapshotPublisher snapshotPublisher;
 
     @Transactional
     @CacheEvict(value = "products", allEntries = true)
@@ -59,6 +60,7 @@ public class ProductService {
                 .build();
 
         Product savedProduct = productRepository.save(product);
+        snapshotPublisher.publishUpsert(savedProduct);
         return mapToProductResponse(savedProduct);
     }
 
@@ -89,7 +91,8 @@ public class ProductService {
         product.setPrematurePenaltyRate(request.getPrematurePenaltyRate());
         product.setPrematurePenaltyGraceDays(request.getPrematurePenaltyGraceDays());
 
-        Product updatedProduct = productRepository.save(product);
+        Product updatedProduct = productRepository.saveAndFlush(product);
+        snapshotPublisher.publishUpsert(updatedProduct);
         return mapToProductResponse(updatedProduct);
     }
 
@@ -165,6 +168,7 @@ public class ProductService {
         Product product = productRepository.findByProductCode(productCode)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found with code: " + productCode));
         productRepository.delete(product);
+        snapshotPublisher.publishDelete(productCode);
     }
 
     private void validateProductRequest(ProductRequest request) {
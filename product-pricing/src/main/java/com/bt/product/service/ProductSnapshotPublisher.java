@@ -0,0 +1,88 @@
+package com.bt.product.service;
+
+import com.bt.product.entity.Product;
+import com.bt.product.event.KafkaProducerService;
+import com.bt.product.event.ProductSnapshotEvent;
+import com.bt.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Keeps the {@code product.snapshot} topic in step with the products table.
+ * Consumers rebuild their local product map by reading the topic from the
+ * beginning, so every upsert and delete is published after commit, and the
+ * whole catalogue is republished on startup to cover changes made while the
+ * service was down.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSnapshotPublisher {
+
+    private final ProductRepository productRepository;
+    private final KafkaProducerService kafkaProducerService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void publishAll() {
+        try {
+            List<Product> products = productRepository.findAll();
+            products.forEach(product -> kafkaProducerService.sendProductSnapshot(toSnapshot(product)));
+            log.info("Published {} product snapshots", products.size());
+        } catch (Exception e) {
+            log.error("Failed to publish product snapshots on startup", e);
+        }
+    }
+
+    public void publishUpsert(Product product) {
+        ProductSnapshotEvent snapshot = toSnapshot(product);
+        afterCommit(() -> kafkaProducerService.sendProductSnapshot(snapshot));
+    }
+
+    public void publishDelete(String productCode) {
+        afterCommit(() -> kafkaProducerService.sendProductTombstone(productCode));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private ProductSnapshotEvent toSnapshot(Product product) {
+        return ProductSnapshotEvent.builder()
+                .productId(product.getId())
+                .productCode(product.getProductCode())
+                .productName(product.getProductName())
+                .productType(product.getProductType())
+                .status(product.getStatus() != null ? product.getStatus().toString() : null)
+                .minAmount(product.getMinAmount())
+                .maxAmount(product.getMaxAmount())
+                .minTermMonths(product.getMinTermMonths())
+                .maxTermMonths(product.getMaxTermMonths())
+                .minInterestRate(product.getMinInterestRate())
+                .maxInterestRate(product.getMaxInterestRate())
+                .currency(product.getCurrency() != null ? product.getCurrency().toString() : "USD")
+                .compoundingFrequency(product.getCompoundingFrequency())
+                .prematurePenaltyRate(product.getPrematurePenaltyRate())
+                .prematurePenaltyGraceDays(product.getPrematurePenaltyGraceDays())
+                .version(product.getUpdatedAt() != null
+                        ? product.getUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli()
+                        : 0L)
+                .build();
+    }
+}
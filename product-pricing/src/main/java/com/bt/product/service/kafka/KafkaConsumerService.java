@@ -1,17 +1,24 @@
 package com.bt.product.service.kafka;
 
 import com.bt.product.event.KafkaProducerService;
+import com.bt.product.event.KafkaTopics;
+import com.bt.product.event.PricingEvaluationRequest;
+import com.bt.product.event.PricingEvaluationResponse;
+import com.bt.product.event.PricingRuleChangedEvent;
 import com.bt.product.event.ProductDetailsRequest;
 import com.bt.product.event.ProductDetailsResponse;
+import com.bt.product.service.PricingRuleService;
 import com.bt.product.service.ProductService;
 import com.bt.product.dto.ProductResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 @Service
 @RequiredArgsConstructor
@@ -20,6 +27,7 @@ public class KafkaConsumerService {
 
     private final ProductService productService;
     private final KafkaProducerService kafkaProducerService;
+    private final PricingRuleService pricingRuleService;
 
     @KafkaListener(topics = "product.details.request", groupId = "product-details-consumer")
     public void handleProductDetailsRequest(@Payload ProductDetailsRequest request) {
@@ -55,6 +63,9 @@ public class KafkaConsumerService {
                     .compoundingFrequency(product.getCompoundingFrequency())
                     .prematurePenaltyRate(product.getPrematurePenaltyRate())
                     .prematurePenaltyGraceDays(product.getPrematurePenaltyGraceDays())
+                    .version(product.getUpdatedAt() != null
+                            ? product.getUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli()
+                            : null)
                     .timestamp(LocalDateTime.now())
                     .build();
 
@@ -76,4 +87,34 @@ public class KafkaConsumerService {
             kafkaProducerService.sendProductDetailsResponse(errorResponse);
         }
     }
+
+    @KafkaListener(topics = KafkaTopics.PRICING_EVALUATION_REQUEST, groupId = "product-pricing-evaluation", containerFactory = "pricingEvaluationKafkaListenerContainerFactory")
+    public void handlePricingEvaluationRequest(@Payload PricingEvaluationRequest request) {
+        if (request == null || request.getRequestId() == null) {
+            log.error("Invalid pricing evaluation request - null request or missing requestId");
+            return;
+        }
+        PricingEvaluationResponse.PricingEvaluationResponseBuilder response = PricingEvaluationResponse.builder()
+                .requestId(request.getRequestId())
+                .timestamp(LocalDateTime.now());
+        try {
+            response.results(pricingRuleService.evaluateBatch(request.getItems()));
+        } catch (Exception e) {
+            log.error("Error evaluating pricing batch for request: {}", request.getRequestId(), e);
+            response.error(e.getMessage());
+        }
+        kafkaProducerService.sendPricingEvaluationResponse(response.build());
+    }
+
+    // Every instance needs every change, so the partitions are assigned directly
+    // instead of joining a consumer group; with no committed offsets it starts
+    // from the latest offset.
+    @KafkaListener(topicPartitions = @TopicPartition(topic = KafkaTopics.PRICING_RULE_CHANGED,
+            partitions = KafkaTopics.PRICING_RULE_CHANGED_PARTITIONS),
+            containerFactory = "pricingRuleChangedKafkaListenerContainerFactory")
+    public void handlePricingRuleChanged(@Payload PricingRuleChangedEvent event) {
+        if (event != null) {
+            pricingRuleService.evictRuleIndex(event.getProductId());
+        }
+    }
 }
@@ -1,19 +1,21 @@
 package com.bt.product.util;
 
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
 import java.math.RoundingMode;
 import java.util.HashMap;
 import java.util.Map;
 
-@Slf4j
 @Component
 public class CurrencyConverter {
 
     private static final Map<String, BigDecimal> EXCHANGE_RATES = new HashMap<>();
     private static final String BASE_CURRENCY = "USD";
+    // Cross rates between every pair of known currencies, worked out once.
+    private static final Map<String, Integer> CURRENCY_INDEX = new HashMap<>();
+    private static final BigDecimal[][] CROSS_RATES;
 
     static {
         EXCHANGE_RATES.put("USD", new BigDecimal("1.0"));
@@ -28,6 +30,15 @@ public class CurrencyConverter {
         EXCHANGE_RATES.put("MXN", new BigDecimal("18.40"));
         EXCHANGE_RATES.put("ZAR", new BigDecimal("18.20"));
         EXCHANGE_RATES.put("AUD", new BigDecimal("1.52"));
+
+        String[] codes = EXCHANGE_RATES.keySet().toArray(String[]::new);
+        CROSS_RATES = new BigDecimal[codes.length][codes.length];
+        for (int from = 0; from < codes.length; from++) {
+            CURRENCY_INDEX.put(codes[from], from);
+            for (int to = 0; to < codes.length; to++) {
+                CROSS_RATES[from][to] = crossRate(EXCHANGE_RATES.get(codes[from]), EXCHANGE_RATES.get(codes[to]));
+            }
+        }
     }
 
     public BigDecimal convert(BigDecimal amount, String fromCurrency, String toCurrency) {
@@ -42,22 +53,24 @@ public class CurrencyConverter {
             return amount;
         }
 
-        BigDecimal fromRate = EXCHANGE_RATES.getOrDefault(normalizedFrom, BigDecimal.ONE);
-        BigDecimal toRate = EXCHANGE_RATES.getOrDefault(normalizedTo, BigDecimal.ONE);
-
-        BigDecimal usdAmount = amount.divide(fromRate, 4, RoundingMode.HALF_UP);
-        BigDecimal convertedAmount = usdAmount.multiply(toRate);
+        Integer from = CURRENCY_INDEX.get(normalizedFrom);
+        Integer to = CURRENCY_INDEX.get(normalizedTo);
+        BigDecimal rate = from != null && to != null
+                ? CROSS_RATES[from][to]
+                : crossRate(EXCHANGE_RATES.getOrDefault(normalizedFrom, BigDecimal.ONE),
+                        EXCHANGE_RATES.getOrDefault(normalizedTo, BigDecimal.ONE));
 
-        log.debug("Converting {} {} to {}: {} USD -> {} {}", 
-                amount, normalizedFrom, normalizedTo, usdAmount, convertedAmount, normalizedTo);
-
-        return convertedAmount.setScale(2, RoundingMode.HALF_UP);
+        return amount.multiply(rate).setScale(2, RoundingMode.HALF_UP);
     }
 
     public String getBaseCurrency() {
         return BASE_CURRENCY;
     }
 
+    private static BigDecimal crossRate(BigDecimal fromRate, BigDecimal toRate) {
+        return toRate.divide(fromRate, MathContext.DECIMAL64);
+    }
+
     private String normalizeCurrency(String currency) {
         if (currency == null || currency.isBlank()) {
             return BASE_CURRENCY;
@@ -0,0 +1,164 @@
+package com.bt.product.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Immutable lookup structure answering "which active rules apply to this amount"
+ * for one product's pricing rules.
+ *
+ * Rule thresholds are inclusive bounds. At compile time they are converted to
+ * scaled longs and the amount axis is cut into elementary segments at every rule
+ * boundary. Each segment stores its applicable rules, ordered by priority. A lookup
+ * is then a binary search over a {@code long[]} returning a precomputed list, so
+ * it takes O(log n) and allocates nothing beyond the amount conversion.
+ *
+ * An amount is mapped to twice its floored scaled value, plus one if digits were
+ * cut off. This keeps {@code min <= amount <= max} exact for amounts with any
+ * number of decimals. Rules whose thresholds do not fit the scale make the index
+ * fall back to a linear scan.
+ */
+public final class PricingRuleIndex<R> {
+
+    private static final int SCALE = 4;
+    private static final BigDecimal MAX_SCALED = BigDecimal.valueOf(Long.MAX_VALUE / 4);
+    private static final BigDecimal MIN_SCALED = MAX_SCALED.negate();
+
+    private final List<R> rules;
+    private final long[] segmentStarts;
+    private final List<List<R>> segmentRules;
+    private final Function<R, BigDecimal> minThreshold;
+    private final Function<R, BigDecimal> maxThreshold;
+
+    private PricingRuleIndex(List<R> rules, long[] segmentStarts, List<List<R>> segmentRules,
+            Function<R, BigDecimal> minThreshold, Function<R, BigDecimal> maxThreshold) {
+        this.rules = rules;
+        this.segmentStarts = segmentStarts;
+        this.segmentRules = segmentRules;
+        this.minThreshold = minThreshold;
+        this.maxThreshold = maxThreshold;
+    }
+
+    /**
+     * Compiles the active rules of one product. Rules with equal priority keep
+     * their input order.
+     */
+    public static <R> PricingRuleIndex<R> compile(List<R> candidates, Function<R, BigDecimal> minThreshold,
+            Function<R, BigDecimal> maxThreshold, Function<R, Integer> priorityOrder, Predicate<R> active) {
+        List<R> rules = candidates == null ? List.of()
+                : candidates.stream()
+                        .filter(active)
+                        .sorted(Comparator.comparing(priorityOrder, Comparator.nullsLast(Comparator.naturalOrder())))
+                        .toList();
+
+        long[] lower = new long[rules.size()];
+        long[] upperExclusive = new long[rules.size()];
+        TreeSet<Long> boundaries = new TreeSet<>();
+        boundaries.add(Long.MIN_VALUE);
+        for (int i = 0; i < rules.size(); i++) {
+            R rule = rules.get(i);
+            Long min = thresholdOrdinal(minThreshold.apply(rule));
+            Long max = thresholdOrdinal(maxThreshold.apply(rule));
+            if ((minThreshold.apply(rule) != null && min == null) || (maxThreshold.apply(rule) != null && max == null)) {
+                return new PricingRuleIndex<>(rules, null, null, minThreshold, maxThreshold);
+            }
+            lower[i] = min != null ? min : Long.MIN_VALUE;
+            upperExclusive[i] = max != null ? max + 1 : Long.MAX_VALUE;
+            boundaries.add(lower[i]);
+            if (upperExclusive[i] != Long.MAX_VALUE) {
+                boundaries.add(upperExclusive[i]);
+            }
+        }
+
+        long[] starts = boundaries.stream().mapToLong(Long::longValue).toArray();
+        List<List<R>> perSegment = new ArrayList<>(starts.length);
+        for (long start : starts) {
+            List<R> applicable = new ArrayList<>();
+            for (int i = 0; i < rules.size(); i++) {
+                if (lower[i] <= start && start < upperExclusive[i]) {
+                    applicable.add(rules.get(i));
+                }
+            }
+            perSegment.add(applicable.isEmpty() ? List.of() : Collections.unmodifiableList(applicable));
+        }
+        return new PricingRuleIndex<>(rules, starts, perSegment, minThreshold, maxThreshold);
+    }
+
+    /**
+     * Highest-priority rule whose thresholds contain the amount, or null.
+     */
+    public R bestMatch(BigDecimal amount) {
+        List<R> matching = matching(amount);
+        return matching.isEmpty() ? null : matching.get(0);
+    }
+
+    /**
+     * All rules whose thresholds contain the amount, in priority order.
+     */
+    public List<R> matching(BigDecimal amount) {
+        if (amount == null) {
+            return List.of();
+        }
+        if (segmentStarts == null) {
+            return linearMatch(amount);
+        }
+        int position = Arrays.binarySearch(segmentStarts, amountOrdinal(amount));
+        int segment = position >= 0 ? position : -position - 2;
+        return segmentRules.get(segment);
+    }
+
+    /**
+     * Active rules in priority order.
+     */
+    public List<R> rules() {
+        return rules;
+    }
+
+    public boolean isEmpty() {
+        return rules.isEmpty();
+    }
+
+    private List<R> linearMatch(BigDecimal amount) {
+        List<R> matching = new ArrayList<>();
+        for (R rule : rules) {
+            BigDecimal min = minThreshold.apply(rule);
+            BigDecimal max = maxThreshold.apply(rule);
+            if ((min == null || amount.compareTo(min) >= 0) && (max == null || amount.compareTo(max) <= 0)) {
+                matching.add(rule);
+            }
+        }
+        return matching;
+    }
+
+    private static Long thresholdOrdinal(BigDecimal threshold) {
+        if (threshold == null) {
+            return null;
+        }
+        BigDecimal scaled = threshold.movePointRight(SCALE);
+        if (scaled.stripTrailingZeros().scale() > 0 || scaled.compareTo(MAX_SCALED) > 0
+                || scaled.compareTo(MIN_SCALED) < 0) {
+            return null;
+        }
+        return scaled.longValueExact() * 2;
+    }
+
+    private static long amountOrdinal(BigDecimal amount) {
+        BigDecimal scaled = amount.movePointRight(SCALE);
+        if (scaled.compareTo(MAX_SCALED) > 0) {
+            return Long.MAX_VALUE;
+        }
+        if (scaled.compareTo(MIN_SCALED) < 0) {
+            return Long.MIN_VALUE;
+        }
+        BigDecimal floor = scaled.setScale(0, RoundingMode.FLOOR);
+        return floor.longValueExact() * 2 + (floor.compareTo(scaled) == 0 ? 0 : 1);
+    }
+}
@@ -0,0 +1,146 @@
+package com.bt.product.service;
+
+import com.bt.product.dto.PricingEvaluationItem;
+import com.bt.product.dto.PricingEvaluationResult;
+import com.bt.product.dto.PricingRuleResponse;
+import com.bt.product.entity.PricingRule;
+import com.bt.product.entity.Product;
+import com.bt.product.event.KafkaProducerService;
+import com.bt.product.repository.PricingRuleRepository;
+import com.bt.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.math.BigDecimal;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PricingRuleServiceTest {
+
+    @Mock
+    private PricingRuleRepository pricingRuleRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+
+    @InjectMocks
+    private PricingRuleService pricingRuleService;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = Product.builder().id(1L).productCode("FD001").build();
+    }
+
+    @Test
+    void getApplicableRulesForAmount_ShouldMatchInclusiveThresholdsInPriorityOrder() {
+        when(pricingRuleRepository.findActiveRulesByProductIdOrderByPriority(1L)).thenReturn(List.of(
+                rule(10L, "5000", null, 2, "7.00"),
+                rule(11L, "1000", "5000", 1, "6.50"),
+                rule(12L, null, "999.99", 3, "6.00")));
+
+        assertEquals(List.of(11L, 10L), ids(pricingRuleService.getApplicableRulesForAmount(1L,
+                new BigDecimal("5000"))));
+        assertEquals(List.of(11L), ids(pricingRuleService.getApplicableRulesForAmount(1L,
+                new BigDecimal("1000.00"))));
+        assertEquals(List.of(12L), ids(pricingRuleService.getApplicableRulesForAmount(1L,
+                new BigDecimal("999.99"))));
+        assertEquals(List.of(), ids(pricingRuleService.getApplicableRulesForAmount(1L,
+                new BigDecimal("999.995"))));
+        verify(pricingRuleRepository, times(1)).findActiveRulesByProductIdOrderByPriority(1L);
+    }
+
+    @Test
+    void evaluateBatch_ShouldCompileEachProductOnceAndApplyBestMatch() {
+        when(pricingRuleRepository.findActiveRulesByProductIdOrderByPriority(1L))
+                .thenReturn(List.of(rule(10L, "1000", null, 1, "6.50")));
+
+        List<PricingEvaluationResult> results = pricingRuleService.evaluateBatch(List.of(
+                item("a", "500", "5.00"),
+                item("b", "2500", "5.00")));
+
+        assertNull(results.get(0).getRule());
+        assertEquals(new BigDecimal("5.00"), results.get(0).getAppliedRate());
+        assertEquals(10L, results.get(1).getRule().getId());
+        assertEquals(new BigDecimal("6.50"), results.get(1).getAppliedRate());
+        verify(pricingRuleRepository, times(1)).findActiveRulesByProductIdOrderByPriority(1L);
+    }
+
+    @Test
+    void getApplicableRulesForAmount_WhenEvictedWhileCompiling_ShouldNotCacheTheStaleIndex() {
+        // The first load reads the rules as they were before a change whose
+        // after-commit eviction lands while the index is being compiled.
+        when(pricingRuleRepository.findActiveRulesByProductIdOrderByPriority(1L))
+                .thenAnswer(invocation -> {
+                    pricingRuleService.evictRuleIndex(1L);
+                    return List.of(rule(10L, null, null, 1, "6.00"));
+                })
+                .thenReturn(List.of(rule(20L, null, null, 1, "7.00")));
+
+        assertEquals(List.of(10L), ids(pricingRuleService.getApplicableRulesForAmount(1L, BigDecimal.TEN)));
+        assertEquals(List.of(20L), ids(pricingRuleService.getApplicableRulesForAmount(1L, BigDecimal.TEN)));
+        assertEquals(List.of(20L), ids(pricingRuleService.getApplicableRulesForAmount(1L, BigDecimal.TEN)));
+        verify(pricingRuleRepository, times(2)).findActiveRulesByProductIdOrderByPriority(1L);
+    }
+
+    @Test
+    void getApplicableRulesForAmount_WhenAllIndexesEvictedWhileCompiling_ShouldNotCacheTheStaleIndex() {
+        when(pricingRuleRepository.findActiveRulesByProductIdOrderByPriority(1L))
+                .thenAnswer(invocation -> {
+                    pricingRuleService.evictRuleIndex(null);
+                    return List.of(rule(10L, null, null, 1, "6.00"));
+                })
+                .thenReturn(List.of(rule(20L, null, null, 1, "7.00")));
+
+        pricingRuleService.getApplicableRulesForAmount(1L, BigDecimal.TEN);
+
+        assertEquals(List.of(20L), ids(pricingRuleService.getApplicableRulesForAmount(1L, BigDecimal.TEN)));
+    }
+
+    @Test
+    void evictRuleIndex_ShouldRecompileOnNextLookup() {
+        when(pricingRuleRepository.findActiveRulesByProductIdOrderByPriority(1L))
+                .thenReturn(List.of(rule(10L, null, null, 1, "6.00")))
+                .thenReturn(List.of(rule(20L, null, null, 1, "7.00")));
+
+        pricingRuleService.getApplicableRulesForAmount(1L, BigDecimal.TEN);
+        pricingRuleService.evictRuleIndex(1L);
+
+        assertEquals(List.of(20L), ids(pricingRuleService.getApplicableRulesForAmount(1L, BigDecimal.TEN)));
+    }
+
+    private PricingRule rule(Long id, String min, String max, int priority, String rate) {
+        return PricingRule.builder()
+                .id(id)
+                .product(product)
+                .ruleName("Rule " + id)
+                .minThreshold(min != null ? new BigDecimal(min) : null)
+                .maxThreshold(max != null ? new BigDecimal(max) : null)
+                .priorityOrder(priority)
+                .interestRate(new BigDecimal(rate))
+                .isActive(true)
+                .build();
+    }
+
+    private PricingEvaluationItem item(String key, String balance, String baseRate) {
+        return PricingEvaluationItem.builder()
+                .key(key)
+                .productId(1L)
+                .balance(new BigDecimal(balance))
+                .baseRate(new BigDecimal(baseRate))
+                .build();
+    }
+
+    private static List<Long> ids(List<PricingRuleResponse> rules) {
+        return rules.stream().map(PricingRuleResponse::getId).toList();
+    }
+}
@@ -33,6 +33,9 @@ class ProductServiceTest {
     @Mock
     private PricingRuleRepository pricingRuleRepository;
 
+    @Mock
+    private ProductSnapshotPublisher snapshotPublisher;
+
     @InjectMocks
     private ProductService productService;
 
@@ -122,13 +125,14 @@ class ProductServiceTest {
     @Test
     void updateProduct_Success() {
         when(productRepository.findByProductCode("SAV001")).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(productRepository.saveAndFlush(any(Product.class))).thenReturn(product);
 
         productRequest.setProductName("Updated Savings Account");
         ProductResponse response = productService.updateProduct("SAV001", productRequest);
 
         assertNotNull(response);
-        verify(productRepository).save(any(Product.class));
+        verify(productRepository).saveAndFlush(any(Product.class));
+        verify(snapshotPublisher).publishUpsert(product);
     }
 
     @Test
@@ -139,5 +143,6 @@ class ProductServiceTest {
         productService.deleteProduct("SAV001");
 
         verify(productRepository).delete(product);
+        verify(snapshotPublisher).publishDelete("SAV001");
     }
 }
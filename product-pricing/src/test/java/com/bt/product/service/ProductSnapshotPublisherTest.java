@@ -0,0 +1,109 @@
+package com.bt.product.service;
+
+import com.bt.product.entity.Product;
+import com.bt.product.event.KafkaProducerService;
+import com.bt.product.event.ProductSnapshotEvent;
+import com.bt.product.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSnapshotPublisherTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+
+    @InjectMocks
+    private ProductSnapshotPublisher publisher;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void publishUpsert_InsideTransaction_ShouldPublishOnlyAfterCommit() {
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        TransactionSynchronizationManager.initSynchronization();
+
+        publisher.publishUpsert(product("FD001", updatedAt));
+
+        verify(kafkaProducerService, never()).sendProductSnapshot(any());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        ArgumentCaptor<ProductSnapshotEvent> snapshot = ArgumentCaptor.forClass(ProductSnapshotEvent.class);
+        verify(kafkaProducerService).sendProductSnapshot(snapshot.capture());
+        assertEquals("FD001", snapshot.getValue().getProductCode());
+        assertEquals(updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli(), snapshot.getValue().getVersion());
+    }
+
+    @Test
+    void publishDelete_WhenTransactionRollsBack_ShouldNotPublishTombstone() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        publisher.publishDelete("FD001");
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(kafkaProducerService, never()).sendProductTombstone(any());
+    }
+
+    @Test
+    void publishDelete_OutsideTransaction_ShouldPublishTombstoneImmediately() {
+        publisher.publishDelete("FD001");
+
+        verify(kafkaProducerService).sendProductTombstone("FD001");
+    }
+
+    @Test
+    void publishAll_ShouldPublishEveryProduct() {
+        when(productRepository.findAll()).thenReturn(List.of(
+                product("FD001", LocalDateTime.now()),
+                product("FD002", null)));
+
+        publisher.publishAll();
+
+        ArgumentCaptor<ProductSnapshotEvent> snapshots = ArgumentCaptor.forClass(ProductSnapshotEvent.class);
+        verify(kafkaProducerService, times(2)).sendProductSnapshot(snapshots.capture());
+        assertEquals(List.of("FD001", "FD002"),
+                snapshots.getAllValues().stream().map(ProductSnapshotEvent::getProductCode).toList());
+        assertEquals(0L, snapshots.getAllValues().get(1).getVersion());
+    }
+
+    @Test
+    void publishAll_WhenRepositoryFails_ShouldNotPropagate() {
+        when(productRepository.findAll()).thenThrow(new IllegalStateException("db down"));
+
+        assertDoesNotThrow(() -> publisher.publishAll());
+        verifyNoInteractions(kafkaProducerService);
+    }
+
+    private Product product(String code, LocalDateTime updatedAt) {
+        return Product.builder()
+                .id(1L)
+                .productCode(code)
+                .productName("Fixed Deposit")
+                .updatedAt(updatedAt)
+                .build();
+    }
+}